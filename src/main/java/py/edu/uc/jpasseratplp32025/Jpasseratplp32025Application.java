@@ -3,10 +3,12 @@ package py.edu.uc.jpasseratplp32025;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 // @ComponentScan(basePackages = "py.edu.uc.jpasseratplp32025.controller")
 @ComponentScan(basePackages = "py.edu.uc.jpasseratplp32025")
+@EnableScheduling
 public class Jpasseratplp32025Application {
 
 	public static void main(String[] args) {
@@ -0,0 +1,46 @@
+package py.edu.uc.jpasseratplp32025.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Carga en CalendarioLaboral el archivo de feriados indicado en calendario.feriados
+ * (por ejemplo file:/etc/nomina/feriados.txt). Sin la propiedad se usa el archivo del classpath.
+ * CalendarioLaboral es estático porque lo usan las entidades (Empleado, Gerente).
+ */
+@Component
+public class CalendarioLaboralInicializador implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CalendarioLaboralInicializador.class);
+
+    private final ResourceLoader resourceLoader;
+    private final String ubicacion;
+
+    public CalendarioLaboralInicializador(ResourceLoader resourceLoader,
+                                          @Value("${calendario.feriados:classpath:" + CalendarioLaboral.ARCHIVO_POR_DEFECTO + "}") String ubicacion) {
+        this.resourceLoader = resourceLoader;
+        this.ubicacion = ubicacion;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Resource archivo = resourceLoader.getResource(ubicacion);
+        try (InputStream entrada = archivo.getInputStream()) {
+            CalendarioLaboral.cargar(entrada, ubicacion);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el archivo de feriados " + ubicacion, e);
+        }
+        log.info("Feriados del calendario laboral tomados de {}.", ubicacion);
+    }
+}
@@ -0,0 +1,116 @@
+package py.edu.uc.jpasseratplp32025.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Aplica las migraciones versionadas de src/main/resources/db/migraciones (V{n}__{descripcion}.sql)
+ * que todavía no figuran en la tabla esquema_migraciones, en orden de versión.
+ *
+ * Hibernate (ddl-auto=update) crea tablas y columnas antes de que corra este inicializador; las
+ * migraciones se ocupan de lo que update no administra bien, como los índices secundarios.
+ * Corre antes que los demás ApplicationRunner.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MigracionesEsquema implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracionesEsquema.class);
+
+    private static final String UBICACION = "classpath:db/migraciones/V*__*.sql";
+    private static final Pattern NOMBRE = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private static final String SQL_TABLA_CONTROL = """
+            CREATE TABLE IF NOT EXISTS esquema_migraciones (
+                version INT PRIMARY KEY,
+                descripcion VARCHAR(200) NOT NULL,
+                fecha_aplicacion TIMESTAMP NOT NULL,
+                duracion_ms BIGINT NOT NULL
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MigracionesEsquema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrar();
+    }
+
+    /**
+     * Aplica las migraciones pendientes.
+     *
+     * @return Cantidad de migraciones aplicadas.
+     */
+    public int migrar() {
+        jdbcTemplate.execute(SQL_TABLA_CONTROL);
+        Set<Integer> aplicadas = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT version FROM esquema_migraciones", Integer.class));
+
+        int cantidad = 0;
+        for (Map.Entry<Integer, Resource> migracion : buscarMigraciones().entrySet()) {
+            int version = migracion.getKey();
+            if (aplicadas.contains(version)) {
+                continue;
+            }
+            Resource script = migracion.getValue();
+            String descripcion = descripcionDe(script);
+            long inicio = System.nanoTime();
+            // Cada script se ejecuta completo antes de registrarse: si falla, se reintenta en el próximo inicio
+            new ResourceDatabasePopulator(script).execute(jdbcTemplate.getDataSource());
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            jdbcTemplate.update("INSERT INTO esquema_migraciones (version, descripcion, fecha_aplicacion, duracion_ms) "
+                    + "VALUES (?, ?, ?, ?)", version, descripcion, LocalDateTime.now(), duracionMs);
+            log.info("Migración V{} ({}) aplicada en {} ms.", version, descripcion, duracionMs);
+            cantidad++;
+        }
+        return cantidad;
+    }
+
+    private static TreeMap<Integer, Resource> buscarMigraciones() {
+        TreeMap<Integer, Resource> migraciones = new TreeMap<>();
+        try {
+            for (Resource script : new PathMatchingResourcePatternResolver().getResources(UBICACION)) {
+                Matcher nombre = NOMBRE.matcher(script.getFilename());
+                if (!nombre.matches()) {
+                    continue;
+                }
+                Resource anterior = migraciones.put(Integer.parseInt(nombre.group(1)), script);
+                if (anterior != null) {
+                    throw new IllegalStateException("Versión de migración duplicada: " + script.getFilename()
+                            + " y " + anterior.getFilename());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron leer las migraciones de " + UBICACION, e);
+        }
+        return migraciones;
+    }
+
+    private static String descripcionDe(Resource script) {
+        Matcher nombre = NOMBRE.matcher(script.getFilename());
+        return nombre.matches() ? nombre.group(2).replace('_', ' ') : script.getFilename();
+    }
+}
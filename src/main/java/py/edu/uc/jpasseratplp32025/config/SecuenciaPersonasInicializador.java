@@ -0,0 +1,57 @@
+package py.edu.uc.jpasseratplp32025.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Alinea la secuencia personas_seq con los IDs ya existentes en la tabla personas.
+ * Necesario en bases creadas cuando el ID era IDENTITY: la secuencia nueva arranca en 1
+ * y chocaría con las filas existentes.
+ *
+ * El valor actual se lee de INFORMATION_SCHEMA.SEQUENCES (sin NEXT VALUE FOR), así cada arranque
+ * no consume un valor de la secuencia; solo se modifica cuando está por detrás de los IDs existentes.
+ */
+@Component
+public class SecuenciaPersonasInicializador implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SecuenciaPersonasInicializador.class);
+
+    // Debe coincidir con allocationSize de @SequenceGenerator en PersonaJpa
+    private static final long TAMANIO_BLOQUE = 50;
+
+    // BASE_VALUE (H2 2.x): el valor que devolverá el próximo NEXT VALUE FOR
+    private static final String SQL_SIGUIENTE_VALOR = """
+            SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES
+             WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = 'PERSONAS_SEQ'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SecuenciaPersonasInicializador(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> valores = jdbcTemplate.queryForList(SQL_SIGUIENTE_VALOR, Long.class);
+        if (valores.isEmpty()) {
+            log.warn("No se encontró la secuencia personas_seq; no se alinea con los IDs existentes.");
+            return;
+        }
+        long siguiente = valores.get(0);
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM personas", Long.class);
+
+        // El optimizador pooled usa (valor - TAMANIO_BLOQUE + 1) como primer ID del bloque
+        if (maxId != null && siguiente - TAMANIO_BLOQUE < maxId) {
+            long reinicio = maxId + TAMANIO_BLOQUE + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE personas_seq RESTART WITH " + reinicio);
+            log.info("Secuencia personas_seq reiniciada en {} (máximo ID existente: {}).", reinicio, maxId);
+        }
+    }
+}
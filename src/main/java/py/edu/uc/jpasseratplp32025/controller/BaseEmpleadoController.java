@@ -1,21 +1,42 @@
 package py.edu.uc.jpasseratplp32025.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import py.edu.uc.jpasseratplp32025.dto.SolicitudPermisoDto;
 import py.edu.uc.jpasseratplp32025.exception.DiasInsuficientesException;
+import py.edu.uc.jpasseratplp32025.exception.EmpleadoNoEncontradoException;
 import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
 import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.entity.SolicitudPermiso;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.service.BloqueoEmpleadosService;
+import py.edu.uc.jpasseratplp32025.service.SolicitudPermisoService;
+
+import java.util.List;
 
 public abstract class BaseEmpleadoController<T extends PersonaJpa> {
 
+    @Autowired
+    private BloqueoEmpleadosService bloqueoEmpleadosService;
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private SolicitudPermisoService solicitudPermisoService;
+
     /**
      * Endpoint para solicitar un permiso.
      * Ya no contiene bloques try-catch, permitiendo que las excepciones
      * (DiasInsuficientesException, PermisoNoConcedidoException, etc.)
      * se propaguen automáticamente al GlobalExceptionHandler para un manejo unificado.
+     * Las solicitudes sobre un mismo empleado se procesan de a una (bloqueo por cédula);
+     * las de empleados distintos siguen en paralelo.
      * * @param id ID del empleado
      * @param solicitud DTO con los detalles de la solicitud de permiso
      * @return ResponseEntity con la respuesta del procesamiento (ej. 200 OK)
@@ -28,8 +49,38 @@ public abstract class BaseEmpleadoController<T extends PersonaJpa> {
             @RequestBody SolicitudPermisoDto solicitud)
             throws DiasInsuficientesException, PermisoNoConcedidoException {
 
+        // Solo la cédula (consulta escalar) para tomar el bloqueo del empleado: la entidad se carga recién
+        // dentro del bloqueo, en procesarSolicitudPermiso, y así ve lo que guardó la solicitud anterior
+        String cedula = personaRepository.findCedulaById(id)
+                .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
+
         // El método procesarSolicitudPermiso ahora lanza la excepción directamente.
-        return procesarSolicitudPermiso(id, solicitud);
+        try (BloqueoEmpleadosService.Bloqueo bloqueo = bloqueoEmpleadosService.adquirir(cedula)) {
+            return procesarSolicitudPermiso(id, solicitud);
+        }
+    }
+
+    /**
+     * Registra una solicitud de permiso PENDIENTE para que la apruebe el gerente del departamento
+     * (el saldo se debita al aprobarla). A diferencia de /permisos, no se aprueba en el momento.
+     * @return 201 con la solicitud registrada, o 400 si faltan datos o el rango de fechas es inválido.
+     */
+    @PostMapping("/{id}/solicitudes")
+    public ResponseEntity<?> registrarSolicitud(
+            @PathVariable Long id,
+            @RequestBody SolicitudPermisoDto solicitud) {
+        try {
+            SolicitudPermiso registrada = solicitudPermisoService.registrar(id, solicitud);
+            return new ResponseEntity<>(registrada, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Historial de solicitudes del empleado (más recientes primero)
+    @GetMapping("/{id}/solicitudes")
+    public ResponseEntity<List<SolicitudPermiso>> listarSolicitudes(@PathVariable Long id) {
+        return ResponseEntity.ok(solicitudPermisoService.listarPorPersona(id));
     }
 
     // Método abstracto que cada controlador específico debe implementar
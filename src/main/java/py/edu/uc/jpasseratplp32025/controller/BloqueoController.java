@@ -0,0 +1,27 @@
+package py.edu.uc.jpasseratplp32025.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import py.edu.uc.jpasseratplp32025.dto.EstadisticasBloqueoDto;
+import py.edu.uc.jpasseratplp32025.service.BloqueoEmpleadosService;
+
+@RestController
+@RequestMapping("/api/bloqueos")
+public class BloqueoController {
+
+    private final BloqueoEmpleadosService bloqueoEmpleadosService;
+
+    @Autowired
+    public BloqueoController(BloqueoEmpleadosService bloqueoEmpleadosService) {
+        this.bloqueoEmpleadosService = bloqueoEmpleadosService;
+    }
+
+    // GET /api/bloqueos/estadisticas: adquisiciones, esperas e histograma de tiempos de espera
+    @GetMapping("/estadisticas")
+    public ResponseEntity<EstadisticasBloqueoDto> obtenerEstadisticas() {
+        return ResponseEntity.ok(bloqueoEmpleadosService.obtenerEstadisticas());
+    }
+}
@@ -0,0 +1,29 @@
+package py.edu.uc.jpasseratplp32025.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import py.edu.uc.jpasseratplp32025.dto.EstadisticasCacheDto;
+import py.edu.uc.jpasseratplp32025.service.CacheCedulaService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheCedulaService cacheCedulaService;
+
+    @Autowired
+    public CacheController(CacheCedulaService cacheCedulaService) {
+        this.cacheCedulaService = cacheCedulaService;
+    }
+
+    // GET /api/cache/estadisticas: aciertos/fallos de las regiones de personas y cédulas
+    @GetMapping("/estadisticas")
+    public ResponseEntity<List<EstadisticasCacheDto>> obtenerEstadisticas() {
+        return ResponseEntity.ok(cacheCedulaService.obtenerEstadisticas());
+    }
+}
@@ -0,0 +1,39 @@
+package py.edu.uc.jpasseratplp32025.controller;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/calendario")
+public class CalendarioController {
+
+    // GET /api/calendario/dias-habiles?desde=yyyy-MM-dd&hasta=yyyy-MM-dd (ambas fechas inclusive)
+    @GetMapping("/dias-habiles")
+    public ResponseEntity<?> diasHabiles(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        if (hasta.isBefore(desde)) {
+            return ResponseEntity.badRequest().body("La fecha 'hasta' debe ser posterior o igual a 'desde'.");
+        }
+        if (!CalendarioLaboral.rangoAdmitido(desde, hasta)) {
+            return ResponseEntity.badRequest().body(
+                    "El rango no puede superar " + CalendarioLaboral.MAXIMO_DIAS_RANGO + " días corridos.");
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("desde", desde);
+        response.put("hasta", hasta);
+        response.put("diasCorridos", ChronoUnit.DAYS.between(desde, hasta) + 1);
+        response.put("diasHabiles", CalendarioLaboral.diasHabiles(desde, hasta));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,46 @@
+package py.edu.uc.jpasseratplp32025.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import py.edu.uc.jpasseratplp32025.entity.CierreVacaciones;
+import py.edu.uc.jpasseratplp32025.service.CierreVacacionesService;
+
+import java.time.Year;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/vacaciones")
+public class CierreVacacionesController {
+
+    private final CierreVacacionesService cierreVacacionesService;
+
+    @Autowired
+    public CierreVacacionesController(CierreVacacionesService cierreVacacionesService) {
+        this.cierreVacacionesService = cierreVacacionesService;
+    }
+
+    // POST /api/vacaciones/cierres?anio=2026: ejecuta el cierre anual (por defecto el año actual)
+    @PostMapping("/cierres")
+    public ResponseEntity<?> ejecutarCierre(@RequestParam(required = false) Integer anio) {
+        try {
+            CierreVacaciones cierre = cierreVacacionesService.ejecutar(anio != null ? anio : Year.now().getValue());
+            return new ResponseEntity<>(cierre, HttpStatus.CREATED);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // GET /api/vacaciones/cierres: cierres ejecutados (el más reciente primero)
+    @GetMapping("/cierres")
+    public ResponseEntity<List<CierreVacaciones>> listarCierres() {
+        return ResponseEntity.ok(cierreVacacionesService.listar());
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
 import py.edu.uc.jpasseratplp32025.dto.SolicitudPermisoDto;
 import py.edu.uc.jpasseratplp32025.entity.Contratista;
 import py.edu.uc.jpasseratplp32025.exception.DiasInsuficientesException;
@@ -12,12 +13,12 @@ import py.edu.uc.jpasseratplp32025.exception.EmpleadoNoEncontradoException;
 import py.edu.uc.jpasseratplp32025.exception.FechaNacimientoFuturaException;
 import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
 import py.edu.uc.jpasseratplp32025.service.ContratistaService;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit; // Importación necesaria
 import java.util.HashMap; // Importación necesaria
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -50,14 +51,16 @@ public class ContratistaController extends BaseEmpleadoController<Contratista> {
         return new ResponseEntity<>(savedContratista, HttpStatus.CREATED);
     }
 
-    // GET /api/contratistas
+    // GET /api/contratistas?limit=50&after={cursor} (paginación por cursor)
     @GetMapping
-    public ResponseEntity<List<Contratista>> findAll() {
-        List<Contratista> contratistas = service.findAll();
-        if (contratistas.isEmpty()) {
+    public ResponseEntity<PaginaDto<Contratista>> findAll(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        PaginaDto<Contratista> pagina = service.listarPagina(after, limit);
+        if (pagina.getContenido().isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
-        return new ResponseEntity<>(contratistas, HttpStatus.OK);
+        return new ResponseEntity<>(pagina, HttpStatus.OK);
     }
 
     // GET /api/contratistas/{id}
@@ -87,6 +90,8 @@ public class ContratistaController extends BaseEmpleadoController<Contratista> {
         return service.findById(id)
                 .map(existingContratista -> {
                     contratistaDetails.setId(id);
+                    // Se conserva la versión leída: si otra transacción modificó la fila entretanto, el guardado falla (409)
+                    contratistaDetails.setVersion(existingContratista.getVersion());
                     validarFechaNacimiento(contratistaDetails);
                     // Se elimina el try-catch de IllegalArgumentException, usando el Global Handler
                     Contratista updatedContratista = service.save(contratistaDetails);
@@ -95,11 +100,13 @@ public class ContratistaController extends BaseEmpleadoController<Contratista> {
                 .orElseThrow(() -> new EmpleadoNoEncontradoException("Contratista no encontrado con ID: " + id)); 
     }
 
-    // CONSULTA ESPECÍFICA: GET /api/contratistas/vigentes
+    // CONSULTA ESPECÍFICA: GET /api/contratistas/vigentes?limit=50&after={cursor} (paginación por cursor)
     @GetMapping("/vigentes")
-    public ResponseEntity<List<Contratista>> getContratosVigentes() {
-        List<Contratista> contratistas = service.buscarContratosVigentes();
-        if (contratistas.isEmpty()) {
+    public ResponseEntity<PaginaDto<Contratista>> getContratosVigentes(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        PaginaDto<Contratista> contratistas = service.buscarContratosVigentes(after, limit);
+        if (contratistas.getContenido().isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         return new ResponseEntity<>(contratistas, HttpStatus.OK);
@@ -129,6 +136,8 @@ public class ContratistaController extends BaseEmpleadoController<Contratista> {
         response.put("empleado", empleado.getNombre() + " " + empleado.getApellido());
         // Se usa ChronoUnit.DAYS.between para calcular días
         response.put("diasSolicitados", ChronoUnit.DAYS.between(solicitud.getFechaInicio(), solicitud.getFechaFin()) + 1);
+        // Días que efectivamente se descuentan del saldo de vacaciones (sin fines de semana ni feriados)
+        response.put("diasHabiles", CalendarioLaboral.diasHabiles(solicitud.getFechaInicio(), solicitud.getFechaFin()));
 
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,116 @@
+package py.edu.uc.jpasseratplp32025.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import py.edu.uc.jpasseratplp32025.dto.CorridaNominaDto;
+import py.edu.uc.jpasseratplp32025.dto.ResumenPeriodoDepartamentoDto;
+import py.edu.uc.jpasseratplp32025.service.CorridaNominaService;
+
+import java.net.URI;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Corridas de nómina de toda la empresa (cálculo en paralelo y registro inmutable del resultado)
+ * y reportes históricos por período leídos de las líneas guardadas.
+ */
+@RestController
+@RequestMapping("/api/nomina")
+public class CorridaNominaController {
+
+    private final CorridaNominaService corridaNominaService;
+
+    @Autowired
+    public CorridaNominaController(CorridaNominaService corridaNominaService) {
+        this.corridaNominaService = corridaNominaService;
+    }
+
+    // POST /api/nomina/corridas?periodo=2025-10 (por defecto el mes actual).
+    // 409 si ya hay otra corrida en curso o el período ya fue liquidado.
+    @PostMapping("/corridas")
+    public ResponseEntity<?> ejecutar(@RequestParam(required = false) String periodo) {
+        try {
+            YearMonth mes = periodo == null ? YearMonth.now() : CorridaNominaService.parsearPeriodo(periodo);
+            CorridaNominaDto corrida = corridaNominaService.ejecutar(mes);
+            URI ubicacion = ServletUriComponentsBuilder.fromCurrentRequest().replaceQuery(null)
+                    .path("/{id}").buildAndExpand(corrida.getId()).toUri();
+            return ResponseEntity.created(ubicacion).body(corrida);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // GET /api/nomina/corridas: últimas 20 corridas
+    @GetMapping("/corridas")
+    public ResponseEntity<List<CorridaNominaDto>> listar() {
+        List<CorridaNominaDto> corridas = corridaNominaService.listarRecientes();
+        if (corridas.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(corridas);
+    }
+
+    // GET /api/nomina/corridas/{id}
+    @GetMapping("/corridas/{id}")
+    public ResponseEntity<CorridaNominaDto> obtener(@PathVariable Long id) {
+        return ResponseEntity.ok(corridaNominaService.obtener(id));
+    }
+
+    // ========================================================================
+    // Reportes históricos por período (yyyy-MM)
+    // ========================================================================
+
+    // GET /api/nomina/periodos/{periodo}: corrida registrada para el período
+    @GetMapping("/periodos/{periodo}")
+    public ResponseEntity<?> obtenerPorPeriodo(@PathVariable String periodo) {
+        try {
+            return ResponseEntity.ok(corridaNominaService.obtenerPorPeriodo(CorridaNominaService.parsearPeriodo(periodo)));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // GET /api/nomina/periodos/{periodo}/lineas?departamento=&after=&limit= (paginado por cursor)
+    @GetMapping("/periodos/{periodo}/lineas")
+    public ResponseEntity<?> listarLineas(@PathVariable String periodo,
+                                          @RequestParam(required = false) String departamento,
+                                          @RequestParam(required = false) String after,
+                                          @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(corridaNominaService.listarLineas(
+                    CorridaNominaService.parsearPeriodo(periodo), departamento, after, limit));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // GET /api/nomina/periodos/{periodo}/lineas/{cedula}
+    @GetMapping("/periodos/{periodo}/lineas/{cedula}")
+    public ResponseEntity<?> obtenerLinea(@PathVariable String periodo, @PathVariable String cedula) {
+        try {
+            return ResponseEntity.ok(corridaNominaService.obtenerLinea(CorridaNominaService.parsearPeriodo(periodo), cedula));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // GET /api/nomina/periodos/{periodo}/departamentos: totales por departamento del período
+    @GetMapping("/periodos/{periodo}/departamentos")
+    public ResponseEntity<?> resumirPorDepartamento(@PathVariable String periodo) {
+        try {
+            List<ResumenPeriodoDepartamentoDto> resumen =
+                    corridaNominaService.resumirPorDepartamento(CorridaNominaService.parsearPeriodo(periodo));
+            if (resumen.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+            return ResponseEntity.ok(resumen);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
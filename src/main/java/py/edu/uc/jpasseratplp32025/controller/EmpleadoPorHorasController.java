@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
 import py.edu.uc.jpasseratplp32025.dto.SolicitudPermisoDto;
 import py.edu.uc.jpasseratplp32025.entity.EmpleadoPorHora;
 import py.edu.uc.jpasseratplp32025.exception.DiasInsuficientesException;
@@ -12,6 +13,7 @@ import py.edu.uc.jpasseratplp32025.exception.EmpleadoNoEncontradoException;
 import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
 import py.edu.uc.jpasseratplp32025.exception.FechaNacimientoFuturaException; // Importación necesaria
 import py.edu.uc.jpasseratplp32025.service.EmpleadoPorHorasService;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
 
 import java.math.BigDecimal;
 import java.time.LocalDate; // Importación necesaria
@@ -48,14 +50,16 @@ public class EmpleadoPorHorasController extends BaseEmpleadoController<EmpleadoP
         return new ResponseEntity<>(savedEmpleado, HttpStatus.CREATED);
     }
 
-    // GET /api/empleados-por-hora
+    // GET /api/empleados-por-hora?limit=50&after={cursor} (paginación por cursor)
     @GetMapping
-    public ResponseEntity<List<EmpleadoPorHora>> findAll() {
-        List<EmpleadoPorHora> empleados = service.findAll();
-        if (empleados.isEmpty()) {
+    public ResponseEntity<PaginaDto<EmpleadoPorHora>> findAll(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        PaginaDto<EmpleadoPorHora> pagina = service.listarPagina(after, limit);
+        if (pagina.getContenido().isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
-        return new ResponseEntity<>(empleados, HttpStatus.OK);
+        return new ResponseEntity<>(pagina, HttpStatus.OK);
     }
 
     // GET /api/empleados-por-hora/{id}
@@ -84,6 +88,8 @@ public class EmpleadoPorHorasController extends BaseEmpleadoController<EmpleadoP
         return service.findById(id)
                 .map(existingEmpleado -> {
                     empleadoDetails.setId(id);
+                    // Se conserva la versión leída: si otra transacción modificó la fila entretanto, el guardado falla (409)
+                    empleadoDetails.setVersion(existingEmpleado.getVersion());
                     validarFechaNacimiento(empleadoDetails); // Aplicar validación aquí
                     // Se elimina el try-catch, usando el Global Handler
                     EmpleadoPorHora updatedEmpleado = service.save(empleadoDetails);
@@ -106,11 +112,13 @@ public class EmpleadoPorHorasController extends BaseEmpleadoController<EmpleadoP
         }
     }
 
-    // CONSULTA ESPECÍFICA: GET /api/empleados-por-hora/vigentes
+    // CONSULTA ESPECÍFICA: GET /api/empleados-por-hora/vigentes?limit=50&after={cursor} (paginación por cursor)
     @GetMapping("/vigentes")
-    public ResponseEntity<List<EmpleadoPorHora>> getContratosVigentes() {
-        List<EmpleadoPorHora> empleadosPorHora = service.buscarContratosVigentes();
-        if (empleadosPorHora.isEmpty()) {
+    public ResponseEntity<PaginaDto<EmpleadoPorHora>> getContratosVigentes(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        PaginaDto<EmpleadoPorHora> empleadosPorHora = service.buscarContratosVigentes(after, limit);
+        if (empleadosPorHora.getContenido().isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         return new ResponseEntity<>(empleadosPorHora, HttpStatus.OK);
@@ -139,6 +147,8 @@ public class EmpleadoPorHorasController extends BaseEmpleadoController<EmpleadoP
         response.put("mensaje", "Permiso aprobado exitosamente");
         response.put("empleado", empleado.getNombre() + " " + empleado.getApellido());
         response.put("diasSolicitados", ChronoUnit.DAYS.between(solicitud.getFechaInicio(), solicitud.getFechaFin()) + 1);
+        // Días que efectivamente se descuentan del saldo de vacaciones (sin fines de semana ni feriados)
+        response.put("diasHabiles", CalendarioLaboral.diasHabiles(solicitud.getFechaInicio(), solicitud.getFechaFin()));
 
         return ResponseEntity.ok(response);
     }
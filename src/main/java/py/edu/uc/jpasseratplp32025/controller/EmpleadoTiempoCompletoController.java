@@ -1,5 +1,6 @@
 package py.edu.uc.jpasseratplp32025.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,10 +11,15 @@ import py.edu.uc.jpasseratplp32025.exception.DiasInsuficientesException;
 import py.edu.uc.jpasseratplp32025.exception.EmpleadoNoEncontradoException;
 import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
 import py.edu.uc.jpasseratplp32025.exception.FechaNacimientoFuturaException; // Importación necesaria
+import py.edu.uc.jpasseratplp32025.service.CargaStreamingService;
 import py.edu.uc.jpasseratplp32025.service.EmpleadoTiempoCompletoService;
 import py.edu.uc.jpasseratplp32025.dto.EmpleadoTiempoCompletoImpuestoDto;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
+import py.edu.uc.jpasseratplp32025.dto.ResultadoCargaMasivaDto;
 import py.edu.uc.jpasseratplp32025.dto.SolicitudPermisoDto;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate; // Importación necesaria
 import java.time.temporal.ChronoUnit; // Importación necesaria
@@ -28,6 +34,9 @@ public class EmpleadoTiempoCompletoController extends BaseEmpleadoController<Emp
     @Autowired
     private EmpleadoTiempoCompletoService service;
 
+    @Autowired
+    private CargaStreamingService cargaStreamingService;
+
     // --- LÓGICA DE VALIDACIÓN ---
     private void validarFechaNacimiento(EmpleadoTiempoCompleto empleado) {
         if (empleado.getFechaDeNacimiento() != null && empleado.getFechaDeNacimiento().isAfter(LocalDate.now())) {
@@ -36,11 +45,13 @@ public class EmpleadoTiempoCompletoController extends BaseEmpleadoController<Emp
     }
     // ----------------------------
 
-    // GET /api/empleados
+    // GET /api/empleados?limit=50&after={cursor} (paginación por cursor)
     @GetMapping
-    public ResponseEntity<List<EmpleadoTiempoCompleto>> getAllEmpleados() {
-        List<EmpleadoTiempoCompleto> empleados = service.findAll();
-        return new ResponseEntity<>(empleados, HttpStatus.OK);
+    public ResponseEntity<PaginaDto<EmpleadoTiempoCompleto>> getAllEmpleados(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        PaginaDto<EmpleadoTiempoCompleto> pagina = service.listarPagina(after, limit);
+        return new ResponseEntity<>(pagina, HttpStatus.OK);
     }
 
     // GET /api/empleados/{id}
@@ -136,12 +147,15 @@ public class EmpleadoTiempoCompletoController extends BaseEmpleadoController<Emp
     // NUEVO SERVICIO REST: Persistencia en Batch
     @PostMapping("/batch")
     public ResponseEntity<?> createEmpleadosBatch(@RequestBody List<EmpleadoTiempoCompleto> empleados) {
-        // Se aplica validación de fecha de nacimiento a cada empleado en el lote
-        empleados.forEach(this::validarFechaNacimiento);
-        
+        // La fecha de nacimiento se valida por registro en ValidacionCargaMasivaService (igual que en /stream
+        // e /import-jobs): un registro con fecha futura se rechaza sin descartar el resto del lote
         try {
-            List<EmpleadoTiempoCompleto> savedEmpleados = service.guardarEmpleadosEnBatch(empleados);
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedEmpleados);
+            ResultadoCargaMasivaDto resultado = service.guardarEmpleadosEnBatch(empleados);
+            if (resultado.getTotalGuardados() == 0 && resultado.getTotalRechazados() > 0) {
+                // Ningún registro pasó la validación: se devuelve el reporte de errores completo
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resultado);
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error en la carga masiva: " + e.getMessage());
         } catch (Exception e) {
@@ -149,6 +163,38 @@ public class EmpleadoTiempoCompletoController extends BaseEmpleadoController<Emp
         }
     }
 
+    // Carga masiva en streaming: POST /api/empleados/stream con Content-Type application/x-ndjson o text/csv.
+    // El cuerpo se parsea registro a registro (no se materializa la lista completa como en /batch).
+    @PostMapping(value = "/stream", consumes = "application/x-ndjson")
+    public ResponseEntity<?> createEmpleadosNdjson(HttpServletRequest request) {
+        return responderCargaStreaming(() -> cargaStreamingService.cargarNdjson(request.getInputStream()));
+    }
+
+    @PostMapping(value = "/stream", consumes = "text/csv")
+    public ResponseEntity<?> createEmpleadosCsv(HttpServletRequest request) {
+        return responderCargaStreaming(() -> cargaStreamingService.cargarCsv(request.getInputStream()));
+    }
+
+    @FunctionalInterface
+    private interface CargaStreaming {
+        ResultadoCargaMasivaDto ejecutar() throws IOException;
+    }
+
+    private ResponseEntity<?> responderCargaStreaming(CargaStreaming carga) {
+        try {
+            ResultadoCargaMasivaDto resultado = carga.ejecutar();
+            if (resultado.getTotalGuardados() == 0 && resultado.getTotalRechazados() > 0) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resultado);
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+        } catch (IOException | IllegalArgumentException e) {
+            // Contenido mal formado o error de integridad: los lotes anteriores ya quedaron confirmados
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error en la carga en streaming: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno durante la carga en streaming: " + e.getMessage());
+        }
+    }
+
     // NUEVO ENDPOINT: CÁLCULO DE NÓMINA TOTAL POR TIPO
     @GetMapping("/nomina-total")
     public ResponseEntity<Map<String, BigDecimal>> getNominaTotal() {
@@ -161,11 +207,13 @@ public class EmpleadoTiempoCompletoController extends BaseEmpleadoController<Emp
         return new ResponseEntity<>(nomina, HttpStatus.OK);
     }
 
-    // CONSULTA ESPECÍFICA: GET /api/empleados/vigentes
+    // CONSULTA ESPECÍFICA: GET /api/empleados/vigentes?limit=50&after={cursor} (paginación por cursor)
     @GetMapping("/vigentes")
-    public ResponseEntity<List<EmpleadoTiempoCompleto>> getContratosVigentes() {
-        List<EmpleadoTiempoCompleto> empleadosTiempoCompleto = service.buscarContratosVigentes();
-        if (empleadosTiempoCompleto.isEmpty()) {
+    public ResponseEntity<PaginaDto<EmpleadoTiempoCompleto>> getContratosVigentes(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        PaginaDto<EmpleadoTiempoCompleto> empleadosTiempoCompleto = service.buscarContratosVigentes(after, limit);
+        if (empleadosTiempoCompleto.getContenido().isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         return new ResponseEntity<>(empleadosTiempoCompleto, HttpStatus.OK);
@@ -194,6 +242,8 @@ public class EmpleadoTiempoCompletoController extends BaseEmpleadoController<Emp
         response.put("mensaje", "Permiso aprobado exitosamente");
         response.put("empleado", empleado.getNombre() + " " + empleado.getApellido());
         response.put("diasSolicitados", ChronoUnit.DAYS.between(solicitud.getFechaInicio(), solicitud.getFechaFin()) + 1);
+        // Días que efectivamente se descuentan del saldo de vacaciones (sin fines de semana ni feriados)
+        response.put("diasHabiles", CalendarioLaboral.diasHabiles(solicitud.getFechaInicio(), solicitud.getFechaFin()));
         
         return ResponseEntity.ok(response);
     }
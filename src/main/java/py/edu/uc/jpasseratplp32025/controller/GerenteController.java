@@ -4,18 +4,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import py.edu.uc.jpasseratplp32025.dto.AprobacionLoteDto;
+import py.edu.uc.jpasseratplp32025.dto.NominaDepartamentoDto;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
+import py.edu.uc.jpasseratplp32025.dto.ResultadoAprobacionLoteDto;
 import py.edu.uc.jpasseratplp32025.dto.SolicitudPermisoDto;
 import py.edu.uc.jpasseratplp32025.entity.Gerente;
+import py.edu.uc.jpasseratplp32025.entity.SolicitudPermiso;
 import py.edu.uc.jpasseratplp32025.exception.DiasInsuficientesException;
 import py.edu.uc.jpasseratplp32025.exception.EmpleadoNoEncontradoException;
 import py.edu.uc.jpasseratplp32025.exception.FechaNacimientoFuturaException;
 import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
 import py.edu.uc.jpasseratplp32025.service.GerenteService;
+import py.edu.uc.jpasseratplp32025.service.SolicitudPermisoService;
 import py.edu.uc.jpasseratplp32025.mapper.GerenteMapper;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
 
 import java.util.List;
 import java.util.Map;
-import java.math.BigDecimal;
 import java.util.HashMap;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -26,11 +32,14 @@ public class GerenteController extends BaseEmpleadoController<Gerente> {
 
     private final GerenteService service;
     private final GerenteMapper mapper;
+    private final SolicitudPermisoService solicitudPermisoService;
 
     @Autowired
-    public GerenteController(GerenteService service, GerenteMapper mapper) {
+    public GerenteController(GerenteService service, GerenteMapper mapper,
+                             SolicitudPermisoService solicitudPermisoService) {
         this.service = service;
         this.mapper = mapper;
+        this.solicitudPermisoService = solicitudPermisoService;
     }
 
     /**
@@ -43,10 +52,13 @@ public class GerenteController extends BaseEmpleadoController<Gerente> {
         }
     }
 
+    // GET /api/gerentes?limit=50&after={cursor} (paginación por cursor)
     @GetMapping
-    public ResponseEntity<List<Gerente>> getAllGerentes() {
-        List<Gerente> gerentes = service.findAll();
-        return new ResponseEntity<>(gerentes, HttpStatus.OK);
+    public ResponseEntity<PaginaDto<Gerente>> getAllGerentes(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        PaginaDto<Gerente> pagina = service.listarPagina(after, limit);
+        return new ResponseEntity<>(pagina, HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
@@ -73,6 +85,8 @@ public class GerenteController extends BaseEmpleadoController<Gerente> {
                     validarFechaNacimiento(gerente); 
                     
                     gerente.setId(id);
+                    // Se conserva la versión leída: si otra transacción modificó la fila entretanto, el guardado falla (409)
+                    gerente.setVersion(existingGerente.getVersion());
                     Gerente updatedGerente = service.save(gerente);
                     return new ResponseEntity<>(updatedGerente, HttpStatus.OK);
                 })
@@ -113,6 +127,8 @@ public class GerenteController extends BaseEmpleadoController<Gerente> {
             solicitud.getFechaInicio(), 
             solicitud.getFechaFin()) + 1
         );
+        // Días que efectivamente se descuentan del saldo de vacaciones (sin fines de semana ni feriados)
+        response.put("diasHabiles", CalendarioLaboral.diasHabiles(solicitud.getFechaInicio(), solicitud.getFechaFin()));
 
         return ResponseEntity.ok(response);
     }
@@ -133,12 +149,35 @@ public class GerenteController extends BaseEmpleadoController<Gerente> {
         }
     }
 
+    // GET /api/gerentes/{id}/solicitudes-pendientes?limit=50&after={cursor}: cola del departamento a cargo
+    @GetMapping("/{id}/solicitudes-pendientes")
+    public ResponseEntity<PaginaDto<SolicitudPermiso>> getSolicitudesPendientes(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(solicitudPermisoService.listarPendientes(id, after, limit));
+    }
+
+    // POST /api/gerentes/{id}/solicitudes/resolver: aprueba o rechaza varias solicitudes en una transacción
+    @PostMapping("/{id}/solicitudes/resolver")
+    public ResponseEntity<?> resolverSolicitudes(
+            @PathVariable Long id,
+            @RequestBody AprobacionLoteDto lote) {
+        try {
+            ResultadoAprobacionLoteDto resultado = solicitudPermisoService.resolverLote(
+                    id, lote.getSolicitudes(), lote.isAprobado(), lote.getNotas());
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // Endpoint para consultar nómina total del departamento a cargo
     @GetMapping("/{id}/nomina-departamento")
-    public ResponseEntity<Map<String, BigDecimal>> getNominaDepartamento(@PathVariable Long id) {
+    public ResponseEntity<NominaDepartamentoDto> getNominaDepartamento(@PathVariable Long id) {
         return service.findById(id)
                 .map(gerente -> {
-                    Map<String, BigDecimal> nominaDepartamento = service.calcularNominaDepartamento(gerente.getDepartamentoACargo());
+                    NominaDepartamentoDto nominaDepartamento = service.calcularNominaDepartamento(gerente.getDepartamentoACargo());
                     return ResponseEntity.ok(nominaDepartamento);
                 })
                 .orElseThrow(() -> new EmpleadoNoEncontradoException("Gerente no encontrado con ID: " + id));
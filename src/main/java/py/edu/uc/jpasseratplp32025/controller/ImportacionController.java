@@ -0,0 +1,67 @@
+package py.edu.uc.jpasseratplp32025.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import py.edu.uc.jpasseratplp32025.dto.EstadoImportacionDto;
+import py.edu.uc.jpasseratplp32025.service.ImportacionService;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Importación masiva asíncrona de empleados de tiempo completo.
+ * A diferencia de POST /api/empleados/batch, la petición responde de inmediato con el ID del trabajo;
+ * el avance se consulta con GET /api/import-jobs/{id}.
+ */
+@RestController
+@RequestMapping("/api/import-jobs")
+public class ImportacionController {
+
+    private final ImportacionService importacionService;
+
+    @Autowired
+    public ImportacionController(ImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    // POST /api/import-jobs (cuerpo: arreglo JSON de empleados, igual que /api/empleados/batch)
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<EstadoImportacionDto> crearTrabajo(HttpServletRequest request) throws IOException {
+        // Se lee el InputStream directamente para no deserializar la carga completa en memoria
+        EstadoImportacionDto estado = importacionService.crearTrabajo(request.getInputStream());
+        URI ubicacion = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(estado.getId()).toUri();
+        return ResponseEntity.accepted().location(ubicacion).body(estado);
+    }
+
+    // GET /api/import-jobs/{id}: avance, filas/s, ETA y muestra de errores
+    @GetMapping("/{id}")
+    public ResponseEntity<EstadoImportacionDto> obtenerEstado(@PathVariable Long id) {
+        return ResponseEntity.ok(importacionService.obtenerEstado(id));
+    }
+
+    // POST /api/import-jobs/{id}/cancelar
+    @PostMapping("/{id}/cancelar")
+    public ResponseEntity<?> cancelar(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(importacionService.cancelar(id));
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    // POST /api/import-jobs/{id}/reanudar (continúa desde el último lote confirmado)
+    @PostMapping("/{id}/reanudar")
+    public ResponseEntity<?> reanudar(@PathVariable Long id) {
+        try {
+            return new ResponseEntity<>(importacionService.reanudar(id), HttpStatus.ACCEPTED);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+}
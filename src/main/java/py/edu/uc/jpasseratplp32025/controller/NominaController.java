@@ -1,21 +1,30 @@
 package py.edu.uc.jpasseratplp32025.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import py.edu.uc.jpasseratplp32025.dto.NominaConsolidadaDto;
 import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.service.NominaAgregadaService;
 import py.edu.uc.jpasseratplp32025.service.NominaService;
-import py.edu.uc.jpasseratplp32025.util.NominaUtils;
-import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.util.RespuestaJsonStreaming;
 import py.edu.uc.jpasseratplp32025.service.RemuneracionesService;
+import py.edu.uc.jpasseratplp32025.service.SnapshotNominaService;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -25,52 +34,64 @@ public class NominaController {
     private final NominaService nominaService;
     private final PersonaRepository personaRepository;
     private final RemuneracionesService remuneracionesService;
+    private final NominaAgregadaService nominaAgregadaService;
+    private final SnapshotNominaService snapshotNominaService;
 
     @Autowired
-    public NominaController(RemuneracionesService remuneracionesService, NominaService nominaService, PersonaRepository personaRepository) {
+    public NominaController(RemuneracionesService remuneracionesService, NominaService nominaService,
+                            PersonaRepository personaRepository, NominaAgregadaService nominaAgregadaService,
+                            SnapshotNominaService snapshotNominaService) {
         this.remuneracionesService = remuneracionesService;
         this.nominaService = nominaService;
         this.personaRepository = personaRepository;
+        this.nominaAgregadaService = nominaAgregadaService;
+        this.snapshotNominaService = snapshotNominaService;
     }
 
     /**
     * Endpoint para generar un reporte completo de todos los tipos de empleados
     * demostrando polimorfismo.
+    * El reporte se escribe línea por línea directamente en la respuesta (text/plain),
+    * sin armarlo completo en memoria.
     * Endpoint: GET /api/nomina/reporte
-    * @return Una lista de Strings que conforman el reporte.
+    * @return El cuerpo del reporte en streaming, o 204 si no hay personas registradas.
     */
     @GetMapping("/reporte")
-    public ResponseEntity<List<String>> generarReporte() {
-        List<String> reporte = nominaService.generarReporteCompleto();
-
-        if (reporte.size() <= 3) {
-            // 3 son las líneas de cabecera y cierre si no hay datos.
-            return new ResponseEntity<>(reporte, HttpStatus.NO_CONTENT);
+    public ResponseEntity<StreamingResponseBody> generarReporte() {
+        if (personaRepository.count() == 0) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
-        
-        return new ResponseEntity<>(reporte, HttpStatus.OK);
+
+        StreamingResponseBody cuerpo = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            nominaService.escribirReporteCompleto(writer);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(cuerpo);
     }
 
     /**
      * Genera reporte de empleados con más de X días disponibles.
      * Reemplaza la llamada con lambda por el método específico:
-    * NominaUtils.generarReporteJsonPorDiasDisponibles(empleados, umbral).
+    * RemuneracionesService.escribirReporteDias (mismo formato, escrito en streaming).
      * Endpoint: GET /api/nomina/empleados-dias?umbral=0
      * @param umbral Número mínimo de días disponibles para incluir en el reporte (default: 0)
      * @return JSON con empleados filtrados
      */
     @GetMapping("/empleados-dias")
-    public ResponseEntity<?> getEmpleadosPorDias(@RequestParam(defaultValue = "0") int umbral) {
-        List<PersonaJpa> empleados = personaRepository.findAll();
-
-        if (empleados.isEmpty()) {
+    public ResponseEntity<StreamingResponseBody> getEmpleadosPorDias(
+            @RequestParam(defaultValue = "0") int umbral,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceptaCodificacion) {
+        if (snapshotNominaService.cantidadPersonas() == 0) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
 
-        // Se usa la función específica para días DISPONIBLES.
-        String reporteJson = NominaUtils.generarReporteJsonPorDiasDisponibles(empleados, umbral);
-
-        return ResponseEntity.ok(reporteJson);
+        // Solo se cargan los empleados que superan el umbral (filtrados en el snapshot en memoria), por lotes,
+        // y el JSON se escribe en streaming (gzip si el cliente envía Accept-Encoding: gzip)
+        return RespuestaJsonStreaming.json(aceptaCodificacion,
+                salida -> remuneracionesService.escribirReporteDias(salida, umbral, false));
     }
 
     /**
@@ -82,18 +103,33 @@ public class NominaController {
     */
     @GetMapping("/total-dias")
     public ResponseEntity<Map<String, Integer>> getTotalDiasDisponibles() { // Renombrado para claridad
-        List<PersonaJpa> empleados = personaRepository.findAll();
-
-        // Se usa la función específica para total de días DISPONIBLES.
-        int total = NominaUtils.totalDiasVacacionesDisponibles(empleados);
+        // Totales desde el snapshot en memoria (sin cargar entidades)
+        SnapshotNominaService.ResumenDias resumen = snapshotNominaService.resumenDias();
 
         Map<String, Integer> response = new HashMap<>();
-        response.put("totalDiasVacacionesDisponibles", total);
-        response.put("totalEmpleados", empleados.size());
+        response.put("totalDiasVacacionesDisponibles", (int) resumen.getTotalDisponibles());
+        response.put("totalEmpleados", resumen.getTotalPersonas());
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+    * Calcula la nómina consolidada de Empleados de Tiempo Completo, Por Hora y Contratistas
+    * en una única consulta agregada (por tipo y departamento).
+    * Endpoint: GET /api/nomina/total-consolidado
+    * @return El detalle por tipo/departamento y los totales por tipo
+    */
+    @GetMapping("/total-consolidado")
+    public ResponseEntity<NominaConsolidadaDto> getNominaConsolidada() {
+        NominaConsolidadaDto nomina = nominaAgregadaService.calcularNominaConsolidada();
+
+        if (nomina.getTotalEmpleados() == 0) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+
+        return ResponseEntity.ok(nomina);
+    }
+
     /**
     * Obtiene un reporte de días de vacaciones y permisos (estadísticas).
     * Endpoint: GET /api/nomina/reporte-dias
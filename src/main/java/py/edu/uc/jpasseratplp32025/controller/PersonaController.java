@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
 import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
 import py.edu.uc.jpasseratplp32025.service.PersonaService;
 
@@ -31,10 +32,17 @@ public class PersonaController {
         return new ResponseEntity<>(nuevaPersona, HttpStatus.CREATED);
     }
 
+    /**
+     * Lista las personas paginando por cursor (keyset sobre el ID).
+     * El valor "cursorSiguiente" de la respuesta se envía como "after" para pedir la página siguiente.
+     * Propaga CursorInvalidoException (manejo global: 400 Bad Request).
+     */
     @GetMapping
-    public ResponseEntity<List<PersonaJpa>> obtenerTodasLasPersonas() {
-        List<PersonaJpa> personas = personaService.obtenerTodasLasPersonas();
-        return ResponseEntity.ok(personas);
+    public ResponseEntity<PaginaDto<PersonaJpa>> obtenerTodasLasPersonas(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        PaginaDto<PersonaJpa> pagina = personaService.obtenerPaginaDePersonas(after, limit);
+        return ResponseEntity.ok(pagina);
     }
 
     /**
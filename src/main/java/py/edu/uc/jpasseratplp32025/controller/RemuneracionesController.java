@@ -1,20 +1,22 @@
 package py.edu.uc.jpasseratplp32025.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import py.edu.uc.jpasseratplp32025.dto.EmpleadoDto;
-import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
 import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
 import py.edu.uc.jpasseratplp32025.service.RemuneracionesService;
-import py.edu.uc.jpasseratplp32025.util.NominaUtils;
+import py.edu.uc.jpasseratplp32025.service.SnapshotNominaService;
+import py.edu.uc.jpasseratplp32025.util.RespuestaJsonStreaming;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,12 +25,15 @@ public class RemuneracionesController {
 
     private final RemuneracionesService remuneracionesService;
     private final PersonaRepository personaRepository;
+    private final SnapshotNominaService snapshotNominaService;
 
     @Autowired
     public RemuneracionesController(RemuneracionesService remuneracionesService,
-                                   PersonaRepository personaRepository) {
+                                   PersonaRepository personaRepository,
+                                   SnapshotNominaService snapshotNominaService) {
         this.remuneracionesService = remuneracionesService;
         this.personaRepository = personaRepository;
+        this.snapshotNominaService = snapshotNominaService;
     }
 
     /**
@@ -38,13 +43,12 @@ public class RemuneracionesController {
      */
     @GetMapping("/total-dias-disponibles")
     public ResponseEntity<Map<String, Integer>> getTotalDiasVacacionesDisponibles() {
-        List<PersonaJpa> empleados = personaRepository.findAll();
-        // Se utiliza el nuevo nombre del método, que calcula los días disponibles
-        int totalDias = NominaUtils.totalDiasVacacionesDisponibles(empleados); 
+        // Totales desde el snapshot en memoria (sin cargar entidades)
+        SnapshotNominaService.ResumenDias resumen = snapshotNominaService.resumenDias();
 
         Map<String, Integer> response = new HashMap<>();
-        response.put("totalDiasVacacionesDisponibles", totalDias);
-        response.put("totalEmpleados", empleados.size());
+        response.put("totalDiasVacacionesDisponibles", (int) resumen.getTotalDisponibles());
+        response.put("totalEmpleados", resumen.getTotalPersonas());
 
         return ResponseEntity.ok(response);
     }
@@ -56,13 +60,11 @@ public class RemuneracionesController {
      */
     @GetMapping("/total-dias-solicitados")
     public ResponseEntity<Map<String, Integer>> getTotalDiasVacacionesSolicitados() {
-        List<PersonaJpa> empleados = personaRepository.findAll();
-        // Nuevo método para obtener días solicitados
-        int totalDiasSolicitados = NominaUtils.totalDiasVacacionesSolicitados(empleados); 
+        SnapshotNominaService.ResumenDias resumen = snapshotNominaService.resumenDias();
 
         Map<String, Integer> response = new HashMap<>();
-        response.put("totalDiasVacacionesSolicitados", totalDiasSolicitados);
-        response.put("totalEmpleados", empleados.size());
+        response.put("totalDiasVacacionesSolicitados", (int) resumen.getTotalSolicitados());
+        response.put("totalEmpleados", resumen.getTotalPersonas());
 
         return ResponseEntity.ok(response);
     }
@@ -70,43 +72,42 @@ public class RemuneracionesController {
     /**
      * Genera reporte de empleados con más de X días disponibles.
      * Endpoint: GET /api/remuneraciones/empleados-dias-disponibles?umbral=10
+     * El JSON se escribe en streaming (gzip si el cliente envía Accept-Encoding: gzip).
      * @param umbral Número mínimo de días para incluir en el reporte (default: 0)
      * @return JSON con empleados filtrados por umbral de días
      */
     @GetMapping("/empleados-dias-disponibles")
-    public ResponseEntity<?> getEmpleadosPorDiasDisponibles(
-            @RequestParam(name = "umbral", defaultValue = "0") int umbral) {
+    public ResponseEntity<StreamingResponseBody> getEmpleadosPorDiasDisponibles(
+            @RequestParam(name = "umbral", defaultValue = "0") int umbral,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceptaCodificacion) {
 
-        List<PersonaJpa> empleados = personaRepository.findAll();
-
-        if (empleados.isEmpty()) {
+        if (snapshotNominaService.cantidadPersonas() == 0) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
 
-        String reporteJson = NominaUtils.generarReporteJsonPorDiasDisponibles(empleados, umbral);
-
-        return ResponseEntity.ok(reporteJson);
+        // Solo se cargan los empleados que superan el umbral (filtrados en el snapshot), por lotes
+        return RespuestaJsonStreaming.json(aceptaCodificacion,
+                salida -> remuneracionesService.escribirReporteDias(salida, umbral, false));
     }
     
     /**
      * Genera reporte de empleados que han SOLICITADO más de X días.
      * Endpoint: GET /api/remuneraciones/empleados-dias-solicitados?umbral=5
+     * El JSON se escribe en streaming (gzip si el cliente envía Accept-Encoding: gzip).
      * @param umbral Número mínimo de días solicitados para incluir en el reporte (default: 0)
      * @return JSON con empleados filtrados por umbral de días solicitados
      */
     @GetMapping("/empleados-dias-solicitados")
-    public ResponseEntity<?> getEmpleadosPorDiasSolicitados(
-            @RequestParam(name = "umbral", defaultValue = "0") int umbral) {
-
-        List<PersonaJpa> empleados = personaRepository.findAll();
+    public ResponseEntity<StreamingResponseBody> getEmpleadosPorDiasSolicitados(
+            @RequestParam(name = "umbral", defaultValue = "0") int umbral,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceptaCodificacion) {
 
-        if (empleados.isEmpty()) {
+        if (snapshotNominaService.cantidadPersonas() == 0) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
 
-        String reporteJson = NominaUtils.generarReporteJsonPorDiasSolicitados(empleados, umbral);
-
-        return ResponseEntity.ok(reporteJson);
+        return RespuestaJsonStreaming.json(aceptaCodificacion,
+                salida -> remuneracionesService.escribirReporteDias(salida, umbral, true));
     }
 
     /**
@@ -116,32 +117,67 @@ public class RemuneracionesController {
      */
     @GetMapping("/estadisticas-vacaciones")
     public ResponseEntity<?> getEstadisticasVacaciones() {
-        List<PersonaJpa> empleados = personaRepository.findAll();
-
-        if (empleados.isEmpty()) {
+        if (snapshotNominaService.cantidadPersonas() == 0) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
 
-        String estadisticas = NominaUtils.generarEstadisticasVacaciones(empleados);
+        String estadisticas = remuneracionesService.generarEstadisticasVacaciones();
 
         return ResponseEntity.ok(estadisticas);
     }
 
+    /**
+     * Cantidad de personas y salario total por tipo, desde el snapshot en memoria.
+     * Endpoint: GET /api/remuneraciones/resumen-por-tipo
+     * @return Mapa tipo → {cantidad, totalSalarios}
+     */
+    @GetMapping("/resumen-por-tipo")
+    public ResponseEntity<Map<String, Map<String, Object>>> getResumenPorTipo() {
+        Map<String, Map<String, Object>> resumen = snapshotNominaService.resumenPorTipo();
+        if (resumen.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(resumen);
+    }
+
+    /**
+     * Empleados y días de vacaciones (disponibles y solicitados) por departamento.
+     * Endpoint: GET /api/remuneraciones/total-dias-por-departamento
+     * @return Mapa departamento → {empleados, totalDiasDisponibles, totalDiasSolicitados}
+     */
+    @GetMapping("/total-dias-por-departamento")
+    public ResponseEntity<Map<String, Map<String, Object>>> getTotalDiasPorDepartamento() {
+        Map<String, Map<String, Object>> resumen = snapshotNominaService.resumenPorDepartamento();
+        if (resumen.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(resumen);
+    }
+
+    /**
+     * Histograma de empleados por días de vacaciones disponibles (rangos de 5 días).
+     * Endpoint: GET /api/remuneraciones/histograma-dias-disponibles
+     * @return Mapa rango → cantidad de empleados
+     */
+    @GetMapping("/histograma-dias-disponibles")
+    public ResponseEntity<Map<String, Integer>> getHistogramaDiasDisponibles() {
+        return ResponseEntity.ok(snapshotNominaService.histogramaDiasDisponibles());
+    }
+
     /**
      * Genera un reporte completo de nómina con días de vacaciones y permisos.
      * Endpoint: GET /api/remuneraciones/reporte-completo
+     * El JSON se escribe en streaming mientras se recorren las personas con un cursor
+     * (gzip si el cliente envía Accept-Encoding: gzip).
      * @return JSON con reporte completo de nómina
      */
     @GetMapping("/reporte-completo")
-    public ResponseEntity<?> generarReporteCompleto() {
-        List<PersonaJpa> empleados = personaRepository.findAll();
-
-        if (empleados.isEmpty()) {
+    public ResponseEntity<StreamingResponseBody> generarReporteCompleto(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceptaCodificacion) {
+        if (personaRepository.count() == 0) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
 
-        String reporte = NominaUtils.generarReporteCompleto(empleados);
-
-        return ResponseEntity.ok(reporte);
+        return RespuestaJsonStreaming.json(aceptaCodificacion, remuneracionesService::escribirReporteCompleto);
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package py.edu.uc.jpasseratplp32025.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import py.edu.uc.jpasseratplp32025.dto.ResultadoSolicitudMasivaDto;
+import py.edu.uc.jpasseratplp32025.dto.SolicitudPermisoMasivaDto;
+import py.edu.uc.jpasseratplp32025.entity.SolicitudPermiso;
+import py.edu.uc.jpasseratplp32025.service.SolicitudMasivaService;
+import py.edu.uc.jpasseratplp32025.service.SolicitudPermisoService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/solicitudes")
+public class SolicitudPermisoController {
+
+    private final SolicitudPermisoService solicitudPermisoService;
+    private final SolicitudMasivaService solicitudMasivaService;
+
+    @Autowired
+    public SolicitudPermisoController(SolicitudPermisoService solicitudPermisoService,
+                                      SolicitudMasivaService solicitudMasivaService) {
+        this.solicitudPermisoService = solicitudPermisoService;
+        this.solicitudMasivaService = solicitudMasivaService;
+    }
+
+    // POST /api/solicitudes/masivo: aplica en bloque una lista de solicitudes (plan anual de vacaciones)
+    @PostMapping("/masivo")
+    public ResponseEntity<?> procesarMasivo(@RequestBody List<SolicitudPermisoMasivaDto> solicitudes) {
+        try {
+            ResultadoSolicitudMasivaDto resultado = solicitudMasivaService.procesar(solicitudes);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // GET /api/solicitudes/{id}: estado de una solicitud (lanza SolicitudPermisoNoEncontradaException si no existe)
+    @GetMapping("/{id}")
+    public ResponseEntity<SolicitudPermiso> obtenerSolicitud(@PathVariable Long id) {
+        return ResponseEntity.ok(solicitudPermisoService.obtener(id));
+    }
+}
@@ -0,0 +1,50 @@
+package py.edu.uc.jpasseratplp32025.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import py.edu.uc.jpasseratplp32025.dto.VencimientoContratoDto;
+import py.edu.uc.jpasseratplp32025.service.VencimientoContratosService;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/contratos")
+public class VencimientoContratosController {
+
+    private final VencimientoContratosService vencimientoContratosService;
+
+    @Autowired
+    public VencimientoContratosController(VencimientoContratosService vencimientoContratosService) {
+        this.vencimientoContratosService = vencimientoContratosService;
+    }
+
+    // GET /api/contratos/vencimientos?dias=30: contratos de todos los tipos que vencen en los próximos N días
+    @GetMapping("/vencimientos")
+    public ResponseEntity<?> vencimientos(@RequestParam(defaultValue = "30") int dias) {
+        try {
+            List<VencimientoContratoDto> vencimientos = vencimientoContratosService.vencenDentroDe(dias);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("dias", dias);
+            response.put("cantidad", vencimientos.size());
+            response.put("contratos", vencimientos);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // GET /api/contratos/vencimientos/estadisticas: contratos programados y vencimientos emitidos desde el inicio
+    @GetMapping("/vencimientos/estadisticas")
+    public ResponseEntity<Map<String, Object>> estadisticas() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("contratosProgramados", vencimientoContratosService.cantidadProgramados());
+        response.put("vencimientosEmitidos", vencimientoContratosService.getVencimientosEmitidos());
+        return ResponseEntity.ok(response);
+    }
+}
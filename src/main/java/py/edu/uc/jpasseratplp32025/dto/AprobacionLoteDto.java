@@ -0,0 +1,22 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolución de varias solicitudes pendientes en una sola operación del gerente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AprobacionLoteDto {
+    @NotEmpty(message = "Debe indicar al menos una solicitud")
+    private List<Long> solicitudes = new ArrayList<>();
+    private boolean aprobado = true;
+    private String notas;
+}
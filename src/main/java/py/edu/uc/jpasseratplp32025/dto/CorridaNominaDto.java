@@ -0,0 +1,34 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import py.edu.uc.jpasseratplp32025.entity.SubtotalCorridaNomina;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una corrida de nómina: totales, subtotales por tipo/departamento y duración de cada etapa.
+ */
+@Data
+@NoArgsConstructor
+public class CorridaNominaDto {
+    private Long id;
+    private String periodo; // yyyy-MM
+    private LocalDateTime fechaEjecucion;
+    private int totalPersonas;
+    private int personasConError;
+    private BigDecimal totalSalarios;
+    private BigDecimal totalDeducciones;
+    private BigDecimal totalImpuestos;
+    private BigDecimal totalNeto;
+    private int paralelismo;
+    private int cantidadRangos;
+    // Etapa → milisegundos (particion, calculo, fusion y, solo al ejecutar, persistencia)
+    private Map<String, Long> duracionEtapasMs = new LinkedHashMap<>();
+    private List<SubtotalCorridaNomina> subtotales = new ArrayList<>();
+}
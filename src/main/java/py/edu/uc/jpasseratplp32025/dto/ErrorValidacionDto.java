@@ -0,0 +1,20 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Error de validación de un registro dentro de una carga masiva.
+ * Reúne todas las violaciones del registro (Bean Validation, reglas de negocio, cédula duplicada o existente).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorValidacionDto {
+    private int indice; // Posición del registro en la lista recibida
+    private String numeroDeCedula;
+    private List<String> mensajes;
+}
@@ -0,0 +1,24 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contadores del administrador de bloqueos por empleado (desde el arranque).
+ */
+@Data
+@NoArgsConstructor
+public class EstadisticasBloqueoDto {
+    private int franjas;
+    private long adquisiciones;
+    private long conEspera; // Adquisiciones que encontraron el bloqueo tomado
+    private long esperasAgotadas; // Solicitudes rechazadas por superar la espera máxima
+    private double esperaPromedioMs;
+    private double esperaMaximaMs;
+    private int franjasEnUso; // Franjas tomadas en este momento
+    // Rango de espera → cantidad de adquisiciones ("<0.1ms", "<1ms", ..., ">=1000ms")
+    private Map<String, Long> histogramaEspera = new LinkedHashMap<>();
+}
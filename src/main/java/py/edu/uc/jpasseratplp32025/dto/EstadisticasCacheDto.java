@@ -0,0 +1,20 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aciertos/fallos de una región del caché de segundo nivel (contadores desde el arranque).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EstadisticasCacheDto {
+    private String region;
+    private long aciertos;
+    private long fallos;
+    private long inserciones;
+    private long elementosEnMemoria; // -1 si el proveedor no lo informa
+    private double tasaAciertos; // aciertos / (aciertos + fallos), 0 si no hubo accesos
+}
@@ -0,0 +1,31 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado de un trabajo de importación: avance, throughput, ETA y una muestra de los registros rechazados.
+ */
+@Data
+@NoArgsConstructor
+public class EstadoImportacionDto {
+    private Long id;
+    private String estado;
+    private Integer totalRegistros; // null mientras se cuentan los registros
+    private int procesados;
+    private int guardados;
+    private int rechazados;
+    private double porcentaje;
+    private double filasPorSegundo;
+    private Long etaSegundos; // null si todavía no hay datos suficientes o el trabajo terminó
+    private boolean cancelacionSolicitada;
+    private LocalDateTime fechaCreacion;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    private String mensajeError;
+    private List<ErrorValidacionDto> errores = new ArrayList<>(); // Primeros errores registrados
+}
@@ -0,0 +1,23 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de la nómina consolidada de todos los tipos de empleado,
+ * obtenido con una única consulta agregada (SUM/COUNT/MIN/MAX) en la base de datos.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NominaConsolidadaDto {
+    private List<ResumenNominaDto> detalle; // Por tipo de persona y departamento
+    private Map<String, BigDecimal> totalPorTipo; // Clave: nombre de la clase (ej. "Contratista")
+    private long totalEmpleados;
+    private BigDecimal totalGeneral;
+}
@@ -0,0 +1,34 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Nómina de un departamento leída de la tabla de resumen (sin recalcular por empleado):
+ * totales del departamento y desglose por tipo de persona.
+ */
+@Data
+@NoArgsConstructor
+public class NominaDepartamentoDto {
+    private String departamento;
+    private long cantidad;
+    private BigDecimal totalSalarios;
+    private BigDecimal totalDeducciones;
+    private BigDecimal totalImpuestos;
+    private Map<String, Subtotal> porTipo = new LinkedHashMap<>(); // Clave: discriminador (EMPLEADO, GERENTE)
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Subtotal {
+        private long cantidad;
+        private BigDecimal totalSalarios;
+        private BigDecimal totalDeducciones;
+        private BigDecimal totalImpuestos;
+    }
+}
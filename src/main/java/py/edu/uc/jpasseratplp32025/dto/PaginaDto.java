@@ -0,0 +1,60 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados para los listados paginados por cursor (keyset sobre el ID).
+ * El cliente debe enviar el valor de cursorSiguiente en el parámetro "after" para obtener
+ * la página siguiente; cuando hayMasResultados es false, cursorSiguiente es null.
+ *
+ * @param <T> Tipo de los elementos de la página.
+ */
+public class PaginaDto<T> {
+
+    private List<T> contenido;
+    private int limite;
+    private String cursorSiguiente;
+    private boolean hayMasResultados;
+
+    public PaginaDto() {
+    }
+
+    public PaginaDto(List<T> contenido, int limite, String cursorSiguiente, boolean hayMasResultados) {
+        this.contenido = contenido;
+        this.limite = limite;
+        this.cursorSiguiente = cursorSiguiente;
+        this.hayMasResultados = hayMasResultados;
+    }
+
+    public List<T> getContenido() {
+        return contenido;
+    }
+
+    public void setContenido(List<T> contenido) {
+        this.contenido = contenido;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public void setLimite(int limite) {
+        this.limite = limite;
+    }
+
+    public String getCursorSiguiente() {
+        return cursorSiguiente;
+    }
+
+    public void setCursorSiguiente(String cursorSiguiente) {
+        this.cursorSiguiente = cursorSiguiente;
+    }
+
+    public boolean isHayMasResultados() {
+        return hayMasResultados;
+    }
+
+    public void setHayMasResultados(boolean hayMasResultados) {
+        this.hayMasResultados = hayMasResultados;
+    }
+}
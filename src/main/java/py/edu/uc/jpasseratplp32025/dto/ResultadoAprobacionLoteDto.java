@@ -0,0 +1,23 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una aprobación por lote: solicitudes aprobadas, rechazadas (con su motivo) y
+ * omitidas (inexistentes, de otro departamento o ya resueltas).
+ */
+@Data
+@NoArgsConstructor
+public class ResultadoAprobacionLoteDto {
+    private int recibidas;
+    private List<Long> aprobadas = new ArrayList<>();
+    private Map<Long, String> rechazadas = new LinkedHashMap<>();
+    private List<Long> omitidas = new ArrayList<>();
+    private long duracionMs;
+}
@@ -0,0 +1,40 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumen de una carga masiva de empleados: totales, tiempos de cada lote
+ * (validación + verificación de cédulas, e inserción en batch JDBC) y el reporte
+ * de los registros rechazados con todas sus violaciones.
+ */
+@Data
+@NoArgsConstructor
+public class ResultadoCargaMasivaDto {
+    private int totalRecibidos;
+    private int totalGuardados;
+    private int totalRechazados;
+    private long duracionTotalMs;
+    private double filasPorSegundo;
+    private List<LoteCargaDto> lotes = new ArrayList<>();
+    private List<ErrorValidacionDto> errores = new ArrayList<>();
+
+    /**
+     * Tiempos de un lote. Los índices se refieren a la lista recibida (fin exclusivo).
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class LoteCargaDto {
+        private int indiceInicio;
+        private int indiceFin;
+        private int cantidad;
+        private int rechazados;
+        private long validacionMs;
+        private long persistenciaMs;
+    }
+}
@@ -0,0 +1,39 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una carga masiva de solicitudes de permiso: totales y un resultado por elemento,
+ * en el mismo orden en que se recibieron.
+ */
+@Data
+@NoArgsConstructor
+public class ResultadoSolicitudMasivaDto {
+    private int recibidas;
+    private int aprobadas;
+    private int rechazadas;
+    private int empleados;
+    private int bloques;
+    private long duracionMs;
+    private List<ItemDto> resultados = new ArrayList<>();
+
+    /**
+     * Resultado de un elemento. indice es la posición en la lista recibida; motivo solo se informa si fue rechazado.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemDto {
+        private int indice;
+        private Long empleadoId;
+        private boolean aprobada;
+        private int diasHabiles;
+        private Integer saldoRestante;
+        private String motivo;
+    }
+}
@@ -0,0 +1,23 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila del resumen de nómina calculado en la base de datos:
+ * cantidad, suma, mínimo y máximo de salarios por tipo de persona y departamento.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumenNominaDto {
+    private String tipoPersona; // Valor del discriminador (EMPLEADO, HORA, CONTRATISTA)
+    private String departamento; // null para los tipos sin departamento
+    private long cantidadEmpleados;
+    private BigDecimal totalSalarios;
+    private BigDecimal salarioMinimo;
+    private BigDecimal salarioMaximo;
+}
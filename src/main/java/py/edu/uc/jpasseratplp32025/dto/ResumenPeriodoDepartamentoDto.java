@@ -0,0 +1,21 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Totales de un departamento en un período, calculados sobre las líneas de nómina ya guardadas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumenPeriodoDepartamentoDto {
+    private String departamento;
+    private long cantidadPersonas;
+    private BigDecimal totalSalarios;
+    private BigDecimal totalDeducciones;
+    private BigDecimal totalImpuestos;
+}
@@ -0,0 +1,30 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Elemento de una carga masiva de solicitudes: la solicitud de permiso más el empleado al que corresponde.
+ */
+public class SolicitudPermisoMasivaDto extends SolicitudPermisoDto {
+
+    @NotNull(message = "El ID del empleado no puede ser nulo")
+    private Long empleadoId;
+
+    public SolicitudPermisoMasivaDto() {
+    }
+
+    public SolicitudPermisoMasivaDto(Long empleadoId, LocalDate fechaInicio, LocalDate fechaFin, String tipoPermiso) {
+        super(fechaInicio, fechaFin, tipoPermiso);
+        this.empleadoId = empleadoId;
+    }
+
+    public Long getEmpleadoId() {
+        return empleadoId;
+    }
+
+    public void setEmpleadoId(Long empleadoId) {
+        this.empleadoId = empleadoId;
+    }
+}
@@ -0,0 +1,20 @@
+package py.edu.uc.jpasseratplp32025.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Contrato próximo a vencer, tomado de la rueda de vencimientos en memoria.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VencimientoContratoDto {
+    private Long personaId;
+    private String tipoPersona; // Valor del discriminador (EMPLEADO, HORA, CONTRATISTA, GERENTE, EMP_REGULAR)
+    private LocalDate fechaFinContrato;
+    private long diasRestantes;
+}
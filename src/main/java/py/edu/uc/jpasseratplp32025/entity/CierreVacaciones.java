@@ -0,0 +1,64 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro del cierre anual de vacaciones de un año (ver CierreVacacionesService): uno por año,
+ * creado al terminar de actualizar todos los bloques.
+ */
+@Entity
+@Immutable
+@Table(name = "cierres_vacaciones")
+public class CierreVacaciones {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private int anio;
+
+    @Column(name = "fecha_ejecucion", nullable = false)
+    private LocalDateTime fechaEjecucion;
+
+    @Column(name = "filas_actualizadas", nullable = false)
+    private long filasActualizadas;
+
+    @Column(nullable = false)
+    private int bloques;
+
+    @Column(name = "duracion_ms", nullable = false)
+    private long duracionMs;
+
+    @Column(name = "filas_por_segundo", nullable = false)
+    private double filasPorSegundo;
+
+    protected CierreVacaciones() {
+    }
+
+    public CierreVacaciones(int anio, LocalDateTime fechaEjecucion, long filasActualizadas, int bloques,
+                            long duracionMs, double filasPorSegundo) {
+        this.anio = anio;
+        this.fechaEjecucion = fechaEjecucion;
+        this.filasActualizadas = filasActualizadas;
+        this.bloques = bloques;
+        this.duracionMs = duracionMs;
+        this.filasPorSegundo = filasPorSegundo;
+    }
+
+    public Long getId() { return id; }
+    public int getAnio() { return anio; }
+    public LocalDateTime getFechaEjecucion() { return fechaEjecucion; }
+    public long getFilasActualizadas() { return filasActualizadas; }
+    public int getBloques() { return bloques; }
+    public long getDuracionMs() { return duracionMs; }
+    public double getFilasPorSegundo() { return filasPorSegundo; }
+}
@@ -97,7 +97,7 @@ public class Contratista extends Empleado {
             return datos + ", ERROR: Datos de Contratista Inválidos.";
         }
         return datos + String.format(", Tipo: Contratista, Monto Proyecto: %s, Proyectos Completados: %d, Fin Contrato: %s, Vigente: %b, Impuestos: %s",
-                this.montoPorProyecto.toString(), this.proyectosCompletados, this.getFechaFinContrato().toString(), this.contratoVigente(), this.calcularImpuestos().toString());
+                this.montoPorProyecto.toString(), this.proyectosCompletados, this.getFechaFinContrato().toString(), this.contratoVigente(), this.obtenerCalculoNomina().getImpuestos().toString());
     }
 
     // El resto de los métodos Mapeable... (ubicarElemento, obtenerImagen)
@@ -105,7 +105,7 @@ public class Contratista extends Empleado {
 
     // Getters y Setters que fuerzan el recálculo
     public BigDecimal getSalarioMensual() {
-        return salarioMensualPersistido != null ? salarioMensualPersistido : calcularSalario();
+        return salarioMensualPersistido != null ? salarioMensualPersistido : obtenerCalculoNomina().getSalario();
     }
 
     // Este getter fue renombrado para reflejar que es el valor persistido
@@ -117,12 +117,14 @@ public class Contratista extends Empleado {
     public BigDecimal getMontoPorProyecto() { return montoPorProyecto; }
     public void setMontoPorProyecto(BigDecimal montoPorProyecto) {
         this.montoPorProyecto = montoPorProyecto;
+        this.invalidarCalculoNomina();
         this.salarioMensualPersistido = calcularSalario(); // <--- Recalcular al cambiar
     }
 
     public Integer getProyectosCompletados() { return proyectosCompletados; }
     public void setProyectosCompletados(Integer proyectosCompletados) {
         this.proyectosCompletados = proyectosCompletados;
+        this.invalidarCalculoNomina();
         this.salarioMensualPersistido = calcularSalario(); // <--- Recalcular al cambiar
     }
 
@@ -0,0 +1,120 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registro de una corrida de nómina de toda la empresa para un período (ver CorridaNominaService).
+ * El detalle por persona se guarda en LineaNomina. Es inmutable: se crea completa al terminar el cálculo
+ * y Hibernate nunca emite UPDATE sobre ella.
+ */
+@Entity
+@Immutable
+@Table(name = "corridas_nomina")
+public class CorridaNomina {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Período liquidado (yyyy-MM): una sola corrida por período
+    @Column(length = 7, unique = true)
+    private String periodo;
+
+    @Column(name = "fecha_ejecucion", nullable = false)
+    private LocalDateTime fechaEjecucion;
+
+    @Column(name = "total_personas", nullable = false)
+    private int totalPersonas;
+
+    // Personas cuyo cálculo lanzó una excepción (no se incluyen en los totales)
+    @Column(name = "personas_con_error", nullable = false)
+    private int personasConError;
+
+    @Column(name = "total_salarios", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSalarios;
+
+    @Column(name = "total_deducciones", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalDeducciones;
+
+    @Column(name = "total_impuestos", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalImpuestos;
+
+    @Column(nullable = false)
+    private int paralelismo;
+
+    @Column(name = "cantidad_rangos", nullable = false)
+    private int cantidadRangos;
+
+    // Duración de cada etapa en milisegundos
+    @Column(name = "ms_particion", nullable = false)
+    private long msParticion;
+
+    @Column(name = "ms_calculo", nullable = false)
+    private long msCalculo;
+
+    @Column(name = "ms_fusion", nullable = false)
+    private long msFusion;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "corridas_nomina_subtotales", joinColumns = @JoinColumn(name = "corrida_id"))
+    @OrderColumn(name = "posicion")
+    private List<SubtotalCorridaNomina> subtotales = new ArrayList<>();
+
+    protected CorridaNomina() {
+    }
+
+    public CorridaNomina(String periodo, LocalDateTime fechaEjecucion, int totalPersonas, int personasConError,
+                         BigDecimal totalSalarios, BigDecimal totalDeducciones, BigDecimal totalImpuestos,
+                         int paralelismo, int cantidadRangos, long msParticion, long msCalculo, long msFusion,
+                         List<SubtotalCorridaNomina> subtotales) {
+        this.periodo = periodo;
+        this.fechaEjecucion = fechaEjecucion;
+        this.totalPersonas = totalPersonas;
+        this.personasConError = personasConError;
+        this.totalSalarios = totalSalarios;
+        this.totalDeducciones = totalDeducciones;
+        this.totalImpuestos = totalImpuestos;
+        this.paralelismo = paralelismo;
+        this.cantidadRangos = cantidadRangos;
+        this.msParticion = msParticion;
+        this.msCalculo = msCalculo;
+        this.msFusion = msFusion;
+        this.subtotales = new ArrayList<>(subtotales);
+    }
+
+    public BigDecimal getTotalNeto() {
+        return totalSalarios.subtract(totalDeducciones);
+    }
+
+    public Long getId() { return id; }
+    public String getPeriodo() { return periodo; }
+    public LocalDateTime getFechaEjecucion() { return fechaEjecucion; }
+    public int getTotalPersonas() { return totalPersonas; }
+    public int getPersonasConError() { return personasConError; }
+    public BigDecimal getTotalSalarios() { return totalSalarios; }
+    public BigDecimal getTotalDeducciones() { return totalDeducciones; }
+    public BigDecimal getTotalImpuestos() { return totalImpuestos; }
+    public int getParalelismo() { return paralelismo; }
+    public int getCantidadRangos() { return cantidadRangos; }
+    public long getMsParticion() { return msParticion; }
+    public long getMsCalculo() { return msCalculo; }
+    public long getMsFusion() { return msFusion; }
+    public List<SubtotalCorridaNomina> getSubtotales() { return Collections.unmodifiableList(subtotales); }
+}
@@ -6,6 +6,7 @@ import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
 import py.edu.uc.jpasseratplp32025.exception.DiasInsuficientesException; // <-- Import de la excepción
 import py.edu.uc.jpasseratplp32025.model.Avatar;
 import py.edu.uc.jpasseratplp32025.model.PosicionGPS;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
 
 import lombok.extern.slf4j.Slf4j;
 import jakarta.persistence.Column;
@@ -24,6 +25,10 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 @DiscriminatorValue("EMP_REGULAR") // EMPLEADO
 public class Empleado extends PersonaJpa implements Mapeable, Permisionable {
 
+    // Constantes de nómina (replicadas en NominaCentavos para el cálculo en centavos)
+    private static final BigDecimal SALARIO_FIJO = new BigDecimal("5000000.00");
+    private static final BigDecimal TASA_DEDUCCION = new BigDecimal("0.15");
+
     // Campos de RR.HH. necesarios para Permisionable
     private LocalDate fechaIngreso;
     private int diasVacacionesAcumulados;
@@ -87,16 +92,19 @@ public class Empleado extends PersonaJpa implements Mapeable, Permisionable {
                 );
             }
 
+            // Se descuentan solo los días hábiles del rango (sin fines de semana ni feriados)
+            int diasHabiles = diasHabilesSolicitados(fechaInicio, fechaFin);
+
             // 2. Saldo de Días
-            if (diasSolicitados > diasVacacionesAcumulados) {
+            if (diasHabiles > diasVacacionesAcumulados) {
                 throw new PermisoNoConcedidoException(
-                        String.format("Días solicitados (%d) exceden el saldo disponible (%d).", diasSolicitados, diasVacacionesAcumulados),
+                        String.format("Días solicitados (%d) exceden el saldo disponible (%d).", diasHabiles, diasVacacionesAcumulados),
                         "Insuficiencia de días disponibles"
                 );
             }
 
             // 3. RESTRICCIÓN DE 20 DÍAS ANUALES (EXCLUSIVA DE EMPLEADOS REGULARES)
-            int nuevoTotalSolicitado = this.diasVacacionesSolicitadosTotal + (int) diasSolicitados;
+            int nuevoTotalSolicitado = this.diasVacacionesSolicitadosTotal + diasHabiles;
             if (nuevoTotalSolicitado > 20) {
                 // Si la solicitud excede el límite acumulado de 20 días en el año, lanzamos la excepción
                 throw new DiasInsuficientesException(
@@ -105,10 +113,10 @@ public class Empleado extends PersonaJpa implements Mapeable, Permisionable {
             }
 
             // 4. Simulación de Aprobación
-            diasVacacionesAcumulados -= diasSolicitados;
+            diasVacacionesAcumulados -= diasHabiles;
             this.diasVacacionesSolicitadosTotal = nuevoTotalSolicitado; // Actualizamos el total anual
 
-            log.info("✅ Solicitud de vacaciones de {} días aprobada provisionalmente. Saldo restante: {}", diasSolicitados, diasVacacionesAcumulados);
+            log.info("✅ Solicitud de vacaciones de {} días hábiles aprobada provisionalmente. Saldo restante: {}", diasHabiles, diasVacacionesAcumulados);
             return true;
 
         } else if (tipoPermiso.equalsIgnoreCase("MATRIMONIO") && diasSolicitados <= 4) {
@@ -123,6 +131,28 @@ public class Empleado extends PersonaJpa implements Mapeable, Permisionable {
         );
     }
 
+    /**
+     * Días hábiles del rango de vacaciones (compartido con Gerente).
+     * @throws PermisoNoConcedidoException Si el rango es demasiado largo o no contiene ningún día hábil.
+     */
+    protected static int diasHabilesSolicitados(LocalDate fechaInicio, LocalDate fechaFin)
+            throws PermisoNoConcedidoException {
+        if (!CalendarioLaboral.rangoAdmitido(fechaInicio, fechaFin)) {
+            throw new PermisoNoConcedidoException(
+                    String.format("El rango solicitado supera el máximo de %d días corridos.", CalendarioLaboral.MAXIMO_DIAS_RANGO),
+                    "Rango de fechas demasiado largo"
+            );
+        }
+        int diasHabiles = CalendarioLaboral.diasHabiles(fechaInicio, fechaFin);
+        if (diasHabiles == 0) {
+            throw new PermisoNoConcedidoException(
+                    "El rango solicitado no contiene días hábiles (solo fines de semana o feriados).",
+                    "Sin días hábiles en el rango"
+            );
+        }
+        return diasHabiles;
+    }
+
     @Override
     public int consultarDiasVacacionesDisponibles(String codigoEmpleado) {
         return this.diasVacacionesAcumulados;
@@ -147,13 +177,13 @@ public class Empleado extends PersonaJpa implements Mapeable, Permisionable {
 
     @Override
     public BigDecimal calcularSalario() {
-        return new BigDecimal("5000000.00").setScale(2, RoundingMode.HALF_UP);
+        return SALARIO_FIJO;
     }
 
     @Override
     public BigDecimal calcularDeducciones() {
         BigDecimal salario = this.calcularSalario();
-        return salario.multiply(new BigDecimal("0.15")).setScale(2, RoundingMode.HALF_UP);
+        return salario.multiply(TASA_DEDUCCION).setScale(2, RoundingMode.HALF_UP);
     }
 
     @Override
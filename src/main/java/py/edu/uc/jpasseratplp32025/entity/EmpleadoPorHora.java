@@ -3,6 +3,8 @@ package py.edu.uc.jpasseratplp32025.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
+import py.edu.uc.jpasseratplp32025.model.CalculoNomina;
+
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -93,14 +95,15 @@ public class EmpleadoPorHora extends Empleado {
         if (!validarDatosEspecificos()) {
             return datos + ", ERROR: Datos de Empleado Inválidos.";
         }
+        CalculoNomina calculo = this.obtenerCalculoNomina();
         return datos + String.format(", Tipo: Por Hora, Tarifa: %s, Horas Trabajadas: %d, Salario Total: %s, Impuestos: %s",
-                this.tarifaPorHora.toString(), this.horasTrabajadas, this.calcularSalario().toString(), this.calcularImpuestos().toString());
+                this.tarifaPorHora.toString(), this.horasTrabajadas, calculo.getSalario().toString(), calculo.getImpuestos().toString());
     }
 
     public BigDecimal getSalarioMensual() {
         // Si por alguna razón es nulo o cero, forzamos el cálculo antes de devolver.
         if (salarioMensual == null || salarioMensual.compareTo(BigDecimal.ZERO) == 0) {
-            return calcularSalario();
+            return obtenerCalculoNomina().getSalario();
         }
         return salarioMensual;
     }
@@ -109,11 +112,13 @@ public class EmpleadoPorHora extends Empleado {
     public BigDecimal getTarifaPorHora() { return tarifaPorHora; }
     public void setTarifaPorHora(BigDecimal tarifaPorHora) {
         this.tarifaPorHora = tarifaPorHora;
+        this.invalidarCalculoNomina();
         this.salarioMensual = calcularSalario(); // <-- Recálculo forzado
     }
     public Integer getHorasTrabajadas() { return horasTrabajadas; }
     public void setHorasTrabajadas(Integer horasTrabajadas) {
         this.horasTrabajadas = horasTrabajadas;
+        this.invalidarCalculoNomina();
         this.salarioMensual = calcularSalario(); // <-- Recálculo forzado
     }
 }
\ No newline at end of file
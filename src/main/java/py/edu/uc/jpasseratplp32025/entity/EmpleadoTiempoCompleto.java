@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import py.edu.uc.jpasseratplp32025.model.Avatar;
+import py.edu.uc.jpasseratplp32025.model.CalculoNomina;
 import py.edu.uc.jpasseratplp32025.model.PosicionGPS;
 
 import java.math.BigDecimal;
@@ -105,27 +106,17 @@ public class EmpleadoTiempoCompleto extends Empleado {
         String salarioBrutoStr = (this.salarioMensual == null) ? "N/A"
                 : this.salarioMensual.setScale(2, RoundingMode.HALF_UP).toString();
 
-        BigDecimal salarioNeto = this.calcularSalario();
-        String salarioNetoStr = (salarioNeto == null) ? "N/A"
-                : salarioNeto.setScale(2, RoundingMode.HALF_UP).toString();
-
-        BigDecimal deducciones = this.calcularDeducciones();
-        String deduccionesStr = (deducciones == null) ? "N/A"
-                : deducciones.setScale(2, RoundingMode.HALF_UP).toString();
-
-        BigDecimal impuestos = null;
-        try {
-            impuestos = this.calcularImpuestos();
-        } catch (Exception e) {
-            impuestos = null;
-        }
-        String impuestosStr = (impuestos == null) ? "N/A" : impuestos.setScale(2, RoundingMode.HALF_UP).toString();
-
         if (!validarDatosEspecificos()) {
             return String.format("%s, ERROR: Datos de Empleado Inválidos (Salario mínimo o Departamento inválido). Departamento: %s, Salario Mensual Bruto: %s",
                     datos, departamentoStr, salarioBrutoStr);
         }
 
+        // Un único cálculo (memorizado) para salario, deducciones e impuestos
+        CalculoNomina calculo = this.obtenerCalculoNomina();
+        String salarioNetoStr = calculo.getSalario().setScale(2, RoundingMode.HALF_UP).toString();
+        String deduccionesStr = calculo.getDeducciones().setScale(2, RoundingMode.HALF_UP).toString();
+        String impuestosStr = calculo.getImpuestos().setScale(2, RoundingMode.HALF_UP).toString();
+
         return String.format("%s, Departamento: %s, Salario Mensual Bruto: %s, Salario Neto (9%%): %s, Deducciones (5%%): %s, Impuestos: %s",
                 datos, departamentoStr, salarioBrutoStr, salarioNetoStr, deduccionesStr, impuestosStr);
     }
@@ -157,7 +148,10 @@ public class EmpleadoTiempoCompleto extends Empleado {
     }
 
     public BigDecimal getSalarioMensual() { return salarioMensual; }
-    public void setSalarioMensual(BigDecimal salarioMensual) { this.salarioMensual = salarioMensual; }
+    public void setSalarioMensual(BigDecimal salarioMensual) {
+        this.salarioMensual = salarioMensual;
+        this.invalidarCalculoNomina();
+    }
     public String getDepartamento() { return departamento; }
     public void setDepartamento(String departamento) { this.departamento = departamento; }
 }
\ No newline at end of file
@@ -21,6 +21,11 @@ public class Gerente extends Empleado implements AprobadorGerencial {
     // Atributos específicos del Gerente
     private String departamentoACargo;
 
+    // Constantes de nómina (replicadas en NominaCentavos para el cálculo en centavos)
+    private static final BigDecimal SALARIO_BASE = new BigDecimal("5000000.00");
+    private static final BigDecimal FACTOR_SALARIO = new BigDecimal("1.5");
+    private static final BigDecimal TASA_DEDUCCION = new BigDecimal("0.20");
+
     // Constructores...
     public Gerente() {
         super();
@@ -74,19 +79,22 @@ public class Gerente extends Empleado implements AprobadorGerencial {
                 );
             }
 
+            // Se descuentan solo los días hábiles del rango (sin fines de semana ni feriados)
+            int diasHabiles = diasHabilesSolicitados(fechaInicio, fechaFin);
+
             // 2. Saldo de Días
-            if (diasSolicitados > diasAcumulados) {
+            if (diasHabiles > diasAcumulados) {
                 throw new PermisoNoConcedidoException(
-                        String.format("Días solicitados (%d) exceden el saldo disponible (%d).", diasSolicitados, diasAcumulados),
+                        String.format("Días solicitados (%d) exceden el saldo disponible (%d).", diasHabiles, diasAcumulados),
                         "Insuficiencia de días disponibles (Gerente)"
                 );
             }
 
             // 3. Simulación de Aprobación
-            this.setDiasVacacionesAcumulados(diasAcumulados - (int) diasSolicitados);
-            this.diasVacacionesSolicitadosTotal += (int) diasSolicitados; // Actualiza el contador anual (puede exceder 20)
+            this.setDiasVacacionesAcumulados(diasAcumulados - diasHabiles);
+            this.diasVacacionesSolicitadosTotal += diasHabiles; // Actualiza el contador anual (puede exceder 20)
 
-            log.info("✅ Solicitud de vacaciones de {} días aprobada provisionalmente (Gerente). Saldo restante: {}", diasSolicitados, this.consultarDiasVacacionesDisponibles(codigoEmpleado));
+            log.info("✅ Solicitud de vacaciones de {} días hábiles aprobada provisionalmente (Gerente). Saldo restante: {}", diasHabiles, this.consultarDiasVacacionesDisponibles(codigoEmpleado));
             return true;
         }
 
@@ -117,15 +125,14 @@ public class Gerente extends Empleado implements AprobadorGerencial {
     @Override
     public BigDecimal calcularSalario() {
         // Ejemplo: Gerentes ganan 50% más que el empleado base
-        BigDecimal salarioBase = new BigDecimal("5000000.00");
-        return salarioBase.multiply(new BigDecimal("1.5")).setScale(2, RoundingMode.HALF_UP);
+        return SALARIO_BASE.multiply(FACTOR_SALARIO).setScale(2, RoundingMode.HALF_UP);
     }
 
     @Override
     public BigDecimal calcularDeducciones() {
         // Ejemplo: Gerentes tienen 5% más de deducciones
         BigDecimal salario = this.calcularSalario();
-        return salario.multiply(new BigDecimal("0.20")).setScale(2, RoundingMode.HALF_UP);
+        return salario.multiply(TASA_DEDUCCION).setScale(2, RoundingMode.HALF_UP);
     }
 
     @Override
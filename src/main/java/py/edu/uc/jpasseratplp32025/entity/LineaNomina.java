@@ -0,0 +1,101 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Línea de una corrida de nómina: lo calculado para una persona en un período (año-mes).
+ * Los reportes históricos leen estas líneas en lugar de recalcular la nómina con el estado actual
+ * de las entidades. Se escriben en bloque al final de la corrida y no se modifican.
+ */
+@Entity
+@Immutable
+@Table(name = "lineas_nomina",
+        uniqueConstraints = @UniqueConstraint(name = "uk_lineas_nomina_periodo_cedula", columnNames = {"periodo", "numero_cedula"}),
+        indexes = {
+                @Index(name = "idx_lineas_nomina_periodo_departamento", columnList = "periodo, departamento"),
+                @Index(name = "idx_lineas_nomina_corrida", columnList = "corrida_id")
+        })
+public class LineaNomina {
+
+    // SEQUENCE (no IDENTITY) para que Hibernate agrupe los INSERT en batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lineas_nomina_seq")
+    @SequenceGenerator(name = "lineas_nomina_seq", sequenceName = "lineas_nomina_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(name = "corrida_id", nullable = false)
+    private Long corridaId;
+
+    // Formato yyyy-MM (YearMonth#toString)
+    @Column(nullable = false, length = 7)
+    private String periodo;
+
+    @Column(name = "persona_id", nullable = false)
+    private Long personaId;
+
+    @Column(name = "numero_cedula", nullable = false)
+    private String numeroCedula;
+
+    @Column(name = "nombre_completo")
+    private String nombreCompleto;
+
+    @Column(name = "tipo_persona", nullable = false, length = 50)
+    private String tipoPersona;
+
+    @Column(nullable = false)
+    private String departamento;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal salario;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal deducciones;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal impuestos;
+
+    protected LineaNomina() {
+    }
+
+    public LineaNomina(Long corridaId, String periodo, Long personaId, String numeroCedula, String nombreCompleto,
+                       String tipoPersona, String departamento, BigDecimal salario, BigDecimal deducciones,
+                       BigDecimal impuestos) {
+        this.corridaId = corridaId;
+        this.periodo = periodo;
+        this.personaId = personaId;
+        this.numeroCedula = numeroCedula;
+        this.nombreCompleto = nombreCompleto;
+        this.tipoPersona = tipoPersona;
+        this.departamento = departamento;
+        this.salario = salario;
+        this.deducciones = deducciones;
+        this.impuestos = impuestos;
+    }
+
+    public BigDecimal getSalarioNeto() {
+        return salario.subtract(deducciones);
+    }
+
+    public Long getId() { return id; }
+    public Long getCorridaId() { return corridaId; }
+    public String getPeriodo() { return periodo; }
+    public Long getPersonaId() { return personaId; }
+    public String getNumeroCedula() { return numeroCedula; }
+    public String getNombreCompleto() { return nombreCompleto; }
+    public String getTipoPersona() { return tipoPersona; }
+    public String getDepartamento() { return departamento; }
+    public BigDecimal getSalario() { return salario; }
+    public BigDecimal getDeducciones() { return deducciones; }
+    public BigDecimal getImpuestos() { return impuestos; }
+}
@@ -0,0 +1,84 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Resumen de nómina por departamento y tipo de persona (cantidad y totales en centavos).
+ * La tabla se mantiene con incrementos en la misma transacción que cada alta, modificación o baja
+ * (ver NominaDepartamentoListener y NominaDepartamentoService); desde JPA es de solo lectura.
+ */
+@Entity
+@Immutable
+@IdClass(NominaDepartamento.Clave.class)
+@Table(name = "nomina_departamentos")
+public class NominaDepartamento {
+
+    @Id
+    @Column(nullable = false)
+    private String departamento;
+
+    @Id
+    @Column(name = "tipo_persona", nullable = false, length = 31)
+    private String tipoPersona;
+
+    @Column(nullable = false)
+    private long cantidad;
+
+    @Column(name = "salarios_centavos", nullable = false)
+    private long salariosCentavos;
+
+    @Column(name = "deducciones_centavos", nullable = false)
+    private long deduccionesCentavos;
+
+    @Column(name = "impuestos_centavos", nullable = false)
+    private long impuestosCentavos;
+
+    protected NominaDepartamento() {
+    }
+
+    public String getDepartamento() { return departamento; }
+    public String getTipoPersona() { return tipoPersona; }
+    public long getCantidad() { return cantidad; }
+    public long getSalariosCentavos() { return salariosCentavos; }
+    public long getDeduccionesCentavos() { return deduccionesCentavos; }
+    public long getImpuestosCentavos() { return impuestosCentavos; }
+
+    /**
+     * Clave compuesta (departamento, tipo_persona).
+     */
+    public static class Clave implements Serializable {
+        private String departamento;
+        private String tipoPersona;
+
+        public Clave() {
+        }
+
+        public Clave(String departamento, String tipoPersona) {
+            this.departamento = departamento;
+            this.tipoPersona = tipoPersona;
+        }
+
+        public String getDepartamento() { return departamento; }
+        public String getTipoPersona() { return tipoPersona; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clave otra)) return false;
+            return Objects.equals(departamento, otra.departamento) && Objects.equals(tipoPersona, otra.tipoPersona);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(departamento, tipoPersona);
+        }
+    }
+}
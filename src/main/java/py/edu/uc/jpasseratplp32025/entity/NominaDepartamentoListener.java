@@ -0,0 +1,120 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import py.edu.uc.jpasseratplp32025.service.NominaDepartamentoService;
+import py.edu.uc.jpasseratplp32025.util.NominaCentavos;
+import py.edu.uc.jpasseratplp32025.util.NominaUtils;
+
+/**
+ * Listener JPA de PersonaJpa: mantiene la tabla nomina_departamentos con la diferencia entre el aporte
+ * de la persona al cargarla y su aporte al guardarla o eliminarla. Las diferencias se acumulan en la
+ * transacción de la escritura y NominaDepartamentoService las aplica agrupadas por fila antes del commit,
+ * por lo que un rollback también las descarta.
+ * Solo aportan las personas con departamento (tiempo completo y gerentes, ver NominaUtils.departamentoDe).
+ */
+public class NominaDepartamentoListener {
+
+    @Autowired
+    private ObjectProvider<NominaDepartamentoService> servicioProvider;
+
+    /**
+     * Aporte de una persona a su fila (departamento, tipo) del resumen, en centavos.
+     */
+    static final class Aporte {
+        private final String departamento;
+        private final String tipoPersona;
+        private final long salario;
+        private final long deducciones;
+        private final long impuestos;
+
+        private Aporte(String departamento, String tipoPersona, NominaCentavos.Resultado nomina) {
+            this.departamento = departamento;
+            this.tipoPersona = tipoPersona;
+            this.salario = nomina.getSalario();
+            this.deducciones = nomina.getDeducciones();
+            this.impuestos = nomina.getImpuestos();
+        }
+
+        private boolean mismoAporte(Aporte otro) {
+            return otro != null && departamento.equals(otro.departamento) && tipoPersona.equals(otro.tipoPersona)
+                    && salario == otro.salario && deducciones == otro.deducciones && impuestos == otro.impuestos;
+        }
+    }
+
+    @PostLoad
+    public void alCargar(PersonaJpa persona) {
+        persona.setAporteNominaDepartamento(aporteDe(persona));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void alGuardar(PersonaJpa persona) {
+        Aporte anterior = persona.getAporteNominaDepartamento();
+        Aporte actual = aporteDe(persona);
+        if (actual == anterior || (actual != null && actual.mismoAporte(anterior))) {
+            return;
+        }
+        aplicar(anterior, actual);
+        // Un segundo flush en la misma transacción parte del estado ya registrado
+        persona.setAporteNominaDepartamento(actual);
+    }
+
+    @PostRemove
+    public void alEliminar(PersonaJpa persona) {
+        Aporte anterior = persona.getAporteNominaDepartamento();
+        if (anterior != null) {
+            aplicar(anterior, null);
+            persona.setAporteNominaDepartamento(null);
+        }
+    }
+
+    private void aplicar(Aporte anterior, Aporte actual) {
+        NominaDepartamentoService servicio = servicioProvider != null ? servicioProvider.getIfAvailable() : null;
+        if (servicio == null) {
+            return;
+        }
+        boolean mismaFila = anterior != null && actual != null
+                && anterior.departamento.equals(actual.departamento)
+                && anterior.tipoPersona.equals(actual.tipoPersona);
+        if (mismaFila) {
+            // Cambio de montos sin cambio de departamento/tipo: una sola diferencia sobre la fila
+            servicio.acumular(actual.departamento, actual.tipoPersona, 0,
+                    actual.salario - anterior.salario,
+                    actual.deducciones - anterior.deducciones,
+                    actual.impuestos - anterior.impuestos);
+            return;
+        }
+        if (anterior != null) {
+            servicio.acumular(anterior.departamento, anterior.tipoPersona, -1,
+                    -anterior.salario, -anterior.deducciones, -anterior.impuestos);
+        }
+        if (actual != null) {
+            servicio.acumular(actual.departamento, actual.tipoPersona, 1,
+                    actual.salario, actual.deducciones, actual.impuestos);
+        }
+    }
+
+    static Aporte aporteDe(PersonaJpa persona) {
+        String departamento = NominaUtils.departamentoDe(persona);
+        if (departamento == null) {
+            return null;
+        }
+        return new Aporte(departamento, tipoDe(persona), NominaCentavos.calcular(persona));
+    }
+
+    /**
+     * Valor del discriminador (tipo_persona) de la clase real de la persona.
+     */
+    public static String tipoDe(PersonaJpa persona) {
+        Class<?> clase = Hibernate.getClass(persona);
+        DiscriminatorValue valor = clase.getAnnotation(DiscriminatorValue.class);
+        return valor != null ? valor.value() : clase.getSimpleName();
+    }
+}
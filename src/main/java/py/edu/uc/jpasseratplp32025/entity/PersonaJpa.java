@@ -1,9 +1,11 @@
 package py.edu.uc.jpasseratplp32025.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Table;
 import jakarta.persistence.Inheritance;
@@ -11,9 +13,13 @@ import jakarta.persistence.InheritanceType;
 import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.DiscriminatorType;
 import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.math.BigDecimal; // Necesario para calcularSalario y calcularImpuestos
 import java.math.RoundingMode;
+import py.edu.uc.jpasseratplp32025.model.CalculoNomina;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 
@@ -22,6 +28,12 @@ import jakarta.validation.constraints.NotBlank;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 //@JsonTypeInfo(
 //        use = JsonTypeInfo.Id.NAME, // Usar el nombre de la subclase
@@ -39,13 +51,27 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity
+// Los índices secundarios se crean con migraciones versionadas (src/main/resources/db/migraciones)
 @Table(name = "personas")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "tipo_persona", discriminatorType = DiscriminatorType.STRING)
 @DiscriminatorValue("PERSONA")
+// Caché de segundo nivel: entidades por ID y resolución cédula → ID (natural-id) sin consultar la base
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PersonaJpa.REGION_CACHE)
+@NaturalIdCache(region = PersonaJpa.REGION_CACHE_CEDULA)
+// Mantienen actualizados el snapshot en memoria, la tabla de resumen por departamento y los vencimientos de contratos
+@EntityListeners({PersonaSnapshotListener.class, NominaDepartamentoListener.class, VencimientoContratosListener.class})
 public abstract class PersonaJpa { // <<-- CLASE ES ABSTRACTA
+    // SEQUENCE con optimizador pooled (bloques de 50): a diferencia de IDENTITY,
+    // permite que Hibernate agrupe los INSERT en batches JDBC.
+    public static final String REGION_CACHE = "personas";
+    public static final String REGION_CACHE_CEDULA = "personas-cedula";
+
+    private static final BigDecimal TASA_IMPUESTO_BASE = new BigDecimal("0.10"); // 10%
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "personas_seq")
+    @SequenceGenerator(name = "personas_seq", sequenceName = "personas_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -61,9 +87,26 @@ public abstract class PersonaJpa { // <<-- CLASE ES ABSTRACTA
     @NotBlank(message = "El número de cédula no puede estar vacío.")
     @Pattern(regexp = "^[1-9]\\d{0,19}$",
             message = "El número de cédula debe ser un valor numérico positivo (mayor a 0) de entre 1 y 20 dígitos.")
+    @NaturalId(mutable = true) // La cédula puede corregirse con PUT
     @Column(name = "numero_cedula", nullable = false, unique = true, length = 20)
     private String numeroDeCedula;
 
+    // Control de concurrencia optimista: cada UPDATE incrementa la versión y falla si otra
+    // transacción la modificó entretanto. Solo lectura en JSON (el cliente no la fija).
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    // Cálculo de nómina memorizado (no persistido); null = pendiente de calcular
+    @Transient
+    private CalculoNomina calculoNomina;
+
+    // Aporte al resumen por departamento tal como se cargó o guardó por última vez (ver NominaDepartamentoListener)
+    @Transient
+    private NominaDepartamentoListener.Aporte aporteNominaDepartamento;
+
     // =================================================================
     // MÉTODOS DE NEGOCIO Y TEMPLATE
     // =================================================================
@@ -82,11 +125,52 @@ public abstract class PersonaJpa { // <<-- CLASE ES ABSTRACTA
      * MÉTODO TEMPLATE: Calcula el impuesto total usando el Salario y las Deducciones.
      * Patrón Template Method: Define el esqueleto de un algoritmo (cálculo de impuestos),
      * dejando que las subclases definan ciertos pasos (calcularDeducciones).
+     * El resultado se toma del cálculo memorizado (ver obtenerCalculoNomina()).
      */
     public final BigDecimal calcularImpuestos() {
-        BigDecimal salarioBruto = this.calcularSalario();
-        BigDecimal deducciones = this.calcularDeducciones();
+        return this.obtenerCalculoNomina().getImpuestos();
+    }
+
+    /**
+     * Devuelve salario, deducciones e impuestos calculados una sola vez por estado de la entidad.
+     * Los setters que modifican datos del cálculo (salario mensual, tarifa, horas, monto, proyectos)
+     * llaman a invalidarCalculoNomina(); al cargar la entidad desde la base se parte sin cálculo.
+     * Reportes, mapeadores y controladores deben usar este método en lugar de recalcular.
+     */
+    public final CalculoNomina obtenerCalculoNomina() {
+        CalculoNomina calculo = this.calculoNomina;
+        if (calculo == null) {
+            BigDecimal salarioBruto = this.calcularSalario();
+            BigDecimal deducciones = this.calcularDeducciones();
+            calculo = new CalculoNomina(salarioBruto, deducciones, calcularImpuestos(salarioBruto, deducciones));
+            this.calculoNomina = calculo;
+        }
+        return calculo;
+    }
+
+    /**
+     * Descarta el cálculo memorizado. Debe llamarse desde todo setter que cambie el resultado
+     * de calcularSalario() o calcularDeducciones().
+     */
+    protected final void invalidarCalculoNomina() {
+        this.calculoNomina = null;
+    }
+
+    NominaDepartamentoListener.Aporte getAporteNominaDepartamento() {
+        return aporteNominaDepartamento;
+    }
+
+    void setAporteNominaDepartamento(NominaDepartamentoListener.Aporte aporte) {
+        this.aporteNominaDepartamento = aporte;
+    }
+
+    // Hibernate asigna los campos directamente (carga, refresh): el cálculo previo ya no es válido
+    @PostLoad
+    private void alCargar() {
+        this.calculoNomina = null;
+    }
 
+    private static BigDecimal calcularImpuestos(BigDecimal salarioBruto, BigDecimal deducciones) {
         // Salario Imponible = Salario Bruto - Deducciones
         BigDecimal salarioImponible = salarioBruto.subtract(deducciones);
         if (salarioImponible.compareTo(BigDecimal.ZERO) < 0) {
@@ -94,15 +178,14 @@ public abstract class PersonaJpa { // <<-- CLASE ES ABSTRACTA
         }
 
         // Impuesto Total = Salario Imponible - Impuesto Base (10%)
-        return salarioImponible.subtract(this.calcularImpuestoBase()).setScale(2, RoundingMode.HALF_UP);
+        return salarioImponible.subtract(calcularImpuestoBase(salarioBruto)).setScale(2, RoundingMode.HALF_UP);
     }
 
     /**
      * MÉTODO CONCRETO: Calcula el impuesto base (10% del salario).
      */
-    private BigDecimal calcularImpuestoBase() {
-        final BigDecimal TASA_BASE = new BigDecimal("0.10"); // 10%
-        return this.calcularSalario().multiply(TASA_BASE).setScale(2, RoundingMode.HALF_UP);
+    private static BigDecimal calcularImpuestoBase(BigDecimal salarioBruto) {
+        return salarioBruto.multiply(TASA_IMPUESTO_BASE).setScale(2, RoundingMode.HALF_UP);
     }
 
     /**
@@ -135,6 +218,8 @@ public abstract class PersonaJpa { // <<-- CLASE ES ABSTRACTA
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
     public String getNombre() { return nombre; }
     public void setNombre(String nombre) { this.nombre = nombre; }
     public String getApellido() { return apellido; }
@@ -0,0 +1,40 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import py.edu.uc.jpasseratplp32025.service.SnapshotNominaService;
+
+/**
+ * Listener JPA de PersonaJpa: informa altas, modificaciones y bajas al snapshot en memoria de nómina.
+ * Hibernate lo instancia a través de Spring; el servicio se resuelve de forma diferida porque el listener
+ * se crea junto con el EntityManagerFactory, antes que los repositorios.
+ */
+public class PersonaSnapshotListener {
+
+    @Autowired
+    private ObjectProvider<SnapshotNominaService> snapshotProvider;
+
+    @PostPersist
+    @PostUpdate
+    public void alGuardar(PersonaJpa persona) {
+        SnapshotNominaService snapshot = snapshot();
+        if (snapshot != null) {
+            snapshot.registrarCambio(persona);
+        }
+    }
+
+    @PostRemove
+    public void alEliminar(PersonaJpa persona) {
+        SnapshotNominaService snapshot = snapshot();
+        if (snapshot != null) {
+            snapshot.registrarBaja(persona.getId());
+        }
+    }
+
+    private SnapshotNominaService snapshot() {
+        return snapshotProvider != null ? snapshotProvider.getIfAvailable() : null;
+    }
+}
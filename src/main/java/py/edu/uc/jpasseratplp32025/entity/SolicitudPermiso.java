@@ -0,0 +1,130 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Solicitud de permiso registrada a la espera de la aprobación del gerente del departamento.
+ * La cola de cada gerente son las solicitudes PENDIENTE de su departamentoACargo, ordenadas por ID
+ * (índice departamento + estado + id). El saldo del empleado se debita recién al aprobarla.
+ */
+@Entity
+@Table(name = "solicitudes_permiso",
+        indexes = {
+                @Index(name = "idx_solicitudes_departamento_estado", columnList = "departamento, estado, id"),
+                @Index(name = "idx_solicitudes_persona", columnList = "persona_id")
+        })
+public class SolicitudPermiso {
+
+    public enum Estado { PENDIENTE, APROBADA, RECHAZADA }
+
+    // SEQUENCE (no IDENTITY) para que Hibernate agrupe en batch los UPDATE de una aprobación por lote
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solicitudes_permiso_seq")
+    @SequenceGenerator(name = "solicitudes_permiso_seq", sequenceName = "solicitudes_permiso_seq", allocationSize = 50)
+    private Long id;
+
+    @Version
+    private long version;
+
+    @Column(name = "persona_id", nullable = false)
+    private Long personaId;
+
+    @Column(name = "numero_cedula", nullable = false)
+    private String numeroCedula;
+
+    // Departamento del empleado al momento de la solicitud (define la cola del gerente)
+    @Column(nullable = false)
+    private String departamento;
+
+    @Column(name = "tipo_permiso", nullable = false, length = 50)
+    private String tipoPermiso;
+
+    @Column(name = "fecha_inicio", nullable = false)
+    private LocalDate fechaInicio;
+
+    @Column(name = "fecha_fin", nullable = false)
+    private LocalDate fechaFin;
+
+    // Días hábiles del rango (ver CalendarioLaboral)
+    @Column(nullable = false)
+    private int dias;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Estado estado;
+
+    @Column(name = "fecha_solicitud", nullable = false)
+    private LocalDateTime fechaSolicitud;
+
+    @Column(name = "fecha_resolucion")
+    private LocalDateTime fechaResolucion;
+
+    // Gerente que resolvió la solicitud
+    @Column(name = "gerente_id")
+    private Long gerenteId;
+
+    @Column(length = 500)
+    private String notas;
+
+    protected SolicitudPermiso() {
+    }
+
+    public SolicitudPermiso(Long personaId, String numeroCedula, String departamento, String tipoPermiso,
+                            LocalDate fechaInicio, LocalDate fechaFin, int dias) {
+        this.personaId = personaId;
+        this.numeroCedula = numeroCedula;
+        this.departamento = departamento;
+        this.tipoPermiso = tipoPermiso;
+        this.fechaInicio = fechaInicio;
+        this.fechaFin = fechaFin;
+        this.dias = dias;
+        this.estado = Estado.PENDIENTE;
+        this.fechaSolicitud = LocalDateTime.now();
+    }
+
+    public void aprobar(Long gerenteId, String notas) {
+        resolver(Estado.APROBADA, gerenteId, notas);
+    }
+
+    public void rechazar(Long gerenteId, String motivo) {
+        resolver(Estado.RECHAZADA, gerenteId, motivo);
+    }
+
+    private void resolver(Estado nuevoEstado, Long gerenteId, String notas) {
+        if (estado != Estado.PENDIENTE) {
+            throw new IllegalStateException("La solicitud #" + id + " ya fue resuelta (" + estado + ").");
+        }
+        this.estado = nuevoEstado;
+        this.gerenteId = gerenteId;
+        this.notas = notas != null && notas.length() > 500 ? notas.substring(0, 500) : notas;
+        this.fechaResolucion = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public long getVersion() { return version; }
+    public Long getPersonaId() { return personaId; }
+    public String getNumeroCedula() { return numeroCedula; }
+    public String getDepartamento() { return departamento; }
+    public String getTipoPermiso() { return tipoPermiso; }
+    public LocalDate getFechaInicio() { return fechaInicio; }
+    public LocalDate getFechaFin() { return fechaFin; }
+    public int getDias() { return dias; }
+    public Estado getEstado() { return estado; }
+    public LocalDateTime getFechaSolicitud() { return fechaSolicitud; }
+    public LocalDateTime getFechaResolucion() { return fechaResolucion; }
+    public Long getGerenteId() { return gerenteId; }
+    public String getNotas() { return notas; }
+}
@@ -0,0 +1,56 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.math.BigDecimal;
+
+/**
+ * Subtotal de una corrida de nómina para un tipo de persona o un departamento.
+ */
+@Embeddable
+public class SubtotalCorridaNomina {
+
+    public enum Agrupacion { TIPO, DEPARTAMENTO }
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Agrupacion agrupacion;
+
+    @Column(nullable = false)
+    private String clave;
+
+    @Column(nullable = false)
+    private int cantidad;
+
+    @Column(name = "total_salarios", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSalarios;
+
+    @Column(name = "total_deducciones", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalDeducciones;
+
+    @Column(name = "total_impuestos", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalImpuestos;
+
+    protected SubtotalCorridaNomina() {
+    }
+
+    public SubtotalCorridaNomina(Agrupacion agrupacion, String clave, int cantidad, BigDecimal totalSalarios,
+                                 BigDecimal totalDeducciones, BigDecimal totalImpuestos) {
+        this.agrupacion = agrupacion;
+        this.clave = clave;
+        this.cantidad = cantidad;
+        this.totalSalarios = totalSalarios;
+        this.totalDeducciones = totalDeducciones;
+        this.totalImpuestos = totalImpuestos;
+    }
+
+    public Agrupacion getAgrupacion() { return agrupacion; }
+    public String getClave() { return clave; }
+    public int getCantidad() { return cantidad; }
+    public BigDecimal getTotalSalarios() { return totalSalarios; }
+    public BigDecimal getTotalDeducciones() { return totalDeducciones; }
+    public BigDecimal getTotalImpuestos() { return totalImpuestos; }
+}
@@ -0,0 +1,99 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trabajo de importación masiva de empleados procesado en segundo plano.
+ * Guarda el avance confirmado (siguienteIndice) en la misma transacción que cada lote insertado,
+ * por lo que un trabajo interrumpido (reinicio, cancelación) se reanuda desde el último lote confirmado.
+ */
+@Entity
+@Table(name = "trabajos_importacion")
+public class TrabajoImportacion {
+
+    public enum Estado { PENDIENTE, EN_PROCESO, COMPLETADO, FALLIDO, CANCELADO }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Estado estado;
+
+    // null hasta que el trabajo cuenta los registros del archivo
+    @Column(name = "total_registros")
+    private Integer totalRegistros;
+
+    // Índice del primer registro aún no confirmado (= registros procesados)
+    @Column(name = "siguiente_indice", nullable = false)
+    private int siguienteIndice;
+
+    // Índice desde el que arrancó la ejecución actual (para calcular el throughput tras reanudar)
+    @Column(name = "indice_inicio_ejecucion", nullable = false)
+    private int indiceInicioEjecucion;
+
+    @Column(name = "total_guardados", nullable = false)
+    private int totalGuardados;
+
+    @Column(name = "total_rechazados", nullable = false)
+    private int totalRechazados;
+
+    @Column(name = "cancelacion_solicitada", nullable = false)
+    private boolean cancelacionSolicitada;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_inicio")
+    private LocalDateTime fechaInicio;
+
+    @Column(name = "fecha_fin")
+    private LocalDateTime fechaFin;
+
+    @Column(name = "mensaje_error", length = 1000)
+    private String mensajeError;
+
+    public TrabajoImportacion() {
+        this.estado = Estado.PENDIENTE;
+        this.fechaCreacion = LocalDateTime.now();
+    }
+
+    public boolean estaFinalizado() {
+        return estado == Estado.COMPLETADO || estado == Estado.FALLIDO || estado == Estado.CANCELADO;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Estado getEstado() { return estado; }
+    public void setEstado(Estado estado) { this.estado = estado; }
+    public Integer getTotalRegistros() { return totalRegistros; }
+    public void setTotalRegistros(Integer totalRegistros) { this.totalRegistros = totalRegistros; }
+    public int getSiguienteIndice() { return siguienteIndice; }
+    public void setSiguienteIndice(int siguienteIndice) { this.siguienteIndice = siguienteIndice; }
+    public int getIndiceInicioEjecucion() { return indiceInicioEjecucion; }
+    public void setIndiceInicioEjecucion(int indiceInicioEjecucion) { this.indiceInicioEjecucion = indiceInicioEjecucion; }
+    public int getTotalGuardados() { return totalGuardados; }
+    public void setTotalGuardados(int totalGuardados) { this.totalGuardados = totalGuardados; }
+    public int getTotalRechazados() { return totalRechazados; }
+    public void setTotalRechazados(int totalRechazados) { this.totalRechazados = totalRechazados; }
+    public boolean isCancelacionSolicitada() { return cancelacionSolicitada; }
+    public void setCancelacionSolicitada(boolean cancelacionSolicitada) { this.cancelacionSolicitada = cancelacionSolicitada; }
+    public LocalDateTime getFechaCreacion() { return fechaCreacion; }
+    public void setFechaCreacion(LocalDateTime fechaCreacion) { this.fechaCreacion = fechaCreacion; }
+    public LocalDateTime getFechaInicio() { return fechaInicio; }
+    public void setFechaInicio(LocalDateTime fechaInicio) { this.fechaInicio = fechaInicio; }
+    public LocalDateTime getFechaFin() { return fechaFin; }
+    public void setFechaFin(LocalDateTime fechaFin) { this.fechaFin = fechaFin; }
+    public String getMensajeError() { return mensajeError; }
+    public void setMensajeError(String mensajeError) { this.mensajeError = mensajeError; }
+}
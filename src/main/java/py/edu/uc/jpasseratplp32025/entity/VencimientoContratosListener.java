@@ -0,0 +1,39 @@
+package py.edu.uc.jpasseratplp32025.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import py.edu.uc.jpasseratplp32025.service.VencimientoContratosService;
+
+/**
+ * Listener JPA de PersonaJpa: informa altas, modificaciones y bajas al programador de vencimientos
+ * de contratos. El servicio se resuelve de forma diferida, igual que en PersonaSnapshotListener.
+ */
+public class VencimientoContratosListener {
+
+    @Autowired
+    private ObjectProvider<VencimientoContratosService> vencimientosProvider;
+
+    @PostPersist
+    @PostUpdate
+    public void alGuardar(PersonaJpa persona) {
+        VencimientoContratosService vencimientos = vencimientos();
+        if (vencimientos != null) {
+            vencimientos.registrarCambio(persona);
+        }
+    }
+
+    @PostRemove
+    public void alEliminar(PersonaJpa persona) {
+        VencimientoContratosService vencimientos = vencimientos();
+        if (vencimientos != null) {
+            vencimientos.registrarBaja(persona.getId());
+        }
+    }
+
+    private VencimientoContratosService vencimientos() {
+        return vencimientosProvider != null ? vencimientosProvider.getIfAvailable() : null;
+    }
+}
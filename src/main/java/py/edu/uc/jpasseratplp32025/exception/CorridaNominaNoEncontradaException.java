@@ -0,0 +1,14 @@
+package py.edu.uc.jpasseratplp32025.exception;
+
+/**
+ * RuntimeException lanzada cuando no existe la corrida de nómina solicitada.
+ */
+public class CorridaNominaNoEncontradaException extends RuntimeException {
+    public CorridaNominaNoEncontradaException(String message) {
+        super(message);
+    }
+
+    public CorridaNominaNoEncontradaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
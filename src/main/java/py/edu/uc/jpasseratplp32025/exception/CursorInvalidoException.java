@@ -0,0 +1,14 @@
+package py.edu.uc.jpasseratplp32025.exception;
+
+/**
+ * RuntimeException lanzada cuando el cursor de paginación ("after") recibido no es válido.
+ */
+public class CursorInvalidoException extends RuntimeException {
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+
+    public CursorInvalidoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
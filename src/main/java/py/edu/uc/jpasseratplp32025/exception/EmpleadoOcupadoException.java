@@ -0,0 +1,15 @@
+package py.edu.uc.jpasseratplp32025.exception;
+
+/**
+ * RuntimeException lanzada cuando otra operación sobre el mismo empleado no liberó su bloqueo
+ * dentro del tiempo máximo de espera.
+ */
+public class EmpleadoOcupadoException extends RuntimeException {
+    public EmpleadoOcupadoException(String message) {
+        super(message);
+    }
+
+    public EmpleadoOcupadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
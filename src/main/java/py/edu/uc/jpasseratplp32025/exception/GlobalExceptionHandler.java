@@ -1,5 +1,6 @@
 package py.edu.uc.jpasseratplp32025.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -82,6 +83,42 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    // Manejador para TrabajoImportacionNoEncontradoException (HTTP 404 NOT FOUND)
+    @ExceptionHandler(TrabajoImportacionNoEncontradoException.class)
+    public ResponseEntity<ErrorResponseDto> handleTrabajoImportacionNoEncontrado(TrabajoImportacionNoEncontradoException ex, WebRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+                HttpStatus.NOT_FOUND.value(),
+                ex.getMessage() != null ? ex.getMessage() : "Trabajo de importación no encontrado",
+                request.getDescription(false),
+                "TrabajoImportacionNoEncontradoException"
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    // Manejador para CorridaNominaNoEncontradaException (HTTP 404 NOT FOUND)
+    @ExceptionHandler(CorridaNominaNoEncontradaException.class)
+    public ResponseEntity<ErrorResponseDto> handleCorridaNominaNoEncontrada(CorridaNominaNoEncontradaException ex, WebRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+                HttpStatus.NOT_FOUND.value(),
+                ex.getMessage() != null ? ex.getMessage() : "Corrida de nómina no encontrada",
+                request.getDescription(false),
+                "CorridaNominaNoEncontradaException"
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    // Manejador para CursorInvalidoException (HTTP 400 BAD REQUEST)
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<ErrorResponseDto> handleCursorInvalido(CursorInvalidoException ex, WebRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage() != null ? ex.getMessage() : "El cursor de paginación no es válido",
+                request.getDescription(false),
+                "CursorInvalidoException"
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     // Manejador para DiasInsuficientesException (HTTP 400 BAD REQUEST)
     @ExceptionHandler(DiasInsuficientesException.class)
     public ResponseEntity<ErrorResponseDto> handleDiasInsuficientes(DiasInsuficientesException ex, WebRequest request) {
@@ -106,6 +143,42 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    // Manejador para conflictos de concurrencia optimista (@Version) (HTTP 409 CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLocking(OptimisticLockingFailureException ex, WebRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+                HttpStatus.CONFLICT.value(),
+                "El registro fue modificado por otra operación al mismo tiempo. Vuelva a intentarlo.",
+                request.getDescription(false),
+                "OptimisticLockingFailureException"
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    // Manejador para SolicitudPermisoNoEncontradaException (HTTP 404 NOT FOUND)
+    @ExceptionHandler(SolicitudPermisoNoEncontradaException.class)
+    public ResponseEntity<ErrorResponseDto> handleSolicitudPermisoNoEncontrada(SolicitudPermisoNoEncontradaException ex, WebRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+                HttpStatus.NOT_FOUND.value(),
+                ex.getMessage() != null ? ex.getMessage() : "Solicitud de permiso no encontrada",
+                request.getDescription(false),
+                "SolicitudPermisoNoEncontradaException"
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    // Manejador para EmpleadoOcupadoException (HTTP 409 CONFLICT)
+    @ExceptionHandler(EmpleadoOcupadoException.class)
+    public ResponseEntity<ErrorResponseDto> handleEmpleadoOcupado(EmpleadoOcupadoException ex, WebRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage() != null ? ex.getMessage() : "El empleado tiene otra operación en curso.",
+                request.getDescription(false),
+                "EmpleadoOcupadoException"
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     // Manejador Global de Fallback (captura cualquier otra Exception) (HTTP 500)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDto> handleGlobalException(
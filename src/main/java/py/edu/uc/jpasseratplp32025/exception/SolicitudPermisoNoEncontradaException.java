@@ -0,0 +1,14 @@
+package py.edu.uc.jpasseratplp32025.exception;
+
+/**
+ * RuntimeException lanzada cuando no existe la solicitud de permiso o ya no está pendiente.
+ */
+public class SolicitudPermisoNoEncontradaException extends RuntimeException {
+    public SolicitudPermisoNoEncontradaException(String message) {
+        super(message);
+    }
+
+    public SolicitudPermisoNoEncontradaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package py.edu.uc.jpasseratplp32025.exception;
+
+/**
+ * RuntimeException lanzada cuando no existe el trabajo de importación solicitado.
+ */
+public class TrabajoImportacionNoEncontradoException extends RuntimeException {
+    public TrabajoImportacionNoEncontradoException(String message) {
+        super(message);
+    }
+
+    public TrabajoImportacionNoEncontradoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
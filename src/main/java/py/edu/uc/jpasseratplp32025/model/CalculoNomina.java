@@ -0,0 +1,36 @@
+package py.edu.uc.jpasseratplp32025.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado inmutable del cálculo de nómina de una persona (salario, deducciones e impuestos)
+ * para un estado dado de la entidad. Lo construye y memoriza PersonaJpa#obtenerCalculoNomina().
+ */
+public final class CalculoNomina {
+    private final BigDecimal salario;
+    private final BigDecimal deducciones;
+    private final BigDecimal impuestos;
+
+    public CalculoNomina(BigDecimal salario, BigDecimal deducciones, BigDecimal impuestos) {
+        this.salario = salario;
+        this.deducciones = deducciones;
+        this.impuestos = impuestos;
+    }
+
+    public BigDecimal getSalario() {
+        return salario;
+    }
+
+    public BigDecimal getDeducciones() {
+        return deducciones;
+    }
+
+    public BigDecimal getImpuestos() {
+        return impuestos;
+    }
+
+    // Salario neto = Salario - Deducciones
+    public BigDecimal getSalarioNeto() {
+        return salario.subtract(deducciones);
+    }
+}
@@ -0,0 +1,18 @@
+package py.edu.uc.jpasseratplp32025.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import py.edu.uc.jpasseratplp32025.entity.CierreVacaciones;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CierreVacacionesRepository extends JpaRepository<CierreVacaciones, Long> {
+
+    List<CierreVacaciones> findAllByOrderByAnioDesc();
+
+    Optional<CierreVacaciones> findByAnio(int anio);
+
+    boolean existsByAnio(int anio);
+}
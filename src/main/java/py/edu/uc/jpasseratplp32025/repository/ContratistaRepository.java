@@ -1,17 +1,22 @@
 package py.edu.uc.jpasseratplp32025.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import py.edu.uc.jpasseratplp32025.entity.Contratista;
 
-import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface ContratistaRepository extends JpaRepository<Contratista, Long> {
-    @Query(value = "SELECT * FROM personas WHERE tipo_persona = 'CONTRATISTA' AND fecha_fin_contrato > :fecha", 
-       nativeQuery = true)
-    List<Contratista> findByFechaFinContratoAfter(@Param("fecha") LocalDate fecha);
+public interface ContratistaRepository extends JpaRepository<Contratista, Long>,
+        ContratosVigentesRepository<Contratista> {
+
+    /**
+     * Paginación por cursor (keyset): siguiente página de contratistas con ID mayor al último entregado.
+     *
+     * @param id Último ID de la página anterior (0 para la primera página).
+     * @param limit Cantidad máxima de filas a devolver.
+     * @return Una lista ordenada por ID ascendente.
+     */
+    List<Contratista> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
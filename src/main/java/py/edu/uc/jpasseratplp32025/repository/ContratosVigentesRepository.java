@@ -0,0 +1,34 @@
+package py.edu.uc.jpasseratplp32025.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Consulta de contratos vigentes común a los repositorios de cada tipo de empleado.
+ *
+ * La consulta es JPQL sobre la entidad del repositorio (#{#entityName}), por lo que Hibernate agrega
+ * el filtro por tipo_persona con el @DiscriminatorValue correcto de cada subclase. Se pagina por
+ * cursor sobre el ID y usa los índices (tipo_persona, fecha_fin_contrato) y (tipo_persona, id).
+ *
+ * @param <T> Tipo de empleado del repositorio.
+ */
+@NoRepositoryBean
+public interface ContratosVigentesRepository<T extends Empleado> {
+
+    /**
+     * Siguiente página de empleados con contrato vigente (fecha de fin posterior a la dada).
+     *
+     * @param fecha Fecha de referencia (exclusiva), normalmente hoy.
+     * @param id Último ID de la página anterior (0 para la primera página).
+     * @param limit Cantidad máxima de filas a devolver.
+     * @return Una lista ordenada por ID ascendente.
+     */
+    @Query("SELECT e FROM #{#entityName} e WHERE e.fechaFinContrato > :fecha AND e.id > :id ORDER BY e.id")
+    List<T> findContratosVigentes(@Param("fecha") LocalDate fecha, @Param("id") Long id, Limit limit);
+}
@@ -0,0 +1,19 @@
+package py.edu.uc.jpasseratplp32025.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import py.edu.uc.jpasseratplp32025.entity.CorridaNomina;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CorridaNominaRepository extends JpaRepository<CorridaNomina, Long> {
+
+    // Últimas corridas ejecutadas (la más reciente primero)
+    List<CorridaNomina> findTop20ByOrderByIdDesc();
+
+    Optional<CorridaNomina> findByPeriodo(String periodo);
+
+    boolean existsByPeriodo(String periodo);
+}
@@ -1,5 +1,6 @@
 package py.edu.uc.jpasseratplp32025.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,7 +11,8 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface EmpleadoPorHorasRepository extends JpaRepository<EmpleadoPorHora, Long> {
+public interface EmpleadoPorHorasRepository extends JpaRepository<EmpleadoPorHora, Long>,
+        ContratosVigentesRepository<EmpleadoPorHora> {
 
     /**
      * Busca todos los empleados por hora que tienen un número de horas trabajadas
@@ -24,8 +26,22 @@ public interface EmpleadoPorHorasRepository extends JpaRepository<EmpleadoPorHor
 
     @Query("SELECT e FROM EmpleadoPorHora e WHERE e.horasTrabajadas > 0")
     List<EmpleadoPorHora> findVigentes();
-    
-    @Query(value = "SELECT * FROM personas WHERE tipo_persona = 'EMPLEADO_POR_HORA' AND fecha_fin_contrato > :fecha", 
-           nativeQuery = true)
-    List<EmpleadoPorHora> findByFechaFinContratoAfter(@Param("fecha") LocalDate fecha);
+
+    /**
+     * Contratos vigentes con datos válidos (tarifa positiva y horas en [1, 80], igual que
+     * validarDatosEspecificos()): el filtro se hace en la base para que cada página tenga el tamaño pedido.
+     */
+    @Override
+    @Query("SELECT e FROM EmpleadoPorHora e WHERE e.fechaFinContrato > :fecha AND e.id > :id " +
+           "AND e.tarifaPorHora > 0 AND e.horasTrabajadas BETWEEN 1 AND 80 ORDER BY e.id")
+    List<EmpleadoPorHora> findContratosVigentes(@Param("fecha") LocalDate fecha, @Param("id") Long id, Limit limit);
+
+    /**
+     * Paginación por cursor (keyset): siguiente página de empleados por hora con ID mayor al último entregado.
+     *
+     * @param id Último ID de la página anterior (0 para la primera página).
+     * @param limit Cantidad máxima de filas a devolver.
+     * @return Una lista ordenada por ID ascendente.
+     */
+    List<EmpleadoPorHora> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
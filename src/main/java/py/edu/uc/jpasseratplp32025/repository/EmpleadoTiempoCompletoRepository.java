@@ -1,18 +1,17 @@
 package py.edu.uc.jpasseratplp32025.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import py.edu.uc.jpasseratplp32025.entity.Contratista;
 import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
 
-import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface EmpleadoTiempoCompletoRepository extends JpaRepository<EmpleadoTiempoCompleto, Long> {
+public interface EmpleadoTiempoCompletoRepository extends JpaRepository<EmpleadoTiempoCompleto, Long>,
+        ContratosVigentesRepository<EmpleadoTiempoCompleto> {
 
     /**
      * Busca todos los empleados de tiempo completo que pertenecen a un departamento específico.
@@ -23,7 +22,13 @@ public interface EmpleadoTiempoCompletoRepository extends JpaRepository<Empleado
      */
     List<EmpleadoTiempoCompleto> findByDepartamento(String departamento);
 
-    @Query(value = "SELECT * FROM personas WHERE tipo_persona = 'EMPLEADO_TIEMPO_COMPLETO' AND fecha_fin_contrato > :fecha", 
-           nativeQuery = true)
-    List<EmpleadoTiempoCompleto> findByFechaFinContratoAfter(@Param("fecha") LocalDate fecha);
+
+    /**
+     * Paginación por cursor (keyset): siguiente página de empleados de tiempo completo con ID mayor al último entregado.
+     *
+     * @param id Último ID de la página anterior (0 para la primera página).
+     * @param limit Cantidad máxima de filas a devolver.
+     * @return Una lista ordenada por ID ascendente.
+     */
+    List<EmpleadoTiempoCompleto> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
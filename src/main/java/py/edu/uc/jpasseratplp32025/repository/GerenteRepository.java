@@ -1,19 +1,24 @@
 package py.edu.uc.jpasseratplp32025.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import py.edu.uc.jpasseratplp32025.entity.Gerente;
 
-import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface GerenteRepository extends JpaRepository<Gerente, Long> {
+public interface GerenteRepository extends JpaRepository<Gerente, Long>,
+        ContratosVigentesRepository<Gerente> {
     List<Gerente> findByDepartamentoACargo(String departamento);
 
-   @Query(value = "SELECT * FROM personas WHERE tipo_persona = 'GERENTE' AND fecha_fin_contrato > :fecha", 
-           nativeQuery = true)
-    List<Gerente> findByFechaFinContratoAfter(@Param("fecha") LocalDate fecha);    
+
+    /**
+     * Paginación por cursor (keyset): siguiente página de gerentes con ID mayor al último entregado.
+     *
+     * @param id Último ID de la página anterior (0 para la primera página).
+     * @param limit Cantidad máxima de filas a devolver.
+     * @return Una lista ordenada por ID ascendente.
+     */
+    List<Gerente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
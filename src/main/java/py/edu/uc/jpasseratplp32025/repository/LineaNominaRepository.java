@@ -0,0 +1,32 @@
+package py.edu.uc.jpasseratplp32025.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import py.edu.uc.jpasseratplp32025.dto.ResumenPeriodoDepartamentoDto;
+import py.edu.uc.jpasseratplp32025.entity.LineaNomina;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LineaNominaRepository extends JpaRepository<LineaNomina, Long> {
+
+    Optional<LineaNomina> findByPeriodoAndNumeroCedula(String periodo, String numeroCedula);
+
+    // Paginación por cursor (keyset sobre el ID) de las líneas de un período
+    List<LineaNomina> findByPeriodoAndIdGreaterThanOrderByIdAsc(String periodo, Long id, Limit limit);
+
+    List<LineaNomina> findByPeriodoAndDepartamentoAndIdGreaterThanOrderByIdAsc(String periodo, String departamento,
+                                                                                Long id, Limit limit);
+
+    /**
+     * Totales por departamento de un período (usa el índice periodo, departamento).
+     */
+    @Query("SELECT new py.edu.uc.jpasseratplp32025.dto.ResumenPeriodoDepartamentoDto(" +
+            "l.departamento, COUNT(l), SUM(l.salario), SUM(l.deducciones), SUM(l.impuestos)) " +
+            "FROM LineaNomina l WHERE l.periodo = :periodo GROUP BY l.departamento ORDER BY l.departamento")
+    List<ResumenPeriodoDepartamentoDto> resumirPorDepartamento(@Param("periodo") String periodo);
+}
@@ -0,0 +1,14 @@
+package py.edu.uc.jpasseratplp32025.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import py.edu.uc.jpasseratplp32025.entity.NominaDepartamento;
+
+import java.util.List;
+
+@Repository
+public interface NominaDepartamentoRepository extends JpaRepository<NominaDepartamento, NominaDepartamento.Clave> {
+
+    // Lectura por el primer componente de la clave primaria: un único rango del índice PK
+    List<NominaDepartamento> findByDepartamentoOrderByTipoPersonaAsc(String departamento);
+}
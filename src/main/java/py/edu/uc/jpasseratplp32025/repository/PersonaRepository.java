@@ -1,10 +1,21 @@
 package py.edu.uc.jpasseratplp32025.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface PersonaRepository extends JpaRepository<PersonaJpa, Long> {
@@ -13,6 +24,26 @@ public interface PersonaRepository extends JpaRepository<PersonaJpa, Long> {
     PersonaJpa findByNumeroDeCedula(String numeroDeCedula);
     boolean existsByNumeroDeCedula(String numeroDeCedula);
 
+    /**
+     * Verifica en una sola consulta (WHERE numero_cedula IN (...)) cuáles de las cédulas ya existen.
+     * Reemplaza una llamada a existsByNumeroDeCedula por cada fila en las cargas masivas.
+     *
+     * @param cedulas Cédulas a verificar.
+     * @return El subconjunto de cédulas ya registradas.
+     */
+    @Query("SELECT p.numeroDeCedula FROM PersonaJpa p WHERE p.numeroDeCedula IN :cedulas")
+    Set<String> findCedulasExistentes(@Param("cedulas") Collection<String> cedulas);
+
+    /**
+     * Resuelve solo la cédula por ID (consulta escalar): no deja la entidad en el contexto de persistencia,
+     * de modo que se puede tomar el bloqueo del empleado antes de cargarla.
+     *
+     * @param id ID de la persona.
+     * @return La cédula, o vacío si la persona no existe.
+     */
+    @Query("SELECT p.numeroDeCedula FROM PersonaJpa p WHERE p.id = :id")
+    Optional<String> findCedulaById(@Param("id") Long id);
+
     /**
      * Busca personas cuyo nombre contenga la cadena proporcionada, ignorando mayúsculas/minúsculas.
      * Ejemplo: buscarPorNombreContainingIgnoreCase("mar") encontrará "Marcos", "maria", "MARIO".
@@ -21,4 +52,105 @@ public interface PersonaRepository extends JpaRepository<PersonaJpa, Long> {
      * @return Una lista de PersonaJpa que cumplen con el criterio.
      */
     List<PersonaJpa> findByNombreContainingIgnoreCase(String nombre);
+
+    /**
+     * Recorre todas las personas con un cursor de solo avance (forward-only), ordenadas por ID.
+     * El driver trae las filas en bloques de 500 y las entidades se cargan en modo solo lectura,
+     * por lo que no se guardan snapshots para dirty checking.
+     * IMPORTANTE: debe consumirse dentro de una transacción y cerrarse (try-with-resources).
+     *
+     * @return Un Stream perezoso de PersonaJpa.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM PersonaJpa p ORDER BY p.id")
+    Stream<PersonaJpa> streamAllOrderById();
+
+    /**
+     * Contratos que vencen después de la fecha dada, sin hidratar entidades:
+     * [0] id, [1] clase de la entidad (TYPE), [2] fechaFinContrato.
+     * IMPORTANTE: debe consumirse dentro de una transacción y cerrarse (try-with-resources).
+     *
+     * @param fecha Fecha de referencia (exclusiva).
+     * @return Un Stream perezoso de filas.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.id, TYPE(e), e.fechaFinContrato FROM Empleado e WHERE e.fechaFinContrato > :fecha")
+    Stream<Object[]> streamContratosPosteriores(@Param("fecha") LocalDate fecha);
+
+    @Query("SELECT MIN(p.id) FROM PersonaJpa p")
+    Long findMinId();
+
+    @Query("SELECT MAX(p.id) FROM PersonaJpa p")
+    Long findMaxId();
+
+    /**
+     * Personas con ID dentro del rango [desde, hasta], en modo solo lectura y sin poblar el caché
+     * de segundo nivel. Usado por la corrida de nómina para procesar cada rango en paralelo.
+     *
+     * @param desde ID inicial (inclusive).
+     * @param hasta ID final (inclusive).
+     * @return Las personas del rango ordenadas por ID.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p FROM PersonaJpa p WHERE p.id BETWEEN :desde AND :hasta ORDER BY p.id")
+    List<PersonaJpa> findByRangoDeIds(@Param("desde") Long desde, @Param("hasta") Long hasta);
+
+    /**
+     * Paginación por cursor (keyset): siguiente página de personas con ID mayor al último entregado.
+     *
+     * @param id Último ID de la página anterior (0 para la primera página).
+     * @param limit Cantidad máxima de filas a devolver.
+     * @return Una lista ordenada por ID ascendente.
+     */
+    List<PersonaJpa> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Agrega la nómina en la base de datos (una sola consulta, sin hidratar entidades).
+     * El salario de cada fila replica getSalarioMensual() de cada tipo y los filtros replican
+     * validarDatosEspecificos(), de modo que el resultado coincide con la suma hecha en Java.
+     * Columnas: [0] tipo_persona, [1] departamento, [2] cantidad, [3] suma, [4] mínimo, [5] máximo.
+     *
+     * @param tipo Discriminador a considerar (EMPLEADO, HORA, CONTRATISTA) o null para todos.
+     * @param hoy Fecha de referencia para la vigencia de los contratistas.
+     * @return Una fila por tipo de persona y departamento.
+     */
+    @Query(value = """
+            SELECT n.tipo_persona, n.departamento, COUNT(*), SUM(n.salario), MIN(n.salario), MAX(n.salario)
+            FROM (
+                SELECT p.tipo_persona, p.departamento,
+                       CASE p.tipo_persona
+                           WHEN 'EMPLEADO' THEN p.salario_mensual
+                           WHEN 'HORA' THEN CASE
+                               WHEN p.salario_mensual IS NULL OR p.salario_mensual = 0
+                               THEN ROUND(p.tarifa_por_hora * LEAST(p.horas_trabajadas, 40)
+                                        + p.tarifa_por_hora * 1.50 * GREATEST(p.horas_trabajadas - 40, 0), 2)
+                               ELSE p.salario_mensual END
+                           WHEN 'CONTRATISTA' THEN COALESCE(p.salario_mensual_calc,
+                               ROUND(p.monto_por_proyecto * p.proyectos_completados, 2))
+                       END AS salario
+                FROM personas p
+                WHERE (:tipo IS NULL OR p.tipo_persona = :tipo)
+                  AND ((p.tipo_persona = 'EMPLEADO'
+                          AND p.salario_mensual >= 2899048
+                          AND p.departamento IS NOT NULL AND TRIM(p.departamento) <> '')
+                    OR (p.tipo_persona = 'HORA'
+                          AND p.tarifa_por_hora > 0
+                          AND p.horas_trabajadas BETWEEN 1 AND 80)
+                    OR (p.tipo_persona = 'CONTRATISTA'
+                          AND p.monto_por_proyecto > 0
+                          AND p.proyectos_completados >= 0
+                          AND p.fecha_fin_contrato > :hoy))
+            ) n
+            GROUP BY n.tipo_persona, n.departamento
+            ORDER BY n.tipo_persona, n.departamento
+            """, nativeQuery = true)
+    List<Object[]> resumirNominaPorTipoYDepartamento(@Param("tipo") String tipo, @Param("hoy") LocalDate hoy);
 }
\ No newline at end of file
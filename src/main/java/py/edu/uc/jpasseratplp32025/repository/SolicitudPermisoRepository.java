@@ -0,0 +1,30 @@
+package py.edu.uc.jpasseratplp32025.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import py.edu.uc.jpasseratplp32025.entity.SolicitudPermiso;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SolicitudPermisoRepository extends JpaRepository<SolicitudPermiso, Long> {
+
+    /**
+     * Cola de un departamento (paginación por cursor): siguientes solicitudes en el estado indicado
+     * con ID mayor al último entregado. Usa el índice (departamento, estado, id).
+     */
+    List<SolicitudPermiso> findByDepartamentoAndEstadoAndIdGreaterThanOrderByIdAsc(
+            String departamento, SolicitudPermiso.Estado estado, Long id, Limit limit);
+
+    long countByDepartamentoAndEstado(String departamento, SolicitudPermiso.Estado estado);
+
+    /**
+     * Solicitudes de un lote que siguen pendientes en el departamento (las demás se ignoran).
+     */
+    List<SolicitudPermiso> findByIdInAndDepartamentoAndEstadoOrderByIdAsc(
+            Collection<Long> ids, String departamento, SolicitudPermiso.Estado estado);
+
+    List<SolicitudPermiso> findByPersonaIdOrderByIdDesc(Long personaId);
+}
@@ -0,0 +1,92 @@
+package py.edu.uc.jpasseratplp32025.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import py.edu.uc.jpasseratplp32025.entity.TrabajoImportacion;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TrabajoImportacionRepository extends JpaRepository<TrabajoImportacion, Long> {
+
+    List<TrabajoImportacion> findByEstadoIn(Collection<TrabajoImportacion.Estado> estados);
+
+    @Query("SELECT t.cancelacionSolicitada FROM TrabajoImportacion t WHERE t.id = :id")
+    boolean isCancelacionSolicitada(@Param("id") Long id);
+
+    /**
+     * Registra el avance de un lote. Debe ejecutarse en la misma transacción que la inserción del lote
+     * para que el punto de reanudación coincida exactamente con lo confirmado.
+     */
+    @Modifying
+    @Query("UPDATE TrabajoImportacion t SET t.siguienteIndice = :siguienteIndice, " +
+            "t.totalGuardados = t.totalGuardados + :guardados, " +
+            "t.totalRechazados = t.totalRechazados + :rechazados WHERE t.id = :id")
+    int registrarAvance(@Param("id") Long id,
+                        @Param("siguienteIndice") int siguienteIndice,
+                        @Param("guardados") int guardados,
+                        @Param("rechazados") int rechazados);
+
+    /**
+     * Marca la cancelación con un UPDATE puntual de la bandera, sin pisar el avance que el hilo del trabajo
+     * registra en paralelo (registrarAvance). No afecta trabajos ya finalizados.
+     * @return 1 si se marcó, 0 si el trabajo no existe o ya finalizó.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE TrabajoImportacion t SET t.cancelacionSolicitada = true " +
+            "WHERE t.id = :id AND t.estado NOT IN :finalizados")
+    int solicitarCancelacion(@Param("id") Long id,
+                             @Param("finalizados") Collection<TrabajoImportacion.Estado> finalizados);
+
+    /**
+     * Pasa a CANCELADO un trabajo que ningún hilo tomó todavía (sigue PENDIENTE).
+     * @return 1 si se canceló, 0 si ya no estaba PENDIENTE.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE TrabajoImportacion t SET t.estado = :cancelado, t.fechaFin = :fechaFin " +
+            "WHERE t.id = :id AND t.estado = :pendiente")
+    int cancelarPendiente(@Param("id") Long id,
+                          @Param("pendiente") TrabajoImportacion.Estado pendiente,
+                          @Param("cancelado") TrabajoImportacion.Estado cancelado,
+                          @Param("fechaFin") LocalDateTime fechaFin);
+
+    /**
+     * Pasa el trabajo a EN_PROCESO desde el hilo que lo toma, solo si sigue activo (PENDIENTE, o EN_PROCESO
+     * al reanudarse tras un reinicio) y sin cancelación solicitada. Conserva el total ya contado, si lo había.
+     * @return 1 si el hilo puede procesarlo, 0 si mientras tanto se canceló.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TrabajoImportacion t SET t.estado = :enProceso, " +
+            "t.totalRegistros = COALESCE(t.totalRegistros, :totalRegistros), " +
+            "t.fechaInicio = :fechaInicio, t.indiceInicioEjecucion = t.siguienteIndice " +
+            "WHERE t.id = :id AND t.estado IN :activos AND t.cancelacionSolicitada = false")
+    int iniciarEjecucion(@Param("id") Long id,
+                         @Param("totalRegistros") Integer totalRegistros,
+                         @Param("fechaInicio") LocalDateTime fechaInicio,
+                         @Param("activos") Collection<TrabajoImportacion.Estado> activos,
+                         @Param("enProceso") TrabajoImportacion.Estado enProceso);
+
+    /**
+     * Registra el estado final solo si el trabajo sigue activo: no pisa una cancelación ya aplicada
+     * (cancelarPendiente) ni el avance de registrarAvance.
+     * @return 1 si se finalizó, 0 si ya estaba finalizado.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TrabajoImportacion t SET t.estado = :estado, t.fechaFin = :fechaFin, t.mensajeError = :mensajeError " +
+            "WHERE t.id = :id AND t.estado IN :activos")
+    int finalizar(@Param("id") Long id,
+                  @Param("estado") TrabajoImportacion.Estado estado,
+                  @Param("fechaFin") LocalDateTime fechaFin,
+                  @Param("mensajeError") String mensajeError,
+                  @Param("activos") Collection<TrabajoImportacion.Estado> activos);
+}
@@ -0,0 +1,157 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import py.edu.uc.jpasseratplp32025.dto.EstadisticasBloqueoDto;
+import py.edu.uc.jpasseratplp32025.exception.EmpleadoOcupadoException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloqueos en memoria por empleado (clave: cédula) para serializar las operaciones de permisos
+ * sobre una misma persona sin frenar a las demás. Usa un arreglo fijo de franjas (lock striping):
+ * cada cédula cae siempre en la misma franja, por lo que la memoria no crece con la cantidad de
+ * empleados; dos cédulas distintas solo compiten si comparten franja.
+ * Registra el tiempo de espera de cada adquisición en un histograma.
+ *
+ * Uso (un solo bloqueo por operación, para no generar esperas cruzadas):
+ * <pre>
+ * try (BloqueoEmpleadosService.Bloqueo bloqueo = bloqueoEmpleadosService.adquirir(cedula)) {
+ *     ...
+ * }
+ * </pre>
+ */
+@Service
+public class BloqueoEmpleadosService {
+
+    private static final Logger log = LoggerFactory.getLogger(BloqueoEmpleadosService.class);
+
+    // Límites superiores (exclusivos) de cada rango del histograma, en nanosegundos; el último rango es abierto
+    private static final long[] LIMITES_NANOS = {
+            100_000L, 1_000_000L, 5_000_000L, 10_000_000L, 50_000_000L, 100_000_000L, 500_000_000L, 1_000_000_000L};
+    private static final String[] RANGOS = {
+            "<0.1ms", "<1ms", "<5ms", "<10ms", "<50ms", "<100ms", "<500ms", "<1000ms", ">=1000ms"};
+
+    private final ReentrantLock[] franjas;
+    private final long esperaMaximaMs;
+
+    private final LongAdder[] histograma = new LongAdder[RANGOS.length];
+    private final LongAdder adquisiciones = new LongAdder();
+    private final LongAdder conEspera = new LongAdder();
+    private final LongAdder esperasAgotadas = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+
+    @Autowired
+    public BloqueoEmpleadosService(@Value("${permisos.bloqueo.franjas:64}") int cantidadFranjas,
+                                   @Value("${permisos.bloqueo.espera-maxima-ms:5000}") long esperaMaximaMs) {
+        // Potencia de 2 para elegir la franja con una máscara
+        int cantidad = Integer.highestOneBit(Math.max(1, cantidadFranjas - 1)) << 1;
+        this.franjas = new ReentrantLock[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+        for (int i = 0; i < histograma.length; i++) {
+            histograma[i] = new LongAdder();
+        }
+        this.esperaMaximaMs = esperaMaximaMs;
+        log.info("BloqueoEmpleadosService inicializado ({} franjas, espera máxima {} ms).", cantidad, esperaMaximaMs);
+    }
+
+    /**
+     * Bloqueo adquirido; se libera al cerrarlo (try-with-resources).
+     */
+    public static final class Bloqueo implements AutoCloseable {
+        private final ReentrantLock lock;
+
+        private Bloqueo(ReentrantLock lock) {
+            this.lock = lock;
+        }
+
+        @Override
+        public void close() {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adquiere el bloqueo del empleado, esperando como máximo permisos.bloqueo.espera-maxima-ms.
+     * @param cedula Cédula del empleado.
+     * @return El bloqueo adquirido (debe cerrarse).
+     * @throws EmpleadoOcupadoException Si no se pudo adquirir dentro de la espera máxima.
+     */
+    public Bloqueo adquirir(String cedula) {
+        ReentrantLock lock = franjaDe(cedula);
+        // Sin contención no se mide el tiempo: es el caso habitual
+        if (lock.tryLock()) {
+            registrar(0L, false);
+            return new Bloqueo(lock);
+        }
+        long inicio = System.nanoTime();
+        boolean adquirido;
+        try {
+            adquirido = lock.tryLock(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmpleadoOcupadoException("Se interrumpió la espera del bloqueo del empleado con cédula " + cedula, e);
+        }
+        long espera = System.nanoTime() - inicio;
+        if (!adquirido) {
+            esperasAgotadas.increment();
+            log.warn("Bloqueo del empleado con cédula {} no disponible tras {} ms.", cedula, esperaMaximaMs);
+            throw new EmpleadoOcupadoException(
+                    "El empleado con cédula " + cedula + " tiene otra operación en curso. Vuelva a intentarlo.");
+        }
+        registrar(espera, true);
+        return new Bloqueo(lock);
+    }
+
+    private ReentrantLock franjaDe(String cedula) {
+        int h = cedula == null ? 0 : cedula.hashCode();
+        h ^= (h >>> 16); // Mezcla los bits altos para repartir mejor cédulas consecutivas
+        return franjas[h & (franjas.length - 1)];
+    }
+
+    private void registrar(long esperaNanos, boolean huboEspera) {
+        adquisiciones.increment();
+        int rango = 0;
+        while (rango < LIMITES_NANOS.length && esperaNanos >= LIMITES_NANOS[rango]) {
+            rango++;
+        }
+        histograma[rango].increment();
+        if (huboEspera) {
+            conEspera.increment();
+            esperaTotalNanos.add(esperaNanos);
+            esperaMaximaNanos.accumulateAndGet(esperaNanos, Math::max);
+        }
+    }
+
+    public EstadisticasBloqueoDto obtenerEstadisticas() {
+        EstadisticasBloqueoDto dto = new EstadisticasBloqueoDto();
+        long total = adquisiciones.sum();
+        dto.setFranjas(franjas.length);
+        dto.setAdquisiciones(total);
+        dto.setConEspera(conEspera.sum());
+        dto.setEsperasAgotadas(esperasAgotadas.sum());
+        dto.setEsperaPromedioMs(total > 0 ? esperaTotalNanos.sum() / 1_000_000.0 / total : 0.0);
+        dto.setEsperaMaximaMs(esperaMaximaNanos.get() / 1_000_000.0);
+        int enUso = 0;
+        for (ReentrantLock franja : franjas) {
+            if (franja.isLocked()) {
+                enUso++;
+            }
+        }
+        dto.setFranjasEnUso(enUso);
+        for (int i = 0; i < RANGOS.length; i++) {
+            dto.getHistogramaEspera().put(RANGOS[i], histograma[i].sum());
+        }
+        return dto;
+    }
+}
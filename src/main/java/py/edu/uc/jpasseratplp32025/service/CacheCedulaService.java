@@ -0,0 +1,98 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import py.edu.uc.jpasseratplp32025.dto.EstadisticasCacheDto;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Búsquedas por cédula apoyadas en el caché de segundo nivel de Hibernate.
+ * La cédula se resuelve a ID con el caché natural-id (región {@value PersonaJpa#REGION_CACHE_CEDULA}) y la entidad
+ * se obtiene del caché de entidades (región {@value PersonaJpa#REGION_CACHE}); solo un fallo en ambos llega a H2.
+ * Tamaño y expiración de las regiones: application.conf (Caffeine JCache).
+ */
+@Service
+public class CacheCedulaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheCedulaService.class);
+
+    private final EntityManager entityManager;
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public CacheCedulaService(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        log.info("CacheCedulaService inicializado.");
+    }
+
+    /**
+     * Busca una persona por número de cédula usando el caché natural-id.
+     * @return La persona, o null si no existe.
+     */
+    @Transactional(readOnly = true)
+    public PersonaJpa buscarPorCedula(String cedula) {
+        if (cedula == null || cedula.isBlank()) {
+            return null;
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(PersonaJpa.class)
+                .load(cedula);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean existePorCedula(String cedula) {
+        return buscarPorCedula(cedula) != null;
+    }
+
+    /**
+     * Invalida las entradas de una persona modificada o eliminada.
+     * Hibernate ya actualiza el caché en las escrituras hechas por el ORM; esta invalidación explícita cubre
+     * además el cambio de cédula (la entrada natural-id anterior) y las escrituras que no pasan por el ORM.
+     * @param id ID de la persona.
+     * @param cedulaModificada true si cambió (o se eliminó) el número de cédula.
+     */
+    public void invalidar(Long id, boolean cedulaModificada) {
+        sessionFactory.getCache().evictEntityData(PersonaJpa.class, id);
+        if (cedulaModificada) {
+            // No hay desalojo individual por natural-id: se vacía la región de cédulas
+            sessionFactory.getCache().evictNaturalIdData(PersonaJpa.class);
+        }
+        log.debug("Caché invalidado para persona ID {} (cédula modificada: {}).", id, cedulaModificada);
+    }
+
+    /**
+     * Aciertos y fallos de las regiones de personas y cédulas desde el arranque.
+     */
+    public List<EstadisticasCacheDto> obtenerEstadisticas() {
+        Statistics estadisticas = sessionFactory.getStatistics();
+        return List.of(
+                toDto(PersonaJpa.REGION_CACHE_CEDULA, estadisticas.getDomainDataRegionStatistics(PersonaJpa.REGION_CACHE_CEDULA)),
+                toDto(PersonaJpa.REGION_CACHE, estadisticas.getDomainDataRegionStatistics(PersonaJpa.REGION_CACHE)));
+    }
+
+    private static EstadisticasCacheDto toDto(String region, CacheRegionStatistics estadisticas) {
+        if (estadisticas == null) {
+            // La región todavía no registró accesos
+            return new EstadisticasCacheDto(region, 0, 0, 0, -1, 0.0);
+        }
+        long aciertos = estadisticas.getHitCount();
+        long fallos = estadisticas.getMissCount();
+        long accesos = aciertos + fallos;
+        double tasa = accesos > 0 ? Math.round(aciertos * 10000.0 / accesos) / 10000.0 : 0.0;
+        return new EstadisticasCacheDto(region, aciertos, fallos, estadisticas.getPutCount(),
+                estadisticas.getElementCountInMemory(), tasa);
+    }
+}
@@ -0,0 +1,162 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import py.edu.uc.jpasseratplp32025.dto.ErrorValidacionDto;
+import py.edu.uc.jpasseratplp32025.dto.ResultadoCargaMasivaDto;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.util.LectorCsv;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carga masiva de empleados de tiempo completo leyendo el cuerpo de la petición de forma incremental (NDJSON o CSV).
+ * Los registros se parsean de a uno y se entregan en lotes de {@link EmpleadoTiempoCompletoService#BATCH_SIZE}
+ * a la misma etapa de validación/persistencia que POST /api/empleados/batch. El lote se procesa antes de seguir
+ * leyendo (el cliente queda frenado por el control de flujo de TCP), por lo que la memoria usada es la de un lote
+ * independientemente del tamaño del archivo.
+ */
+@Service
+public class CargaStreamingService {
+
+    private static final Logger log = LoggerFactory.getLogger(CargaStreamingService.class);
+
+    private final EmpleadoTiempoCompletoService empleadoService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public CargaStreamingService(EmpleadoTiempoCompletoService empleadoService, ObjectMapper objectMapper) {
+        this.empleadoService = empleadoService;
+        this.objectMapper = objectMapper;
+        log.info("CargaStreamingService inicializado.");
+    }
+
+    /**
+     * Fuente de registros. Devuelve null al final de la entrada; lanza IllegalArgumentException
+     * si un registro puntual no se puede convertir (se informa como rechazado y la carga continúa).
+     */
+    @FunctionalInterface
+    private interface LectorRegistros {
+        EmpleadoTiempoCompleto leer() throws IOException;
+    }
+
+    /**
+     * Carga NDJSON: un objeto JSON de empleado por línea (JsonParser, sin materializar el arreglo).
+     * Cada objeto se lee completo como árbol antes de convertirlo: si la conversión falla (tipo o formato
+     * inválido) el parser ya quedó al final del objeto, el registro se informa como rechazado y la carga sigue.
+     * @throws IOException Si el JSON está mal formado (error de sintaxis del que el parser no se puede
+     *                     recuperar: la carga se detiene; lo ya confirmado se conserva).
+     */
+    public ResultadoCargaMasivaDto cargarNdjson(InputStream contenido) throws IOException {
+        log.info("Iniciando carga NDJSON en streaming (lotes de {}).", EmpleadoTiempoCompletoService.BATCH_SIZE);
+        try (JsonParser parser = objectMapper.getFactory().createParser(contenido)) {
+            return cargar(() -> {
+                JsonToken token = parser.nextToken();
+                if (token == null) {
+                    return null;
+                }
+                int linea = parser.currentTokenLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren(); // Arreglo en lugar de objeto: se descarta completo
+                    throw new IllegalArgumentException("Se esperaba un objeto JSON por línea (línea " + linea + ").");
+                }
+                // JsonParseException (sintaxis) se propaga y detiene la carga
+                JsonNode registro = objectMapper.readTree(parser);
+                try {
+                    return objectMapper.treeToValue(registro, EmpleadoTiempoCompleto.class);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("línea " + linea + ": " + e.getOriginalMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Carga CSV con encabezado (nombres de columna = propiedades JSON del empleado, ej.
+     * nombre,apellido,numeroDeCedula,fechaDeNacimiento,salarioMensual,departamento,fechaFinContrato).
+     * Las filas que no se pueden convertir se informan como rechazadas.
+     */
+    public ResultadoCargaMasivaDto cargarCsv(InputStream contenido) throws IOException {
+        log.info("Iniciando carga CSV en streaming (lotes de {}).", EmpleadoTiempoCompletoService.BATCH_SIZE);
+        try (LectorCsv lector = new LectorCsv(new InputStreamReader(contenido, StandardCharsets.UTF_8))) {
+            return cargar(() -> {
+                Map<String, String> fila = lector.siguienteFila();
+                if (fila == null) {
+                    return null;
+                }
+                // Jackson aplica las mismas conversiones que en el JSON (fechas ISO, BigDecimal, etc.)
+                return objectMapper.convertValue(fila, EmpleadoTiempoCompleto.class);
+            });
+        }
+    }
+
+    private ResultadoCargaMasivaDto cargar(LectorRegistros lector) throws IOException {
+        ResultadoCargaMasivaDto resultado = new ResultadoCargaMasivaDto();
+        long inicioCarga = System.nanoTime();
+        int totalGuardados = 0;
+        int indice = 0; // Índice del próximo registro leído
+        int inicioLote = 0;
+        List<EmpleadoTiempoCompleto> lote = new ArrayList<>(EmpleadoTiempoCompletoService.BATCH_SIZE);
+
+        while (true) {
+            EmpleadoTiempoCompleto empleado;
+            try {
+                empleado = lector.leer();
+            } catch (IllegalArgumentException e) {
+                // Se cierra el lote pendiente para que los índices de cada lote sigan siendo contiguos
+                totalGuardados += procesar(lote, inicioLote, resultado);
+                resultado.getErrores().add(new ErrorValidacionDto(indice, null, List.of("Registro no convertible: " + e.getMessage())));
+                indice++;
+                inicioLote = indice;
+                continue;
+            }
+            if (empleado == null) {
+                break;
+            }
+
+            lote.add(empleado);
+            indice++;
+            if (lote.size() == EmpleadoTiempoCompletoService.BATCH_SIZE) {
+                totalGuardados += procesar(lote, inicioLote, resultado);
+                inicioLote = indice;
+            }
+        }
+        totalGuardados += procesar(lote, inicioLote, resultado);
+
+        long duracionMs = (System.nanoTime() - inicioCarga) / 1_000_000;
+        resultado.setTotalRecibidos(indice);
+        resultado.setTotalGuardados(totalGuardados);
+        resultado.setTotalRechazados(resultado.getErrores().size());
+        resultado.setDuracionTotalMs(duracionMs);
+        resultado.setFilasPorSegundo(duracionMs > 0 ? totalGuardados * 1000.0 / duracionMs : totalGuardados);
+
+        log.info("Carga en streaming finalizada. Recibidos: {}, guardados: {}, rechazados: {}, en {} ms.",
+                indice, totalGuardados, resultado.getTotalRechazados(), duracionMs);
+        return resultado;
+    }
+
+    // Procesa y vacía el lote (se reutiliza la misma lista: solo un lote vive en memoria)
+    private int procesar(List<EmpleadoTiempoCompleto> lote, int desplazamiento, ResultadoCargaMasivaDto resultado) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        ResultadoCargaMasivaDto.LoteCargaDto resumen = empleadoService.procesarLote(lote, desplazamiento, resultado.getErrores(), null);
+        resultado.getLotes().add(resumen);
+        lote.clear();
+        return resumen.getCantidad();
+    }
+}
@@ -0,0 +1,172 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import py.edu.uc.jpasseratplp32025.entity.CierreVacaciones;
+import py.edu.uc.jpasseratplp32025.entity.Contratista;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoPorHora;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.entity.Gerente;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.repository.CierreVacacionesRepository;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cierre anual de vacaciones: al comenzar el año, a cada empleado se le suman los días que le
+ * corresponden según su antigüedad al 1 de enero (Código del Trabajo, art. 218: 12 días de 1 a 5 años,
+ * 18 de 5 a 10 y 30 desde 10) y se reinicia el contador anual de días solicitados (límite de 20 días).
+ *
+ * Se hace con UPDATE por bloques de IDs (sin cargar entidades). Cada fila guarda en anio_vacaciones
+ * (columna sin mapear en la entidad, creada por la migración V2__anio_vacaciones) el último año aplicado,
+ * y el UPDATE solo toca filas con un año anterior, por lo que repetir el cierre, o retomarlo tras una
+ * interrupción, no vuelve a sumar días. Al terminar se registra CierreVacaciones
+ * con filas/segundo, se descarta el caché de segundo nivel de personas y se recarga el snapshot de nómina.
+ */
+@Service
+public class CierreVacacionesService {
+
+    private static final Logger log = LoggerFactory.getLogger(CierreVacacionesService.class);
+
+    // Días por antigüedad (art. 218)
+    private static final int DIAS_HASTA_5_ANIOS = 12;
+    private static final int DIAS_HASTA_10_ANIOS = 18;
+    private static final int DIAS_DESDE_10_ANIOS = 30;
+
+    private static final List<String> TIPOS_EMPLEADO = Stream.of(Empleado.class, EmpleadoTiempoCompleto.class,
+                    EmpleadoPorHora.class, Contratista.class, Gerente.class)
+            .map(tipo -> tipo.getAnnotation(DiscriminatorValue.class).value())
+            .collect(Collectors.toList());
+
+    // El saldo nunca baja por el tope: solo limita cuánto se puede sumar
+    private static final String SQL_CIERRE = """
+            UPDATE personas
+               SET dias_vacaciones_acumulados = GREATEST(dias_vacaciones_acumulados,
+                       LEAST(dias_vacaciones_acumulados + CASE
+                                 WHEN fecha_ingreso <= ? THEN %d
+                                 WHEN fecha_ingreso <= ? THEN %d
+                                 WHEN fecha_ingreso <= ? THEN %d
+                                 ELSE 0 END, ?)),
+                   dias_vacaciones_solicitados_total = 0,
+                   anio_vacaciones = ?,
+                   version = version + 1
+             WHERE id BETWEEN ? AND ?
+               AND anio_vacaciones < ?
+               AND tipo_persona IN (%s)
+            """.formatted(DIAS_DESDE_10_ANIOS, DIAS_HASTA_10_ANIOS, DIAS_HASTA_5_ANIOS,
+            TIPOS_EMPLEADO.stream().map(tipo -> "'" + tipo + "'").collect(Collectors.joining(", ")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PersonaRepository personaRepository;
+    private final CierreVacacionesRepository cierreRepository;
+    private final SnapshotNominaService snapshotNominaService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int tamanioBloque;
+    private final int topeSaldo;
+    private final ReentrantLock cierreEnCurso = new ReentrantLock();
+
+    @Autowired
+    public CierreVacacionesService(JdbcTemplate jdbcTemplate, PersonaRepository personaRepository,
+                                   CierreVacacionesRepository cierreRepository,
+                                   SnapshotNominaService snapshotNominaService,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${vacaciones.cierre.tamanio-bloque:5000}") int tamanioBloque,
+                                   @Value("${vacaciones.cierre.tope-saldo:60}") int topeSaldo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.personaRepository = personaRepository;
+        this.cierreRepository = cierreRepository;
+        this.snapshotNominaService = snapshotNominaService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.tamanioBloque = Math.max(1, tamanioBloque);
+        this.topeSaldo = topeSaldo;
+        log.info("CierreVacacionesService inicializado (bloques de {} IDs, tope de saldo {} días).",
+                this.tamanioBloque, topeSaldo);
+    }
+
+    // Ejecución programada (por defecto el 1 de enero a las 00:05); si el año ya se cerró no hace nada
+    @Scheduled(cron = "${vacaciones.cierre.cron:0 5 0 1 1 *}")
+    public void ejecutarProgramado() {
+        int anio = Year.now().getValue();
+        if (cierreRepository.existsByAnio(anio)) {
+            log.info("El cierre de vacaciones {} ya fue ejecutado.", anio);
+            return;
+        }
+        try {
+            ejecutar(anio);
+        } catch (IllegalStateException e) {
+            log.warn("Cierre de vacaciones {} programado omitido: {}", anio, e.getMessage());
+        }
+    }
+
+    /**
+     * Ejecuta el cierre del año indicado.
+     * @throws IllegalArgumentException Si el año es posterior al actual.
+     * @throws IllegalStateException Si ya hay un cierre en curso o el año ya fue cerrado.
+     */
+    public CierreVacaciones ejecutar(int anio) {
+        if (anio > Year.now().getValue()) {
+            throw new IllegalArgumentException("No se puede cerrar un año futuro: " + anio);
+        }
+        if (!cierreEnCurso.tryLock()) {
+            throw new IllegalStateException("Ya hay un cierre de vacaciones en curso.");
+        }
+        try {
+            if (cierreRepository.existsByAnio(anio)) {
+                throw new IllegalStateException("El año " + anio + " ya tiene un cierre de vacaciones registrado.");
+            }
+            LocalDate corte = LocalDate.of(anio, 1, 1);
+            LocalDateTime fechaEjecucion = LocalDateTime.now();
+            long inicio = System.nanoTime();
+            long filas = 0;
+            int bloques = 0;
+
+            Long minId = personaRepository.findMinId();
+            Long maxId = personaRepository.findMaxId();
+            if (minId != null && maxId != null) {
+                // Cada UPDATE se confirma solo: un bloque interrumpido se retoma en la siguiente ejecución
+                for (long desde = minId; desde <= maxId; desde += tamanioBloque) {
+                    long hasta = Math.min(desde + tamanioBloque - 1, maxId);
+                    filas += jdbcTemplate.update(SQL_CIERRE,
+                            corte.minusYears(10), corte.minusYears(5), corte.minusYears(1), topeSaldo,
+                            anio, desde, hasta, anio);
+                    bloques++;
+                }
+            }
+
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            double filasPorSegundo = duracionMs > 0 ? filas * 1000.0 / duracionMs : filas;
+            CierreVacaciones cierre = cierreRepository.save(
+                    new CierreVacaciones(anio, fechaEjecucion, filas, bloques, duracionMs, filasPorSegundo));
+
+            // Los UPDATE no pasan por Hibernate: se descartan las copias en caché y se recarga el snapshot
+            entityManagerFactory.getCache().evict(PersonaJpa.class);
+            snapshotNominaService.recargar();
+
+            log.info("Cierre de vacaciones {}: {} empleados actualizados en {} bloques ({} ms, {} filas/s).",
+                    anio, filas, bloques, duracionMs, String.format("%.0f", filasPorSegundo));
+            return cierre;
+        } finally {
+            cierreEnCurso.unlock();
+        }
+    }
+
+    public List<CierreVacaciones> listar() {
+        return cierreRepository.findAllByOrderByAnioDesc();
+    }
+}
@@ -3,6 +3,8 @@ package py.edu.uc.jpasseratplp32025.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import py.edu.uc.jpasseratplp32025.entity.Contratista;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
+import py.edu.uc.jpasseratplp32025.util.CursorPaginacion;
 import py.edu.uc.jpasseratplp32025.repository.ContratistaRepository;
 
 import org.slf4j.Logger;
@@ -10,7 +12,6 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,10 +22,12 @@ public class ContratistaService {
     private static final Logger log = LoggerFactory.getLogger(ContratistaService.class);
 
     private final ContratistaRepository repository;
+    private final NominaAgregadaService nominaAgregadaService;
 
     @Autowired
-    public ContratistaService(ContratistaRepository repository) {
+    public ContratistaService(ContratistaRepository repository, NominaAgregadaService nominaAgregadaService) {
         this.repository = repository;
+        this.nominaAgregadaService = nominaAgregadaService;
         log.info("ContratistaService inicializado.");
     }
 
@@ -34,6 +37,15 @@ public class ContratistaService {
         return repository.findAll();
     }
 
+    // CRUD: Listado paginado por cursor (keyset sobre el ID)
+    public PaginaDto<Contratista> listarPagina(String after, Integer limit) {
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        log.debug("Listando contratistas desde ID > {} (límite {}).", desdeId, limite);
+        List<Contratista> filas = repository.findByIdGreaterThanOrderByIdAsc(desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite);
+    }
+
     // CRUD: Encontrar por ID
     public Optional<Contratista> findById(Long id) {
         log.debug("Buscando contratista por ID: {}", id);
@@ -52,7 +64,7 @@ public class ContratistaService {
 
         // 2. CORRECCIÓN CLAVE: Forzar el cálculo y la persistencia del salario antes de guardar.
         // Esto garantiza que el campo persistido (salarioMensualPersistido) tenga un valor.
-        BigDecimal salarioCalculado = contratista.calcularSalario();
+        BigDecimal salarioCalculado = contratista.obtenerCalculoNomina().getSalario();
         contratista.setSalarioMensualPersistido(salarioCalculado);
 
         // 3. Guardar
@@ -67,12 +79,14 @@ public class ContratistaService {
         repository.deleteById(id);
     }
 
-    // MÉTODO DE CONSULTA ESPECÍFICA: Buscar contratos vigentes
-    public List<Contratista> buscarContratosVigentes() {
+    // MÉTODO DE CONSULTA ESPECÍFICA: Buscar contratos vigentes (paginado por cursor, filtrado en la base)
+    public PaginaDto<Contratista> buscarContratosVigentes(String after, Integer limit) {
         LocalDate hoy = LocalDate.now();
-        log.info("Buscando contratos vigentes a partir de la fecha: {}", hoy);
-        // Usa la consulta definida en el repositorio: fechaFinContrato > hoy
-        return repository.findByFechaFinContratoAfter(hoy);
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        log.info("Buscando contratistas con contratos vigentes a partir de la fecha: {} (ID > {}, límite {}).", hoy, desdeId, limite);
+        List<Contratista> filas = repository.findContratosVigentes(hoy, desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite);
     }
 
     // ========================================================================
@@ -81,29 +95,12 @@ public class ContratistaService {
 
     /**
      * Calcula la suma total de salarios brutos (salarioMensual) para los Contratistas.
+     * La suma se resuelve en la base de datos (SUM con los mismos filtros que validarDatosEspecificos()),
+     * sin cargar las entidades.
      * @return Map<String, BigDecimal> donde la clave es "Contratista" y el valor es la nómina total.
      */
     public Map<String, BigDecimal> calcularNominaTotal() {
-        log.info("Iniciando cálculo de nómina total para Contratistas."); // CORRECCIÓN de log
-
-        List<Contratista> empleados = repository.findAll();
-        BigDecimal sumaTotalSalarios = BigDecimal.ZERO;
-
-        for (Contratista empleado : empleados) {
-            // Utilizamos getSalarioMensual(), que retorna el valor persistido (no nulo) o lo calcula si es necesario
-            if (empleado.validarDatosEspecificos() && empleado.getSalarioMensual() != null) {
-                sumaTotalSalarios = sumaTotalSalarios.add(empleado.getSalarioMensual());
-            } else {
-                log.warn("Contratista ID {} (C.I. {}) excluido de la nómina por datos inválidos o salario nulo.", // CORRECCIÓN de log
-                        empleado.getId(), empleado.getNumeroDeCedula());
-            }
-        }
-
-        String nombreClase = Contratista.class.getSimpleName();
-        Map<String, BigDecimal> resultado = new HashMap<>();
-        resultado.put(nombreClase, sumaTotalSalarios.setScale(2, BigDecimal.ROUND_HALF_UP));
-
-        log.info("Nómina total calculada para {}: {}", nombreClase, sumaTotalSalarios);
-        return resultado;
+        log.info("Iniciando cálculo de nómina total para Contratistas.");
+        return nominaAgregadaService.calcularNominaTotal(Contratista.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,385 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.dto.CorridaNominaDto;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
+import py.edu.uc.jpasseratplp32025.dto.ResumenPeriodoDepartamentoDto;
+import py.edu.uc.jpasseratplp32025.entity.CorridaNomina;
+import py.edu.uc.jpasseratplp32025.entity.LineaNomina;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.entity.SubtotalCorridaNomina;
+import py.edu.uc.jpasseratplp32025.exception.CorridaNominaNoEncontradaException;
+import py.edu.uc.jpasseratplp32025.repository.CorridaNominaRepository;
+import py.edu.uc.jpasseratplp32025.repository.LineaNominaRepository;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.util.CursorPaginacion;
+import py.edu.uc.jpasseratplp32025.util.NominaCentavos;
+import py.edu.uc.jpasseratplp32025.util.NominaUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Corrida de nómina de toda la empresa para un período (año-mes).
+ * Etapas: (1) partición de la tabla personas en rangos de ID, (2) cálculo en paralelo de salario,
+ * deducciones e impuestos de cada rango sobre un ForkJoinPool (cada rango en su propia transacción
+ * de solo lectura, en centavos con NominaCentavos), (3) fusión de los subtotales por tipo y departamento
+ * y (4) persistencia, en una sola transacción, del registro inmutable (CorridaNomina) y de una línea por
+ * persona (LineaNomina) insertadas en bloque. Se informa la duración de cada etapa.
+ * Los reportes históricos de un período se leen de esas líneas, sin recalcular sobre las entidades actuales.
+ */
+@Service
+public class CorridaNominaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CorridaNominaService.class);
+
+    private static final String SIN_DEPARTAMENTO = "SIN_DEPARTAMENTO";
+    // Líneas por flush/clear al insertarlas (Hibernate las agrupa según hibernate.jdbc.batch_size)
+    private static final int LINEAS_POR_LOTE = 1000;
+
+    private final PersonaRepository personaRepository;
+    private final CorridaNominaRepository corridaRepository;
+    private final LineaNominaRepository lineaRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate lecturaTemplate;
+    private final TransactionTemplate escrituraTemplate;
+    private final ForkJoinPool pool;
+    private final int tamanioRango;
+    // Una sola corrida a la vez
+    private final ReentrantLock corridaEnCurso = new ReentrantLock();
+
+    @Autowired
+    public CorridaNominaService(PersonaRepository personaRepository,
+                                CorridaNominaRepository corridaRepository,
+                                LineaNominaRepository lineaRepository,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${nomina.corrida.paralelismo:0}") int paralelismo,
+                                @Value("${nomina.corrida.tamanio-rango:1000}") int tamanioRango) {
+        this.personaRepository = personaRepository;
+        this.corridaRepository = corridaRepository;
+        this.lineaRepository = lineaRepository;
+        this.entityManager = entityManager;
+        this.lecturaTemplate = new TransactionTemplate(transactionManager);
+        this.lecturaTemplate.setReadOnly(true);
+        this.escrituraTemplate = new TransactionTemplate(transactionManager);
+        // 0 (por defecto) = un hilo por procesador disponible
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+        this.tamanioRango = Math.max(1, tamanioRango);
+        log.info("CorridaNominaService inicializado (paralelismo: {}, IDs por rango: {}).",
+                pool.getParallelism(), this.tamanioRango);
+    }
+
+    @PreDestroy
+    public void detener() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Resultado de una persona, pendiente de guardarse como LineaNomina.
+     */
+    private static final class Linea {
+        private final long personaId;
+        private final String numeroCedula;
+        private final String nombreCompleto;
+        private final String tipo;
+        private final String departamento;
+        private final NominaCentavos.Resultado resultado;
+
+        private Linea(PersonaJpa persona, String tipo, String departamento, NominaCentavos.Resultado resultado) {
+            this.personaId = persona.getId();
+            this.numeroCedula = persona.getNumeroDeCedula();
+            this.nombreCompleto = persona.getNombre() + " " + persona.getApellido();
+            this.tipo = tipo;
+            this.departamento = departamento;
+            this.resultado = resultado;
+        }
+    }
+
+    /**
+     * Subtotales parciales en centavos: los de un rango o la fusión de varios.
+     * Cada arreglo de los mapas es [cantidad, salarios, deducciones, impuestos].
+     * Las líneas por persona solo se llenan en los parciales de cada rango.
+     */
+    private static final class Parcial {
+        private int personas;
+        private int conError;
+        private long salarios;
+        private long deducciones;
+        private long impuestos;
+        private final Map<String, long[]> porTipo = new TreeMap<>();
+        private final Map<String, long[]> porDepartamento = new TreeMap<>();
+        private final List<Linea> lineas = new ArrayList<>();
+
+        private void sumar(Linea linea) {
+            NominaCentavos.Resultado r = linea.resultado;
+            lineas.add(linea);
+            personas++;
+            salarios += r.getSalario();
+            deducciones += r.getDeducciones();
+            impuestos += r.getImpuestos();
+            sumar(porTipo, linea.tipo, 1, r.getSalario(), r.getDeducciones(), r.getImpuestos());
+            sumar(porDepartamento, linea.departamento, 1, r.getSalario(), r.getDeducciones(), r.getImpuestos());
+        }
+
+        private void fusionar(Parcial otro) {
+            personas += otro.personas;
+            conError += otro.conError;
+            salarios += otro.salarios;
+            deducciones += otro.deducciones;
+            impuestos += otro.impuestos;
+            otro.porTipo.forEach((clave, v) -> sumar(porTipo, clave, v[0], v[1], v[2], v[3]));
+            otro.porDepartamento.forEach((clave, v) -> sumar(porDepartamento, clave, v[0], v[1], v[2], v[3]));
+        }
+
+        private static void sumar(Map<String, long[]> mapa, String clave, long cantidad,
+                                  long salario, long deduccion, long impuesto) {
+            long[] v = mapa.computeIfAbsent(clave, k -> new long[4]);
+            v[0] += cantidad;
+            v[1] += salario;
+            v[2] += deduccion;
+            v[3] += impuesto;
+        }
+    }
+
+    // ========================================================================
+    // Ejecución
+    // ========================================================================
+
+    /**
+     * Ejecuta la corrida de nómina completa del período y guarda su registro y sus líneas.
+     * @param periodo Período a liquidar.
+     * @return El resultado con la duración de cada etapa (incluida la persistencia).
+     * @throws IllegalStateException Si ya hay otra corrida en curso o el período ya fue liquidado.
+     */
+    public CorridaNominaDto ejecutar(YearMonth periodo) {
+        if (!corridaEnCurso.tryLock()) {
+            throw new IllegalStateException("Ya hay una corrida de nómina en curso.");
+        }
+        try {
+            if (corridaRepository.existsByPeriodo(periodo.toString())) {
+                throw new IllegalStateException("El período " + periodo + " ya tiene una corrida de nómina registrada.");
+            }
+            LocalDateTime fechaEjecucion = LocalDateTime.now();
+
+            // 1. Partición por rangos de ID
+            long inicio = System.nanoTime();
+            List<long[]> rangos = particionar();
+            long msParticion = milisegundosDesde(inicio);
+
+            // 2. Cálculo en paralelo (un ForkJoinTask por rango)
+            inicio = System.nanoTime();
+            List<ForkJoinTask<Parcial>> tareas = new ArrayList<>(rangos.size());
+            for (long[] rango : rangos) {
+                tareas.add(pool.submit(() -> procesarRango(rango[0], rango[1])));
+            }
+            List<Parcial> parciales = new ArrayList<>(tareas.size());
+            for (ForkJoinTask<Parcial> tarea : tareas) {
+                parciales.add(tarea.join());
+            }
+            long msCalculo = milisegundosDesde(inicio);
+
+            // 3. Fusión de subtotales
+            inicio = System.nanoTime();
+            Parcial total = new Parcial();
+            parciales.forEach(total::fusionar);
+            List<SubtotalCorridaNomina> subtotales = new ArrayList<>();
+            agregarSubtotales(subtotales, SubtotalCorridaNomina.Agrupacion.TIPO, total.porTipo);
+            agregarSubtotales(subtotales, SubtotalCorridaNomina.Agrupacion.DEPARTAMENTO, total.porDepartamento);
+            long msFusion = milisegundosDesde(inicio);
+
+            // 4. Persistencia del registro inmutable y de las líneas (todo o nada)
+            inicio = System.nanoTime();
+            CorridaNomina nueva = new CorridaNomina(periodo.toString(), fechaEjecucion,
+                    total.personas, total.conError,
+                    NominaCentavos.aBigDecimal(total.salarios),
+                    NominaCentavos.aBigDecimal(total.deducciones),
+                    NominaCentavos.aBigDecimal(total.impuestos),
+                    pool.getParallelism(), rangos.size(), msParticion, msCalculo, msFusion, subtotales);
+            CorridaNomina corrida = escrituraTemplate.execute(status -> guardar(nueva, parciales));
+            long msPersistencia = milisegundosDesde(inicio);
+
+            log.info("Corrida de nómina {} ({}): {} personas ({} con error), {} rangos. Etapas (ms): partición {}, cálculo {}, fusión {}, persistencia {}.",
+                    corrida.getId(), periodo, total.personas, total.conError, rangos.size(),
+                    msParticion, msCalculo, msFusion, msPersistencia);
+
+            CorridaNominaDto dto = toDto(corrida);
+            dto.getDuracionEtapasMs().put("persistencia", msPersistencia);
+            return dto;
+        } finally {
+            corridaEnCurso.unlock();
+        }
+    }
+
+    // Debe ejecutarse dentro de una transacción
+    private CorridaNomina guardar(CorridaNomina corrida, List<Parcial> parciales) {
+        CorridaNomina guardada = corridaRepository.saveAndFlush(corrida);
+        Long corridaId = guardada.getId();
+        List<LineaNomina> lote = new ArrayList<>(LINEAS_POR_LOTE);
+        for (Parcial parcial : parciales) {
+            for (Linea linea : parcial.lineas) {
+                lote.add(new LineaNomina(corridaId, guardada.getPeriodo(), linea.personaId, linea.numeroCedula,
+                        linea.nombreCompleto, linea.tipo, linea.departamento,
+                        NominaCentavos.aBigDecimal(linea.resultado.getSalario()),
+                        NominaCentavos.aBigDecimal(linea.resultado.getDeducciones()),
+                        NominaCentavos.aBigDecimal(linea.resultado.getImpuestos())));
+                if (lote.size() == LINEAS_POR_LOTE) {
+                    insertarLineas(lote);
+                }
+            }
+        }
+        insertarLineas(lote);
+        return guardada;
+    }
+
+    private void insertarLineas(List<LineaNomina> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        lineaRepository.saveAll(lote);
+        lineaRepository.flush();
+        entityManager.clear();
+        lote.clear();
+    }
+
+    // ========================================================================
+    // Consultas (corridas y reportes históricos)
+    // ========================================================================
+
+    /**
+     * Convierte el período recibido (yyyy-MM) en YearMonth.
+     * @throws IllegalArgumentException Si el formato no es válido.
+     */
+    public static YearMonth parsearPeriodo(String periodo) {
+        try {
+            return YearMonth.parse(periodo);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Período inválido: '" + periodo + "'. Use el formato yyyy-MM.");
+        }
+    }
+
+    public CorridaNominaDto obtenerPorPeriodo(YearMonth periodo) {
+        return corridaRepository.findByPeriodo(periodo.toString())
+                .map(this::toDto)
+                .orElseThrow(() -> new CorridaNominaNoEncontradaException("No hay corrida de nómina para el período " + periodo));
+    }
+
+    /**
+     * Líneas de nómina guardadas de un período, paginadas por cursor.
+     * @param departamento Filtra por departamento (opcional; "SIN_DEPARTAMENTO" para los que no tienen).
+     */
+    public PaginaDto<LineaNomina> listarLineas(YearMonth periodo, String departamento, String after, Integer limit) {
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        List<LineaNomina> filas = departamento == null || departamento.isBlank()
+                ? lineaRepository.findByPeriodoAndIdGreaterThanOrderByIdAsc(periodo.toString(), desdeId,
+                        CursorPaginacion.limiteConsulta(limite))
+                : lineaRepository.findByPeriodoAndDepartamentoAndIdGreaterThanOrderByIdAsc(periodo.toString(),
+                        departamento, desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite, LineaNomina::getId);
+    }
+
+    public LineaNomina obtenerLinea(YearMonth periodo, String cedula) {
+        return lineaRepository.findByPeriodoAndNumeroCedula(periodo.toString(), cedula)
+                .orElseThrow(() -> new CorridaNominaNoEncontradaException(
+                        "No hay línea de nómina para la cédula " + cedula + " en el período " + periodo));
+    }
+
+    public List<ResumenPeriodoDepartamentoDto> resumirPorDepartamento(YearMonth periodo) {
+        return lineaRepository.resumirPorDepartamento(periodo.toString());
+    }
+
+    public CorridaNominaDto obtener(Long id) {
+        return corridaRepository.findById(id)
+                .map(this::toDto)
+                .orElseThrow(() -> new CorridaNominaNoEncontradaException("No existe la corrida de nómina con ID: " + id));
+    }
+
+    public List<CorridaNominaDto> listarRecientes() {
+        return corridaRepository.findTop20ByOrderByIdDesc().stream().map(this::toDto).toList();
+    }
+
+    // Rangos [desde, hasta] de tamanioRango IDs que cubren desde el menor hasta el mayor ID existente
+    private List<long[]> particionar() {
+        Long minimo = personaRepository.findMinId();
+        Long maximo = personaRepository.findMaxId();
+        List<long[]> rangos = new ArrayList<>();
+        if (minimo == null || maximo == null) {
+            return rangos;
+        }
+        for (long desde = minimo; desde <= maximo; desde += tamanioRango) {
+            rangos.add(new long[]{desde, Math.min(desde + tamanioRango - 1, maximo)});
+        }
+        return rangos;
+    }
+
+    // Se ejecuta en un hilo del pool, con su propia transacción de solo lectura
+    private Parcial procesarRango(long desde, long hasta) {
+        return lecturaTemplate.execute(status -> {
+            Parcial parcial = new Parcial();
+            for (PersonaJpa persona : personaRepository.findByRangoDeIds(desde, hasta)) {
+                try {
+                    if (persona.getNumeroDeCedula() == null) {
+                        throw new IllegalStateException("la persona no tiene número de cédula");
+                    }
+                    String departamento = NominaUtils.departamentoDe(persona);
+                    parcial.sumar(new Linea(persona, Hibernate.getClass(persona).getSimpleName(),
+                            departamento == null || departamento.isBlank() ? SIN_DEPARTAMENTO : departamento,
+                            NominaCentavos.calcular(persona)));
+                } catch (RuntimeException e) {
+                    parcial.conError++;
+                    log.warn("Corrida de nómina: no se pudo calcular la persona {}: {}", persona.getId(), e.getMessage());
+                }
+            }
+            return parcial;
+        });
+    }
+
+    private static void agregarSubtotales(List<SubtotalCorridaNomina> destino, SubtotalCorridaNomina.Agrupacion agrupacion,
+                                          Map<String, long[]> valores) {
+        valores.forEach((clave, v) -> destino.add(new SubtotalCorridaNomina(agrupacion, clave, (int) v[0],
+                NominaCentavos.aBigDecimal(v[1]), NominaCentavos.aBigDecimal(v[2]), NominaCentavos.aBigDecimal(v[3]))));
+    }
+
+    private static long milisegundosDesde(long inicioNanos) {
+        return (System.nanoTime() - inicioNanos) / 1_000_000;
+    }
+
+    private CorridaNominaDto toDto(CorridaNomina corrida) {
+        CorridaNominaDto dto = new CorridaNominaDto();
+        dto.setId(corrida.getId());
+        dto.setPeriodo(corrida.getPeriodo());
+        dto.setFechaEjecucion(corrida.getFechaEjecucion());
+        dto.setTotalPersonas(corrida.getTotalPersonas());
+        dto.setPersonasConError(corrida.getPersonasConError());
+        dto.setTotalSalarios(corrida.getTotalSalarios());
+        dto.setTotalDeducciones(corrida.getTotalDeducciones());
+        dto.setTotalImpuestos(corrida.getTotalImpuestos());
+        dto.setTotalNeto(corrida.getTotalNeto());
+        dto.setParalelismo(corrida.getParalelismo());
+        dto.setCantidadRangos(corrida.getCantidadRangos());
+        dto.getDuracionEtapasMs().put("particion", corrida.getMsParticion());
+        dto.getDuracionEtapasMs().put("calculo", corrida.getMsCalculo());
+        dto.getDuracionEtapasMs().put("fusion", corrida.getMsFusion());
+        dto.setSubtotales(new ArrayList<>(corrida.getSubtotales()));
+        return dto;
+    }
+}
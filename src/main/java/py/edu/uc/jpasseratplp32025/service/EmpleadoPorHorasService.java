@@ -4,13 +4,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import py.edu.uc.jpasseratplp32025.entity.EmpleadoPorHora;
 import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
+import py.edu.uc.jpasseratplp32025.util.CursorPaginacion;
 import py.edu.uc.jpasseratplp32025.repository.EmpleadoPorHorasRepository;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,10 +23,12 @@ public class EmpleadoPorHorasService {
     private static final Logger log = LoggerFactory.getLogger(EmpleadoPorHorasService.class);
 
     private final EmpleadoPorHorasRepository repository;
+    private final NominaAgregadaService nominaAgregadaService;
 
     @Autowired
-    public EmpleadoPorHorasService(EmpleadoPorHorasRepository repository) {
+    public EmpleadoPorHorasService(EmpleadoPorHorasRepository repository, NominaAgregadaService nominaAgregadaService) {
         this.repository = repository;
+        this.nominaAgregadaService = nominaAgregadaService;
         log.info("EmpleadoPorHorasService inicializado.");
     }
 
@@ -34,6 +38,15 @@ public class EmpleadoPorHorasService {
         return repository.findAll();
     }
 
+    // CRUD: Listado paginado por cursor (keyset sobre el ID)
+    public PaginaDto<EmpleadoPorHora> listarPagina(String after, Integer limit) {
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        log.debug("Listando empleados por hora desde ID > {} (límite {}).", desdeId, limite);
+        List<EmpleadoPorHora> filas = repository.findByIdGreaterThanOrderByIdAsc(desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite);
+    }
+
     // CRUD: Encontrar por ID
     public Optional<EmpleadoPorHora> findById(Long id) {
         log.debug("Buscando empleado por hora por ID: {}", id);
@@ -49,7 +62,7 @@ public class EmpleadoPorHorasService {
         }
 
         // CORRECCIÓN CLAVE: Forzar el cálculo y la persistencia del salario antes de guardar.
-        BigDecimal salarioCalculado = empleado.calcularSalario();
+        BigDecimal salarioCalculado = empleado.obtenerCalculoNomina().getSalario();
         empleado.setSalarioMensual(salarioCalculado);
 
         EmpleadoPorHora savedEmpleado = repository.save(empleado);
@@ -75,17 +88,14 @@ public class EmpleadoPorHorasService {
         return repository.findByHorasTrabajadasGreaterThan(horas);
     }
 
-    // MÉTODO DE CONSULTA ESPECÍFICA: Buscar contratos vigentes
-    public List<EmpleadoPorHora> buscarContratosVigentes() {
-        log.info("Buscando empleados por hora con contratos vigentes");
-        // El filtro de vigencia se basa en la fechaFinContrato, si es un campo de EmpleadoPorHora
-        // y su lógica de contratoVigente() está en Empleado.
-        // Asumiendo que EmpleadoPorHorasRepository tiene el método:
-        // List<EmpleadoPorHora> findByFechaFinContratoAfter(LocalDate hoy);
-        return repository.findAll().stream()
-                .filter(empleado -> empleado.getFechaFinContrato() != null && empleado.getFechaFinContrato().isAfter(java.time.LocalDate.now()))
-                .filter(empleado -> empleado.validarDatosEspecificos())
-                .toList();
+    // MÉTODO DE CONSULTA ESPECÍFICA: Buscar contratos vigentes (paginado por cursor, filtrado en la base)
+    public PaginaDto<EmpleadoPorHora> buscarContratosVigentes(String after, Integer limit) {
+        LocalDate hoy = LocalDate.now();
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        log.info("Buscando empleados por hora con contratos vigentes a partir de la fecha: {} (ID > {}, límite {}).", hoy, desdeId, limite);
+        List<EmpleadoPorHora> filas = repository.findContratosVigentes(hoy, desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite);
     }
 
     // ========================================================================
@@ -94,29 +104,12 @@ public class EmpleadoPorHorasService {
 
     /**
      * Calcula la suma total de salarios brutos (salarioMensual) para los EmpleadosPorHora.
+     * La suma se resuelve en la base de datos (SUM con los mismos filtros que validarDatosEspecificos()),
+     * sin cargar las entidades.
      * @return Map<String, BigDecimal> donde la clave es "EmpleadoPorHora" y el valor es la nómina total.
      */
     public Map<String, BigDecimal> calcularNominaTotal() {
-        log.info("Iniciando cálculo de nómina total para Empleados Por Hora."); // CORRECCIÓN de log
-
-        List<EmpleadoPorHora> empleados = repository.findAll();
-        BigDecimal sumaTotalSalarios = BigDecimal.ZERO;
-
-        for (EmpleadoPorHora empleado : empleados) {
-            // Utilizamos getSalarioMensual(), que retorna el valor persistido/calculado
-            if (empleado.validarDatosEspecificos() && empleado.getSalarioMensual() != null) {
-                sumaTotalSalarios = sumaTotalSalarios.add(empleado.getSalarioMensual());
-            } else {
-                log.warn("Empleado ID {} (C.I. {}) excluido de la nómina por datos inválidos o salario nulo.",
-                        empleado.getId(), empleado.getNumeroDeCedula());
-            }
-        }
-
-        String nombreClase = EmpleadoPorHora.class.getSimpleName(); // CORRECCIÓN de clase
-        Map<String, BigDecimal> resultado = new HashMap<>();
-        resultado.put(nombreClase, sumaTotalSalarios.setScale(2, BigDecimal.ROUND_HALF_UP));
-
-        log.info("Nómina total calculada para {}: {}", nombreClase, sumaTotalSalarios);
-        return resultado;
+        log.info("Iniciando cálculo de nómina total para Empleados Por Hora.");
+        return nominaAgregadaService.calcularNominaTotal(EmpleadoPorHora.class);
     }
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package py.edu.uc.jpasseratplp32025.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.dto.ErrorValidacionDto;
+import py.edu.uc.jpasseratplp32025.dto.ResultadoCargaMasivaDto;
 import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
+import py.edu.uc.jpasseratplp32025.util.CursorPaginacion;
 import py.edu.uc.jpasseratplp32025.repository.EmpleadoTiempoCompletoRepository;
-import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import org.slf4j.Logger;
@@ -14,13 +20,11 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,35 +33,39 @@ public class EmpleadoTiempoCompletoService {
     private static final Logger log = LoggerFactory.getLogger(EmpleadoTiempoCompletoService.class);
 
     private final EmpleadoTiempoCompletoRepository repository;
-    private final PersonaRepository personaRepository;
-    private static final int BATCH_SIZE = 100;
+    // Igual a hibernate.jdbc.batch_size: cada lote se envía en un único batch JDBC
+    public static final int BATCH_SIZE = 100;
 
     private final Validator validator;
+    private final NominaAgregadaService nominaAgregadaService;
+    private final ValidacionCargaMasivaService validacionCargaMasivaService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public EmpleadoTiempoCompletoService(EmpleadoTiempoCompletoRepository repository, PersonaRepository personaRepository, Validator validator) {
+    public EmpleadoTiempoCompletoService(EmpleadoTiempoCompletoRepository repository,
+                                         Validator validator, NominaAgregadaService nominaAgregadaService,
+                                         ValidacionCargaMasivaService validacionCargaMasivaService,
+                                         EntityManager entityManager, PlatformTransactionManager transactionManager) {
         this.repository = repository;
-        this.personaRepository = personaRepository;
         this.validator = validator;
+        this.nominaAgregadaService = nominaAgregadaService;
+        this.validacionCargaMasivaService = validacionCargaMasivaService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         log.info("EmpleadoTiempoCompletoService inicializado.");
     }
 
     // [ ... Métodos CRUD y otros sin cambios ... ]
 
-    // MÉTODO DE CONSULTA ESPECÍFICA: Buscar contratos vigentes
-    public List<EmpleadoTiempoCompleto> buscarContratosVigentes() {
+    // MÉTODO DE CONSULTA ESPECÍFICA: Buscar contratos vigentes (paginado por cursor, filtrado en la base)
+    public PaginaDto<EmpleadoTiempoCompleto> buscarContratosVigentes(String after, Integer limit) {
         LocalDate hoy = LocalDate.now();
-        log.info("Buscando contratos vigentes a partir de la fecha: {}", hoy);
-
-        // CORRECCIÓN: Usar findAll() y filtrar en el código para asegurar que la lógica
-        // de negocio se aplique correctamente si el método findByFechaFinContratoAfter()
-        // del repositorio está fallando silenciosamente.
-        return repository.findAll().stream()
-                .filter(empleado ->
-                        empleado.getFechaFinContrato() != null &&
-                                empleado.getFechaFinContrato().isAfter(hoy)
-                )
-                .toList();
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        log.info("Buscando empleados de tiempo completo con contratos vigentes a partir de la fecha: {} (ID > {}, límite {}).", hoy, desdeId, limite);
+        List<EmpleadoTiempoCompleto> filas = repository.findContratosVigentes(hoy, desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite);
     }
 
     // 1. Obtener todos los empleados
@@ -66,6 +74,15 @@ public class EmpleadoTiempoCompletoService {
         return repository.findAll();
     }
 
+    // 1.1 Listado paginado por cursor (keyset sobre el ID)
+    public PaginaDto<EmpleadoTiempoCompleto> listarPagina(String after, Integer limit) {
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        log.debug("Listando empleados de tiempo completo desde ID > {} (límite {}).", desdeId, limite);
+        List<EmpleadoTiempoCompleto> filas = repository.findByIdGreaterThanOrderByIdAsc(desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite);
+    }
+
     // 2. Obtener un empleado por ID
     public Optional<EmpleadoTiempoCompleto> findById(Long id) {
         log.debug("Buscando empleado por ID: {}", id);
@@ -110,7 +127,7 @@ public class EmpleadoTiempoCompletoService {
                         log.warn("Cálculo de salario neto omitido para empleado ID {} por datos inválidos.", id);
                         return null;
                     }
-                    BigDecimal salarioNeto = empleado.calcularSalario().subtract(empleado.calcularDeducciones());
+                    BigDecimal salarioNeto = empleado.obtenerCalculoNomina().getSalarioNeto();
                     log.debug("Salario Neto calculado para ID {}: {}", id, salarioNeto);
                     return salarioNeto;
                 });
@@ -129,84 +146,103 @@ public class EmpleadoTiempoCompletoService {
                 });
     }
 
-    // 7. Implementación de Persistencia en Batch (Con Logging y Validaciones)
-    public List<EmpleadoTiempoCompleto> guardarEmpleadosEnBatch(List<EmpleadoTiempoCompleto> empleados) {
+    // 7. Implementación de Persistencia en Batch (Con Logging, Validaciones y Tiempos por Lote)
+    // Los registros inválidos no detienen la carga: se informan en resultado.errores y el resto se persiste.
+    public ResultadoCargaMasivaDto guardarEmpleadosEnBatch(List<EmpleadoTiempoCompleto> empleados) {
+        ResultadoCargaMasivaDto resultado = new ResultadoCargaMasivaDto();
         if (empleados == null || empleados.isEmpty()) {
             log.warn("Intentó guardar una lista de empleados vacía en batch.");
-            return new ArrayList<>();
+            return resultado;
         }
 
         log.info("Iniciando la carga en batch de {} empleados (lotes de {}).", empleados.size(), BATCH_SIZE);
-        List<EmpleadoTiempoCompleto> empleadosGuardados = new ArrayList<>();
         int n = empleados.size();
+        int totalGuardados = 0;
+        long inicioCarga = System.nanoTime();
 
         for (int i = 0; i < n; i += BATCH_SIZE) {
             int endIndex = Math.min(i + BATCH_SIZE, n);
             List<EmpleadoTiempoCompleto> chunk = empleados.subList(i, endIndex);
 
-            log.debug("Validando y persistiendo Lote de empleados {}-{} de {}.", i, endIndex, n);
-
-            // Bucle de Validación
-            // Validar duplicados en el mismo chunk y existencia en BD antes de persistir
-            Set<String> cedulasEnChunk = new HashSet<>();
-            for (EmpleadoTiempoCompleto empleado : chunk) {
-
-                // 1. VALIDACIÓN MANUAL DE BEAN VALIDATION (CORREGIDO)
-                Set<ConstraintViolation<EmpleadoTiempoCompleto>> violations = validator.validate(empleado);
-
-                if (!violations.isEmpty()) {
-                    String validationMessage = violations.stream()
-                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                            .collect(Collectors.joining(", "));
-
-                    log.error("Fallo de Bean Validation en lote para empleado {}: {}", empleado.getNumeroDeCedula(), validationMessage);
-                    throw new IllegalArgumentException("Fallo de Bean Validation: " + validationMessage);
-                }
-
-                // 2. VALIDACIÓN DE NEGOCIO (LÓGICA EXISTENTE)
-                boolean isValid = empleado.validarDatosEspecificos();
-                String idDisplay = (empleado.getId() != null) ? empleado.getId().toString() : "sin ID (índice: " + chunk.indexOf(empleado) + ")";
-
-                // Imprimir el resultado de la validación
-                log.info("Validación del empleado {} (C.I.: {}): {}",
-                        idDisplay,
-                        empleado.getNumeroDeCedula(),
-                        (isValid ? "OK" : "FALLÓ (Negocio)"));
-
-                if (!isValid) {
-                    log.error("Fallo de validación en lote para empleado {}.", idDisplay);
-                    throw new IllegalArgumentException(String.format("Error de validación en el empleado %s. Verifique Salario Mínimo y Departamento.", idDisplay));
-                }
-
-                // 3. VERIFICACIÓN DE DUPLICADOS Y EXISTENCIA
-                String cedula = empleado.getNumeroDeCedula();
-                if (cedula == null || cedula.trim().isEmpty()) {
-                    // Nota: Bean Validation ya debería atrapar esto con @Pattern o @NotBlank
-                    throw new IllegalArgumentException("Cédula vacía en uno de los empleados del lote.");
-                }
-                if (!cedulasEnChunk.add(cedula)) {
-                    throw new IllegalArgumentException("Cédula duplicada en el mismo lote: " + cedula);
-                }
-
-                // Verificar existencia previa en la base de datos
-                if (personaRepository.existsByNumeroDeCedula(cedula)) {
-                    throw new IllegalArgumentException("Ya existe una persona con cédula: " + cedula);
-                }
-            }
+            ResultadoCargaMasivaDto.LoteCargaDto lote = procesarLote(chunk, i, resultado.getErrores(), null);
+            totalGuardados += lote.getCantidad();
+            resultado.getLotes().add(lote);
+        }
+
+        long duracionMs = (System.nanoTime() - inicioCarga) / 1_000_000;
+        resultado.setTotalRecibidos(n);
+        resultado.setTotalGuardados(totalGuardados);
+        resultado.setTotalRechazados(resultado.getErrores().size());
+        resultado.setDuracionTotalMs(duracionMs);
+        resultado.setFilasPorSegundo(duracionMs > 0 ? totalGuardados * 1000.0 / duracionMs : totalGuardados);
+
+        log.info("Carga en batch finalizada. Total de empleados guardados: {}, rechazados: {}, en {} ms.",
+                totalGuardados, resultado.getTotalRechazados(), duracionMs);
+        return resultado;
+    }
 
+    /**
+     * Valida y persiste un lote: los registros inválidos se agregan a {@code errores} y el resto se inserta
+     * en una única transacción.
+     * @param chunk Lote a procesar (como máximo {@link #BATCH_SIZE} empleados).
+     * @param desplazamiento Índice del primer elemento del lote dentro de la carga completa.
+     * @param errores Lista donde se acumulan los registros rechazados.
+     * @param alConfirmar Acción opcional que se ejecuta dentro de la transacción del lote, después de la inserción
+     *                    (ej. registrar el avance de un trabajo de importación). Si no es null, la transacción se
+     *                    abre aunque el lote no tenga registros válidos.
+     * @return Resumen del lote (cantidad guardada, rechazados y tiempos).
+     */
+    public ResultadoCargaMasivaDto.LoteCargaDto procesarLote(List<EmpleadoTiempoCompleto> chunk, int desplazamiento,
+                                                            List<ErrorValidacionDto> errores,
+                                                            Consumer<ValidacionCargaMasivaService.LoteValidado> alConfirmar) {
+        int endIndex = desplazamiento + chunk.size();
+        log.debug("Validando y persistiendo Lote de empleados {}-{}.", desplazamiento, endIndex);
+
+        long inicioLote = System.nanoTime();
+        ValidacionCargaMasivaService.LoteValidado loteValidado = validacionCargaMasivaService.validarLote(chunk, desplazamiento);
+        List<EmpleadoTiempoCompleto> validos = loteValidado.getValidos();
+        errores.addAll(loteValidado.getErrores());
+        long finValidacion = System.nanoTime();
+
+        if (!validos.isEmpty() || alConfirmar != null) {
             try {
-                // Si todas las validaciones previas pasaron, persistir.
-                empleadosGuardados.addAll(repository.saveAll(chunk));
-                log.info("Lote de empleados {}-{} guardado exitosamente.", i, endIndex);
+                // Solo los registros limpios pasan a la etapa de persistencia (una transacción por lote).
+                transactionTemplate.executeWithoutResult(status -> {
+                    persistirLote(validos);
+                    if (alConfirmar != null) {
+                        alConfirmar.accept(loteValidado);
+                    }
+                });
             } catch (DataIntegrityViolationException dive) {
-                // Este catch es para errores de unicidad o NOT NULL a nivel DB que Bean Validation no atrapó
-                log.error("Error de integridad al guardar lote {}-{}: {}", i, endIndex, dive.getMessage());
+                // Este catch es para errores de unicidad o NOT NULL a nivel DB que la validación no atrapó
+                log.error("Error de integridad al guardar lote {}-{}: {}", desplazamiento, endIndex, dive.getMessage());
                 throw new IllegalArgumentException("Error de integridad al guardar lote. Verifique cédulas duplicadas o restricciones de la base de datos.");
             }
         }
+        long finLote = System.nanoTime();
+
+        long validacionMs = (finValidacion - inicioLote) / 1_000_000;
+        long persistenciaMs = (finLote - finValidacion) / 1_000_000;
+        int rechazados = loteValidado.getErrores().size();
+        log.info("Lote de empleados {}-{} procesado: {} guardados, {} rechazados (validación: {} ms, inserción: {} ms).",
+                desplazamiento, endIndex, validos.size(), rechazados, validacionMs, persistenciaMs);
+        return new ResultadoCargaMasivaDto.LoteCargaDto(desplazamiento, endIndex, validos.size(), rechazados, validacionMs, persistenciaMs);
+    }
 
-        log.info("Carga en batch finalizada. Total de empleados guardados: {}", empleadosGuardados.size());
-        return empleadosGuardados;
+    /**
+     * Inserta el lote (Hibernate agrupa los INSERT según hibernate.jdbc.batch_size) y
+     * libera el contexto de persistencia para que la memoria no crezca con cada lote.
+     * Debe ejecutarse dentro de una transacción.
+     * @return La cantidad de empleados insertados.
+     */
+    private int persistirLote(List<EmpleadoTiempoCompleto> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        repository.saveAll(chunk);
+        repository.flush(); // vía repositorio: los errores se traducen a DataIntegrityViolationException
+        entityManager.clear();
+        return chunk.size();
     }
 
     // 8. Lógica de negocio: Buscar empleado por departamento
@@ -224,31 +260,12 @@ public class EmpleadoTiempoCompletoService {
 
     /**
      * Calcula la suma total de salarios brutos (salarioMensual) para los EmpleadosTiempoCompleto.
-     * Retorna un Map con la clave siendo el nombre de la clase (EmpleadoTiempoCompleto) y
-     * el valor siendo la suma total de sus salarios.
-     * * @return Map<String, BigDecimal> donde la clave es "EmpleadoTiempoCompleto" y el valor es la nómina total.
+     * La suma se resuelve en la base de datos (SUM con los mismos filtros que validarDatosEspecificos()),
+     * sin cargar las entidades.
+     * @return Map<String, BigDecimal> donde la clave es "EmpleadoTiempoCompleto" y el valor es la nómina total.
      */
     public Map<String, BigDecimal> calcularNominaTotal() {
         log.info("Iniciando cálculo de nómina total para Empleados de Tiempo Completo.");
-
-        List<EmpleadoTiempoCompleto> empleados = repository.findAll();
-        BigDecimal sumaTotalSalarios = BigDecimal.ZERO;
-
-        for (EmpleadoTiempoCompleto empleado : empleados) {
-            // Solo sumar si los datos específicos son válidos (ej. salario no es nulo y cumple el mínimo)
-            if (empleado.validarDatosEspecificos() && empleado.getSalarioMensual() != null) {
-                sumaTotalSalarios = sumaTotalSalarios.add(empleado.getSalarioMensual());
-            } else {
-                log.warn("Empleado ID {} (C.I. {}) excluido de la nómina por datos inválidos o salario nulo.",
-                        empleado.getId(), empleado.getNumeroDeCedula());
-            }
-        }
-
-        String nombreClase = EmpleadoTiempoCompleto.class.getSimpleName();
-        Map<String, BigDecimal> resultado = new HashMap<>();
-        resultado.put(nombreClase, sumaTotalSalarios.setScale(2, BigDecimal.ROUND_HALF_UP));
-
-        log.info("Nómina total calculada para {}: {}", nombreClase, sumaTotalSalarios);
-        return resultado;
+        return nominaAgregadaService.calcularNominaTotal(EmpleadoTiempoCompleto.class);
     }
 }
\ No newline at end of file
@@ -4,18 +4,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import py.edu.uc.jpasseratplp32025.entity.Gerente;
+import py.edu.uc.jpasseratplp32025.dto.NominaDepartamentoDto;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
+import py.edu.uc.jpasseratplp32025.dto.ResultadoAprobacionLoteDto;
+import py.edu.uc.jpasseratplp32025.util.CursorPaginacion;
 import py.edu.uc.jpasseratplp32025.repository.GerenteRepository;
 import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
-import py.edu.uc.jpasseratplp32025.exception.EmpleadoNoEncontradoException;
+import py.edu.uc.jpasseratplp32025.exception.SolicitudPermisoNoEncontradaException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -25,11 +26,17 @@ public class GerenteService {
     
     private final GerenteRepository repository;
     private final EmpleadoTiempoCompletoService empleadoService;
+    private final SolicitudPermisoService solicitudPermisoService;
+    private final NominaDepartamentoService nominaDepartamentoService;
 
     @Autowired
-    public GerenteService(GerenteRepository repository, EmpleadoTiempoCompletoService empleadoService) {
+    public GerenteService(GerenteRepository repository, EmpleadoTiempoCompletoService empleadoService,
+                          SolicitudPermisoService solicitudPermisoService,
+                          NominaDepartamentoService nominaDepartamentoService) {
         this.repository = repository;
         this.empleadoService = empleadoService;
+        this.solicitudPermisoService = solicitudPermisoService;
+        this.nominaDepartamentoService = nominaDepartamentoService;
         log.info("GerenteService inicializado.");
     }
 
@@ -38,6 +45,15 @@ public class GerenteService {
         return repository.findAll();
     }
 
+    // Listado paginado por cursor (keyset sobre el ID)
+    public PaginaDto<Gerente> listarPagina(String after, Integer limit) {
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        log.debug("Listando gerentes desde ID > {} (límite {}).", desdeId, limite);
+        List<Gerente> filas = repository.findByIdGreaterThanOrderByIdAsc(desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite);
+    }
+
     public Optional<Gerente> findById(Long id) {
         return repository.findById(id);
     }
@@ -56,33 +72,44 @@ public class GerenteService {
     }
 
     // Métodos específicos de gerente
+
+    /**
+     * Resuelve una solicitud pendiente del departamento a cargo (lote de una sola solicitud).
+     * @throws SolicitudPermisoNoEncontradaException Si no existe, es de otro departamento o ya fue resuelta.
+     * @throws PermisoNoConcedidoException Si quedó rechazada (por el gerente o por las reglas de días).
+     */
     public void aprobarPermiso(Long gerenteId, Long solicitudId, boolean aprobado, String notas) 
             throws PermisoNoConcedidoException {
-        
-        Gerente gerente = findById(gerenteId)
-            .orElseThrow(() -> new EmpleadoNoEncontradoException("Gerente no encontrado"));
-            
-        gerente.procesarAprobacionGerencial(solicitudId, aprobado, notas);
+
+        ResultadoAprobacionLoteDto resultado = solicitudPermisoService.resolverLote(
+                gerenteId, List.of(solicitudId), aprobado, notas);
+
+        if (!resultado.getOmitidas().isEmpty()) {
+            throw new SolicitudPermisoNoEncontradaException(
+                    "No hay una solicitud pendiente #" + solicitudId + " en el departamento del gerente " + gerenteId);
+        }
+        String motivo = resultado.getRechazadas().get(solicitudId);
+        if (motivo != null) {
+            throw new PermisoNoConcedidoException(
+                    String.format("La solicitud #%d fue rechazada.", solicitudId), motivo);
+        }
     }
 
-    public Map<String, BigDecimal> calcularNominaDepartamento(String departamento) {
-        List<Gerente> gerentesDelDepartamento = repository.findByDepartamentoACargo(departamento);
-        
-        BigDecimal totalNomina = gerentesDelDepartamento.stream()
-            .map(Gerente::calcularSalario)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-        Map<String, BigDecimal> resultado = new HashMap<>();
-        resultado.put("TOTAL_NOMINA_" + departamento, totalNomina);
-        
-        return resultado;
+    /**
+     * Nómina del departamento (empleados de tiempo completo y gerentes) tomada de la tabla de resumen
+     * que se mantiene en cada escritura: no carga ni recalcula a los empleados.
+     */
+    public NominaDepartamentoDto calcularNominaDepartamento(String departamento) {
+        return nominaDepartamentoService.obtener(departamento);
     }
 
-    // MÉTODO DE CONSULTA ESPECÍFICA: Buscar contratos vigentes
-    public List<Gerente> buscarContratosVigentes() {
+    // MÉTODO DE CONSULTA ESPECÍFICA: Buscar contratos vigentes (paginado por cursor, filtrado en la base)
+    public PaginaDto<Gerente> buscarContratosVigentes(String after, Integer limit) {
         LocalDate hoy = LocalDate.now();
-        log.info("Buscando contratos vigentes a partir de la fecha: {}", hoy);
-        // Usa la consulta definida en el repositorio: fechaFinContrato > hoy
-        return repository.findByFechaFinContratoAfter(hoy);
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        log.info("Buscando gerentes con contratos vigentes a partir de la fecha: {} (ID > {}, límite {}).", hoy, desdeId, limite);
+        List<Gerente> filas = repository.findContratosVigentes(hoy, desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite);
     }
 }
\ No newline at end of file
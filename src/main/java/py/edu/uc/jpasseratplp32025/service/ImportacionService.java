@@ -0,0 +1,381 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import py.edu.uc.jpasseratplp32025.dto.ErrorValidacionDto;
+import py.edu.uc.jpasseratplp32025.dto.EstadoImportacionDto;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.entity.TrabajoImportacion;
+import py.edu.uc.jpasseratplp32025.exception.TrabajoImportacionNoEncontradoException;
+import py.edu.uc.jpasseratplp32025.repository.TrabajoImportacionRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Trabajos de importación masiva de empleados de tiempo completo en segundo plano.
+ * El cuerpo recibido se guarda tal cual en disco y se procesa en lotes de
+ * {@link EmpleadoTiempoCompletoService#BATCH_SIZE} con la misma validación/persistencia que POST /api/empleados/batch.
+ * Cada lote confirma su avance en la misma transacción que la inserción, por lo que un trabajo cancelado
+ * o interrumpido por un reinicio continúa desde el último lote confirmado.
+ */
+@Service
+public class ImportacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionService.class);
+
+    // Cantidad máxima de errores devueltos en la consulta de estado (el archivo de errores conserva todos)
+    private static final int MUESTRA_ERRORES = 50;
+    // Estados en los que ya no se puede solicitar la cancelación (ver TrabajoImportacion#estaFinalizado)
+    private static final List<TrabajoImportacion.Estado> FINALIZADOS = List.of(TrabajoImportacion.Estado.COMPLETADO,
+            TrabajoImportacion.Estado.FALLIDO, TrabajoImportacion.Estado.CANCELADO);
+
+    // Estados de un trabajo tomado o por tomar por un hilo
+    private static final List<TrabajoImportacion.Estado> ACTIVOS = List.of(TrabajoImportacion.Estado.PENDIENTE,
+            TrabajoImportacion.Estado.EN_PROCESO);
+
+    /**
+     * Cómo terminó el recorrido del archivo.
+     */
+    private enum Resultado { COMPLETADO, CANCELADO, INTERRUMPIDO }
+
+    private final TrabajoImportacionRepository trabajoRepository;
+    private final EmpleadoTiempoCompletoService empleadoService;
+    private final ObjectMapper objectMapper;
+    private final Path directorio;
+    private final ExecutorService executor;
+
+    @Autowired
+    public ImportacionService(TrabajoImportacionRepository trabajoRepository,
+                              EmpleadoTiempoCompletoService empleadoService,
+                              ObjectMapper objectMapper,
+                              @Value("${importacion.directorio:./data/importaciones}") String directorio,
+                              @Value("${importacion.hilos:1}") int hilos) {
+        this.trabajoRepository = trabajoRepository;
+        this.empleadoService = empleadoService;
+        this.objectMapper = objectMapper;
+        this.directorio = Paths.get(directorio);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, hilos), r -> {
+            Thread hilo = new Thread(r, "importacion-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        log.info("ImportacionService inicializado (directorio: {}, hilos: {}).", this.directorio.toAbsolutePath(), hilos);
+    }
+
+    // ========================================================================
+    // API del servicio
+    // ========================================================================
+
+    /**
+     * Registra un trabajo nuevo: copia el arreglo JSON recibido a disco (sin deserializarlo)
+     * y lo encola para su procesamiento.
+     * @param contenido Cuerpo de la petición (arreglo JSON de empleados de tiempo completo).
+     * @return Estado inicial del trabajo (PENDIENTE).
+     */
+    public EstadoImportacionDto crearTrabajo(InputStream contenido) throws IOException {
+        Files.createDirectories(directorio);
+        TrabajoImportacion trabajo = trabajoRepository.save(new TrabajoImportacion());
+        Files.copy(contenido, archivoDatos(trabajo.getId()), StandardCopyOption.REPLACE_EXISTING);
+        log.info("Trabajo de importación {} registrado ({} bytes).", trabajo.getId(), Files.size(archivoDatos(trabajo.getId())));
+
+        encolar(trabajo.getId());
+        return toDto(trabajo);
+    }
+
+    public EstadoImportacionDto obtenerEstado(Long id) {
+        return toDto(buscar(id));
+    }
+
+    /**
+     * Solicita la cancelación. El trabajo se detiene al terminar el lote en curso;
+     * lo ya confirmado permanece guardado.
+     */
+    public EstadoImportacionDto cancelar(Long id) {
+        buscar(id); // 404 si no existe
+        // UPDATE puntuales en lugar de save(): guardar la entidad completa pisaría el avance
+        // (siguienteIndice, totales) que el hilo del trabajo registra mientras tanto
+        if (trabajoRepository.solicitarCancelacion(id, FINALIZADOS) == 0) {
+            throw new IllegalStateException("El trabajo " + id + " ya finalizó con estado " + buscar(id).getEstado() + ".");
+        }
+        // Todavía no tomado por un hilo: se cancela directamente
+        trabajoRepository.cancelarPendiente(id, TrabajoImportacion.Estado.PENDIENTE,
+                TrabajoImportacion.Estado.CANCELADO, LocalDateTime.now());
+        log.warn("Cancelación solicitada para el trabajo de importación {}.", id);
+        return toDto(buscar(id));
+    }
+
+    /**
+     * Reanuda un trabajo cancelado o fallido desde el último lote confirmado.
+     */
+    public EstadoImportacionDto reanudar(Long id) {
+        TrabajoImportacion trabajo = buscar(id);
+        if (trabajo.getEstado() != TrabajoImportacion.Estado.CANCELADO && trabajo.getEstado() != TrabajoImportacion.Estado.FALLIDO) {
+            throw new IllegalStateException("Solo se pueden reanudar trabajos CANCELADOS o FALLIDOS (estado actual: " + trabajo.getEstado() + ").");
+        }
+        trabajo.setEstado(TrabajoImportacion.Estado.PENDIENTE);
+        trabajo.setCancelacionSolicitada(false);
+        trabajo.setMensajeError(null);
+        trabajo.setFechaFin(null);
+        trabajoRepository.save(trabajo);
+        encolar(id);
+        return toDto(trabajo);
+    }
+
+    /**
+     * Al iniciar la aplicación se reencolan los trabajos que quedaron pendientes o en proceso
+     * (ej. por un reinicio); continúan desde el último lote confirmado.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudarTrabajosInterrumpidos() {
+        List<TrabajoImportacion> interrumpidos = trabajoRepository.findByEstadoIn(ACTIVOS);
+        for (TrabajoImportacion trabajo : interrumpidos) {
+            log.info("Reanudando trabajo de importación {} desde el registro {}.", trabajo.getId(), trabajo.getSiguienteIndice());
+            encolar(trabajo.getId());
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        // Los trabajos en curso quedan EN_PROCESO y se reanudan en el próximo arranque
+        executor.shutdownNow();
+    }
+
+    // ========================================================================
+    // Procesamiento en segundo plano
+    // ========================================================================
+
+    private void encolar(Long id) {
+        executor.submit(() -> ejecutar(id));
+    }
+
+    private void ejecutar(Long id) {
+        TrabajoImportacion trabajo = trabajoRepository.findById(id).orElse(null);
+        if (trabajo == null || trabajo.estaFinalizado()) {
+            return;
+        }
+        if (trabajo.isCancelacionSolicitada()) {
+            finalizar(id, TrabajoImportacion.Estado.CANCELADO, null);
+            return;
+        }
+
+        Path datos = archivoDatos(id);
+        try {
+            Integer totalRegistros = trabajo.getTotalRegistros() != null ? trabajo.getTotalRegistros() : contarRegistros(datos);
+            // UPDATE condicional en lugar de save(): una cancelación que llegó mientras se contaban los
+            // registros no se pisa, y el trabajo no arranca
+            if (trabajoRepository.iniciarEjecucion(id, totalRegistros, LocalDateTime.now(), ACTIVOS,
+                    TrabajoImportacion.Estado.EN_PROCESO) == 0) {
+                finalizar(id, TrabajoImportacion.Estado.CANCELADO, null);
+                return;
+            }
+            trabajo = buscar(id);
+            log.info("Trabajo de importación {} en proceso: {} registros, desde el índice {}.",
+                    id, trabajo.getTotalRegistros(), trabajo.getSiguienteIndice());
+
+            switch (procesarArchivo(id, datos, trabajo.getSiguienteIndice())) {
+                case COMPLETADO -> finalizar(id, TrabajoImportacion.Estado.COMPLETADO, null);
+                case CANCELADO -> finalizar(id, TrabajoImportacion.Estado.CANCELADO, null);
+                // Apagado de la aplicación: el trabajo queda EN_PROCESO para reanudarse al arrancar
+                case INTERRUMPIDO -> log.warn("Trabajo de importación {} interrumpido por el apagado de la aplicación.", id);
+            }
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.warn("Trabajo de importación {} interrumpido por el apagado de la aplicación.", id);
+                return;
+            }
+            log.error("Trabajo de importación {} falló: {}", id, e.getMessage(), e);
+            finalizar(id, TrabajoImportacion.Estado.FALLIDO, e.getMessage());
+        }
+    }
+
+    /**
+     * Lee el arreglo JSON elemento por elemento (sin cargar el archivo completo) y procesa lotes de
+     * {@link EmpleadoTiempoCompletoService#BATCH_SIZE}.
+     * @param desde Cantidad de registros ya confirmados, que se saltean sin deserializar.
+     * @return Cómo terminó: completo, cancelado o interrumpido por el apagado.
+     */
+    private Resultado procesarArchivo(Long id, Path datos, int desde) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(datos.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("El contenido debe ser un arreglo JSON de empleados.");
+            }
+
+            int indice = 0;
+            while (indice < desde && parser.nextToken() == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                indice++;
+            }
+
+            List<EmpleadoTiempoCompleto> lote = new ArrayList<>(EmpleadoTiempoCompletoService.BATCH_SIZE);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                lote.add(objectMapper.readValue(parser, EmpleadoTiempoCompleto.class));
+                if (lote.size() == EmpleadoTiempoCompletoService.BATCH_SIZE) {
+                    indice = procesarLote(id, lote, indice);
+                    lote = new ArrayList<>(EmpleadoTiempoCompletoService.BATCH_SIZE);
+                    if (Thread.currentThread().isInterrupted()) {
+                        return Resultado.INTERRUMPIDO;
+                    }
+                    if (trabajoRepository.isCancelacionSolicitada(id)) {
+                        return Resultado.CANCELADO;
+                    }
+                }
+            }
+            if (!lote.isEmpty()) {
+                procesarLote(id, lote, indice);
+            }
+            return Resultado.COMPLETADO;
+        }
+    }
+
+    private int procesarLote(Long id, List<EmpleadoTiempoCompleto> lote, int desplazamiento) {
+        int siguienteIndice = desplazamiento + lote.size();
+        List<ErrorValidacionDto> errores = new ArrayList<>();
+        // El avance se registra dentro de la transacción del lote: inserción y punto de reanudación se confirman juntos
+        empleadoService.procesarLote(lote, desplazamiento, errores, validado ->
+                trabajoRepository.registrarAvance(id, siguienteIndice, validado.getValidos().size(), validado.getErrores().size()));
+        registrarErrores(id, errores);
+        return siguienteIndice;
+    }
+
+    private void finalizar(Long id, TrabajoImportacion.Estado estado, String mensajeError) {
+        if (trabajoRepository.finalizar(id, estado, LocalDateTime.now(), mensajeError, ACTIVOS) == 0) {
+            return; // Ya finalizado (por ejemplo, cancelado antes de que el hilo lo tomara)
+        }
+        TrabajoImportacion trabajo = buscar(id);
+        log.info("Trabajo de importación {} finalizado con estado {}: {} guardados, {} rechazados.",
+                id, estado, trabajo.getTotalGuardados(), trabajo.getTotalRechazados());
+    }
+
+    // ========================================================================
+    // Archivos del trabajo
+    // ========================================================================
+
+    private Path archivoDatos(Long id) {
+        return directorio.resolve("trabajo-" + id + ".json");
+    }
+
+    private Path archivoErrores(Long id) {
+        return directorio.resolve("trabajo-" + id + "-errores.ndjson");
+    }
+
+    // Cuenta los elementos del arreglo sin deserializarlos (necesario para el porcentaje y la ETA)
+    private int contarRegistros(Path datos) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(datos.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("El contenido debe ser un arreglo JSON de empleados.");
+            }
+            int total = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                total++;
+            }
+            return total;
+        }
+    }
+
+    // Un error por línea (NDJSON), agregado al final del archivo
+    private void registrarErrores(Long id, List<ErrorValidacionDto> errores) {
+        if (errores.isEmpty()) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(archivoErrores(id), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (ErrorValidacionDto error : errores) {
+                writer.write(objectMapper.writeValueAsString(error));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ErrorValidacionDto> leerErrores(Long id) {
+        Path archivo = archivoErrores(id);
+        List<ErrorValidacionDto> errores = new ArrayList<>();
+        if (!Files.exists(archivo)) {
+            return errores;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while (errores.size() < MUESTRA_ERRORES && (linea = reader.readLine()) != null) {
+                errores.add(objectMapper.readValue(linea, ErrorValidacionDto.class));
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo leer el archivo de errores del trabajo {}: {}", id, e.getMessage());
+        }
+        return errores;
+    }
+
+    // ========================================================================
+    // Conversión a DTO (avance, throughput y ETA)
+    // ========================================================================
+
+    private TrabajoImportacion buscar(Long id) {
+        return trabajoRepository.findById(id)
+                .orElseThrow(() -> new TrabajoImportacionNoEncontradoException("No existe el trabajo de importación con ID: " + id));
+    }
+
+    private EstadoImportacionDto toDto(TrabajoImportacion trabajo) {
+        EstadoImportacionDto dto = new EstadoImportacionDto();
+        dto.setId(trabajo.getId());
+        dto.setEstado(trabajo.getEstado().name());
+        dto.setTotalRegistros(trabajo.getTotalRegistros());
+        dto.setProcesados(trabajo.getSiguienteIndice());
+        dto.setGuardados(trabajo.getTotalGuardados());
+        dto.setRechazados(trabajo.getTotalRechazados());
+        dto.setCancelacionSolicitada(trabajo.isCancelacionSolicitada());
+        dto.setFechaCreacion(trabajo.getFechaCreacion());
+        dto.setFechaInicio(trabajo.getFechaInicio());
+        dto.setFechaFin(trabajo.getFechaFin());
+        dto.setMensajeError(trabajo.getMensajeError());
+
+        Integer total = trabajo.getTotalRegistros();
+        if (total != null) {
+            dto.setPorcentaje(total == 0 ? 100.0 : Math.round(trabajo.getSiguienteIndice() * 10000.0 / total) / 100.0);
+        }
+
+        // Throughput de la ejecución actual (tras una reanudación no se cuentan los registros previos)
+        if (trabajo.getFechaInicio() != null) {
+            LocalDateTime hasta = trabajo.getFechaFin() != null ? trabajo.getFechaFin() : LocalDateTime.now();
+            long ms = Duration.between(trabajo.getFechaInicio(), hasta).toMillis();
+            int procesadosEjecucion = trabajo.getSiguienteIndice() - trabajo.getIndiceInicioEjecucion();
+            double filasPorSegundo = ms > 0 ? procesadosEjecucion * 1000.0 / ms : 0.0;
+            dto.setFilasPorSegundo(Math.round(filasPorSegundo * 100.0) / 100.0);
+
+            if (!trabajo.estaFinalizado() && total != null && filasPorSegundo > 0) {
+                dto.setEtaSegundos(Math.round((total - trabajo.getSiguienteIndice()) / filasPorSegundo));
+            }
+        }
+
+        dto.setErrores(leerErrores(trabajo.getId()));
+        return dto;
+    }
+}
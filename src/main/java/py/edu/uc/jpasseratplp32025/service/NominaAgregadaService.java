@@ -0,0 +1,121 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import py.edu.uc.jpasseratplp32025.dto.NominaConsolidadaDto;
+import py.edu.uc.jpasseratplp32025.dto.ResumenNominaDto;
+import py.edu.uc.jpasseratplp32025.entity.Contratista;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoPorHora;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+
+import jakarta.persistence.DiscriminatorValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio de agregación de nómina: delega SUM/COUNT/MIN/MAX a la base de datos
+ * (una sola consulta agrupada por tipo_persona y departamento) en lugar de hidratar
+ * cada entidad y sumar los BigDecimal en Java.
+ */
+@Service
+public class NominaAgregadaService {
+
+    private static final Logger log = LoggerFactory.getLogger(NominaAgregadaService.class);
+
+    // Discriminador (tipo_persona) -> nombre de la clase usado como clave en los resultados
+    private static final Map<String, String> NOMBRE_CLASE_POR_TIPO = Map.of(
+            discriminador(EmpleadoTiempoCompleto.class), EmpleadoTiempoCompleto.class.getSimpleName(),
+            discriminador(EmpleadoPorHora.class), EmpleadoPorHora.class.getSimpleName(),
+            discriminador(Contratista.class), Contratista.class.getSimpleName()
+    );
+
+    private final PersonaRepository personaRepository;
+
+    @Autowired
+    public NominaAgregadaService(PersonaRepository personaRepository) {
+        this.personaRepository = personaRepository;
+        log.info("NominaAgregadaService inicializado.");
+    }
+
+    /**
+     * Calcula la nómina de todos los tipos de empleado en un solo viaje a la base de datos.
+     * @return El detalle por tipo/departamento y los totales por tipo.
+     */
+    @Transactional(readOnly = true)
+    public NominaConsolidadaDto calcularNominaConsolidada() {
+        log.info("Calculando nómina consolidada (agregación en base de datos).");
+        List<ResumenNominaDto> detalle = consultarResumen(null);
+
+        Map<String, BigDecimal> totalPorTipo = new LinkedHashMap<>();
+        long totalEmpleados = 0;
+        BigDecimal totalGeneral = BigDecimal.ZERO;
+        for (ResumenNominaDto fila : detalle) {
+            String nombreClase = NOMBRE_CLASE_POR_TIPO.getOrDefault(fila.getTipoPersona(), fila.getTipoPersona());
+            totalPorTipo.merge(nombreClase, fila.getTotalSalarios(), BigDecimal::add);
+            totalEmpleados += fila.getCantidadEmpleados();
+            totalGeneral = totalGeneral.add(fila.getTotalSalarios());
+        }
+        totalPorTipo.replaceAll((tipo, total) -> total.setScale(2, RoundingMode.HALF_UP));
+
+        log.info("Nómina consolidada: {} empleados, total {}", totalEmpleados, totalGeneral);
+        return new NominaConsolidadaDto(detalle, totalPorTipo, totalEmpleados, totalGeneral.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Calcula la nómina total de un tipo de empleado (misma forma que los calcularNominaTotal existentes).
+     * @param tipo Clase del empleado (EmpleadoTiempoCompleto, EmpleadoPorHora o Contratista).
+     * @return Map donde la clave es el nombre de la clase y el valor la nómina total.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> calcularNominaTotal(Class<? extends PersonaJpa> tipo) {
+        BigDecimal total = consultarResumen(discriminador(tipo)).stream()
+                .map(ResumenNominaDto::getTotalSalarios)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Map<String, BigDecimal> resultado = new HashMap<>();
+        resultado.put(tipo.getSimpleName(), total.setScale(2, RoundingMode.HALF_UP));
+
+        log.info("Nómina total calculada para {}: {}", tipo.getSimpleName(), total);
+        return resultado;
+    }
+
+    private List<ResumenNominaDto> consultarResumen(String tipo) {
+        List<ResumenNominaDto> detalle = new ArrayList<>();
+        for (Object[] fila : personaRepository.resumirNominaPorTipoYDepartamento(tipo, LocalDate.now())) {
+            detalle.add(new ResumenNominaDto(
+                    (String) fila[0],
+                    (String) fila[1],
+                    ((Number) fila[2]).longValue(),
+                    aBigDecimal(fila[3]),
+                    aBigDecimal(fila[4]),
+                    aBigDecimal(fila[5])
+            ));
+        }
+        return detalle;
+    }
+
+    private static BigDecimal aBigDecimal(Object valor) {
+        if (valor == null) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+        BigDecimal numero = (valor instanceof BigDecimal bd) ? bd : new BigDecimal(valor.toString());
+        return numero.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static String discriminador(Class<? extends PersonaJpa> tipo) {
+        DiscriminatorValue valor = tipo.getAnnotation(DiscriminatorValue.class);
+        return valor != null ? valor.value() : tipo.getSimpleName();
+    }
+}
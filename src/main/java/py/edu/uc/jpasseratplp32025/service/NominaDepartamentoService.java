@@ -0,0 +1,295 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.dto.NominaDepartamentoDto;
+import py.edu.uc.jpasseratplp32025.entity.NominaDepartamento;
+import py.edu.uc.jpasseratplp32025.entity.NominaDepartamentoListener;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.repository.NominaDepartamentoRepository;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.util.NominaCentavos;
+import py.edu.uc.jpasseratplp32025.util.NominaUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Resumen de nómina por departamento y tipo de persona (tabla nomina_departamentos).
+ *
+ * Cada alta, modificación o baja de una persona con departamento suma su diferencia a la fila
+ * correspondiente (ver NominaDepartamentoListener); las diferencias de una transacción se agrupan por
+ * fila y se aplican al confirmarla con un UPDATE incremental por fila, así la consulta por
+ * departamento lee unas pocas filas en lugar de cargar y calcular a todos sus empleados.
+ * La tabla se reconstruye completa al iniciar si está vacía, y con recalcular() tras cambios que no
+ * pasan por el ORM.
+ */
+@Service
+public class NominaDepartamentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(NominaDepartamentoService.class);
+
+    private static final String SQL_ACUMULAR = """
+            UPDATE nomina_departamentos
+               SET cantidad = cantidad + ?,
+                   salarios_centavos = salarios_centavos + ?,
+                   deducciones_centavos = deducciones_centavos + ?,
+                   impuestos_centavos = impuestos_centavos + ?
+             WHERE departamento = ? AND tipo_persona = ?
+            """;
+
+    private static final String SQL_INSERTAR = """
+            INSERT INTO nomina_departamentos
+                   (departamento, tipo_persona, cantidad, salarios_centavos, deducciones_centavos, impuestos_centavos)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final NominaDepartamentoRepository repository;
+    private final PersonaRepository personaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public NominaDepartamentoService(NominaDepartamentoRepository repository, PersonaRepository personaRepository,
+                                     JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                     PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.personaRepository = personaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        log.info("NominaDepartamentoService inicializado.");
+    }
+
+    // =================================================================
+    // MANTENIMIENTO INCREMENTAL
+    // =================================================================
+
+    /**
+     * Suma las diferencias a la fila (departamento, tipo). Dentro de una transacción solo se acumulan en
+     * memoria, agrupadas por fila, y se aplican justo antes del commit con un UPDATE por fila: una carga
+     * de mil personas del mismo departamento actualiza esa fila una vez, no mil. Un rollback las descarta.
+     */
+    public void acumular(String departamento, String tipoPersona, long cantidad,
+                         long salarios, long deducciones, long impuestos) {
+        if (cantidad == 0 && salarios == 0 && deducciones == 0 && impuestos == 0) {
+            return;
+        }
+        long[] diferencia = {cantidad, salarios, deducciones, impuestos};
+        Pendientes pendientes = pendientesDeLaTransaccion();
+        if (pendientes == null) {
+            aplicar(departamento, tipoPersona, diferencia);
+            return;
+        }
+        long[] total = pendientes.diferencias.computeIfAbsent(
+                new NominaDepartamento.Clave(departamento, tipoPersona), clave -> new long[4]);
+        for (int i = 0; i < total.length; i++) {
+            total[i] += diferencia[i];
+        }
+    }
+
+    /**
+     * Diferencias pendientes de la transacción en curso, o null si no hay transacción o sus diferencias
+     * ya se aplicaron (entonces la diferencia se aplica en el momento).
+     *
+     * Se registran en la transacción de Hibernate y no como TransactionSynchronization de Spring porque
+     * su beforeCompletion corre después del último flush, el que hace el propio commit: los listeners
+     * de ese flush también llegan a tiempo.
+     */
+    private Pendientes pendientesDeLaTransaccion() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        Pendientes pendientes = (Pendientes) TransactionSynchronizationManager.getResource(this);
+        if (pendientes != null) {
+            return pendientes.aplicadas ? null : pendientes;
+        }
+        // El EntityManager compartido no expone la transacción: se usa el ligado a la transacción en curso
+        EntityManager actual = EntityManagerFactoryUtils.getTransactionalEntityManager(
+                entityManager.getEntityManagerFactory());
+        Transaction transaccion = actual != null ? actual.unwrap(Session.class).getTransaction() : null;
+        if (transaccion == null || !transaccion.isActive()) {
+            return null;
+        }
+        pendientes = new Pendientes();
+        TransactionSynchronizationManager.bindResource(this, pendientes);
+        transaccion.registerSynchronization(pendientes);
+        return pendientes;
+    }
+
+    // Filas en orden fijo: dos transacciones que tocan los mismos departamentos no se bloquean en cruz
+    private void aplicarAgrupadas(Map<NominaDepartamento.Clave, long[]> diferencias) {
+        List<NominaDepartamento.Clave> claves = new ArrayList<>(diferencias.size());
+        List<Object[]> filas = new ArrayList<>(diferencias.size());
+        diferencias.forEach((clave, d) -> {
+            if (d[0] != 0 || d[1] != 0 || d[2] != 0 || d[3] != 0) {
+                claves.add(clave);
+                filas.add(new Object[]{d[0], d[1], d[2], d[3], clave.getDepartamento(), clave.getTipoPersona()});
+            }
+        });
+        if (filas.isEmpty()) {
+            return;
+        }
+        int[] actualizadas = jdbcTemplate.batchUpdate(SQL_ACUMULAR, filas);
+        for (int i = 0; i < actualizadas.length; i++) {
+            if (actualizadas[i] == 0) {
+                NominaDepartamento.Clave clave = claves.get(i);
+                insertar(clave.getDepartamento(), clave.getTipoPersona(), diferencias.get(clave));
+            }
+        }
+        log.debug("Resumen de nómina por departamento: {} filas actualizadas al confirmar.", filas.size());
+    }
+
+    private void aplicar(String departamento, String tipoPersona, long[] diferencia) {
+        if (actualizar(departamento, tipoPersona, diferencia) == 0) {
+            insertar(departamento, tipoPersona, diferencia);
+        }
+    }
+
+    private void insertar(String departamento, String tipoPersona, long[] diferencia) {
+        try {
+            jdbcTemplate.update(SQL_INSERTAR, departamento, tipoPersona,
+                    diferencia[0], diferencia[1], diferencia[2], diferencia[3]);
+        } catch (DuplicateKeyException e) {
+            // Otra transacción creó la fila entretanto
+            actualizar(departamento, tipoPersona, diferencia);
+        }
+    }
+
+    private int actualizar(String departamento, String tipoPersona, long[] diferencia) {
+        return jdbcTemplate.update(SQL_ACUMULAR, diferencia[0], diferencia[1], diferencia[2], diferencia[3],
+                departamento, tipoPersona);
+    }
+
+    /**
+     * Diferencias (cantidad, salarios, deducciones, impuestos) acumuladas por fila en una transacción.
+     */
+    private final class Pendientes implements Synchronization {
+        private final Map<NominaDepartamento.Clave, long[]> diferencias = new TreeMap<>(
+                Comparator.comparing(NominaDepartamento.Clave::getDepartamento)
+                        .thenComparing(NominaDepartamento.Clave::getTipoPersona));
+        private boolean aplicadas;
+
+        @Override
+        public void beforeCompletion() {
+            aplicadas = true;
+            aplicarAgrupadas(diferencias);
+        }
+
+        @Override
+        public void afterCompletion(int estado) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(NominaDepartamentoService.this);
+        }
+    }
+
+    // =================================================================
+    // RECONSTRUCCIÓN COMPLETA
+    // =================================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializarSiVacia() {
+        if (repository.count() == 0 && personaRepository.count() > 0) {
+            recalcular();
+        }
+    }
+
+    /**
+     * Reemplaza el contenido de la tabla por los totales calculados recorriendo todas las personas
+     * con un cursor. Pensado para el arranque o mantenimiento: las escrituras concurrentes quedan
+     * bloqueadas por las filas borradas hasta que termina.
+     *
+     * @return Cantidad de filas (departamento, tipo) generadas.
+     */
+    public int recalcular() {
+        long inicio = System.nanoTime();
+        Integer filas = transactionTemplate.execute(status -> {
+            Map<NominaDepartamento.Clave, long[]> totales = new LinkedHashMap<>();
+            try (Stream<PersonaJpa> personas = personaRepository.streamAllOrderById()) {
+                Iterator<PersonaJpa> iterador = personas.iterator();
+                int leidas = 0;
+                while (iterador.hasNext()) {
+                    PersonaJpa persona = iterador.next();
+                    String departamento = NominaUtils.departamentoDe(persona);
+                    if (departamento != null) {
+                        String tipo = NominaDepartamentoListener.tipoDe(persona);
+                        NominaCentavos.Resultado nomina = NominaCentavos.calcular(persona);
+                        long[] total = totales.computeIfAbsent(
+                                new NominaDepartamento.Clave(departamento, tipo), clave -> new long[4]);
+                        total[0]++;
+                        total[1] += nomina.getSalario();
+                        total[2] += nomina.getDeducciones();
+                        total[3] += nomina.getImpuestos();
+                    }
+                    if (++leidas % 500 == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+
+            jdbcTemplate.update("DELETE FROM nomina_departamentos");
+            List<Object[]> inserciones = new ArrayList<>(totales.size());
+            totales.forEach((clave, total) -> inserciones.add(new Object[]{
+                    clave.getDepartamento(), clave.getTipoPersona(), total[0], total[1], total[2], total[3]}));
+            jdbcTemplate.batchUpdate(SQL_INSERTAR, inserciones);
+            return inserciones.size();
+        });
+        log.info("Resumen de nómina por departamento reconstruido: {} filas en {} ms.",
+                filas, (System.nanoTime() - inicio) / 1_000_000);
+        return filas != null ? filas : 0;
+    }
+
+    // =================================================================
+    // CONSULTA
+    // =================================================================
+
+    /**
+     * Nómina del departamento leída de la tabla de resumen, con el desglose por tipo de persona.
+     */
+    public NominaDepartamentoDto obtener(String departamento) {
+        NominaDepartamentoDto dto = new NominaDepartamentoDto();
+        dto.setDepartamento(departamento);
+        long cantidad = 0, salarios = 0, deducciones = 0, impuestos = 0;
+        if (departamento != null) {
+            for (NominaDepartamento fila : repository.findByDepartamentoOrderByTipoPersonaAsc(departamento)) {
+                if (fila.getCantidad() == 0) {
+                    continue; // Tipo sin personas vigentes en el departamento (quedó en cero tras las bajas)
+                }
+                dto.getPorTipo().put(fila.getTipoPersona(), new NominaDepartamentoDto.Subtotal(fila.getCantidad(),
+                        NominaCentavos.aBigDecimal(fila.getSalariosCentavos()),
+                        NominaCentavos.aBigDecimal(fila.getDeduccionesCentavos()),
+                        NominaCentavos.aBigDecimal(fila.getImpuestosCentavos())));
+                cantidad += fila.getCantidad();
+                salarios = Math.addExact(salarios, fila.getSalariosCentavos());
+                deducciones = Math.addExact(deducciones, fila.getDeduccionesCentavos());
+                impuestos = Math.addExact(impuestos, fila.getImpuestosCentavos());
+            }
+        }
+        dto.setCantidad(cantidad);
+        dto.setTotalSalarios(NominaCentavos.aBigDecimal(salarios));
+        dto.setTotalDeducciones(NominaCentavos.aBigDecimal(deducciones));
+        dto.setTotalImpuestos(NominaCentavos.aBigDecimal(impuestos));
+        return dto;
+    }
+}
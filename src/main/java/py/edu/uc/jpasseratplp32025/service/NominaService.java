@@ -1,7 +1,9 @@
 package py.edu.uc.jpasseratplp32025.service;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import py.edu.uc.jpasseratplp32025.entity.Empleado;
 import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
 import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
@@ -12,24 +14,38 @@ import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Service
 public class NominaService {
 
     private static final Logger log = LoggerFactory.getLogger(NominaService.class);
 
-    // Asumimos que PersonaRepository extiende JpaRepository<PersonaJpa, Long>
-    // y tiene definido el método findByNumeroDeCedula(String) que devuelve directamente PersonaJpa
     private final PersonaRepository personaRepository;
+    private final EntityManager entityManager;
+    // Búsqueda por cédula vía caché natural-id (evita una consulta a H2 por solicitud)
+    private final CacheCedulaService cacheCedulaService;
+    private final SaldoVacacionesService saldoVacacionesService;
+    private final BloqueoEmpleadosService bloqueoEmpleadosService;
+
+    // Cada cuántas filas del reporte se limpia el contexto de persistencia
+    private static final int REPORTE_FILAS_POR_LOTE = 500;
 
     @Autowired
-    public NominaService(PersonaRepository personaRepository) {
+    public NominaService(PersonaRepository personaRepository, EntityManager entityManager,
+                         CacheCedulaService cacheCedulaService, SaldoVacacionesService saldoVacacionesService,
+                         BloqueoEmpleadosService bloqueoEmpleadosService) {
         this.personaRepository = personaRepository;
+        this.entityManager = entityManager;
+        this.cacheCedulaService = cacheCedulaService;
+        this.saldoVacacionesService = saldoVacacionesService;
+        this.bloqueoEmpleadosService = bloqueoEmpleadosService;
         log.info("NominaService inicializado para gestión centralizada de reportes.");
     }
 
@@ -46,48 +62,50 @@ public class NominaService {
      * @throws DiasInsuficientesException Si no hay días suficientes disponibles.
      * @throws PermisoNoConcedidoException Si la solicitud de permiso es rechazada.
      * @throws IllegalArgumentException Si el tipo de día o el rango de fechas es inválido.
+     * @throws org.springframework.dao.OptimisticLockingFailureException Si el saldo sigue en conflicto tras los reintentos.
      */
     public void solicitarDias(String cedula, String tipoDia, LocalDate fechaInicio, LocalDate fechaFin)
             throws EmpleadoNoEncontradoException, DiasInsuficientesException, PermisoNoConcedidoException {
 
-        // 1. Buscar el empleado por cédula
-        PersonaJpa empleado = personaRepository.findByNumeroDeCedula(cedula);
+        // Las solicitudes sobre un mismo empleado se procesan de a una. El bloqueo se toma antes de buscar
+        // el empleado para que la instancia cargada (y el contexto de persistencia de la petición) refleje
+        // lo que guardó la solicitud anterior
+        try (BloqueoEmpleadosService.Bloqueo bloqueo = bloqueoEmpleadosService.adquirir(cedula)) {
 
-        if (empleado == null) {
-            log.warn("Solicitud fallida: Empleado con CI {} no encontrado.", cedula);
-            throw new EmpleadoNoEncontradoException("No se encontró ningún empleado con la cédula: " + cedula);
-        }
+            // 1. Buscar el empleado por cédula
+            PersonaJpa empleado = cacheCedulaService.buscarPorCedula(cedula);
+
+            if (empleado == null) {
+                log.warn("Solicitud fallida: Empleado con CI {} no encontrado.", cedula);
+                throw new EmpleadoNoEncontradoException("No se encontró ningún empleado con la cédula: " + cedula);
+            }
+
+            // El empleado debe ser un Empleado (o subclase) para tener la funcionalidad Permisionable
+            if (!(empleado instanceof Empleado)) {
+                throw new IllegalArgumentException("El empleado encontrado no es un tipo de empleado que pueda solicitar días.");
+            }
 
-        // El empleado debe ser un Empleado (o subclase) para tener la funcionalidad Permisionable
-        if (!(empleado instanceof Empleado)) {
-            throw new IllegalArgumentException("El empleado encontrado no es un tipo de empleado que pueda solicitar días.");
+            procesarSolicitudDias((Empleado) empleado, cedula, tipoDia, fechaInicio, fechaFin);
         }
+    }
 
-        Empleado empleadoPermisionable = (Empleado) empleado;
+    private void procesarSolicitudDias(Empleado empleadoPermisionable, String cedula, String tipoDia,
+                                       LocalDate fechaInicio, LocalDate fechaFin)
+            throws DiasInsuficientesException, PermisoNoConcedidoException {
+        PersonaJpa empleado = empleadoPermisionable;
 
         // 2. Lógica de Delegación y Validación (Polimorfismo)
         // Delegamos la validación de Antigüedad, Saldo y la Regla de 20 Días a la clase del empleado (Empleado o Gerente).
 
-        if ("VACACION".equalsIgnoreCase(tipoDia)) {
-
-            // El método solicitarPermiso en Empleado/Gerente gestionará:
-            // - Cálculo de días solicitados
-            // - Validación de Antigüedad
-            // - Validación de Saldo de Días (lanza PermisoNoConcedidoException)
-            // - Validación de Límite de 20 Días (lanza DiasInsuficientesException)
-
-            // Nota: Pasar la cédula (codigoEmpleado) es redundante ya que el objeto tiene su propio estado,
-            // pero mantenemos la firma original.
-            boolean aprobado = empleadoPermisionable.solicitarPermiso(
-                    fechaInicio,
-                    fechaFin,
-                    tipoDia,
-                    cedula
-            );
-
-            if (aprobado) {
-                log.info("Solicitud de vacaciones registrada y saldo debitado (Polimorfismo). Empleado: {}", empleado.getNombre());
-            }
+        if ("VACACION".equalsIgnoreCase(tipoDia) || "VACACIONES".equalsIgnoreCase(tipoDia)) {
+
+            // El débito es atómico frente a solicitudes concurrentes (UPDATE condicional o entidad
+            // versionada con reintentos). Si alguna regla no se cumple, solicitarPermiso en Empleado/Gerente
+            // lanza la excepción correspondiente:
+            // - Validación de Antigüedad y Saldo de Días (PermisoNoConcedidoException)
+            // - Validación de Límite de 20 Días (DiasInsuficientesException)
+            saldoVacacionesService.debitarVacaciones(empleadoPermisionable.getId(), cedula, fechaInicio, fechaFin);
+            log.info("Solicitud de vacaciones registrada y saldo debitado. Empleado: {}", empleado.getNombre());
 
         } else if ("PERMISO".equalsIgnoreCase(tipoDia)) {
 
@@ -121,54 +139,79 @@ public class NominaService {
     // ========================================================================
 
     /**
-     * Genera un reporte completo de todos los empleados utilizando polimorfismo.
-     * @return Una lista de Strings con el reporte detallado.
+     * Escribe el reporte completo de todos los empleados (polimorfismo) directamente sobre el Writer.
+     * Las personas se leen con un cursor de solo avance y el contexto de persistencia se limpia
+     * cada {@value #REPORTE_FILAS_POR_LOTE} filas, por lo que la memoria usada no depende de la
+     * cantidad de empleados.
+     * @param writer Destino del reporte (ej. el OutputStream de la respuesta HTTP).
+     * @return La cantidad de personas incluidas en el reporte.
+     * @throws IOException Si falla la escritura sobre el destino.
      */
-    public List<String> generarReporteCompleto() {
-        log.info("Iniciando la generación del reporte completo de nómina.");
-
-        // Obtener todas las personas de la tabla única.
-        List<PersonaJpa> todasLasPersonas = personaRepository.findAll();
-        List<String> reporte = new ArrayList<>();
-
-        reporte.add("=====================================================================================================");
-        reporte.add("                   REPORTE POLIMÓRFICO DE NÓMINA Y VALIDACIONES");
-        reporte.add("=====================================================================================================");
+    @Transactional(readOnly = true)
+    public int escribirReporteCompleto(Writer writer) throws IOException {
+        log.info("Iniciando la generación del reporte completo de nómina (streaming).");
+
+        escribirLinea(writer, "=====================================================================================================");
+        escribirLinea(writer, "                   REPORTE POLIMÓRFICO DE NÓMINA Y VALIDACIONES");
+        escribirLinea(writer, "=====================================================================================================");
+
+        int totalPersonas = 0;
+        try (Stream<PersonaJpa> personas = personaRepository.streamAllOrderById()) {
+            Iterator<PersonaJpa> iterador = personas.iterator();
+            while (iterador.hasNext()) {
+                escribirReportePersona(writer, iterador.next());
+                totalPersonas++;
+
+                // Se liberan las entidades ya escritas y se envía lo acumulado al cliente.
+                if (totalPersonas % REPORTE_FILAS_POR_LOTE == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                    log.debug("Reporte de nómina: {} personas escritas.", totalPersonas);
+                }
+            }
+        }
 
-        int totalPersonas = todasLasPersonas.size();
         if (totalPersonas == 0) {
-            reporte.add("La base de datos no contiene registros de empleados.");
-            return reporte;
+            escribirLinea(writer, "La base de datos no contiene registros de empleados.");
+        } else {
+            escribirLinea(writer, "=====================================================================================================");
         }
+        writer.flush();
 
-        for (PersonaJpa persona : todasLasPersonas) {
-            String tipoClase = persona.getClass().getSimpleName();
-            String ci = persona.getNumeroDeCedula();
-
-            reporte.add("-----------------------------------------------------------------------------------------------------");
-            reporte.add(String.format("Persona: %s (C.I.: %s, Tipo: %s)", persona.getNombre(), ci, tipoClase));
-
-            // 1. Llamar obtenerInformacionCompleta() (Polimorfismo en acción)
-            String info = persona.obtenerInformacionCompleta();
-            reporte.add(String.format("  [INFO COMPLETA]: %s", info));
-
-            // 2. Validar datos específicos (Polimorfismo en acción)
-            boolean esValido = persona.validarDatosEspecificos();
-            reporte.add(String.format("  [VALIDACIÓN DE DATOS]: %s", esValido ? "✅ OK" : "❌ FALLÓ (Reglas específicas no cumplidas)"));
-
-            // 3. Calcular impuestos (Polimorfismo en acción)
-            try {
-                BigDecimal impuestos = persona.calcularImpuestos();
-                reporte.add(String.format("  [IMPUESTOS CALCULADOS]: %s", (impuestos != null ? impuestos.setScale(2, BigDecimal.ROUND_HALF_UP).toString() : "N/A (No aplica o error de cálculo)")));
-            } catch (UnsupportedOperationException e) {
-                reporte.add("  [IMPUESTOS CALCULADOS]: N/A (Método no implementado o no aplica para este tipo)");
-            } catch (Exception e) {
-                reporte.add("  [IMPUESTOS CALCULADOS]: ERROR al calcular: " + e.getMessage());
-            }
+        log.info("Reporte completo de nómina finalizado. Personas procesadas: {}", totalPersonas);
+        return totalPersonas;
+    }
 
-            log.info("Reporte generado para {} con C.I. {}. Validez: {}", tipoClase, ci, esValido);
+    private void escribirReportePersona(Writer writer, PersonaJpa persona) throws IOException {
+        String tipoClase = persona.getClass().getSimpleName();
+        String ci = persona.getNumeroDeCedula();
+
+        escribirLinea(writer, "-----------------------------------------------------------------------------------------------------");
+        escribirLinea(writer, String.format("Persona: %s (C.I.: %s, Tipo: %s)", persona.getNombre(), ci, tipoClase));
+
+        // 1. Llamar obtenerInformacionCompleta() (Polimorfismo en acción)
+        String info = persona.obtenerInformacionCompleta();
+        escribirLinea(writer, String.format("  [INFO COMPLETA]: %s", info));
+
+        // 2. Validar datos específicos (Polimorfismo en acción)
+        boolean esValido = persona.validarDatosEspecificos();
+        escribirLinea(writer, String.format("  [VALIDACIÓN DE DATOS]: %s", esValido ? "✅ OK" : "❌ FALLÓ (Reglas específicas no cumplidas)"));
+
+        // 3. Calcular impuestos (Polimorfismo en acción)
+        try {
+            BigDecimal impuestos = persona.calcularImpuestos();
+            escribirLinea(writer, String.format("  [IMPUESTOS CALCULADOS]: %s", (impuestos != null ? impuestos.setScale(2, BigDecimal.ROUND_HALF_UP).toString() : "N/A (No aplica o error de cálculo)")));
+        } catch (UnsupportedOperationException e) {
+            escribirLinea(writer, "  [IMPUESTOS CALCULADOS]: N/A (Método no implementado o no aplica para este tipo)");
+        } catch (Exception e) {
+            escribirLinea(writer, "  [IMPUESTOS CALCULADOS]: ERROR al calcular: " + e.getMessage());
         }
-        reporte.add("=====================================================================================================");
-        return reporte;
+
+        log.debug("Reporte generado para {} con C.I. {}. Validez: {}", tipoClase, ci, esValido);
+    }
+
+    private static void escribirLinea(Writer writer, String linea) throws IOException {
+        writer.write(linea);
+        writer.write('\n');
     }
-}
\ No newline at end of file
+}
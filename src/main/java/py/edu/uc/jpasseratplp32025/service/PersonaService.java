@@ -2,22 +2,28 @@ package py.edu.uc.jpasseratplp32025.service;
 
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
 import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
 import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
 import py.edu.uc.jpasseratplp32025.exception.FechaNacimientoFuturaException;
 import py.edu.uc.jpasseratplp32025.exception.EmpleadoNoEncontradoException; // Importación necesaria
+import py.edu.uc.jpasseratplp32025.exception.CursorInvalidoException;
+import py.edu.uc.jpasseratplp32025.util.CursorPaginacion;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class PersonaService {
 
     private final PersonaRepository personaRepository;
+    private final CacheCedulaService cacheCedulaService;
 
     @Autowired
-    public PersonaService(PersonaRepository personaRepository) {
+    public PersonaService(PersonaRepository personaRepository, CacheCedulaService cacheCedulaService) {
         this.personaRepository = personaRepository;
+        this.cacheCedulaService = cacheCedulaService;
     }
 
     /**
@@ -46,6 +52,20 @@ public class PersonaService {
         return personaRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de personas usando paginación por cursor (keyset sobre el ID).
+     * @param after Cursor opaco devuelto en la página anterior (null para la primera página).
+     * @param limit Tamaño de página solicitado (se limita a CursorPaginacion.LIMITE_MAXIMO).
+     * @return La página de personas con el cursor para la siguiente.
+     * @throws CursorInvalidoException si el cursor no es válido.
+     */
+    public PaginaDto<PersonaJpa> obtenerPaginaDePersonas(String after, Integer limit) {
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        List<PersonaJpa> filas = personaRepository.findByIdGreaterThanOrderByIdAsc(desdeId, CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite);
+    }
+
     /**
      * Busca una persona por ID. Utiliza el método auxiliar para asegurar que
      * si no existe, lanza una excepción (HTTP 404).
@@ -73,8 +93,13 @@ public class PersonaService {
         validarFechaNacimiento(personaActualizada.getFechaDeNacimiento());
         
         // Mapear y guardar
+        boolean cedulaModificada = !Objects.equals(personaExistente.getNumeroDeCedula(), personaActualizada.getNumeroDeCedula());
         personaActualizada.setId(id);
-        return personaRepository.save(personaActualizada);
+        // Se conserva la versión leída: si otra transacción modificó la fila entretanto, el guardado falla (409)
+        personaActualizada.setVersion(personaExistente.getVersion());
+        PersonaJpa guardada = personaRepository.save(personaActualizada);
+        cacheCedulaService.invalidar(id, cedulaModificada);
+        return guardada;
     }
 
     /**
@@ -87,6 +112,7 @@ public class PersonaService {
         PersonaJpa personaExistente = buscarPorIdYLanzar(id); 
         
         personaRepository.deleteById(id);
+        cacheCedulaService.invalidar(id, true);
     }
 
     private void validarFechaNacimiento(LocalDate fechaNacimiento) {
@@ -1,14 +1,24 @@
 package py.edu.uc.jpasseratplp32025.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
 import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
 import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
 import py.edu.uc.jpasseratplp32025.util.NominaUtils; // Asegúrate de que esta clase sea NominaUtils
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Servicio encargado de la gestión y generación de reportes avanzados de remuneraciones,
@@ -20,10 +30,18 @@ public class RemuneracionesService {
     private static final Logger log = LoggerFactory.getLogger(RemuneracionesService.class);
 
     private final PersonaRepository personaRepository;
+    private final SnapshotNominaService snapshotNominaService;
+    private final EntityManager entityManager;
+
+    // Empleados cargados por consulta (y liberados del contexto de persistencia) en los reportes en streaming
+    private static final int REPORTE_FILAS_POR_LOTE = 500;
 
     @Autowired
-    public RemuneracionesService(PersonaRepository personaRepository) {
+    public RemuneracionesService(PersonaRepository personaRepository, SnapshotNominaService snapshotNominaService,
+                                 EntityManager entityManager) {
         this.personaRepository = personaRepository;
+        this.snapshotNominaService = snapshotNominaService;
+        this.entityManager = entityManager;
         log.info("RemuneracionesService inicializado.");
     }
 
@@ -34,10 +52,8 @@ public class RemuneracionesService {
      */
     public int obtenerTotalDiasVacacionesSolicitados() {
         log.debug("Obteniendo total de días solicitados...");
-        List<PersonaJpa> todos = personaRepository.findAll();
-
-        // CORRECCIÓN: Se usa la firma existente en NominaUtils: totalDiasVacacionesSolicitados(List)
-        int total = NominaUtils.totalDiasVacacionesSolicitados(todos);
+        // Desde el snapshot en memoria (sin cargar entidades)
+        int total = (int) snapshotNominaService.resumenDias().getTotalSolicitados();
         
         log.info("Total de días de vacaciones solicitados: {}", total);
         return total;
@@ -51,7 +67,8 @@ public class RemuneracionesService {
      */
     public String generarReporteDiasSolicitadosPorUmbral(int umbral) {
         log.debug("Generando reporte JSON para días solicitados por encima del umbral: {}", umbral);
-        List<PersonaJpa> todos = personaRepository.findAll();
+        // Solo se cargan los empleados que superan el umbral (filtrados en el snapshot)
+        List<PersonaJpa> todos = buscarEmpleadosConDiasMayoresA(umbral, true);
 
         // CORRECCIÓN: Se usa la firma existente en NominaUtils: generarReporteJsonPorDiasSolicitados(List, int)
         // Se asume que el método que intenta usar los días solicitados es este.
@@ -81,7 +98,105 @@ public class RemuneracionesService {
      */
     public String generarEstadisticasVacaciones() {
         log.debug("Generando estadísticas de vacaciones...");
-        List<PersonaJpa> todos = personaRepository.findAll();
-        return NominaUtils.generarEstadisticasVacaciones(todos);
+        SnapshotNominaService.ResumenDias resumen = snapshotNominaService.resumenDias();
+        return NominaUtils.generarEstadisticasVacaciones(resumen.getTotalEmpleados(), resumen.getTotalDisponibles(),
+                resumen.getMaximoDisponibles(), resumen.getMinimoDisponibles());
+    }
+
+    /**
+     * Carga únicamente los empleados cuyo saldo supera el umbral, según el snapshot en memoria.
+     * @param umbral Días mínimos (exclusivo).
+     * @param solicitados true para filtrar por días solicitados, false por días disponibles.
+     * @return Los empleados ordenados por ID.
+     */
+    public List<PersonaJpa> buscarEmpleadosConDiasMayoresA(int umbral, boolean solicitados) {
+        List<Long> ids = snapshotNominaService.idsEmpleadosConDiasMayoresA(umbral, solicitados);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<PersonaJpa> empleados = new ArrayList<>(personaRepository.findAllById(ids));
+        empleados.sort(Comparator.comparing(PersonaJpa::getId));
+        return empleados;
+    }
+
+    // ========================================================================
+    // REPORTES JSON EN STREAMING
+    // ========================================================================
+
+    /**
+     * Escribe el reporte de empleados con más de X días (disponibles o solicitados) directamente
+     * sobre la salida, con el mismo formato que NominaUtils.generarReporteJsonPorDias*.
+     * Los IDs se toman del snapshot y los empleados se cargan de a {@value #REPORTE_FILAS_POR_LOTE}
+     * (una consulta IN por lote); cada lote se escribe, se envía y se libera antes de cargar el siguiente.
+     * @return La cantidad de empleados incluidos.
+     * @throws IOException Si falla la escritura (por ejemplo, el cliente cerró la conexión).
+     */
+    @Transactional(readOnly = true)
+    public int escribirReporteDias(OutputStream salida, int umbral, boolean solicitados) throws IOException {
+        List<Long> ids = new ArrayList<>(snapshotNominaService.idsEmpleadosConDiasMayoresA(umbral, solicitados));
+        ids.sort(null);
+        int incluidos = 0;
+        try (JsonGenerator generador = NominaUtils.crearGenerador(salida)) {
+            generador.writeStartArray();
+            generador.flush();
+            for (int desde = 0; desde < ids.size(); desde += REPORTE_FILAS_POR_LOTE) {
+                List<PersonaJpa> lote = new ArrayList<>(personaRepository.findAllById(
+                        ids.subList(desde, Math.min(desde + REPORTE_FILAS_POR_LOTE, ids.size()))));
+                lote.sort(Comparator.comparing(PersonaJpa::getId));
+                for (PersonaJpa persona : lote) {
+                    if (NominaUtils.escribirEmpleadoPorDias(generador, persona, umbral, solicitados)) {
+                        incluidos++;
+                    }
+                }
+                generador.flush();
+                entityManager.clear();
+            }
+            generador.writeEndArray();
+        }
+        log.info("Reporte JSON de días {} (umbral {}) enviado en streaming con {} empleados.",
+                solicitados ? "solicitados" : "disponibles", umbral, incluidos);
+        return incluidos;
+    }
+
+    /**
+     * Escribe el reporte completo de nómina directamente sobre la salida, recorriendo las personas
+     * con un cursor (streamAllOrderById). Los totales se acumulan durante el recorrido y se escriben
+     * al final del objeto.
+     * @return La cantidad de empleados incluidos.
+     * @throws IOException Si falla la escritura (por ejemplo, el cliente cerró la conexión).
+     */
+    @Transactional(readOnly = true)
+    public int escribirReporteCompleto(OutputStream salida) throws IOException {
+        int totalEmpleados = 0;
+        long totalDiasDisponibles = 0;
+        long totalDiasSolicitados = 0;
+        int leidas = 0;
+        try (JsonGenerator generador = NominaUtils.crearGenerador(salida);
+             Stream<PersonaJpa> personas = personaRepository.streamAllOrderById()) {
+            generador.writeStartObject();
+            generador.writeStringField("fechaGeneracion", java.time.LocalDateTime.now().toString());
+            generador.writeArrayFieldStart("empleados");
+            generador.flush();
+            Iterator<PersonaJpa> iterador = personas.iterator();
+            while (iterador.hasNext()) {
+                PersonaJpa persona = iterador.next();
+                if (NominaUtils.escribirEmpleadoCompleto(generador, persona)) {
+                    Empleado empleado = (Empleado) persona;
+                    totalEmpleados++;
+                    totalDiasDisponibles += empleado.consultarDiasVacacionesDisponibles(empleado.getNumeroDeCedula());
+                    totalDiasSolicitados += empleado.consultarDiasVacacionesSolicitados();
+                }
+                // Se liberan las entidades ya escritas y se envía lo acumulado al cliente
+                if (++leidas % REPORTE_FILAS_POR_LOTE == 0) {
+                    generador.flush();
+                    entityManager.clear();
+                }
+            }
+            generador.writeEndArray();
+            NominaUtils.escribirTotalesReporteCompleto(generador, totalEmpleados, totalDiasDisponibles, totalDiasSolicitados);
+            generador.writeEndObject();
+        }
+        log.info("Reporte completo de nómina enviado en streaming con {} empleados.", totalEmpleados);
+        return totalEmpleados;
     }
-}
\ No newline at end of file
+}
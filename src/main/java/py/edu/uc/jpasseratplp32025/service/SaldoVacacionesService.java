@@ -0,0 +1,194 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.entity.Gerente;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.exception.DiasInsuficientesException;
+import py.edu.uc.jpasseratplp32025.exception.EmpleadoNoEncontradoException;
+import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Débito de días de vacaciones seguro ante solicitudes concurrentes sobre el mismo empleado.
+ * 1. Camino rápido: un único UPDATE condicional (saldo suficiente, antigüedad y límite anual en el WHERE)
+ *    que resta el saldo y aumenta la versión de forma atómica, sin leer la entidad ni bloquear más que la fila.
+ * 2. Si el UPDATE no afecta filas (alguna regla no se cumple), se vuelve a leer la fila con bloqueo de escritura,
+ *    descartando la instancia que tuviera el contexto de persistencia, y se llama a solicitarPermiso, que lanza
+ *    la excepción de negocio correspondiente o aprueba el débito; el guardado
+ *    usa la versión (@Version) y ante un conflicto se reintenta hasta {@value #MAX_INTENTOS} veces.
+ */
+@Service
+public class SaldoVacacionesService {
+
+    private static final Logger log = LoggerFactory.getLogger(SaldoVacacionesService.class);
+
+    private static final int MAX_INTENTOS = 5;
+    private static final long ESPERA_BASE_MS = 5;
+    // Regla de Empleado#solicitarPermiso (los gerentes no tienen límite anual)
+    private static final int LIMITE_ANUAL_EMPLEADO = 20;
+    private static final String TIPO_GERENTE = Gerente.class.getAnnotation(DiscriminatorValue.class).value();
+
+    // Replica las validaciones de Empleado/Gerente#solicitarPermiso para VACACIONES
+    private static final String SQL_DEBITO_CONDICIONAL = """
+            UPDATE personas
+               SET dias_vacaciones_acumulados = dias_vacaciones_acumulados - ?,
+                   dias_vacaciones_solicitados_total = dias_vacaciones_solicitados_total + ?,
+                   version = version + 1
+             WHERE id = ?
+               AND dias_vacaciones_acumulados >= ?
+               AND fecha_ingreso <= ?
+               AND (tipo_persona = ? OR dias_vacaciones_solicitados_total + ? <= ?)
+            """;
+
+    private static final String SQL_SALDO_ACTUAL =
+            "SELECT version, dias_vacaciones_acumulados, dias_vacaciones_solicitados_total FROM personas WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final PersonaRepository personaRepository;
+    private final SnapshotNominaService snapshotNominaService;
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public SaldoVacacionesService(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                  PersonaRepository personaRepository, SnapshotNominaService snapshotNominaService,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.personaRepository = personaRepository;
+        this.snapshotNominaService = snapshotNominaService;
+        this.transactionManager = transactionManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Debita del saldo del empleado los días hábiles de vacaciones del rango indicado.
+     * @param empleadoId ID del empleado.
+     * @param cedula Cédula del empleado (se pasa a solicitarPermiso).
+     * @throws PermisoNoConcedidoException Si no cumple antigüedad, saldo o el rango es inválido.
+     * @throws DiasInsuficientesException Si supera el límite anual de días.
+     * @throws OptimisticLockingFailureException Si tras los reintentos la fila sigue en conflicto.
+     */
+    public void debitarVacaciones(Long empleadoId, String cedula, LocalDate fechaInicio, LocalDate fechaFin)
+            throws PermisoNoConcedidoException, DiasInsuficientesException {
+        // Mismo conteo que Empleado#solicitarPermiso: solo días hábiles (sin fines de semana ni feriados).
+        // Un rango demasiado largo no se cuenta: lo rechaza solicitarPermiso en el camino por entidad.
+        int dias = CalendarioLaboral.rangoAdmitido(fechaInicio, fechaFin)
+                ? CalendarioLaboral.diasHabiles(fechaInicio, fechaFin) : 0;
+        if (dias > 0 && debitoCondicional(empleadoId, dias)) {
+            log.info("Vacaciones debitadas (UPDATE condicional): empleado {}, {} días.", empleadoId, dias);
+            return;
+        }
+        debitoConReintentos(empleadoId, cedula, fechaInicio, fechaFin);
+    }
+
+    // ========================================================================
+    // Camino rápido: UPDATE condicional
+    // ========================================================================
+
+    private boolean debitoCondicional(Long empleadoId, int dias) {
+        Boolean debitado = transactionTemplate.execute(status -> {
+            int filas = jdbcTemplate.update(SQL_DEBITO_CONDICIONAL,
+                    dias, dias, empleadoId, dias, LocalDate.now().minusYears(1),
+                    TIPO_GERENTE, dias, LIMITE_ANUAL_EMPLEADO);
+            if (filas == 0) {
+                return false;
+            }
+            // El UPDATE no pasa por Hibernate: se descarta la copia en caché y se ajusta el snapshot con los
+            // valores de la fila (bloqueada por el UPDATE hasta el commit) y su nueva versión
+            jdbcTemplate.query(SQL_SALDO_ACTUAL, rs -> {
+                snapshotNominaService.registrarDebitoVacaciones(empleadoId, rs.getLong(1), rs.getInt(2), rs.getInt(3));
+            }, empleadoId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityManager.getEntityManagerFactory().getCache().evict(PersonaJpa.class, empleadoId);
+                }
+            });
+            return true;
+        });
+        return Boolean.TRUE.equals(debitado);
+    }
+
+    // ========================================================================
+    // Camino con validación en la entidad y reintentos optimistas
+    // ========================================================================
+
+    private void debitoConReintentos(Long empleadoId, String cedula, LocalDate fechaInicio, LocalDate fechaFin)
+            throws PermisoNoConcedidoException, DiasInsuficientesException {
+        for (int intento = 1; ; intento++) {
+            try {
+                debitarEnEntidad(empleadoId, cedula, fechaInicio, fechaFin);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (intento == MAX_INTENTOS) {
+                    log.warn("Débito de vacaciones del empleado {} abandonado tras {} conflictos de versión.", empleadoId, intento);
+                    throw e;
+                }
+                log.debug("Conflicto de versión al debitar vacaciones del empleado {} (intento {}).", empleadoId, intento);
+                esperar(intento);
+            }
+        }
+    }
+
+    private void debitarEnEntidad(Long empleadoId, String cedula, LocalDate fechaInicio, LocalDate fechaFin)
+            throws PermisoNoConcedidoException, DiasInsuficientesException {
+        TransactionStatus tx = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        try {
+            // Con open-in-view el contexto de persistencia de la petición puede tener la instancia leída antes
+            // (solo lectura y con el saldo previo al débito concurrente que hizo fallar el camino rápido):
+            // se la desasocia (getReference no consulta la base) para que find vuelva a leer la fila
+            entityManager.detach(entityManager.getReference(PersonaJpa.class, empleadoId));
+            // SELECT ... FOR UPDATE: lee la fila vigente (sin pasar por el caché de segundo nivel) y la bloquea
+            // hasta el commit, de modo que otro débito no puede cambiar el saldo entre la validación y el guardado
+            PersonaJpa persona = entityManager.find(PersonaJpa.class, empleadoId, LockModeType.PESSIMISTIC_WRITE);
+            if (!(persona instanceof Empleado empleado)) {
+                throw new EmpleadoNoEncontradoException("No se encontró el empleado con ID: " + empleadoId);
+            }
+            // La sesión de la petición pudo quedar en solo lectura por una transacción readOnly anterior
+            entityManager.unwrap(Session.class).setReadOnly(empleado, false);
+            empleado.solicitarPermiso(fechaInicio, fechaFin, "VACACIONES", cedula);
+            // El flush verifica la versión (WHERE version = ?) y traduce el conflicto a OptimisticLockingFailureException
+            personaRepository.saveAndFlush(empleado);
+            transactionManager.commit(tx);
+            log.info("Vacaciones debitadas (entidad versionada): empleado {}. Saldo restante: {}",
+                    empleadoId, empleado.consultarDiasVacacionesDisponibles(cedula));
+        } catch (PermisoNoConcedidoException | DiasInsuficientesException | RuntimeException e) {
+            if (!tx.isCompleted()) {
+                transactionManager.rollback(tx);
+            }
+            throw e;
+        }
+    }
+
+    // Espera creciente con algo de azar para que los reintentos concurrentes no choquen de nuevo
+    private static void esperar(int intento) {
+        try {
+            Thread.sleep(ESPERA_BASE_MS * intento + ThreadLocalRandom.current().nextLong(ESPERA_BASE_MS));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.entity.Contratista;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoPorHora;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.entity.Gerente;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.util.NominaCentavos;
+import py.edu.uc.jpasseratplp32025.util.NominaUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Copia en memoria, por columnas, de los datos de la tabla personas que usan los endpoints agregados
+ * (días disponibles/solicitados, salario en centavos, tipo y departamento), en arreglos primitivos.
+ * Se carga completa al iniciar y luego se actualiza fila por fila: PersonaSnapshotListener informa cada
+ * alta/modificación/baja y el cambio se aplica al confirmarse la transacción. Como los afterCommit de
+ * transacciones concurrentes pueden correr en otro orden que sus commits, cada fila guarda su versión
+ * (@Version) y un cambio con una versión no posterior a la guardada se descarta. Las consultas recorren
+ * los arreglos sin pasar por Hibernate.
+ * Además mantiene agregados acumulados (totales de días, desglose por tipo y departamento e histograma
+ * de días disponibles) que se ajustan con cada cambio, por lo que los totales se responden en O(1).
+ */
+@Service
+public class SnapshotNominaService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotNominaService.class);
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final int SIN_DEPARTAMENTO = -1;
+
+    // Histograma de días disponibles: rangos de ANCHO_RANGO días, el último abierto (30+)
+    private static final int ANCHO_RANGO = 5;
+    private static final int CANTIDAD_RANGOS = 7;
+
+    // Código de tipo = posición en este arreglo
+    private static final List<Class<? extends PersonaJpa>> TIPOS = List.of(
+            PersonaJpa.class, Empleado.class, EmpleadoTiempoCompleto.class, EmpleadoPorHora.class, Contratista.class, Gerente.class);
+
+    private final PersonaRepository personaRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate lecturaTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ===== Columnas (posición i = una persona) =====
+    private long[] ids = new long[CAPACIDAD_INICIAL];
+    private byte[] tipos = new byte[CAPACIDAD_INICIAL];
+    private int[] departamentos = new int[CAPACIDAD_INICIAL]; // ID en el diccionario de departamentos
+    private boolean[] esEmpleado = new boolean[CAPACIDAD_INICIAL];
+    private int[] diasDisponibles = new int[CAPACIDAD_INICIAL];
+    private int[] diasSolicitados = new int[CAPACIDAD_INICIAL];
+    private long[] salarioCentavos = new long[CAPACIDAD_INICIAL];
+    private long[] versiones = new long[CAPACIDAD_INICIAL];
+    private int tamanio;
+
+    private final Map<Long, Integer> posicionPorId = new HashMap<>();
+    private final Map<String, Integer> idPorDepartamento = new HashMap<>();
+    private final List<String> nombresDepartamento = new ArrayList<>();
+    private volatile boolean cargado;
+
+    // ===== Agregados acumulados (se ajustan en cada alta/modificación/baja) =====
+    private final Acumulado total = new Acumulado();
+    private final Acumulado[] porTipo = new Acumulado[TIPOS.size()];
+    private final List<Acumulado> porDepartamento = new ArrayList<>(); // misma posición que nombresDepartamento
+    private final Acumulado sinDepartamento = new Acumulado();
+    private final int[] histogramaDisponibles = new int[CANTIDAD_RANGOS];
+    // Cantidad de empleados por valor de días disponibles (para máximo y mínimo sin recorrer las columnas)
+    private final TreeMap<Integer, Integer> empleadosPorDiasDisponibles = new TreeMap<>();
+
+    @Autowired
+    public SnapshotNominaService(PersonaRepository personaRepository, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager) {
+        this.personaRepository = personaRepository;
+        this.entityManager = entityManager;
+        this.lecturaTemplate = new TransactionTemplate(transactionManager);
+        this.lecturaTemplate.setReadOnly(true);
+        for (int t = 0; t < porTipo.length; t++) {
+            porTipo[t] = new Acumulado();
+        }
+        log.info("SnapshotNominaService inicializado.");
+    }
+
+    /**
+     * Datos de una persona capturados al momento del cambio (la entidad puede seguir modificándose después).
+     */
+    private static final class Fila {
+        private final long id;
+        private final byte tipo;
+        private final String departamento;
+        private final boolean empleado;
+        private final int diasDisponibles;
+        private final int diasSolicitados;
+        private final long salarioCentavos;
+        private final long version;
+
+        private Fila(PersonaJpa persona) {
+            this.id = persona.getId();
+            this.version = persona.getVersion();
+            this.tipo = (byte) Math.max(TIPOS.indexOf(Hibernate.getClass(persona)), 0);
+            this.departamento = NominaUtils.departamentoDe(persona);
+            this.empleado = persona instanceof Empleado;
+            Empleado emp = this.empleado ? (Empleado) persona : null;
+            this.diasDisponibles = emp != null ? emp.consultarDiasVacacionesDisponibles(persona.getNumeroDeCedula()) : 0;
+            this.diasSolicitados = emp != null ? emp.consultarDiasVacacionesSolicitados() : 0;
+            this.salarioCentavos = NominaCentavos.calcular(persona).getSalario();
+        }
+    }
+
+    /**
+     * Sumas acumuladas de un grupo de personas (total, un tipo o un departamento).
+     */
+    private static final class Acumulado {
+        private int personas;
+        private int empleados;
+        private long diasDisponibles;
+        private long diasSolicitados;
+        private long salarioCentavos;
+
+        private void limpiar() {
+            personas = 0;
+            empleados = 0;
+            diasDisponibles = 0;
+            diasSolicitados = 0;
+            salarioCentavos = 0;
+        }
+    }
+
+    /**
+     * Totales de días de vacaciones sobre los empleados del snapshot.
+     */
+    public static final class ResumenDias {
+        private final int totalPersonas;
+        private final int totalEmpleados;
+        private final long totalDisponibles;
+        private final long totalSolicitados;
+        private final int maximoDisponibles;
+        private final int minimoDisponibles;
+
+        public ResumenDias(int totalPersonas, int totalEmpleados, long totalDisponibles, long totalSolicitados,
+                           int maximoDisponibles, int minimoDisponibles) {
+            this.totalPersonas = totalPersonas;
+            this.totalEmpleados = totalEmpleados;
+            this.totalDisponibles = totalDisponibles;
+            this.totalSolicitados = totalSolicitados;
+            this.maximoDisponibles = maximoDisponibles;
+            this.minimoDisponibles = minimoDisponibles;
+        }
+
+        public int getTotalPersonas() { return totalPersonas; }
+        public int getTotalEmpleados() { return totalEmpleados; }
+        public long getTotalDisponibles() { return totalDisponibles; }
+        public long getTotalSolicitados() { return totalSolicitados; }
+        public int getMaximoDisponibles() { return maximoDisponibles; }
+        public int getMinimoDisponibles() { return minimoDisponibles; }
+    }
+
+    // ========================================================================
+    // Carga y actualización incremental
+    // ========================================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        asegurarCargado();
+    }
+
+    /**
+     * Reconstruye el snapshot completo leyendo la tabla con un cursor de solo avance.
+     * Usar también tras actualizaciones masivas que no pasan por el ORM (UPDATE/DELETE en bloque).
+     */
+    public void recargar() {
+        long inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            limpiar();
+            lecturaTemplate.executeWithoutResult(status -> {
+                try (Stream<PersonaJpa> personas = personaRepository.streamAllOrderById()) {
+                    Iterator<PersonaJpa> iterador = personas.iterator();
+                    int leidas = 0;
+                    while (iterador.hasNext()) {
+                        insertarOActualizar(new Fila(iterador.next()));
+                        if (++leidas % 500 == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+            });
+            cargado = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Snapshot de nómina cargado: {} personas en {} ms.", tamanio, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Registra el alta o modificación de una persona. Si hay una transacción activa,
+     * el cambio se aplica recién cuando se confirma (un rollback no altera el snapshot).
+     */
+    public void registrarCambio(PersonaJpa persona) {
+        if (persona.getId() == null) {
+            return;
+        }
+        Fila fila = new Fila(persona);
+        alConfirmar(() -> aplicar(() -> insertarOActualizar(fila)));
+    }
+
+    public void registrarBaja(Long id) {
+        if (id == null) {
+            return;
+        }
+        alConfirmar(() -> aplicar(() -> eliminar(id)));
+    }
+
+    /**
+     * Registra un débito de vacaciones hecho con un UPDATE directo (sin pasar por la entidad), con los valores
+     * que quedaron en la fila dentro de esa transacción. Se aplica al confirmarse y, como registrarCambio, solo
+     * si la versión es posterior a la del snapshot: si una recarga ya leyó la fila debitada, no se descuenta
+     * dos veces.
+     */
+    public void registrarDebitoVacaciones(Long id, long version, int diasDisponiblesFila, int diasSolicitadosFila) {
+        if (id == null) {
+            return;
+        }
+        alConfirmar(() -> aplicar(() -> {
+            Integer posicion = posicionPorId.get(id);
+            if (posicion == null) {
+                return;
+            }
+            int i = posicion;
+            if (versiones[i] >= version) {
+                log.debug("Débito de la persona {} descartado: versión {} no posterior a la del snapshot ({}).",
+                        id, version, versiones[i]);
+                return;
+            }
+            acumular(i, -1);
+            diasDisponibles[i] = diasDisponiblesFila;
+            diasSolicitados[i] = diasSolicitadosFila;
+            versiones[i] = version;
+            acumular(i, 1);
+        }));
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    // Si hay una carga en curso, el cambio espera a que termine (el upsert por ID es idempotente)
+    private void aplicar(Runnable cambio) {
+        lock.writeLock().lock();
+        try {
+            cambio.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Requiere el write lock. Descarta la fila si el snapshot ya tiene esa versión o una posterior.
+    private void insertarOActualizar(Fila fila) {
+        Integer posicion = posicionPorId.get(fila.id);
+        int i;
+        if (posicion != null) {
+            i = posicion;
+            if (versiones[i] >= fila.version) {
+                log.debug("Cambio de la persona {} descartado: versión {} no posterior a la del snapshot ({}).",
+                        fila.id, fila.version, versiones[i]);
+                return;
+            }
+            acumular(i, -1);
+        } else {
+            asegurarCapacidad(tamanio + 1);
+            i = tamanio++;
+            posicionPorId.put(fila.id, i);
+        }
+        ids[i] = fila.id;
+        tipos[i] = fila.tipo;
+        departamentos[i] = idDepartamento(fila.departamento);
+        esEmpleado[i] = fila.empleado;
+        diasDisponibles[i] = fila.diasDisponibles;
+        diasSolicitados[i] = fila.diasSolicitados;
+        salarioCentavos[i] = fila.salarioCentavos;
+        versiones[i] = fila.version;
+        acumular(i, 1);
+    }
+
+    // Requiere el write lock. La última fila ocupa el lugar de la eliminada.
+    private void eliminar(long id) {
+        Integer posicion = posicionPorId.remove(id);
+        if (posicion == null) {
+            return;
+        }
+        int i = posicion;
+        acumular(i, -1);
+        int ultima = --tamanio;
+        if (i != ultima) {
+            ids[i] = ids[ultima];
+            tipos[i] = tipos[ultima];
+            departamentos[i] = departamentos[ultima];
+            esEmpleado[i] = esEmpleado[ultima];
+            diasDisponibles[i] = diasDisponibles[ultima];
+            diasSolicitados[i] = diasSolicitados[ultima];
+            salarioCentavos[i] = salarioCentavos[ultima];
+            versiones[i] = versiones[ultima];
+            posicionPorId.put(ids[i], i);
+        }
+    }
+
+    // Requiere el write lock. Suma (signo 1) o resta (signo -1) la fila i de todos los agregados.
+    private void acumular(int i, int signo) {
+        Acumulado deTipo = porTipo[tipos[i]];
+        Acumulado deDepartamento = departamentos[i] == SIN_DEPARTAMENTO
+                ? sinDepartamento : porDepartamento.get(departamentos[i]);
+        for (Acumulado acumulado : new Acumulado[]{total, deTipo, deDepartamento}) {
+            acumulado.personas += signo;
+            acumulado.salarioCentavos += signo * salarioCentavos[i];
+            if (esEmpleado[i]) {
+                acumulado.empleados += signo;
+                acumulado.diasDisponibles += signo * (long) diasDisponibles[i];
+                acumulado.diasSolicitados += signo * (long) diasSolicitados[i];
+            }
+        }
+        if (esEmpleado[i]) {
+            histogramaDisponibles[rangoDe(diasDisponibles[i])] += signo;
+            empleadosPorDiasDisponibles.merge(diasDisponibles[i], signo, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    private static int rangoDe(int dias) {
+        return Math.min(Math.max(dias, 0) / ANCHO_RANGO, CANTIDAD_RANGOS - 1);
+    }
+
+    private int idDepartamento(String departamento) {
+        if (departamento == null || departamento.isBlank()) {
+            return SIN_DEPARTAMENTO;
+        }
+        return idPorDepartamento.computeIfAbsent(departamento, d -> {
+            nombresDepartamento.add(d);
+            porDepartamento.add(new Acumulado());
+            return nombresDepartamento.size() - 1;
+        });
+    }
+
+    private void asegurarCapacidad(int requerida) {
+        if (requerida <= ids.length) {
+            return;
+        }
+        int nueva = Math.max(requerida, ids.length * 2);
+        ids = Arrays.copyOf(ids, nueva);
+        tipos = Arrays.copyOf(tipos, nueva);
+        departamentos = Arrays.copyOf(departamentos, nueva);
+        esEmpleado = Arrays.copyOf(esEmpleado, nueva);
+        diasDisponibles = Arrays.copyOf(diasDisponibles, nueva);
+        diasSolicitados = Arrays.copyOf(diasSolicitados, nueva);
+        salarioCentavos = Arrays.copyOf(salarioCentavos, nueva);
+        versiones = Arrays.copyOf(versiones, nueva);
+    }
+
+    private void limpiar() {
+        tamanio = 0;
+        posicionPorId.clear();
+        idPorDepartamento.clear();
+        nombresDepartamento.clear();
+        total.limpiar();
+        for (Acumulado acumulado : porTipo) {
+            acumulado.limpiar();
+        }
+        porDepartamento.clear();
+        sinDepartamento.limpiar();
+        Arrays.fill(histogramaDisponibles, 0);
+        empleadosPorDiasDisponibles.clear();
+    }
+
+    // ========================================================================
+    // Consultas (bajo el read lock)
+    // ========================================================================
+
+    private void asegurarCargado() {
+        if (!cargado) {
+            synchronized (this) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+    }
+
+    public int cantidadPersonas() {
+        asegurarCargado();
+        lock.readLock().lock();
+        try {
+            return tamanio;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Totales, máximo y mínimo de días de vacaciones de los empleados (desde los agregados, O(1)).
+     */
+    public ResumenDias resumenDias() {
+        asegurarCargado();
+        lock.readLock().lock();
+        try {
+            boolean hayEmpleados = !empleadosPorDiasDisponibles.isEmpty();
+            return new ResumenDias(total.personas, total.empleados, total.diasDisponibles, total.diasSolicitados,
+                    hayEmpleados ? empleadosPorDiasDisponibles.lastKey() : 0,
+                    hayEmpleados ? empleadosPorDiasDisponibles.firstKey() : 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs (ordenados) de los empleados con más de {@code umbral} días disponibles
+     * o, si {@code solicitados} es true, con más de {@code umbral} días solicitados.
+     */
+    public List<Long> idsEmpleadosConDiasMayoresA(int umbral, boolean solicitados) {
+        asegurarCargado();
+        long[] encontrados;
+        int cantidad = 0;
+        lock.readLock().lock();
+        try {
+            int[] columna = solicitados ? diasSolicitados : diasDisponibles;
+            encontrados = new long[tamanio];
+            for (int i = 0; i < tamanio; i++) {
+                if (esEmpleado[i] && columna[i] > umbral) {
+                    encontrados[cantidad++] = ids[i];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Arrays.sort(encontrados, 0, cantidad);
+        List<Long> resultado = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            resultado.add(encontrados[i]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Cantidad de personas, salario total (según calcularSalario) y días de vacaciones por tipo.
+     * @return Mapa tipo → {cantidad, totalSalarios, totalDiasDisponibles, totalDiasSolicitados}.
+     */
+    public Map<String, Map<String, Object>> resumenPorTipo() {
+        asegurarCargado();
+        Map<String, Map<String, Object>> resumen = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int t = 0; t < TIPOS.size(); t++) {
+                Acumulado acumulado = porTipo[t];
+                if (acumulado.personas == 0) {
+                    continue;
+                }
+                Map<String, Object> fila = new LinkedHashMap<>();
+                fila.put("cantidad", acumulado.personas);
+                fila.put("totalSalarios", NominaCentavos.aBigDecimal(acumulado.salarioCentavos));
+                fila.put("totalDiasDisponibles", acumulado.diasDisponibles);
+                fila.put("totalDiasSolicitados", acumulado.diasSolicitados);
+                resumen.put(TIPOS.get(t).getSimpleName(), fila);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resumen;
+    }
+
+    /**
+     * Empleados y días de vacaciones por departamento (departamento del empleado de tiempo completo
+     * o departamento a cargo del gerente). Los empleados sin departamento se agrupan en "SIN_DEPARTAMENTO".
+     * @return Mapa departamento → {empleados, totalDiasDisponibles, totalDiasSolicitados}.
+     */
+    public Map<String, Map<String, Object>> resumenPorDepartamento() {
+        asegurarCargado();
+        Map<String, Map<String, Object>> resumen = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int d = 0; d < porDepartamento.size(); d++) {
+                agregarDepartamento(resumen, nombresDepartamento.get(d), porDepartamento.get(d));
+            }
+            agregarDepartamento(resumen, "SIN_DEPARTAMENTO", sinDepartamento);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resumen;
+    }
+
+    private static void agregarDepartamento(Map<String, Map<String, Object>> resumen, String nombre, Acumulado acumulado) {
+        if (acumulado.empleados == 0) {
+            return;
+        }
+        Map<String, Object> fila = new LinkedHashMap<>();
+        fila.put("empleados", acumulado.empleados);
+        fila.put("totalDiasDisponibles", acumulado.diasDisponibles);
+        fila.put("totalDiasSolicitados", acumulado.diasSolicitados);
+        resumen.put(nombre, fila);
+    }
+
+    /**
+     * Histograma de empleados por días de vacaciones disponibles, en rangos de {@value #ANCHO_RANGO} días.
+     * @return Mapa rango ("0-4", "5-9", ..., "30+") → cantidad de empleados.
+     */
+    public Map<String, Integer> histogramaDiasDisponibles() {
+        asegurarCargado();
+        int[] copia;
+        lock.readLock().lock();
+        try {
+            copia = histogramaDisponibles.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<String, Integer> histograma = new LinkedHashMap<>();
+        for (int r = 0; r < CANTIDAD_RANGOS; r++) {
+            int desde = r * ANCHO_RANGO;
+            String rango = r == CANTIDAD_RANGOS - 1 ? desde + "+" : desde + "-" + (desde + ANCHO_RANGO - 1);
+            histograma.put(rango, copia[r]);
+        }
+        return histograma;
+    }
+}
@@ -0,0 +1,205 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.dto.ResultadoSolicitudMasivaDto;
+import py.edu.uc.jpasseratplp32025.dto.SolicitudPermisoMasivaDto;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.exception.DiasInsuficientesException;
+import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Carga masiva de solicitudes de permiso (por ejemplo, el plan anual de vacaciones de RR.HH.).
+ * 1. Las solicitudes se agrupan por empleado, conservando el orden recibido dentro de cada uno.
+ * 2. Los empleados se procesan en bloques de permisos.masivo.empleados-por-bloque: cada bloque carga sus
+ *    empleados con un solo SELECT ... IN, aplica solicitarPermiso en orden (cada solicitud ve el saldo que
+ *    dejaron las anteriores del mismo empleado) y confirma en su propia transacción, con los UPDATE en batch.
+ * 3. Una solicitud rechazada por las reglas de días no frena al resto. Si el bloque choca con otra
+ *    modificación concurrente (@Version), se reintenta desde cero; agotados los reintentos, sus
+ *    solicitudes se informan como rechazadas y los bloques ya confirmados se conservan.
+ */
+@Service
+public class SolicitudMasivaService {
+
+    private static final Logger log = LoggerFactory.getLogger(SolicitudMasivaService.class);
+
+    private static final int MAX_INTENTOS = 3;
+    private static final String TIPO_POR_DEFECTO = "VACACIONES";
+
+    private final PersonaRepository personaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int empleadosPorBloque;
+    private final int maximoSolicitudes;
+
+    @Autowired
+    public SolicitudMasivaService(PersonaRepository personaRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${permisos.masivo.empleados-por-bloque:500}") int empleadosPorBloque,
+                                  @Value("${permisos.masivo.maximo-solicitudes:20000}") int maximoSolicitudes) {
+        this.personaRepository = personaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.empleadosPorBloque = Math.max(1, empleadosPorBloque);
+        this.maximoSolicitudes = maximoSolicitudes;
+        log.info("SolicitudMasivaService inicializado ({} empleados por bloque, máximo {} solicitudes).",
+                this.empleadosPorBloque, maximoSolicitudes);
+    }
+
+    /**
+     * Aplica las solicitudes recibidas y devuelve un resultado por cada una.
+     * @throws IllegalArgumentException Si la lista está vacía o supera permisos.masivo.maximo-solicitudes.
+     */
+    public ResultadoSolicitudMasivaDto procesar(List<SolicitudPermisoMasivaDto> solicitudes) {
+        if (solicitudes == null || solicitudes.isEmpty()) {
+            throw new IllegalArgumentException("Debe enviar al menos una solicitud.");
+        }
+        if (solicitudes.size() > maximoSolicitudes) {
+            throw new IllegalArgumentException("La carga supera el máximo de " + maximoSolicitudes + " solicitudes.");
+        }
+        long inicio = System.currentTimeMillis();
+        ResultadoSolicitudMasivaDto.ItemDto[] resultados = new ResultadoSolicitudMasivaDto.ItemDto[solicitudes.size()];
+
+        // 1. Validación de forma y agrupamiento por empleado (índices en el orden recibido)
+        Map<Long, List<Integer>> porEmpleado = new LinkedHashMap<>();
+        for (int i = 0; i < solicitudes.size(); i++) {
+            SolicitudPermisoMasivaDto s = solicitudes.get(i);
+            String error = validarForma(s);
+            if (error != null) {
+                resultados[i] = rechazo(i, s != null ? s.getEmpleadoId() : null, 0, error);
+                continue;
+            }
+            porEmpleado.computeIfAbsent(s.getEmpleadoId(), id -> new ArrayList<>()).add(i);
+        }
+
+        // 2. Bloques de empleados, cada uno en su transacción
+        List<Long> empleados = new ArrayList<>(porEmpleado.keySet());
+        int bloques = 0;
+        for (int desde = 0; desde < empleados.size(); desde += empleadosPorBloque) {
+            List<Long> bloque = empleados.subList(desde, Math.min(desde + empleadosPorBloque, empleados.size()));
+            procesarBloque(bloque, porEmpleado, solicitudes, resultados);
+            bloques++;
+        }
+
+        ResultadoSolicitudMasivaDto resultado = new ResultadoSolicitudMasivaDto();
+        resultado.setResultados(Arrays.asList(resultados));
+        resultado.setRecibidas(solicitudes.size());
+        resultado.setAprobadas((int) resultado.getResultados().stream().filter(ResultadoSolicitudMasivaDto.ItemDto::isAprobada).count());
+        resultado.setRechazadas(resultado.getRecibidas() - resultado.getAprobadas());
+        resultado.setEmpleados(empleados.size());
+        resultado.setBloques(bloques);
+        resultado.setDuracionMs(System.currentTimeMillis() - inicio);
+        log.info("Carga masiva de solicitudes: {} recibidas, {} aprobadas, {} rechazadas, {} empleados en {} bloques ({} ms).",
+                resultado.getRecibidas(), resultado.getAprobadas(), resultado.getRechazadas(),
+                resultado.getEmpleados(), bloques, resultado.getDuracionMs());
+        return resultado;
+    }
+
+    // ========================================================================
+    // Procesamiento de un bloque
+    // ========================================================================
+
+    private void procesarBloque(List<Long> bloque, Map<Long, List<Integer>> porEmpleado,
+                                List<SolicitudPermisoMasivaDto> solicitudes,
+                                ResultadoSolicitudMasivaDto.ItemDto[] resultados) {
+        for (int intento = 1; ; intento++) {
+            try {
+                // Los resultados se copian solo si la transacción confirma
+                Map<Integer, ResultadoSolicitudMasivaDto.ItemDto> parciales = transactionTemplate.execute(
+                        status -> aplicarBloque(bloque, porEmpleado, solicitudes));
+                parciales.forEach((indice, item) -> resultados[indice] = item);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (intento == MAX_INTENTOS) {
+                    log.warn("Bloque de {} empleados abandonado tras {} conflictos de versión.", bloque.size(), intento);
+                    for (Long empleadoId : bloque) {
+                        for (int indice : porEmpleado.get(empleadoId)) {
+                            resultados[indice] = rechazo(indice, empleadoId, 0,
+                                    "Conflicto con otra modificación del empleado. Vuelva a enviar la solicitud.");
+                        }
+                    }
+                    return;
+                }
+                log.debug("Conflicto de versión en un bloque de la carga masiva (intento {}).", intento);
+            }
+        }
+    }
+
+    private Map<Integer, ResultadoSolicitudMasivaDto.ItemDto> aplicarBloque(
+            List<Long> bloque, Map<Long, List<Integer>> porEmpleado, List<SolicitudPermisoMasivaDto> solicitudes) {
+        Map<Integer, ResultadoSolicitudMasivaDto.ItemDto> parciales = new LinkedHashMap<>();
+
+        // Un solo SELECT ... WHERE id IN (...) para todo el bloque
+        Map<Long, PersonaJpa> personas = personaRepository.findAllById(bloque).stream()
+                .collect(Collectors.toMap(PersonaJpa::getId, Function.identity()));
+
+        for (Long empleadoId : bloque) {
+            PersonaJpa persona = personas.get(empleadoId);
+            for (int indice : porEmpleado.get(empleadoId)) {
+                SolicitudPermisoMasivaDto s = solicitudes.get(indice);
+                int diasHabiles = CalendarioLaboral.diasHabiles(s.getFechaInicio(), s.getFechaFin());
+                if (!(persona instanceof Empleado empleado)) {
+                    parciales.put(indice, rechazo(indice, empleadoId, diasHabiles,
+                            persona == null ? "Empleado no encontrado con ID: " + empleadoId
+                                    : "La persona no es un empleado que pueda solicitar permisos."));
+                    continue;
+                }
+                try {
+                    empleado.solicitarPermiso(s.getFechaInicio(), s.getFechaFin(), tipoDe(s), empleado.getNumeroDeCedula());
+                    parciales.put(indice, new ResultadoSolicitudMasivaDto.ItemDto(indice, empleadoId, true, diasHabiles,
+                            empleado.consultarDiasVacacionesDisponibles(empleado.getNumeroDeCedula()), null));
+                } catch (PermisoNoConcedidoException e) {
+                    parciales.put(indice, rechazo(indice, empleadoId, diasHabiles, e.getMotivoRechazo()));
+                } catch (DiasInsuficientesException e) {
+                    parciales.put(indice, rechazo(indice, empleadoId, diasHabiles, e.getMessage()));
+                }
+            }
+        }
+        // Los empleados modificados se escriben al confirmar (dirty checking, UPDATE en batch con control de versión)
+        return parciales;
+    }
+
+    // ========================================================================
+    // Auxiliares
+    // ========================================================================
+
+    private static String validarForma(SolicitudPermisoMasivaDto s) {
+        if (s == null || s.getEmpleadoId() == null) {
+            return "Falta el ID del empleado.";
+        }
+        if (s.getFechaInicio() == null || s.getFechaFin() == null) {
+            return "Faltan las fechas de inicio y fin.";
+        }
+        if (s.getFechaFin().isBefore(s.getFechaInicio())) {
+            return "El rango de fechas es inválido. Asegúrese de que la fecha de fin es posterior o igual a la de inicio.";
+        }
+        if (!CalendarioLaboral.rangoAdmitido(s.getFechaInicio(), s.getFechaFin())) {
+            return "El rango de fechas supera el máximo de " + CalendarioLaboral.MAXIMO_DIAS_RANGO + " días corridos.";
+        }
+        return null;
+    }
+
+    private static String tipoDe(SolicitudPermisoMasivaDto s) {
+        return s.getTipoPermiso() == null || s.getTipoPermiso().isBlank() ? TIPO_POR_DEFECTO : s.getTipoPermiso().trim();
+    }
+
+    private static ResultadoSolicitudMasivaDto.ItemDto rechazo(int indice, Long empleadoId, int diasHabiles, String motivo) {
+        return new ResultadoSolicitudMasivaDto.ItemDto(indice, empleadoId, false, diasHabiles, null, motivo);
+    }
+}
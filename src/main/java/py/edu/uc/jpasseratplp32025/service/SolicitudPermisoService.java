@@ -0,0 +1,222 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
+import py.edu.uc.jpasseratplp32025.dto.ResultadoAprobacionLoteDto;
+import py.edu.uc.jpasseratplp32025.dto.SolicitudPermisoDto;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.entity.Gerente;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.entity.SolicitudPermiso;
+import py.edu.uc.jpasseratplp32025.exception.DiasInsuficientesException;
+import py.edu.uc.jpasseratplp32025.exception.EmpleadoNoEncontradoException;
+import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
+import py.edu.uc.jpasseratplp32025.exception.SolicitudPermisoNoEncontradaException;
+import py.edu.uc.jpasseratplp32025.repository.GerenteRepository;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.repository.SolicitudPermisoRepository;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
+import py.edu.uc.jpasseratplp32025.util.CursorPaginacion;
+import py.edu.uc.jpasseratplp32025.util.NominaUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registro de solicitudes de permiso y su flujo de aprobación por el gerente del departamento.
+ * 1. registrar: valida el empleado y las fechas y guarda la solicitud PENDIENTE (sin tocar el saldo).
+ * 2. listarPendientes: cola del departamento a cargo del gerente, paginada por cursor.
+ * 3. resolverLote: aprueba o rechaza cientos de solicitudes en una sola transacción. Las solicitudes y los
+ *    empleados se cargan con una consulta cada uno; al aprobar se debita el saldo con solicitarPermiso
+ *    (si el empleado ya no cumple las reglas, esa solicitud queda RECHAZADA con el motivo y el lote sigue)
+ *    y los cambios se escriben en batch JDBC al confirmar.
+ */
+@Service
+public class SolicitudPermisoService {
+
+    private static final Logger log = LoggerFactory.getLogger(SolicitudPermisoService.class);
+
+    // Departamento asignado a quienes no tienen uno (mismo valor por defecto que Gerente#departamentoACargo)
+    private static final String DEPARTAMENTO_POR_DEFECTO = "General";
+
+    private final SolicitudPermisoRepository solicitudRepository;
+    private final PersonaRepository personaRepository;
+    private final GerenteRepository gerenteRepository;
+    private final BloqueoEmpleadosService bloqueoEmpleadosService;
+    private final TransactionTemplate transactionTemplate;
+    private final int loteMaximo;
+
+    @Autowired
+    public SolicitudPermisoService(SolicitudPermisoRepository solicitudRepository,
+                                   PersonaRepository personaRepository,
+                                   GerenteRepository gerenteRepository,
+                                   BloqueoEmpleadosService bloqueoEmpleadosService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${permisos.aprobacion.lote-maximo:1000}") int loteMaximo) {
+        this.solicitudRepository = solicitudRepository;
+        this.personaRepository = personaRepository;
+        this.gerenteRepository = gerenteRepository;
+        this.bloqueoEmpleadosService = bloqueoEmpleadosService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.loteMaximo = loteMaximo;
+        log.info("SolicitudPermisoService inicializado (lote máximo {}).", loteMaximo);
+    }
+
+    // ========================================================================
+    // Registro y consulta
+    // ========================================================================
+
+    /**
+     * Registra una solicitud PENDIENTE para el empleado.
+     * @throws EmpleadoNoEncontradoException Si no existe o no es un empleado con permisos.
+     * @throws IllegalArgumentException Si faltan datos o el rango de fechas es inválido.
+     */
+    public SolicitudPermiso registrar(Long personaId, SolicitudPermisoDto dto) {
+        if (dto == null || dto.getFechaInicio() == null || dto.getFechaFin() == null
+                || dto.getTipoPermiso() == null || dto.getTipoPermiso().isBlank()) {
+            throw new IllegalArgumentException("La solicitud debe indicar fechaInicio, fechaFin y tipoPermiso.");
+        }
+        if (dto.getFechaFin().isBefore(dto.getFechaInicio())) {
+            throw new IllegalArgumentException("El rango de fechas es inválido. Asegúrese de que la fecha de fin es posterior o igual a la de inicio.");
+        }
+        PersonaJpa persona = personaRepository.findById(personaId)
+                .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + personaId));
+        if (!(persona instanceof Empleado)) {
+            throw new EmpleadoNoEncontradoException("La persona con ID " + personaId + " no es un empleado que pueda solicitar permisos.");
+        }
+        SolicitudPermiso solicitud = new SolicitudPermiso(personaId, persona.getNumeroDeCedula(), departamentoDe(persona),
+                dto.getTipoPermiso().trim().toUpperCase(), dto.getFechaInicio(), dto.getFechaFin(),
+                CalendarioLaboral.diasHabiles(dto.getFechaInicio(), dto.getFechaFin()));
+        SolicitudPermiso guardada = solicitudRepository.save(solicitud);
+        log.info("Solicitud #{} registrada (PENDIENTE) para el empleado {} en el departamento {}.",
+                guardada.getId(), personaId, guardada.getDepartamento());
+        return guardada;
+    }
+
+    public SolicitudPermiso obtener(Long id) {
+        return solicitudRepository.findById(id)
+                .orElseThrow(() -> new SolicitudPermisoNoEncontradaException("Solicitud de permiso no encontrada con ID: " + id));
+    }
+
+    public List<SolicitudPermiso> listarPorPersona(Long personaId) {
+        return solicitudRepository.findByPersonaIdOrderByIdDesc(personaId);
+    }
+
+    // Cola de solicitudes pendientes del departamento a cargo del gerente (paginación por cursor)
+    public PaginaDto<SolicitudPermiso> listarPendientes(Long gerenteId, String after, Integer limit) {
+        Gerente gerente = buscarGerente(gerenteId);
+        int limite = CursorPaginacion.normalizarLimite(limit);
+        long desdeId = CursorPaginacion.decodificar(after);
+        List<SolicitudPermiso> filas = solicitudRepository.findByDepartamentoAndEstadoAndIdGreaterThanOrderByIdAsc(
+                departamentoACargo(gerente), SolicitudPermiso.Estado.PENDIENTE, desdeId,
+                CursorPaginacion.limiteConsulta(limite));
+        return CursorPaginacion.armarPagina(filas, limite, SolicitudPermiso::getId);
+    }
+
+    // ========================================================================
+    // Aprobación por lote
+    // ========================================================================
+
+    /**
+     * Aprueba o rechaza en una transacción las solicitudes indicadas que estén pendientes en el
+     * departamento del gerente. Las aprobaciones del mismo gerente se procesan de a una.
+     * @throws IllegalArgumentException Si el lote está vacío o supera permisos.aprobacion.lote-maximo.
+     * @throws org.springframework.dao.OptimisticLockingFailureException Si otra operación modificó
+     *         alguna solicitud o empleado del lote entretanto (no se aplica nada).
+     */
+    public ResultadoAprobacionLoteDto resolverLote(Long gerenteId, List<Long> ids, boolean aprobado, String notas) {
+        Set<Long> idsUnicos = ids == null ? Set.of() : ids.stream()
+                .filter(id -> id != null)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (idsUnicos.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos una solicitud.");
+        }
+        if (idsUnicos.size() > loteMaximo) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + loteMaximo + " solicitudes.");
+        }
+        Gerente gerente = buscarGerente(gerenteId);
+        long inicio = System.currentTimeMillis();
+
+        ResultadoAprobacionLoteDto resultado;
+        try (BloqueoEmpleadosService.Bloqueo bloqueo = bloqueoEmpleadosService.adquirir(gerente.getNumeroDeCedula())) {
+            resultado = transactionTemplate.execute(status -> resolverEnTransaccion(gerente, idsUnicos, aprobado, notas));
+        }
+        resultado.setRecibidas(idsUnicos.size());
+        resultado.setDuracionMs(System.currentTimeMillis() - inicio);
+        log.info("Lote resuelto por el gerente {}: {} aprobadas, {} rechazadas, {} omitidas en {} ms.",
+                gerenteId, resultado.getAprobadas().size(), resultado.getRechazadas().size(),
+                resultado.getOmitidas().size(), resultado.getDuracionMs());
+        return resultado;
+    }
+
+    private ResultadoAprobacionLoteDto resolverEnTransaccion(Gerente gerente, Set<Long> ids, boolean aprobado, String notas) {
+        ResultadoAprobacionLoteDto resultado = new ResultadoAprobacionLoteDto();
+        List<SolicitudPermiso> solicitudes = solicitudRepository.findByIdInAndDepartamentoAndEstadoOrderByIdAsc(
+                ids, departamentoACargo(gerente), SolicitudPermiso.Estado.PENDIENTE);
+
+        Set<Long> encontradas = new HashSet<>();
+        solicitudes.forEach(s -> encontradas.add(s.getId()));
+        ids.stream().filter(id -> !encontradas.contains(id)).forEach(resultado.getOmitidas()::add);
+
+        // Un solo SELECT para todos los empleados del lote; si uno tiene varias solicitudes,
+        // se debitan sobre la misma instancia administrada
+        Map<Long, PersonaJpa> personas = personaRepository.findAllById(
+                        solicitudes.stream().map(SolicitudPermiso::getPersonaId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(PersonaJpa::getId, Function.identity()));
+
+        for (SolicitudPermiso solicitud : solicitudes) {
+            try {
+                gerente.procesarAprobacionGerencial(solicitud.getId(), aprobado, notas);
+                if (!(personas.get(solicitud.getPersonaId()) instanceof Empleado empleado)) {
+                    solicitud.rechazar(gerente.getId(), "El empleado ya no existe.");
+                    resultado.getRechazadas().put(solicitud.getId(), solicitud.getNotas());
+                    continue;
+                }
+                empleado.solicitarPermiso(solicitud.getFechaInicio(), solicitud.getFechaFin(),
+                        solicitud.getTipoPermiso(), solicitud.getNumeroCedula());
+                solicitud.aprobar(gerente.getId(), notas);
+                resultado.getAprobadas().add(solicitud.getId());
+            } catch (PermisoNoConcedidoException e) {
+                solicitud.rechazar(gerente.getId(), e.getMotivoRechazo());
+                resultado.getRechazadas().put(solicitud.getId(), e.getMotivoRechazo());
+            } catch (DiasInsuficientesException e) {
+                solicitud.rechazar(gerente.getId(), e.getMessage());
+                resultado.getRechazadas().put(solicitud.getId(), e.getMessage());
+            }
+        }
+        // Las solicitudes y empleados modificados se escriben al confirmar (dirty checking, UPDATE en batch)
+        return resultado;
+    }
+
+    // ========================================================================
+    // Auxiliares
+    // ========================================================================
+
+    private Gerente buscarGerente(Long gerenteId) {
+        return gerenteRepository.findById(gerenteId)
+                .orElseThrow(() -> new EmpleadoNoEncontradoException("Gerente no encontrado con ID: " + gerenteId));
+    }
+
+    private static String departamentoACargo(Gerente gerente) {
+        String departamento = gerente.getDepartamentoACargo();
+        return departamento != null ? departamento : DEPARTAMENTO_POR_DEFECTO;
+    }
+
+    private static String departamentoDe(PersonaJpa persona) {
+        String departamento = NominaUtils.departamentoDe(persona);
+        return departamento != null ? departamento : DEPARTAMENTO_POR_DEFECTO;
+    }
+}
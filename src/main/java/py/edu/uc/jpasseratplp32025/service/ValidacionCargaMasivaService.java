@@ -0,0 +1,155 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import py.edu.uc.jpasseratplp32025.dto.ErrorValidacionDto;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Etapa de validación de las cargas masivas de empleados.
+ * Valida un lote completo sin detenerse en el primer error: devuelve los registros limpios
+ * (listos para persistir) y un reporte con todas las violaciones de cada registro rechazado.
+ */
+@Service
+public class ValidacionCargaMasivaService {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidacionCargaMasivaService.class);
+
+    private final Validator validator;
+    private final PersonaRepository personaRepository;
+
+    @Autowired
+    public ValidacionCargaMasivaService(Validator validator, PersonaRepository personaRepository) {
+        this.validator = validator;
+        this.personaRepository = personaRepository;
+        log.info("ValidacionCargaMasivaService inicializado.");
+    }
+
+    /**
+     * Valida un lote en tres etapas:
+     * 1. Bean Validation y validarDatosEspecificos() por registro, en paralelo (ForkJoinPool común).
+     * 2. Cédulas duplicadas dentro del lote (una pasada con HashMap).
+     * 3. Cédulas ya registradas en la base de datos (una sola consulta IN).
+     *
+     * @param chunk Lote a validar.
+     * @param desplazamiento Índice del primer registro del lote en la lista original.
+     * @return Los registros válidos (en su orden original) y los errores ordenados por índice.
+     */
+    public LoteValidado validarLote(List<EmpleadoTiempoCompleto> chunk, int desplazamiento) {
+        // 1. Validaciones independientes por registro (sin estado compartido)
+        List<ErrorValidacionDto> errores = IntStream.range(0, chunk.size())
+                .parallel()
+                .mapToObj(j -> validarEmpleado(chunk.get(j), desplazamiento + j))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        boolean[] rechazado = new boolean[chunk.size()];
+        errores.forEach(error -> rechazado[error.getIndice() - desplazamiento] = true);
+
+        // 2. Duplicados dentro del lote: se conserva la primera aparición
+        Map<String, Integer> indicePorCedula = new HashMap<>();
+        for (int j = 0; j < chunk.size(); j++) {
+            if (rechazado[j]) {
+                continue;
+            }
+            String cedula = chunk.get(j).getNumeroDeCedula();
+            Integer previo = indicePorCedula.putIfAbsent(cedula, desplazamiento + j);
+            if (previo != null) {
+                rechazado[j] = true;
+                errores.add(new ErrorValidacionDto(desplazamiento + j, cedula,
+                        List.of("Cédula duplicada en el mismo lote (índice " + previo + ")")));
+            }
+        }
+
+        // 3. Existencia previa en la base de datos
+        Set<String> existentes = indicePorCedula.isEmpty()
+                ? Set.of()
+                : personaRepository.findCedulasExistentes(indicePorCedula.keySet());
+
+        List<EmpleadoTiempoCompleto> validos = new ArrayList<>(chunk.size());
+        for (int j = 0; j < chunk.size(); j++) {
+            if (rechazado[j]) {
+                continue;
+            }
+            EmpleadoTiempoCompleto empleado = chunk.get(j);
+            if (existentes.contains(empleado.getNumeroDeCedula())) {
+                errores.add(new ErrorValidacionDto(desplazamiento + j, empleado.getNumeroDeCedula(),
+                        List.of("Ya existe una persona con cédula: " + empleado.getNumeroDeCedula())));
+            } else {
+                validos.add(empleado);
+            }
+        }
+
+        errores.sort(Comparator.comparingInt(ErrorValidacionDto::getIndice));
+        if (!errores.isEmpty()) {
+            log.warn("Lote desde el índice {}: {} registros rechazados de {}.", desplazamiento, errores.size(), chunk.size());
+        }
+        return new LoteValidado(validos, errores);
+    }
+
+    /**
+     * Valida un registro y reúne todas sus violaciones.
+     * @return null si el registro es válido.
+     */
+    private ErrorValidacionDto validarEmpleado(EmpleadoTiempoCompleto empleado, int indice) {
+        if (empleado == null) {
+            return new ErrorValidacionDto(indice, null, List.of("Registro vacío"));
+        }
+
+        List<String> mensajes = new ArrayList<>();
+
+        // Bean Validation (el Validator es thread-safe)
+        for (ConstraintViolation<EmpleadoTiempoCompleto> v : validator.validate(empleado)) {
+            mensajes.add(v.getPropertyPath() + ": " + v.getMessage());
+        }
+
+        // Reglas de negocio (las mismas que en el alta individual, para todas las cargas masivas)
+        if (empleado.getFechaDeNacimiento() != null && empleado.getFechaDeNacimiento().isAfter(LocalDate.now())) {
+            mensajes.add("fechaDeNacimiento: no puede ser posterior a la fecha actual");
+        }
+        if (!empleado.validarDatosEspecificos()) {
+            mensajes.add("Datos del empleado inválidos. Verifique Salario Mínimo y Departamento.");
+        }
+
+        String cedula = empleado.getNumeroDeCedula();
+        if ((cedula == null || cedula.trim().isEmpty()) && mensajes.isEmpty()) {
+            // Nota: Bean Validation ya debería atrapar esto con @NotBlank
+            mensajes.add("Cédula vacía.");
+        }
+
+        return mensajes.isEmpty() ? null : new ErrorValidacionDto(indice, cedula, mensajes);
+    }
+
+    /**
+     * Resultado de validar un lote: registros listos para persistir y errores encontrados.
+     */
+    public static class LoteValidado {
+        private final List<EmpleadoTiempoCompleto> validos;
+        private final List<ErrorValidacionDto> errores;
+
+        public LoteValidado(List<EmpleadoTiempoCompleto> validos, List<ErrorValidacionDto> errores) {
+            this.validos = validos;
+            this.errores = errores;
+        }
+
+        public List<EmpleadoTiempoCompleto> getValidos() { return validos; }
+        public List<ErrorValidacionDto> getErrores() { return errores; }
+    }
+}
@@ -0,0 +1,277 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import jakarta.persistence.DiscriminatorValue;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.dto.VencimientoContratoDto;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.util.RuedaTemporal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Programador de vencimientos de contratos: mantiene en memoria una rueda temporal jerárquica
+ * (RuedaTemporal, un tick por día) con la fecha de fin de contrato de cada empleado vigente.
+ *
+ * Se carga al iniciar con una sola lectura de (id, tipo, fechaFinContrato) y se actualiza tras cada commit
+ * que guarda o elimina una persona (VencimientoContratosListener). Cada día la rueda avanza y publica un
+ * ContratoVencido por cada contrato que termina ese día; la consulta de los que vencen en los próximos
+ * N días solo recorre las ranuras de la ventana, sin consultar la base.
+ */
+@Service
+public class VencimientoContratosService {
+
+    private static final Logger log = LoggerFactory.getLogger(VencimientoContratosService.class);
+
+    private final PersonaRepository personaRepository;
+    private final ApplicationEventPublisher publicador;
+    private final TransactionTemplate lecturaTemplate;
+    private final int diasMaximosConsulta;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Tick = día (LocalDate.toEpochDay()); valor = discriminador del tipo de persona
+    private RuedaTemporal<String> rueda = new RuedaTemporal<>(LocalDate.now().toEpochDay());
+    private volatile boolean cargado;
+    private long vencimientosEmitidos;
+
+    @Autowired
+    public VencimientoContratosService(PersonaRepository personaRepository, ApplicationEventPublisher publicador,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${contratos.vencimiento.dias-maximos-consulta:366}") int diasMaximosConsulta) {
+        this.personaRepository = personaRepository;
+        this.publicador = publicador;
+        this.lecturaTemplate = new TransactionTemplate(transactionManager);
+        this.lecturaTemplate.setReadOnly(true);
+        this.diasMaximosConsulta = diasMaximosConsulta;
+        log.info("VencimientoContratosService inicializado.");
+    }
+
+    /**
+     * Evento publicado cuando vence un contrato (el día de su fechaFinContrato, en que deja de estar vigente).
+     */
+    public static final class ContratoVencido {
+        private final Long personaId;
+        private final String tipoPersona;
+        private final LocalDate fechaFinContrato;
+
+        public ContratoVencido(Long personaId, String tipoPersona, LocalDate fechaFinContrato) {
+            this.personaId = personaId;
+            this.tipoPersona = tipoPersona;
+            this.fechaFinContrato = fechaFinContrato;
+        }
+
+        public Long getPersonaId() { return personaId; }
+        public String getTipoPersona() { return tipoPersona; }
+        public LocalDate getFechaFinContrato() { return fechaFinContrato; }
+    }
+
+    // =================================================================
+    // CARGA Y AVANCE DIARIO
+    // =================================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        asegurarCargado();
+    }
+
+    /**
+     * Reconstruye la rueda con los contratos que vencen después de hoy.
+     * Usar también tras actualizaciones masivas de fechaFinContrato que no pasan por el ORM.
+     */
+    public void recargar() {
+        long inicio = System.nanoTime();
+        lock.lock();
+        try {
+            LocalDate hoy = LocalDate.now();
+            RuedaTemporal<String> nueva = new RuedaTemporal<>(hoy.toEpochDay());
+            lecturaTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> filas = personaRepository.streamContratosPosteriores(hoy)) {
+                    Iterator<Object[]> iterador = filas.iterator();
+                    while (iterador.hasNext()) {
+                        Object[] fila = iterador.next();
+                        nueva.programar(((Number) fila[0]).longValue(), ((LocalDate) fila[2]).toEpochDay(),
+                                discriminador((Class<?>) fila[1]));
+                    }
+                }
+            });
+            rueda = nueva;
+            cargado = true;
+            log.info("Vencimientos de contratos cargados: {} programados en {} ms.",
+                    nueva.tamanio(), (System.nanoTime() - inicio) / 1_000_000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${contratos.vencimiento.cron:0 0 0 * * *}")
+    public void avanzarProgramado() {
+        avanzarAlDia();
+    }
+
+    /**
+     * Avanza la rueda hasta hoy y publica un ContratoVencido por cada contrato vencido en el camino.
+     * Se ejecuta cada día (contratos.vencimiento.cron); las consultas no avanzan la rueda, de modo que los
+     * eventos solo se publican desde el hilo del programador.
+     *
+     * @return Cantidad de contratos vencidos en este avance.
+     */
+    public int avanzarAlDia() {
+        asegurarCargado();
+        List<ContratoVencido> vencidos = new ArrayList<>();
+        lock.lock();
+        try {
+            rueda.avanzar(LocalDate.now().toEpochDay(), entrada -> vencidos.add(new ContratoVencido(
+                    entrada.getClave(), entrada.getValor(), LocalDate.ofEpochDay(entrada.getTick()))));
+            vencimientosEmitidos += vencidos.size();
+        } finally {
+            lock.unlock();
+        }
+        // Los oyentes corren fuera del bloqueo: pueden consultar o modificar personas
+        for (ContratoVencido vencido : vencidos) {
+            log.info("Contrato vencido: persona {} ({}) el {}.",
+                    vencido.getPersonaId(), vencido.getTipoPersona(), vencido.getFechaFinContrato());
+            publicador.publishEvent(vencido);
+        }
+        return vencidos.size();
+    }
+
+    // =================================================================
+    // ACTUALIZACIÓN POR ESCRITURAS (VencimientoContratosListener)
+    // =================================================================
+
+    /**
+     * Registra el alta o modificación de una persona al confirmarse la transacción: programa su
+     * fecha de fin de contrato, o la quita si ya no tiene una futura.
+     */
+    public void registrarCambio(PersonaJpa persona) {
+        if (persona.getId() == null) {
+            return;
+        }
+        long id = persona.getId();
+        LocalDate fin = persona instanceof Empleado empleado ? empleado.getFechaFinContrato() : null;
+        String tipo = discriminador(Hibernate.getClass(persona));
+        alConfirmar(() -> aplicar(() -> {
+            if (fin == null || !rueda.programar(id, fin.toEpochDay(), tipo)) {
+                rueda.cancelar(id);
+            }
+        }));
+    }
+
+    public void registrarBaja(Long id) {
+        if (id == null) {
+            return;
+        }
+        alConfirmar(() -> aplicar(() -> rueda.cancelar(id)));
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    // Si hay una carga en curso, el cambio espera a que termine y se aplica sobre la rueda nueva
+    private void aplicar(Runnable cambio) {
+        lock.lock();
+        try {
+            cambio.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // =================================================================
+    // CONSULTAS
+    // =================================================================
+
+    /**
+     * Contratos que vencen en los próximos {@code dias} días (de mañana a hoy + dias), por fecha.
+     * Solo lee la rueda: si el avance diario todavía no corrió, los contratos que vencen hoy (o antes)
+     * siguen programados y se excluyen de la ventana.
+     *
+     * @throws IllegalArgumentException si dias es negativo o supera contratos.vencimiento.dias-maximos-consulta.
+     */
+    public List<VencimientoContratoDto> vencenDentroDe(int dias) {
+        if (dias < 0 || dias > diasMaximosConsulta) {
+            throw new IllegalArgumentException(
+                    "La cantidad de días debe estar entre 0 y " + diasMaximosConsulta + ".");
+        }
+        asegurarCargado();
+        List<VencimientoContratoDto> resultado = new ArrayList<>();
+        lock.lock();
+        try {
+            // La ventana arranca en hoy, o en el tick de la rueda si este ya lo pasó
+            long hoy = Math.max(LocalDate.now().toEpochDay(), rueda.getAhora());
+            for (RuedaTemporal.Entrada<String> entrada : rueda.programadasHasta(hoy + dias)) {
+                if (entrada.getTick() > hoy) {
+                    resultado.add(new VencimientoContratoDto(entrada.getClave(), entrada.getValor(),
+                            LocalDate.ofEpochDay(entrada.getTick()), entrada.getTick() - hoy));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return resultado;
+    }
+
+    public int cantidadProgramados() {
+        asegurarCargado();
+        lock.lock();
+        try {
+            return rueda.tamanio();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getVencimientosEmitidos() {
+        lock.lock();
+        try {
+            return vencimientosEmitidos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void asegurarCargado() {
+        if (!cargado) {
+            synchronized (this) {
+                if (!cargado) {
+                    recargar();
+                }
+            }
+        }
+    }
+
+    private static String discriminador(Class<?> tipo) {
+        DiscriminatorValue valor = tipo.getAnnotation(DiscriminatorValue.class);
+        return valor != null ? valor.value() : tipo.getSimpleName();
+    }
+}
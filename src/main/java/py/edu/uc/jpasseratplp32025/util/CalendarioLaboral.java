@@ -0,0 +1,265 @@
+package py.edu.uc.jpasseratplp32025.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calendario de días hábiles (lunes a viernes que no son feriado) usado para contar los días de
+ * vacaciones. Los feriados se leen de un archivo de texto (por defecto {@value #ARCHIVO_POR_DEFECTO}
+ * del classpath; ver CalendarioLaboralInicializador para usar otro).
+ *
+ * Cada año se precalcula una sola vez en un bitset de días hábiles y un arreglo de sumas acumuladas,
+ * por lo que contar los días hábiles entre dos fechas son dos lecturas por año involucrado, sin
+ * recorrer los días del rango. El rango admite a lo sumo {@value #MAXIMO_DIAS_RANGO} días corridos, de modo
+ * que una fecha absurda (p. ej. del año 999999999) no obligue a precalcular un año tras otro.
+ */
+public final class CalendarioLaboral {
+
+    private static final Logger log = LoggerFactory.getLogger(CalendarioLaboral.class);
+
+    public static final String ARCHIVO_POR_DEFECTO = "calendario/feriados-py.txt";
+
+    // Dos años corridos (uno de ellos bisiesto)
+    public static final int MAXIMO_DIAS_RANGO = 731;
+
+    private static volatile Reglas reglas;
+
+    private CalendarioLaboral() {
+    }
+
+    // ========================================================================
+    // Consultas
+    // ========================================================================
+
+    /**
+     * Cantidad de días hábiles entre dos fechas, ambas inclusive.
+     * @return Los días hábiles, o 0 si fechaFin es anterior a fechaInicio.
+     * @throws IllegalArgumentException Si el rango supera {@value #MAXIMO_DIAS_RANGO} días corridos.
+     */
+    public static int diasHabiles(LocalDate fechaInicio, LocalDate fechaFin) {
+        if (fechaFin.isBefore(fechaInicio)) {
+            return 0;
+        }
+        if (!rangoAdmitido(fechaInicio, fechaFin)) {
+            throw new IllegalArgumentException(String.format(
+                    "El rango de fechas supera el máximo de %d días corridos.", MAXIMO_DIAS_RANGO));
+        }
+        Reglas actuales = reglas();
+        int anioInicio = fechaInicio.getYear();
+        int anioFin = fechaFin.getYear();
+        if (anioInicio == anioFin) {
+            return actuales.anio(anioInicio).entre(fechaInicio.getDayOfYear(), fechaFin.getDayOfYear());
+        }
+        AnioLaboral primero = actuales.anio(anioInicio);
+        int total = primero.entre(fechaInicio.getDayOfYear(), primero.cantidadDias());
+        for (int anio = anioInicio + 1; anio < anioFin; anio++) {
+            total += actuales.anio(anio).total();
+        }
+        return total + actuales.anio(anioFin).entre(1, fechaFin.getDayOfYear());
+    }
+
+    /**
+     * Indica si el rango (ambas fechas inclusive) no supera {@value #MAXIMO_DIAS_RANGO} días corridos.
+     */
+    public static boolean rangoAdmitido(LocalDate fechaInicio, LocalDate fechaFin) {
+        return ChronoUnit.DAYS.between(fechaInicio, fechaFin) < MAXIMO_DIAS_RANGO;
+    }
+
+    public static boolean esHabil(LocalDate fecha) {
+        return reglas().anio(fecha.getYear()).esHabil(fecha.getDayOfYear());
+    }
+
+    // ========================================================================
+    // Carga de feriados
+    // ========================================================================
+
+    /**
+     * Reemplaza los feriados por los del archivo indicado y descarta los años ya precalculados.
+     * @throws IllegalArgumentException Si alguna línea no tiene un formato válido.
+     */
+    public static void cargar(InputStream archivo, String origen) {
+        reglas = Reglas.leer(archivo, origen);
+    }
+
+    private static Reglas reglas() {
+        Reglas actuales = reglas;
+        if (actuales == null) {
+            synchronized (CalendarioLaboral.class) {
+                if (reglas == null) {
+                    InputStream archivo = CalendarioLaboral.class.getClassLoader().getResourceAsStream(ARCHIVO_POR_DEFECTO);
+                    if (archivo == null) {
+                        throw new IllegalStateException("No se encontró el archivo de feriados " + ARCHIVO_POR_DEFECTO);
+                    }
+                    reglas = Reglas.leer(archivo, ARCHIVO_POR_DEFECTO);
+                }
+                actuales = reglas;
+            }
+        }
+        return actuales;
+    }
+
+    /**
+     * Feriados leídos del archivo y años ya precalculados con ellos.
+     */
+    private static final class Reglas {
+        private final Set<MonthDay> fijos = new HashSet<>();
+        private final List<Integer> relativosPascua = new ArrayList<>();
+        private final Set<LocalDate> adicionales = new HashSet<>();
+        private final Set<LocalDate> habilitados = new HashSet<>();
+        private final ConcurrentHashMap<Integer, AnioLaboral> anios = new ConcurrentHashMap<>();
+
+        static Reglas leer(InputStream archivo, String origen) {
+            Reglas reglas = new Reglas();
+            try (BufferedReader lector = new BufferedReader(new InputStreamReader(archivo, StandardCharsets.UTF_8))) {
+                String linea;
+                int numero = 0;
+                while ((linea = lector.readLine()) != null) {
+                    numero++;
+                    linea = linea.trim();
+                    if (linea.isEmpty() || linea.startsWith("#")) {
+                        continue;
+                    }
+                    reglas.agregar(linea.split("\\s+", 2)[0], origen, numero);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el archivo de feriados " + origen, e);
+            }
+            log.info("Calendario laboral cargado de {}: {} feriados fijos, {} relativos a Pascua, {} adicionales, {} traslados.",
+                    origen, reglas.fijos.size(), reglas.relativosPascua.size(), reglas.adicionales.size(), reglas.habilitados.size());
+            return reglas;
+        }
+
+        private void agregar(String fecha, String origen, int numero) {
+            try {
+                if (fecha.startsWith("PASCUA")) {
+                    relativosPascua.add(Integer.parseInt(fecha.substring("PASCUA".length())));
+                } else if (fecha.startsWith("!")) {
+                    habilitados.add(LocalDate.parse(fecha.substring(1)));
+                } else if (fecha.length() == 5) {
+                    fijos.add(MonthDay.parse("--" + fecha));
+                } else {
+                    adicionales.add(LocalDate.parse(fecha));
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException(
+                        String.format("Línea %d de %s inválida: '%s'", numero, origen, fecha), e);
+            }
+        }
+
+        AnioLaboral anio(int anio) {
+            return anios.computeIfAbsent(anio, this::calcular);
+        }
+
+        private AnioLaboral calcular(int anio) {
+            int cantidadDias = Year.of(anio).length();
+            BitSet habiles = new BitSet(cantidadDias);
+            LocalDate fecha = LocalDate.ofYearDay(anio, 1);
+            for (int dia = 0; dia < cantidadDias; dia++, fecha = fecha.plusDays(1)) {
+                DayOfWeek diaSemana = fecha.getDayOfWeek();
+                if (diaSemana != DayOfWeek.SATURDAY && diaSemana != DayOfWeek.SUNDAY) {
+                    habiles.set(dia);
+                }
+            }
+            for (MonthDay fijo : fijos) {
+                if (fijo.isValidYear(anio)) {
+                    limpiar(habiles, fijo.atYear(anio), anio);
+                }
+            }
+            LocalDate pascua = domingoDePascua(anio);
+            for (int desplazamiento : relativosPascua) {
+                limpiar(habiles, pascua.plusDays(desplazamiento), anio);
+            }
+            for (LocalDate habilitado : habilitados) {
+                if (habilitado.getYear() == anio && !esFinDeSemana(habilitado)) {
+                    habiles.set(habilitado.getDayOfYear() - 1);
+                }
+            }
+            for (LocalDate adicional : adicionales) {
+                limpiar(habiles, adicional, anio);
+            }
+            return new AnioLaboral(habiles, cantidadDias);
+        }
+
+        private static void limpiar(BitSet habiles, LocalDate fecha, int anio) {
+            if (fecha.getYear() == anio) {
+                habiles.clear(fecha.getDayOfYear() - 1);
+            }
+        }
+
+        private static boolean esFinDeSemana(LocalDate fecha) {
+            return fecha.getDayOfWeek() == DayOfWeek.SATURDAY || fecha.getDayOfWeek() == DayOfWeek.SUNDAY;
+        }
+
+        // Algoritmo de Meeus/Jones/Butcher (calendario gregoriano)
+        private static LocalDate domingoDePascua(int anio) {
+            int a = anio % 19;
+            int b = anio / 100;
+            int c = anio % 100;
+            int d = b / 4;
+            int e = b % 4;
+            int f = (b + 8) / 25;
+            int g = (b - f + 1) / 3;
+            int h = (19 * a + b - d - g + 15) % 30;
+            int i = c / 4;
+            int k = c % 4;
+            int l = (32 + 2 * e + 2 * i - h - k) % 7;
+            int m = (a + 11 * h + 22 * l) / 451;
+            int mes = (h + l - 7 * m + 114) / 31;
+            int dia = ((h + l - 7 * m + 114) % 31) + 1;
+            return LocalDate.of(anio, mes, dia);
+        }
+    }
+
+    /**
+     * Días hábiles de un año: bitset por día del año y sumas acumuladas
+     * (acumulados[n] = días hábiles entre el 1 de enero y el día n, inclusive).
+     */
+    private static final class AnioLaboral {
+        private final BitSet habiles;
+        private final int[] acumulados;
+
+        AnioLaboral(BitSet habiles, int cantidadDias) {
+            this.habiles = habiles;
+            this.acumulados = new int[cantidadDias + 1];
+            for (int dia = 1; dia <= cantidadDias; dia++) {
+                acumulados[dia] = acumulados[dia - 1] + (habiles.get(dia - 1) ? 1 : 0);
+            }
+        }
+
+        // Días del año desde..hasta (1 = 1 de enero), ambos inclusive
+        int entre(int desde, int hasta) {
+            return acumulados[hasta] - acumulados[desde - 1];
+        }
+
+        int total() {
+            return acumulados[acumulados.length - 1];
+        }
+
+        int cantidadDias() {
+            return acumulados.length - 1;
+        }
+
+        boolean esHabil(int diaDelAnio) {
+            return habiles.get(diaDelAnio - 1);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package py.edu.uc.jpasseratplp32025.util;
+
+import org.springframework.data.domain.Limit;
+import py.edu.uc.jpasseratplp32025.dto.PaginaDto;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Clase utilitaria para la paginación por cursor (keyset / seek) sobre el ID de personas.
+ * En lugar de OFFSET, cada página se consulta con "id > :ultimoId ORDER BY id LIMIT n",
+ * por lo que la página N cuesta lo mismo que la primera (usa el índice de la PK).
+ * El cursor que ve el cliente es opaco: el último ID de la página codificado en Base64 (URL-safe).
+ */
+public final class CursorPaginacion {
+
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    private static final String PREFIJO_CURSOR = "id:";
+
+    private CursorPaginacion() {
+    }
+
+    /**
+     * Ajusta el límite pedido por el cliente al rango [1, LIMITE_MAXIMO].
+     * @param limite Límite recibido (puede ser null).
+     * @return El límite a usar.
+     */
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null || limite <= 0) {
+            return LIMITE_POR_DEFECTO;
+        }
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+
+    /**
+     * Límite a pedir al repositorio: una fila extra para saber si existe una página siguiente.
+     */
+    public static Limit limiteConsulta(int limite) {
+        return Limit.of(limite + 1);
+    }
+
+    /**
+     * Decodifica el cursor opaco recibido en "after".
+     * @param cursor Cursor de la página anterior (null o vacío para la primera página).
+     * @return El último ID ya entregado (0 para la primera página).
+     * @throws CursorInvalidoException si el cursor no fue generado por esta API.
+     */
+    public static long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIJO_CURSOR)) {
+                throw new CursorInvalidoException("El cursor de paginación no es válido: " + cursor);
+            }
+            return Long.parseLong(valor.substring(PREFIJO_CURSOR.length()));
+        } catch (IllegalArgumentException e) {
+            // Incluye NumberFormatException y errores de Base64
+            throw new CursorInvalidoException("El cursor de paginación no es válido: " + cursor, e);
+        }
+    }
+
+    /**
+     * Codifica el último ID de una página como cursor opaco.
+     */
+    public static String codificar(long ultimoId) {
+        byte[] valor = (PREFIJO_CURSOR + ultimoId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor);
+    }
+
+    /**
+     * Arma la página a partir de las filas consultadas con limiteConsulta(limite).
+     * @param filas Filas ordenadas por ID ascendente (hasta limite + 1).
+     * @param limite Tamaño de página solicitado.
+     * @return La página con el cursor siguiente (si corresponde).
+     */
+    public static <T extends PersonaJpa> PaginaDto<T> armarPagina(List<T> filas, int limite) {
+        return armarPagina(filas, limite, PersonaJpa::getId);
+    }
+
+    /**
+     * Igual que {@link #armarPagina(List, int)} para filas de otras entidades paginadas por ID.
+     * @param id Función que obtiene el ID de cada fila.
+     */
+    public static <T> PaginaDto<T> armarPagina(List<T> filas, int limite, ToLongFunction<? super T> id) {
+        boolean hayMas = filas.size() > limite;
+        List<T> contenido = hayMas ? filas.subList(0, limite) : filas;
+        String cursorSiguiente = hayMas ? codificar(id.applyAsLong(contenido.get(contenido.size() - 1))) : null;
+        return new PaginaDto<>(contenido, limite, cursorSiguiente, hayMas);
+    }
+}
@@ -0,0 +1,112 @@
+package py.edu.uc.jpasseratplp32025.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lector CSV incremental: lee una fila por vez (separador ',', comillas dobles con "" como escape).
+ * La primera fila es el encabezado y da los nombres de las columnas de cada fila devuelta.
+ */
+public class LectorCsv implements Closeable {
+
+    private final BufferedReader reader;
+    private final List<String> encabezado;
+    private long numeroLinea;
+
+    public LectorCsv(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<String> columnas = leerCampos();
+        if (columnas == null) {
+            throw new IllegalArgumentException("El CSV está vacío: se esperaba una fila de encabezado.");
+        }
+        this.encabezado = columnas.stream().map(String::trim).toList();
+    }
+
+    public List<String> getEncabezado() {
+        return encabezado;
+    }
+
+    /**
+     * @return La siguiente fila como columna → valor (las celdas vacías se omiten), o null al final del archivo.
+     * @throws IllegalArgumentException Si la fila no tiene la misma cantidad de columnas que el encabezado.
+     */
+    public Map<String, String> siguienteFila() throws IOException {
+        List<String> campos;
+        do {
+            campos = leerCampos();
+            if (campos == null) {
+                return null;
+            }
+        } while (campos.size() == 1 && campos.get(0).isBlank()); // Se ignoran las líneas en blanco
+
+        if (campos.size() != encabezado.size()) {
+            throw new IllegalArgumentException("Línea " + numeroLinea + ": se esperaban " + encabezado.size()
+                    + " columnas y se encontraron " + campos.size() + ".");
+        }
+        Map<String, String> fila = new LinkedHashMap<>();
+        for (int i = 0; i < campos.size(); i++) {
+            String valor = campos.get(i).trim();
+            if (!valor.isEmpty()) {
+                fila.put(encabezado.get(i), valor);
+            }
+        }
+        return fila;
+    }
+
+    // Lee un registro lógico (un campo entre comillas puede abarcar varias líneas)
+    private List<String> leerCampos() throws IOException {
+        String linea = reader.readLine();
+        if (linea == null) {
+            return null;
+        }
+        numeroLinea++;
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        while (true) {
+            for (int i = 0; i < linea.length(); i++) {
+                char c = linea.charAt(i);
+                if (entreComillas) {
+                    if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        entreComillas = false;
+                    } else {
+                        actual.append(c);
+                    }
+                } else if (c == '"') {
+                    entreComillas = true;
+                } else if (c == ',') {
+                    campos.add(actual.toString());
+                    actual.setLength(0);
+                } else {
+                    actual.append(c);
+                }
+            }
+            if (!entreComillas) {
+                break;
+            }
+            linea = reader.readLine();
+            if (linea == null) {
+                throw new IllegalArgumentException("Línea " + numeroLinea + ": comillas sin cerrar al final del archivo.");
+            }
+            numeroLinea++;
+            actual.append('\n');
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,176 @@
+package py.edu.uc.jpasseratplp32025.util;
+
+import py.edu.uc.jpasseratplp32025.entity.Contratista;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoPorHora;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.entity.Gerente;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+import py.edu.uc.jpasseratplp32025.model.CalculoNomina;
+
+import java.math.BigDecimal;
+
+/**
+ * Cálculo de nómina en aritmética de punto fijo: montos en centavos (long, 2 decimales).
+ * Reproduce exactamente las reglas de cada entidad (calcularSalario, calcularDeducciones y
+ * PersonaJpa#calcularImpuestos), incluido el redondeo HALF_UP a 2 decimales, sin crear BigDecimal
+ * por empleado. Pensado para procesos masivos de nómina; la equivalencia con el cálculo en BigDecimal
+ * se verifica en NominaCentavosTest.
+ *
+ * Si un dato de entrada no es representable en centavos (más de 2 decimales o desborde de long)
+ * se usa el cálculo en BigDecimal de la entidad, por lo que el resultado es siempre idéntico.
+ */
+public final class NominaCentavos {
+
+    // Reglas replicadas de las entidades (tasas como numerador / 100)
+    private static final long SALARIO_EMPLEADO = 500_000_000L; // 5.000.000,00
+    private static final long DEDUCCION_EMPLEADO = 15;
+    private static final long SALARIO_GERENTE = 750_000_000L; // 5.000.000,00 * 1,5
+    private static final long DEDUCCION_GERENTE = 20;
+    private static final long SALARIO_TIEMPO_COMPLETO = 91; // salario mensual - 9%
+    private static final long DEDUCCION_TIEMPO_COMPLETO = 5;
+    private static final int HORAS_NORMALES = 40;
+    private static final long DEDUCCION_POR_HORA = 2;
+    private static final long TASA_IMPUESTO_BASE = 10;
+
+    private NominaCentavos() {
+    }
+
+    /**
+     * Salario, deducciones e impuestos de una persona, en centavos.
+     */
+    public static final class Resultado {
+        private final long salario;
+        private final long deducciones;
+        private final long impuestos;
+
+        public Resultado(long salario, long deducciones, long impuestos) {
+            this.salario = salario;
+            this.deducciones = deducciones;
+            this.impuestos = impuestos;
+        }
+
+        public long getSalario() { return salario; }
+        public long getDeducciones() { return deducciones; }
+        public long getImpuestos() { return impuestos; }
+    }
+
+    // ========================================================================
+    // Cálculo por tipo de persona
+    // ========================================================================
+
+    /**
+     * Calcula la nómina de una persona en centavos.
+     */
+    public static Resultado calcular(PersonaJpa persona) {
+        try {
+            // Gerente antes que Empleado: es subclase
+            if (persona instanceof Gerente) {
+                return conImpuestos(SALARIO_GERENTE, porcentaje(SALARIO_GERENTE, DEDUCCION_GERENTE));
+            }
+            if (persona instanceof EmpleadoTiempoCompleto etc) {
+                return calcularTiempoCompleto(etc);
+            }
+            if (persona instanceof EmpleadoPorHora eph) {
+                return calcularPorHora(eph);
+            }
+            if (persona instanceof Contratista contratista) {
+                return calcularContratista(contratista);
+            }
+            if (persona.getClass() == Empleado.class) {
+                return conImpuestos(SALARIO_EMPLEADO, porcentaje(SALARIO_EMPLEADO, DEDUCCION_EMPLEADO));
+            }
+        } catch (ArithmeticException e) {
+            // Dato con más de 2 decimales o fuera de rango: se usa el cálculo exacto en BigDecimal
+        }
+        return desdeBigDecimal(persona.obtenerCalculoNomina());
+    }
+
+    private static Resultado calcularTiempoCompleto(EmpleadoTiempoCompleto empleado) {
+        BigDecimal mensual = empleado.getSalarioMensual();
+        if (mensual == null) {
+            return conImpuestos(0, 0);
+        }
+        long centavos = aCentavos(mensual);
+        long salario = porcentaje(centavos, SALARIO_TIEMPO_COMPLETO);
+        long deducciones = centavos > 0 ? porcentaje(centavos, DEDUCCION_TIEMPO_COMPLETO) : 0;
+        return conImpuestos(salario, deducciones);
+    }
+
+    private static Resultado calcularPorHora(EmpleadoPorHora empleado) {
+        Integer horas = empleado.getHorasTrabajadas();
+        BigDecimal tarifa = empleado.getTarifaPorHora();
+        if (horas == null || horas <= 0 || tarifa == null) {
+            return conImpuestos(0, 0);
+        }
+        long tarifaCentavos = aCentavos(tarifa);
+        // En medios centavos: las horas extra se pagan a 1,5 veces la tarifa
+        long mediosCentavos = Math.multiplyExact(Math.multiplyExact(tarifaCentavos, 2), Math.min(horas, HORAS_NORMALES));
+        if (horas > HORAS_NORMALES) {
+            mediosCentavos = Math.addExact(mediosCentavos,
+                    Math.multiplyExact(Math.multiplyExact(tarifaCentavos, 3), horas - HORAS_NORMALES));
+        }
+        long salario = dividirHalfUp(mediosCentavos, 2);
+        return conImpuestos(salario, porcentaje(salario, DEDUCCION_POR_HORA));
+    }
+
+    private static Resultado calcularContratista(Contratista contratista) {
+        Integer proyectos = contratista.getProyectosCompletados();
+        BigDecimal monto = contratista.getMontoPorProyecto();
+        if (proyectos == null || monto == null) {
+            return conImpuestos(0, 0);
+        }
+        return conImpuestos(Math.multiplyExact(aCentavos(monto), proyectos), 0);
+    }
+
+    // Misma fórmula que PersonaJpa#calcularImpuestos: max(salario - deducciones, 0) - 10% del salario
+    private static Resultado conImpuestos(long salario, long deducciones) {
+        long imponible = Math.max(Math.subtractExact(salario, deducciones), 0);
+        long impuestos = Math.subtractExact(imponible, porcentaje(salario, TASA_IMPUESTO_BASE));
+        return new Resultado(salario, deducciones, impuestos);
+    }
+
+    private static Resultado desdeBigDecimal(CalculoNomina calculo) {
+        return new Resultado(aCentavos(calculo.getSalario()), aCentavos(calculo.getDeducciones()), aCentavos(calculo.getImpuestos()));
+    }
+
+    // ========================================================================
+    // Aritmética de punto fijo
+    // ========================================================================
+
+    /**
+     * Convierte un monto a centavos sin redondear.
+     * @throws ArithmeticException Si el monto tiene más de 2 decimales significativos o no cabe en un long.
+     */
+    public static long aCentavos(BigDecimal monto) {
+        return monto.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Convierte centavos a BigDecimal con escala 2 (igual a setScale(2) en el cálculo con BigDecimal).
+     */
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Aplica un porcentaje entero y redondea HALF_UP a centavos: equivale a
+     * {@code monto.multiply(new BigDecimal("0.PP")).setScale(2, RoundingMode.HALF_UP)}.
+     */
+    public static long porcentaje(long centavos, long porcentaje) {
+        return dividirHalfUp(Math.multiplyExact(centavos, porcentaje), 100);
+    }
+
+    /**
+     * División entera con redondeo HALF_UP (la mitad se aleja del cero, como RoundingMode.HALF_UP).
+     * @param divisor Debe ser positivo.
+     */
+    public static long dividirHalfUp(long dividendo, long divisor) {
+        long cociente = dividendo / divisor;
+        long resto = dividendo % divisor;
+        if (Math.abs(resto) * 2 >= divisor) {
+            cociente += Long.signum(dividendo);
+        }
+        return cociente;
+    }
+}
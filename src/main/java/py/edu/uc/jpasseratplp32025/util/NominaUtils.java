@@ -1,13 +1,21 @@
 package py.edu.uc.jpasseratplp32025.util;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
 import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.entity.Gerente;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +28,23 @@ public class NominaUtils {
     private static final Logger log = LoggerFactory.getLogger(NominaUtils.class);
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    /**
+     * Departamento de una persona para los agrupamientos de nómina: el departamento del empleado
+     * de tiempo completo o el departamento a cargo del gerente.
+     *
+     * @param persona La persona
+     * @return El departamento, o null si el tipo de persona no tiene departamento
+     */
+    public static String departamentoDe(PersonaJpa persona) {
+        if (persona instanceof EmpleadoTiempoCompleto etc) {
+            return etc.getDepartamento();
+        }
+        if (persona instanceof Gerente gerente) {
+            return gerente.getDepartamentoACargo();
+        }
+        return null;
+    }
+
     /**
      * Calcula el total de días de vacaciones disponibles para todos los empleados.
      * * @param personas Lista de todas las personas
@@ -64,6 +89,7 @@ public class NominaUtils {
 
     /**
      * Genera un reporte JSON con empleados que tienen más de X días DISPONIBLES.
+     * Para listas grandes usar la versión en streaming (RemuneracionesService#escribirReporteDias).
      *
      * @param personas Lista de todas las personas
      * @param umbral Número mínimo de días para incluir en el reporte
@@ -71,38 +97,12 @@ public class NominaUtils {
      */
     public static String generarReporteJsonPorDiasDisponibles(List<? extends PersonaJpa> personas, int umbral) {
         log.info("Generando reporte de empleados con más de {} días disponibles", umbral);
-        
-        ArrayNode arrayNode = MAPPER.createArrayNode();
-
-        List<Empleado> empleadosFiltrados = personas.stream()
-                .filter(p -> p instanceof Empleado)
-                .map(p -> (Empleado) p)
-                .filter(emp -> emp.consultarDiasVacacionesDisponibles(emp.getNumeroDeCedula()) > umbral)
-                .collect(Collectors.toList());
-
-        log.debug("Empleados encontrados con más de {} días disponibles: {}", umbral, empleadosFiltrados.size());
-
-        for (Empleado empleado : empleadosFiltrados) {
-            ObjectNode empleadoNode = MAPPER.createObjectNode();
-            int diasDisponibles = empleado.consultarDiasVacacionesDisponibles(empleado.getNumeroDeCedula());
-
-            empleadoNode.put("id", empleado.getId());
-            empleadoNode.put("nombre", empleado.getNombre());
-            empleadoNode.put("apellido", empleado.getApellido());
-            empleadoNode.put("numeroDeCedula", empleado.getNumeroDeCedula());
-            empleadoNode.put("diasVacacionesDisponibles", diasDisponibles);
-            empleadoNode.put("tipoEmpleado", empleado.getClass().getSimpleName());
-            empleadoNode.put("informacionCompleta", empleado.obtenerInformacionCompleta());
-
-            arrayNode.add(empleadoNode);
-        }
-
-        log.info("Reporte de Días Disponibles generado con {} empleados", arrayNode.size());
-        return arrayNode.toPrettyString();
+        return generarReporteJsonPorDias(personas, umbral, false);
     }
-    
+
     /**
      * Genera un reporte JSON con empleados que han SOLICITADO más de X días.
+     * Para listas grandes usar la versión en streaming (RemuneracionesService#escribirReporteDias).
      *
      * @param personas Lista de todas las personas
      * @param umbral Número mínimo de días solicitados para incluir en el reporte
@@ -110,37 +110,104 @@ public class NominaUtils {
      */
     public static String generarReporteJsonPorDiasSolicitados(List<? extends PersonaJpa> personas, int umbral) {
         log.info("Generando reporte de empleados con más de {} días solicitados", umbral);
-        
-        ArrayNode arrayNode = MAPPER.createArrayNode();
+        return generarReporteJsonPorDias(personas, umbral, true);
+    }
 
-        List<Empleado> empleadosFiltrados = personas.stream()
-                .filter(p -> p instanceof Empleado)
-                .map(p -> (Empleado) p)
-                // Asume la existencia de consultarDiasVacacionesSolicitados()
-                .filter(emp -> emp.consultarDiasVacacionesSolicitados() > umbral) 
-                .collect(Collectors.toList());
+    private static String generarReporteJsonPorDias(List<? extends PersonaJpa> personas, int umbral, boolean solicitados) {
+        StringWriter destino = new StringWriter();
+        int incluidos = 0;
+        try (JsonGenerator generador = crearGenerador(destino)) {
+            generador.writeStartArray();
+            for (PersonaJpa persona : personas) {
+                if (escribirEmpleadoPorDias(generador, persona, umbral, solicitados)) {
+                    incluidos++;
+                }
+            }
+            generador.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo generar el reporte JSON", e);
+        }
+        log.info("Reporte de Días {} generado con {} empleados", solicitados ? "Solicitados" : "Disponibles", incluidos);
+        return destino.toString();
+    }
 
-        log.debug("Empleados encontrados con más de {} días solicitados: {}", umbral, empleadosFiltrados.size());
+    // ========================================================================
+    // Escritura en streaming (JsonGenerator): un empleado a la vez, sin armar el árbol JSON
+    // ========================================================================
 
-        for (Empleado empleado : empleadosFiltrados) {
-            ObjectNode empleadoNode = MAPPER.createObjectNode();
-            int diasSolicitados = empleado.consultarDiasVacacionesSolicitados(); // Días solicitados
+    /**
+     * Crea un generador JSON con formato legible (mismo formato que toPrettyString) sobre el destino.
+     * El generador no cierra el destino al cerrarse.
+     */
+    public static JsonGenerator crearGenerador(OutputStream salida) throws IOException {
+        return prepararGenerador(MAPPER.getFactory().createGenerator(salida, JsonEncoding.UTF8));
+    }
 
-            empleadoNode.put("id", empleado.getId());
-            empleadoNode.put("nombre", empleado.getNombre());
-            empleadoNode.put("apellido", empleado.getApellido());
-            empleadoNode.put("numeroDeCedula", empleado.getNumeroDeCedula());
-            empleadoNode.put("diasVacacionesSolicitados", diasSolicitados);
-            empleadoNode.put("tipoEmpleado", empleado.getClass().getSimpleName());
-            empleadoNode.put("informacionCompleta", empleado.obtenerInformacionCompleta());
+    private static JsonGenerator crearGenerador(Writer salida) throws IOException {
+        return prepararGenerador(MAPPER.getFactory().createGenerator(salida));
+    }
+
+    private static JsonGenerator prepararGenerador(JsonGenerator generador) {
+        generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generador.useDefaultPrettyPrinter();
+        return generador;
+    }
 
-            arrayNode.add(empleadoNode);
+    /**
+     * Escribe un elemento del reporte por días si la persona es un Empleado y supera el umbral
+     * (días disponibles o solicitados, según el reporte).
+     *
+     * @return true si se escribió el elemento
+     */
+    public static boolean escribirEmpleadoPorDias(JsonGenerator generador, PersonaJpa persona, int umbral,
+                                                  boolean solicitados) throws IOException {
+        if (!(persona instanceof Empleado empleado)) {
+            return false;
+        }
+        int dias = solicitados
+                ? empleado.consultarDiasVacacionesSolicitados()
+                : empleado.consultarDiasVacacionesDisponibles(empleado.getNumeroDeCedula());
+        if (dias <= umbral) {
+            return false;
         }
+        generador.writeStartObject();
+        escribirIdentificacion(generador, empleado);
+        generador.writeNumberField(solicitados ? "diasVacacionesSolicitados" : "diasVacacionesDisponibles", dias);
+        generador.writeStringField("tipoEmpleado", empleado.getClass().getSimpleName());
+        generador.writeStringField("informacionCompleta", empleado.obtenerInformacionCompleta());
+        generador.writeEndObject();
+        return true;
+    }
 
-        log.info("Reporte de Días Solicitados generado con {} empleados", arrayNode.size());
-        return arrayNode.toPrettyString();
+    /**
+     * Escribe el elemento del reporte completo para un Empleado (las demás personas se omiten).
+     *
+     * @return true si se escribió el elemento
+     */
+    public static boolean escribirEmpleadoCompleto(JsonGenerator generador, PersonaJpa persona) throws IOException {
+        if (!(persona instanceof Empleado empleado)) {
+            return false;
+        }
+        generador.writeStartObject();
+        escribirIdentificacion(generador, empleado);
+        generador.writeStringField("tipoEmpleado", empleado.getClass().getSimpleName());
+        generador.writeNumberField("diasVacacionesDisponibles", empleado.consultarDiasVacacionesDisponibles(empleado.getNumeroDeCedula()));
+        generador.writeNumberField("diasVacacionesSolicitados", empleado.consultarDiasVacacionesSolicitados());
+        generador.writeStringField("informacionCompleta", empleado.obtenerInformacionCompleta());
+        generador.writeEndObject();
+        return true;
     }
 
+    private static void escribirIdentificacion(JsonGenerator generador, Empleado empleado) throws IOException {
+        if (empleado.getId() != null) {
+            generador.writeNumberField("id", empleado.getId());
+        } else {
+            generador.writeNullField("id");
+        }
+        generador.writeStringField("nombre", empleado.getNombre());
+        generador.writeStringField("apellido", empleado.getApellido());
+        generador.writeStringField("numeroDeCedula", empleado.getNumeroDeCedula());
+    }
 
     /**
      * Calcula estadísticas de vacaciones para todos los empleados (días DISPONIBLES).
@@ -151,27 +218,17 @@ public class NominaUtils {
      */
     public static String generarEstadisticasVacaciones(List<? extends PersonaJpa> personas) {
         log.info("Generando estadísticas de vacaciones (Días Disponibles)");
-        
-        ObjectNode estadisticas = MAPPER.createObjectNode();
 
         List<Empleado> empleados = personas.stream()
                 .filter(p -> p instanceof Empleado)
                 .map(p -> (Empleado) p)
                 .collect(Collectors.toList());
 
-        if (empleados.isEmpty()) {
-            log.warn("No hay empleados para generar estadísticas");
-            estadisticas.put("mensaje", "No hay empleados registrados");
-            return estadisticas.toPrettyString();
-        }
-
         int totalEmpleados = empleados.size();
         int totalDias = empleados.stream()
                 .mapToInt(e -> e.consultarDiasVacacionesDisponibles(e.getNumeroDeCedula()))
                 .sum();
 
-        double promedioDias = (double) totalDias / totalEmpleados;
-
         int maxDias = empleados.stream()
                 .mapToInt(e -> e.consultarDiasVacacionesDisponibles(e.getNumeroDeCedula()))
                 .max()
@@ -182,6 +239,30 @@ public class NominaUtils {
                 .min()
                 .orElse(0);
 
+        return generarEstadisticasVacaciones(totalEmpleados, totalDias, maxDias, minDias);
+    }
+
+    /**
+     * Arma el JSON de estadísticas de vacaciones a partir de totales ya calculados
+     * (ej. desde el snapshot en memoria de nómina), con el mismo formato que la versión por lista.
+     *
+     * @param totalEmpleados Cantidad de empleados
+     * @param totalDias Suma de días disponibles
+     * @param maxDias Máximo de días disponibles
+     * @param minDias Mínimo de días disponibles
+     * @return JSON con estadísticas
+     */
+    public static String generarEstadisticasVacaciones(int totalEmpleados, long totalDias, int maxDias, int minDias) {
+        ObjectNode estadisticas = MAPPER.createObjectNode();
+
+        if (totalEmpleados == 0) {
+            log.warn("No hay empleados para generar estadísticas");
+            estadisticas.put("mensaje", "No hay empleados registrados");
+            return estadisticas.toPrettyString();
+        }
+
+        double promedioDias = (double) totalDias / totalEmpleados;
+
         estadisticas.put("totalEmpleados", totalEmpleados);
         estadisticas.put("totalDiasDisponibles", totalDias);
         estadisticas.put("promedioDiasDisponibles", Math.round(promedioDias * 100.0) / 100.0);
@@ -197,48 +278,49 @@ public class NominaUtils {
     /**
      * Genera un reporte completo de nómina con información detallada de cada empleado.
      * Incluye todos los empleados y sus días de vacaciones disponibles y solicitados.
+     * Para listas grandes usar la versión en streaming (RemuneracionesService#escribirReporteCompleto).
      *
      * @param personas Lista de todas las personas
      * @return JSON con reporte completo
      */
     public static String generarReporteCompleto(List<? extends PersonaJpa> personas) {
         log.info("Generando reporte completo de nómina");
-        
-        ObjectNode reporteCompleto = MAPPER.createObjectNode();
-        ArrayNode empleadosArray = MAPPER.createArrayNode();
 
-        List<Empleado> empleados = personas.stream()
-                .filter(p -> p instanceof Empleado)
-                .map(p -> (Empleado) p)
-                .collect(Collectors.toList());
-
-        for (Empleado empleado : empleados) {
-            ObjectNode empleadoNode = MAPPER.createObjectNode();
-            int diasDisponibles = empleado.consultarDiasVacacionesDisponibles(empleado.getNumeroDeCedula());
-            int diasSolicitados = empleado.consultarDiasVacacionesSolicitados(); // Nuevo campo
-
-            empleadoNode.put("id", empleado.getId());
-            empleadoNode.put("nombre", empleado.getNombre());
-            empleadoNode.put("apellido", empleado.getApellido());
-            empleadoNode.put("numeroDeCedula", empleado.getNumeroDeCedula());
-            empleadoNode.put("tipoEmpleado", empleado.getClass().getSimpleName());
-            empleadoNode.put("diasVacacionesDisponibles", diasDisponibles);
-            empleadoNode.put("diasVacacionesSolicitados", diasSolicitados); // Se añade el campo solicitado
-            empleadoNode.put("informacionCompleta", empleado.obtenerInformacionCompleta());
-
-            empleadosArray.add(empleadoNode);
+        StringWriter destino = new StringWriter();
+        int totalEmpleados = 0;
+        long totalDiasDisponibles = 0;
+        long totalDiasSolicitados = 0;
+        try (JsonGenerator generador = crearGenerador(destino)) {
+            generador.writeStartObject();
+            generador.writeStringField("fechaGeneracion", java.time.LocalDateTime.now().toString());
+            generador.writeArrayFieldStart("empleados");
+            for (PersonaJpa persona : personas) {
+                if (escribirEmpleadoCompleto(generador, persona)) {
+                    Empleado empleado = (Empleado) persona;
+                    totalEmpleados++;
+                    totalDiasDisponibles += empleado.consultarDiasVacacionesDisponibles(empleado.getNumeroDeCedula());
+                    totalDiasSolicitados += empleado.consultarDiasVacacionesSolicitados();
+                }
+            }
+            generador.writeEndArray();
+            escribirTotalesReporteCompleto(generador, totalEmpleados, totalDiasDisponibles, totalDiasSolicitados);
+            generador.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo generar el reporte JSON", e);
         }
 
-        int totalDiasDisponibles = NominaUtils.totalDiasVacacionesDisponibles(personas);
-        int totalDiasSolicitados = NominaUtils.totalDiasVacacionesSolicitados(personas);
-
-        reporteCompleto.put("fechaGeneracion", java.time.LocalDateTime.now().toString());
-        reporteCompleto.put("totalEmpleados", empleados.size());
-        reporteCompleto.put("totalDiasDisponibles", totalDiasDisponibles);
-        reporteCompleto.put("totalDiasSolicitados", totalDiasSolicitados); // Se añade el total solicitado
-        reporteCompleto.set("empleados", empleadosArray);
+        log.info("Reporte completo generado con {} empleados", totalEmpleados);
+        return destino.toString();
+    }
 
-        log.info("Reporte completo generado con {} empleados", empleados.size());
-        return reporteCompleto.toPrettyString();
+    /**
+     * Totales del reporte completo. Se escriben después del arreglo de empleados porque se
+     * acumulan mientras se recorre (el orden de los campos no cambia el contenido del JSON).
+     */
+    public static void escribirTotalesReporteCompleto(JsonGenerator generador, int totalEmpleados,
+                                                      long totalDiasDisponibles, long totalDiasSolicitados) throws IOException {
+        generador.writeNumberField("totalEmpleados", totalEmpleados);
+        generador.writeNumberField("totalDiasDisponibles", totalDiasDisponibles);
+        generador.writeNumberField("totalDiasSolicitados", totalDiasSolicitados);
     }
 }
\ No newline at end of file
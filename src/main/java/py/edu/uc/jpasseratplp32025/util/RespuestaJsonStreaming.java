@@ -0,0 +1,56 @@
+package py.edu.uc.jpasseratplp32025.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Arma respuestas JSON escritas en streaming sobre el OutputStream de la respuesta, comprimidas
+ * con gzip cuando el cliente lo acepta (Accept-Encoding). El gzip usa sync flush para que cada
+ * flush del generador llegue al cliente sin esperar al final del reporte.
+ */
+public final class RespuestaJsonStreaming {
+
+    // Tamaño del buffer del compresor
+    private static final int BUFFER_GZIP = 8192;
+
+    private RespuestaJsonStreaming() {
+    }
+
+    @FunctionalInterface
+    public interface EscritorJson {
+        void escribir(OutputStream salida) throws IOException;
+    }
+
+    /**
+     * @param aceptaCodificacion Valor del encabezado Accept-Encoding (puede ser null).
+     * @param escritor Escribe el JSON sobre la salida (sin cerrarla).
+     */
+    public static ResponseEntity<StreamingResponseBody> json(String aceptaCodificacion, EscritorJson escritor) {
+        boolean gzip = aceptaCodificacion != null && aceptaCodificacion.toLowerCase().contains("gzip");
+
+        StreamingResponseBody cuerpo = salida -> {
+            if (gzip) {
+                GZIPOutputStream comprimida = new GZIPOutputStream(salida, BUFFER_GZIP, true);
+                escritor.escribir(comprimida);
+                comprimida.finish();
+            } else {
+                escritor.escribir(salida);
+            }
+            salida.flush();
+        };
+
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return respuesta.body(cuerpo);
+    }
+}
@@ -0,0 +1,202 @@
+package py.edu.uc.jpasseratplp32025.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Rueda temporal jerárquica (hierarchical timing wheel) de vencimientos identificados por una clave.
+ *
+ * El tiempo avanza en ticks enteros (por ejemplo días desde la época). Hay NIVELES ruedas de 64 ranuras:
+ * una ranura del nivel k abarca 64^k ticks, de modo que el nivel 0 cubre los próximos 64 ticks, el nivel 1
+ * los próximos 4.096, el 2 unos 262.000 y el 3 unos 16,7 millones. Cada vencimiento se ubica en el nivel
+ * más bajo que alcanza su distancia; cuando el tiempo entra en el período de una ranura de nivel superior,
+ * sus entradas se reubican en los niveles inferiores (cascada).
+ *
+ * Programar, cancelar y avanzar un tick cuestan O(1) (más las entradas que vencen o bajan de nivel), y
+ * la consulta de lo que vence en una ventana solo recorre las ranuras que la cubren.
+ * No es thread-safe: el que la usa debe sincronizar el acceso.
+ *
+ * @param <T> Dato asociado a cada vencimiento.
+ */
+public final class RuedaTemporal<T> {
+
+    private static final int BITS = 6;
+    private static final int RANURAS = 1 << BITS; // 64
+    private static final int MASCARA = RANURAS - 1;
+    private static final int NIVELES = 4;
+
+    /**
+     * Vencimiento programado.
+     */
+    public static final class Entrada<T> {
+        private final long clave;
+        private final long tick;
+        private final T valor;
+        private int ranura; // nivel * RANURAS + índice dentro del nivel
+
+        private Entrada(long clave, long tick, T valor) {
+            this.clave = clave;
+            this.tick = tick;
+            this.valor = valor;
+        }
+
+        public long getClave() { return clave; }
+        public long getTick() { return tick; }
+        public T getValor() { return valor; }
+    }
+
+    private final List<Set<Entrada<T>>> ranuras = new ArrayList<>(NIVELES * RANURAS);
+    private final Map<Long, Entrada<T>> porClave = new HashMap<>();
+    private long ahora;
+
+    /**
+     * @param ahora Tick actual: solo se programan vencimientos posteriores.
+     */
+    public RuedaTemporal(long ahora) {
+        this.ahora = ahora;
+        for (int i = 0; i < NIVELES * RANURAS; i++) {
+            ranuras.add(null); // Se crean al primer uso
+        }
+    }
+
+    public long getAhora() {
+        return ahora;
+    }
+
+    public int tamanio() {
+        return porClave.size();
+    }
+
+    public Entrada<T> obtener(long clave) {
+        return porClave.get(clave);
+    }
+
+    /**
+     * Programa (o reprograma) el vencimiento de una clave.
+     *
+     * @return false si el tick no es posterior al actual: la clave queda sin vencimiento programado.
+     */
+    public boolean programar(long clave, long tick, T valor) {
+        cancelar(clave);
+        if (tick <= ahora) {
+            return false;
+        }
+        Entrada<T> entrada = new Entrada<>(clave, tick, valor);
+        porClave.put(clave, entrada);
+        ubicar(entrada);
+        return true;
+    }
+
+    /**
+     * @return true si la clave tenía un vencimiento programado.
+     */
+    public boolean cancelar(long clave) {
+        Entrada<T> entrada = porClave.remove(clave);
+        if (entrada == null) {
+            return false;
+        }
+        Set<Entrada<T>> ranura = ranuras.get(entrada.ranura);
+        if (ranura != null) {
+            ranura.remove(entrada);
+        }
+        return true;
+    }
+
+    /**
+     * Avanza tick a tick hasta el indicado, entregando cada vencimiento al llegar su tick.
+     * Las entradas se entregan ya quitadas de la rueda.
+     */
+    public void avanzar(long hasta, Consumer<Entrada<T>> alVencer) {
+        while (ahora < hasta) {
+            ahora++;
+            // Al entrar en una nueva ranura de nivel k, sus entradas bajan a niveles inferiores
+            for (int nivel = 1; nivel < NIVELES; nivel++) {
+                if ((ahora & ((1L << (BITS * nivel)) - 1)) != 0) {
+                    break;
+                }
+                for (Entrada<T> entrada : vaciar(nivel * RANURAS + indice(ahora, nivel))) {
+                    ubicar(entrada);
+                }
+            }
+            for (Entrada<T> entrada : vaciar(indice(ahora, 0))) {
+                if (entrada.tick <= ahora) {
+                    porClave.remove(entrada.clave);
+                    alVencer.accept(entrada);
+                } else {
+                    ubicar(entrada); // Protección: no debería ocurrir en el nivel 0
+                }
+            }
+        }
+    }
+
+    /**
+     * Vencimientos programados en (ahora, hasta], ordenados por tick y clave.
+     * Recorre por nivel solo las ranuras cuyo período se superpone con la ventana.
+     */
+    public List<Entrada<T>> programadasHasta(long hasta) {
+        List<Entrada<T>> resultado = new ArrayList<>();
+        if (hasta <= ahora) {
+            return resultado;
+        }
+        for (int nivel = 0; nivel < NIVELES; nivel++) {
+            long primero = ahora >>> (BITS * nivel);
+            long ultimo = Math.min(hasta >>> (BITS * nivel), primero + MASCARA);
+            for (long periodo = primero; periodo <= ultimo; periodo++) {
+                Set<Entrada<T>> ranura = ranuras.get(nivel * RANURAS + (int) (periodo & MASCARA));
+                if (ranura == null) {
+                    continue;
+                }
+                for (Entrada<T> entrada : ranura) {
+                    if (entrada.tick <= hasta) {
+                        resultado.add(entrada);
+                    }
+                }
+            }
+        }
+        resultado.sort(Comparator.<Entrada<T>>comparingLong(Entrada::getTick).thenComparingLong(Entrada::getClave));
+        return resultado;
+    }
+
+    public void limpiar() {
+        porClave.clear();
+        for (int i = 0; i < ranuras.size(); i++) {
+            ranuras.set(i, null);
+        }
+    }
+
+    // El nivel es el más bajo cuyo alcance (64^(k+1) ticks) cubre la distancia al vencimiento;
+    // las distancias mayores al alcance del último nivel quedan en él y se reubican en cada vuelta
+    private void ubicar(Entrada<T> entrada) {
+        long distancia = entrada.tick - ahora;
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && distancia >= (1L << (BITS * (nivel + 1)))) {
+            nivel++;
+        }
+        entrada.ranura = nivel * RANURAS + indice(entrada.tick, nivel);
+        Set<Entrada<T>> ranura = ranuras.get(entrada.ranura);
+        if (ranura == null) {
+            ranura = new LinkedHashSet<>();
+            ranuras.set(entrada.ranura, ranura);
+        }
+        ranura.add(entrada);
+    }
+
+    private Set<Entrada<T>> vaciar(int posicion) {
+        Set<Entrada<T>> ranura = ranuras.get(posicion);
+        if (ranura == null) {
+            return Set.of();
+        }
+        ranuras.set(posicion, null);
+        return ranura;
+    }
+
+    private static int indice(long tick, int nivel) {
+        return (int) ((tick >>> (BITS * nivel)) & MASCARA);
+    }
+}
@@ -0,0 +1,22 @@
+-- Índices secundarios de la tabla única personas (jerarquía SINGLE_TABLE).
+-- Las consultas de cada subclase filtran por tipo_persona, por lo que los índices compuestos
+-- empiezan por el discriminador cuando la otra columna se usa en rangos.
+
+-- Reemplazados por los índices compuestos con tipo_persona
+DROP INDEX IF EXISTS idx_personas_departamento;
+DROP INDEX IF EXISTS idx_personas_departamento_a_cargo;
+
+-- Contratos vigentes por tipo: tipo_persona = ? AND fecha_fin_contrato > ?
+CREATE INDEX IF NOT EXISTS idx_personas_tipo_fecha_fin ON personas (tipo_persona, fecha_fin_contrato);
+
+-- Paginación por cursor de cada subclase: tipo_persona = ? AND id > ? ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_personas_tipo_id ON personas (tipo_persona, id);
+
+-- Empleados por hora: tipo_persona = 'HORA' AND horas_trabajadas > ?
+CREATE INDEX IF NOT EXISTS idx_personas_tipo_horas ON personas (tipo_persona, horas_trabajadas);
+
+-- Empleados de tiempo completo por departamento y gerentes por departamento a cargo (igualdad).
+-- Gerente#departamentoACargo se mapea a la columna departamentoacargo (sin guiones bajos entre letras mayúsculas
+-- consecutivas, según CamelCaseToUnderscoresNamingStrategy)
+CREATE INDEX IF NOT EXISTS idx_personas_departamento_tipo ON personas (departamento, tipo_persona);
+CREATE INDEX IF NOT EXISTS idx_personas_departamento_a_cargo_tipo ON personas (departamentoacargo, tipo_persona);
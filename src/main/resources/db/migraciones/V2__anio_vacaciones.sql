@@ -0,0 +1,4 @@
+-- Columna de control del cierre anual de vacaciones (CierreVacacionesService): último año aplicado a la fila.
+-- No se mapea en la entidad, así los PUT (que reemplazan la entidad) no la pisan; por eso Hibernate
+-- (ddl-auto=update) no la crea y se agrega aquí.
+ALTER TABLE personas ADD COLUMN IF NOT EXISTS anio_vacaciones INT DEFAULT 0 NOT NULL;
@@ -0,0 +1,62 @@
+package py.edu.uc.jpasseratplp32025.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que el inicializador de personas_seq no consuma valores de la secuencia en cada arranque
+ * y que la adelante cuando está por detrás de los IDs existentes (bases creadas con IDENTITY).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:secuencia-personas;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.region_prefix=secuencia-personas"})
+class SecuenciaPersonasInicializadorTest {
+
+    private static final long ID_EXISTENTE = 10_000;
+
+    @Autowired
+    private SecuenciaPersonasInicializador inicializador;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void arranquesSucesivosNoAvanzanLaSecuencia() {
+        long antes = siguienteValor();
+        inicializador.run(null);
+        inicializador.run(null);
+        assertEquals(antes, siguienteValor());
+    }
+
+    @Test
+    void adelantaLaSecuenciaPorDetrasDeLosIdsExistentes() {
+        jdbcTemplate.update("""
+                INSERT INTO personas (id, tipo_persona, nombre, apellido, fecha_nacimiento, numero_cedula, version,
+                                      dias_vacaciones_acumulados, dias_vacaciones_solicitados_total)
+                VALUES (?, 'EMP_REGULAR', 'Carla', 'Rojas', DATE '1990-02-02', '8887776', 0, 10, 0)
+                """, ID_EXISTENTE);
+
+        inicializador.run(null);
+        long siguiente = siguienteValor();
+        // Primer ID del próximo bloque del optimizador pooled (allocationSize = 50)
+        assertTrue(siguiente - 50 + 1 > ID_EXISTENTE, "personas_seq quedó en " + siguiente);
+
+        // Ya alineada: un nuevo arranque no la toca
+        inicializador.run(null);
+        assertEquals(siguiente, siguienteValor());
+
+        // BASE_VALUE es exactamente lo que devuelve el próximo NEXT VALUE FOR
+        assertEquals(siguiente, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR personas_seq", Long.class));
+    }
+
+    private long siguienteValor() {
+        return jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'PERSONAS_SEQ'", Long.class);
+    }
+}
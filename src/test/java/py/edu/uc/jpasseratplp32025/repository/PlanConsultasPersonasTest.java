@@ -0,0 +1,166 @@
+package py.edu.uc.jpasseratplp32025.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica con EXPLAIN de H2 que ninguna consulta de los repositorios sobre personas recorra la tabla
+ * completa (tableScan) con los índices de las migraciones y 1.000.000 de filas.
+ *
+ * Se ejecuta cada método del repositorio, se captura el SQL generado por Hibernate y se pide su plan
+ * con los mismos parámetros. Quedan fuera, a propósito, las consultas que leen toda la tabla
+ * (streamAllOrderById, resumirNominaPorTipoYDepartamento) y la búsqueda por nombre con LIKE '%...%'.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        // Base nueva en cada ejecución: MigracionesEsquema crea los índices al iniciar, como en producción
+        "spring.datasource.url=jdbc:h2:file:./target/plan-consultas/db-${random.uuid}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "py.edu.uc.jpasseratplp32025.repository.PlanConsultasPersonasTest$CapturaSql",
+        "spring.jpa.properties.hibernate.cache.region_prefix=plan-consultas"
+})
+class PlanConsultasPersonasTest {
+
+    private static final int FILAS_FIXTURE = 1_000_000;
+
+    // Fechas posteriores a todos los contratos del fixture: las consultas de vigencia no devuelven filas
+    private static final LocalDate FECHA_SIN_VIGENTES = LocalDate.of(2040, 1, 1);
+
+    // Tipos en rotación según id % 5; departamentos en id % 200; horas > 0 solo en 1 de cada 1000 filas
+    private static final String SQL_FIXTURE = """
+            INSERT INTO personas (id, tipo_persona, nombre, apellido, fecha_nacimiento, numero_cedula, version,
+                                  departamento, departamentoacargo, fecha_fin_contrato, horas_trabajadas,
+                                  dias_vacaciones_acumulados, dias_vacaciones_solicitados_total)
+            SELECT X,
+                   CASE MOD(X, 5) WHEN 0 THEN 'EMPLEADO' WHEN 1 THEN 'HORA' WHEN 2 THEN 'CONTRATISTA'
+                                  WHEN 3 THEN 'GERENTE' ELSE 'EMP_REGULAR' END,
+                   'Nombre' || X, 'Apellido' || X,
+                   DATEADD(DAY, MOD(X, 10000), DATE '1970-01-01'),
+                   CAST(X AS VARCHAR), 0,
+                   CASE WHEN MOD(X, 5) = 0 THEN 'Departamento ' || MOD(X, 200) END,
+                   CASE WHEN MOD(X, 5) = 3 THEN 'Departamento ' || MOD(X, 200) END,
+                   DATEADD(DAY, MOD(X, 3650), DATE '2020-01-01'),
+                   CASE WHEN MOD(X, 5) = 1 THEN CASE WHEN MOD(X, 1000) = 1 THEN MOD(X / 1000, 80) + 1 ELSE 0 END END,
+                   15, 0
+            FROM SYSTEM_RANGE(1, ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PersonaRepository personaRepository;
+    @Autowired
+    private EmpleadoTiempoCompletoRepository tiempoCompletoRepository;
+    @Autowired
+    private EmpleadoPorHorasRepository porHorasRepository;
+    @Autowired
+    private ContratistaRepository contratistaRepository;
+    @Autowired
+    private GerenteRepository gerenteRepository;
+
+    /**
+     * Guarda el SQL que Hibernate prepara (instanciado por Hibernate a partir del nombre de la clase).
+     */
+    public static class CapturaSql implements StatementInspector {
+        static final List<String> SENTENCIAS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SENTENCIAS.add(sql);
+            return sql;
+        }
+    }
+
+    @Test
+    void ningunaConsultaRecorreLaTablaCompleta() {
+        jdbcTemplate.update(SQL_FIXTURE, FILAS_FIXTURE);
+        jdbcTemplate.execute("ANALYZE");
+
+        List<String> problemas = new ArrayList<>();
+        verificar(problemas, "PersonaRepository.findByNumeroDeCedula",
+                () -> personaRepository.findByNumeroDeCedula("123457"), "123457");
+        verificar(problemas, "PersonaRepository.existsByNumeroDeCedula",
+                () -> personaRepository.existsByNumeroDeCedula("123457"), "123457");
+        verificar(problemas, "PersonaRepository.findCedulasExistentes",
+                () -> personaRepository.findCedulasExistentes(List.of("11", "22", "33")), "11", "22", "33");
+        verificar(problemas, "PersonaRepository.findCedulaById",
+                () -> personaRepository.findCedulaById(123_457L), 123_457L);
+        verificar(problemas, "PersonaRepository.findMinId", () -> personaRepository.findMinId());
+        verificar(problemas, "PersonaRepository.findMaxId", () -> personaRepository.findMaxId());
+        verificar(problemas, "PersonaRepository.findByRangoDeIds",
+                () -> personaRepository.findByRangoDeIds(5_000L, 5_999L), 5_000L, 5_999L);
+        verificar(problemas, "PersonaRepository.findByIdGreaterThanOrderByIdAsc",
+                () -> personaRepository.findByIdGreaterThanOrderByIdAsc(500_000L, Limit.of(20)), 500_000L, 20);
+
+        verificar(problemas, "EmpleadoTiempoCompletoRepository.findByDepartamento",
+                () -> tiempoCompletoRepository.findByDepartamento("Departamento 7"), "Departamento 7");
+        verificar(problemas, "EmpleadoTiempoCompletoRepository.findContratosVigentes",
+                () -> tiempoCompletoRepository.findContratosVigentes(FECHA_SIN_VIGENTES, 0L, Limit.of(51)), FECHA_SIN_VIGENTES, 0L, 51);
+        verificar(problemas, "EmpleadoTiempoCompletoRepository.findByIdGreaterThanOrderByIdAsc",
+                () -> tiempoCompletoRepository.findByIdGreaterThanOrderByIdAsc(500_000L, Limit.of(20)), 500_000L, 20);
+
+        verificar(problemas, "EmpleadoPorHorasRepository.findByHorasTrabajadasGreaterThan",
+                () -> porHorasRepository.findByHorasTrabajadasGreaterThan(60), 60);
+        verificar(problemas, "EmpleadoPorHorasRepository.findVigentes", () -> porHorasRepository.findVigentes());
+        verificar(problemas, "EmpleadoPorHorasRepository.findContratosVigentes",
+                () -> porHorasRepository.findContratosVigentes(FECHA_SIN_VIGENTES, 0L, Limit.of(51)), FECHA_SIN_VIGENTES, 0L, 51);
+        verificar(problemas, "EmpleadoPorHorasRepository.findByIdGreaterThanOrderByIdAsc",
+                () -> porHorasRepository.findByIdGreaterThanOrderByIdAsc(500_000L, Limit.of(20)), 500_000L, 20);
+
+        verificar(problemas, "ContratistaRepository.findContratosVigentes",
+                () -> contratistaRepository.findContratosVigentes(FECHA_SIN_VIGENTES, 0L, Limit.of(51)), FECHA_SIN_VIGENTES, 0L, 51);
+        verificar(problemas, "ContratistaRepository.findByIdGreaterThanOrderByIdAsc",
+                () -> contratistaRepository.findByIdGreaterThanOrderByIdAsc(500_000L, Limit.of(20)), 500_000L, 20);
+
+        verificar(problemas, "GerenteRepository.findByDepartamentoACargo",
+                () -> gerenteRepository.findByDepartamentoACargo("Departamento 8"), "Departamento 8");
+        verificar(problemas, "GerenteRepository.findContratosVigentes",
+                () -> gerenteRepository.findContratosVigentes(FECHA_SIN_VIGENTES, 0L, Limit.of(51)), FECHA_SIN_VIGENTES, 0L, 51);
+        verificar(problemas, "GerenteRepository.findByIdGreaterThanOrderByIdAsc",
+                () -> gerenteRepository.findByIdGreaterThanOrderByIdAsc(500_000L, Limit.of(20)), 500_000L, 20);
+
+        assertTrue(problemas.isEmpty(), "Consultas con recorrido completo de personas:\n" + String.join("\n", problemas));
+    }
+
+    /**
+     * Ejecuta la consulta, toma la última sentencia sobre personas y revisa su plan.
+     * Los argumentos se enlazan en el orden del SQL; los parámetros restantes (límites que agrega
+     * Hibernate) reciben 1.
+     */
+    private void verificar(List<String> problemas, String consulta, Runnable ejecucion, Object... argumentos) {
+        CapturaSql.SENTENCIAS.clear();
+        ejecucion.run();
+        String sql = CapturaSql.SENTENCIAS.stream()
+                .filter(s -> s.toLowerCase().contains("personas"))
+                .reduce((primera, segunda) -> segunda)
+                .orElse(null);
+        if (sql == null) {
+            problemas.add(consulta + ": no generó SQL sobre personas");
+            return;
+        }
+
+        int cantidadParametros = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] parametros = Arrays.copyOf(argumentos, cantidadParametros);
+        for (int i = argumentos.length; i < cantidadParametros; i++) {
+            parametros[i] = 1;
+        }
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parametros));
+        if (plan.contains(".tableScan")) {
+            problemas.add(consulta + ":\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import py.edu.uc.jpasseratplp32025.entity.CierreVacaciones;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.repository.CierreVacacionesRepository;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Ejecuta el cierre anual de vacaciones sobre un esquema recién creado por Hibernate y las migraciones
+ * (anio_vacaciones la agrega V2): suma los días por antigüedad, reinicia el contador anual y, si se
+ * repite para el mismo año, no vuelve a sumar.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cierre-vacaciones;DB_CLOSE_DELAY=-1",
+        "vacaciones.cierre.tamanio-bloque=1",
+        "vacaciones.cierre.tope-saldo=60",
+        "spring.jpa.properties.hibernate.cache.region_prefix=cierre-vacaciones"})
+class CierreVacacionesServiceTest {
+
+    @Autowired
+    private CierreVacacionesService cierreVacacionesService;
+    @Autowired
+    private CierreVacacionesRepository cierreRepository;
+    @Autowired
+    private PersonaRepository personaRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cierreSumaDiasPorAntiguedadUnaSolaVezPorAnio() {
+        int anio = Year.now().getValue();
+        LocalDate corte = LocalDate.of(anio, 1, 1);
+        Long nuevo = guardar("1110001", corte.minusMonths(6), 4, 0);
+        Long tresAnios = guardar("1110002", corte.minusYears(3), 5, 7);
+        Long sieteAnios = guardar("1110003", corte.minusYears(7), 10, 20);
+        Long quinceAnios = guardar("1110004", corte.minusYears(15), 50, 2);
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM esquema_migraciones WHERE version IN (1, 2)", Integer.class));
+
+        CierreVacaciones cierre = cierreVacacionesService.ejecutar(anio);
+        assertEquals(4, cierre.getFilasActualizadas());
+
+        assertSaldo(nuevo, 4, anio);
+        assertSaldo(tresAnios, 5 + 12, anio);
+        assertSaldo(sieteAnios, 10 + 18, anio);
+        // 50 + 30 supera el tope de 60
+        assertSaldo(quinceAnios, 60, anio);
+
+        // El año ya quedó registrado
+        assertThrows(IllegalStateException.class, () -> cierreVacacionesService.ejecutar(anio));
+
+        // Aunque se pierda el registro (cierre interrumpido), anio_vacaciones evita volver a sumar
+        cierreRepository.delete(cierreRepository.findByAnio(anio).orElseThrow());
+        assertEquals(0, cierreVacacionesService.ejecutar(anio).getFilasActualizadas());
+        assertSaldo(tresAnios, 5 + 12, anio);
+    }
+
+    private Long guardar(String cedula, LocalDate fechaIngreso, int saldo, int solicitados) {
+        Empleado empleado = new Empleado("Luis", "Ortiz", LocalDate.of(1980, 3, 3), cedula, fechaIngreso, saldo, null);
+        Long id = personaRepository.save(empleado).getId();
+        jdbcTemplate.update("UPDATE personas SET dias_vacaciones_solicitados_total = ? WHERE id = ?", solicitados, id);
+        return id;
+    }
+
+    private void assertSaldo(Long id, int diasEsperados, int anio) {
+        assertEquals(diasEsperados, jdbcTemplate.queryForObject(
+                "SELECT dias_vacaciones_acumulados FROM personas WHERE id = ?", Integer.class, id), "Saldo de " + id);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT dias_vacaciones_solicitados_total FROM personas WHERE id = ?", Integer.class, id));
+        assertEquals(anio, jdbcTemplate.queryForObject(
+                "SELECT anio_vacaciones FROM personas WHERE id = ?", Integer.class, id));
+    }
+}
@@ -0,0 +1,97 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.entity.Gerente;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica que las diferencias agrupadas por transacción dejen nomina_departamentos igual que una
+ * reconstrucción completa: altas y modificaciones que recién se envían en el flush del commit, y un
+ * rollback que no deja rastro.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:nomina-departamento;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.region_prefix=nomina-departamento"})
+class NominaDepartamentoServiceTest {
+
+    private static final String SQL_RESUMEN = "SELECT departamento, tipo_persona, cantidad, salarios_centavos, "
+            + "deducciones_centavos, impuestos_centavos FROM nomina_departamentos "
+            + "WHERE departamento IN ('Ventas', 'Compras') ORDER BY departamento, tipo_persona";
+
+    @Autowired
+    private NominaDepartamentoService nominaDepartamentoService;
+    @Autowired
+    private PersonaRepository personaRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void diferenciasAgrupadasCoincidenConLaReconstruccion() {
+        TransactionTemplate escritura = new TransactionTemplate(transactionManager);
+
+        // Varias altas del mismo departamento en una transacción: una sola fila por (departamento, tipo)
+        Long id = escritura.execute(status -> {
+            for (int i = 0; i < 5; i++) {
+                personaRepository.save(empleado("420000" + i, "Ventas", 3_000_000 + i * 100_000));
+            }
+            personaRepository.save(empleado("4200010", "Compras", 2_500_000));
+            personaRepository.save(new Gerente("Marta", "Vera", LocalDate.of(1975, 4, 4), "4200011",
+                    LocalDate.now().minusYears(8), "Ventas", null));
+            return personaRepository.save(empleado("4200012", "Ventas", 4_000_000)).getId();
+        });
+        List<Map<String, Object>> trasAltas = jdbcTemplate.queryForList(SQL_RESUMEN);
+        assertEquals(6L, ((Number) fila(trasAltas, "Ventas", "EMPLEADO").get("cantidad")).longValue());
+        assertEquals(reconstruido(), trasAltas);
+
+        // Modificación y cambio de departamento que solo se envían en el flush del commit
+        escritura.executeWithoutResult(status -> {
+            EmpleadoTiempoCompleto empleado = (EmpleadoTiempoCompleto) personaRepository.findById(id).orElseThrow();
+            empleado.setSalarioMensual(new BigDecimal("5500000"));
+            empleado.setDepartamento("Compras");
+        });
+        List<Map<String, Object>> trasCambio = jdbcTemplate.queryForList(SQL_RESUMEN);
+        assertEquals(2L, ((Number) fila(trasCambio, "Compras", "EMPLEADO").get("cantidad")).longValue());
+        assertEquals(reconstruido(), trasCambio);
+
+        // Un rollback descarta las diferencias acumuladas
+        escritura.executeWithoutResult(status -> {
+            personaRepository.save(empleado("4200013", "Ventas", 9_000_000));
+            personaRepository.flush();
+            status.setRollbackOnly();
+        });
+        assertEquals(trasCambio, jdbcTemplate.queryForList(SQL_RESUMEN));
+    }
+
+    private List<Map<String, Object>> reconstruido() {
+        nominaDepartamentoService.recalcular();
+        return jdbcTemplate.queryForList(SQL_RESUMEN);
+    }
+
+    private static Map<String, Object> fila(List<Map<String, Object>> filas, String departamento, String tipo) {
+        return filas.stream()
+                .filter(f -> departamento.equals(f.get("departamento")) && tipo.equals(f.get("tipo_persona")))
+                .findFirst().orElseThrow();
+    }
+
+    private static EmpleadoTiempoCompleto empleado(String cedula, String departamento, long salario) {
+        return new EmpleadoTiempoCompleto("Pedro", "Duarte", LocalDate.of(1988, 8, 8), cedula,
+                BigDecimal.valueOf(salario), departamento, null);
+    }
+}
@@ -0,0 +1,91 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.exception.PermisoNoConcedidoException;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que el camino por entidad de SaldoVacacionesService valide contra el saldo vigente cuando el
+ * UPDATE condicional pierde la carrera contra otro débito.
+ *
+ * Reproduce una petición con open-in-view: el EntityManager queda ligado al hilo y la persona se lee antes
+ * (en una transacción de solo lectura, como CacheCedulaService) que otra solicitud debite el saldo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:saldo-vacaciones;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.region_prefix=saldo-vacaciones"})
+class SaldoVacacionesServiceTest {
+
+    private static final String CEDULA = "7654321";
+
+    @Autowired
+    private SaldoVacacionesService saldoVacacionesService;
+    @Autowired
+    private PersonaRepository personaRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void caminoPorEntidadRechazaConElSaldoDebitadoPorOtraSolicitud() throws Exception {
+        // Dos semanas hábiles futuras; el saldo alcanza para cualquiera de las dos pero no para ambas
+        LocalDate inicioPrimera = LocalDate.now().plusWeeks(4).with(DayOfWeek.MONDAY);
+        LocalDate finPrimera = inicioPrimera.plusDays(4);
+        LocalDate inicioSegunda = inicioPrimera.plusWeeks(1);
+        LocalDate finSegunda = inicioSegunda.plusDays(4);
+        int diasPrimera = CalendarioLaboral.diasHabiles(inicioPrimera, finPrimera);
+        int diasSegunda = CalendarioLaboral.diasHabiles(inicioSegunda, finSegunda);
+        assertTrue(diasPrimera > 0 && diasSegunda > 0, "Las semanas elegidas deben tener días hábiles");
+        int saldoInicial = diasPrimera + diasSegunda - 1;
+
+        TransactionTemplate escritura = new TransactionTemplate(transactionManager);
+        Long id = escritura.execute(status -> personaRepository.save(new Empleado("Ana", "Benítez",
+                LocalDate.of(1990, 1, 1), CEDULA, LocalDate.now().minusYears(3), saldoInicial, null)).getId());
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+            lectura.setReadOnly(true);
+            lectura.executeWithoutResult(status -> personaRepository.findById(id).orElseThrow());
+
+            // Otra solicitud gana la carrera: el camino rápido debita la primera semana
+            saldoVacacionesService.debitarVacaciones(id, CEDULA, inicioPrimera, finPrimera);
+
+            // El UPDATE condicional no afecta filas y el camino por entidad debe ver el saldo restante
+            assertThrows(PermisoNoConcedidoException.class,
+                    () -> saldoVacacionesService.debitarVacaciones(id, CEDULA, inicioSegunda, finSegunda));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertEquals(diasSegunda - 1, jdbcTemplate.queryForObject(
+                "SELECT dias_vacaciones_acumulados FROM personas WHERE id = ?", Integer.class, id));
+        assertEquals(diasPrimera, jdbcTemplate.queryForObject(
+                "SELECT dias_vacaciones_solicitados_total FROM personas WHERE id = ?", Integer.class, id));
+    }
+}
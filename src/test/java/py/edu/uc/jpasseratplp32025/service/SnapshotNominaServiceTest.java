@@ -0,0 +1,107 @@
+package py.edu.uc.jpasseratplp32025.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.repository.PersonaRepository;
+import py.edu.uc.jpasseratplp32025.util.CalendarioLaboral;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica que el snapshot de nómina no retroceda cuando los cambios confirmados llegan fuera de orden
+ * (afterCommit de transacciones concurrentes): una fila con versión anterior a la guardada se descarta.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshot-nomina;DB_CLOSE_DELAY=-1",
+        // El CacheManager de JCache es único en la JVM: sin prefijo, otro contexto de prueba con los mismos
+        // IDs en su base dejaría en el caché de segundo nivel una persona con otra versión
+        "spring.jpa.properties.hibernate.cache.region_prefix=snapshot-nomina"})
+class SnapshotNominaServiceTest {
+
+    private static final String CEDULA = "5554443";
+    private static final String CEDULA_DEBITO = "5554444";
+    private static final int SALDO_INICIAL = 10;
+
+    @Autowired
+    private SnapshotNominaService snapshotNominaService;
+    @Autowired
+    private PersonaRepository personaRepository;
+    @Autowired
+    private SaldoVacacionesService saldoVacacionesService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cambioConVersionAnteriorNoPisaElSnapshot() throws Exception {
+        long disponiblesAntes = snapshotNominaService.resumenDias().getTotalDisponibles();
+        long solicitadosAntes = snapshotNominaService.resumenDias().getTotalSolicitados();
+        TransactionTemplate escritura = new TransactionTemplate(transactionManager);
+        Long id = escritura.execute(status -> personaRepository.save(nuevoEmpleado(SALDO_INICIAL)).getId());
+        assertEquals(disponiblesAntes + SALDO_INICIAL, snapshotNominaService.resumenDias().getTotalDisponibles());
+
+        // Modificación por la entidad: la versión sube a 1 y el snapshot la toma al confirmarse
+        LocalDate inicio = LocalDate.now().plusWeeks(4).with(DayOfWeek.MONDAY);
+        LocalDate fin = inicio.plusDays(4);
+        int dias = CalendarioLaboral.diasHabiles(inicio, fin);
+        escritura.executeWithoutResult(status -> {
+            Empleado empleado = (Empleado) personaRepository.findById(id).orElseThrow();
+            try {
+                empleado.solicitarPermiso(inicio, fin, "VACACIONES", CEDULA);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertEquals(disponiblesAntes + SALDO_INICIAL - dias, snapshotNominaService.resumenDias().getTotalDisponibles());
+
+        // Llega tarde el cambio de una transacción anterior (versión 0, saldo previo): se descarta
+        Empleado anterior = nuevoEmpleado(SALDO_INICIAL);
+        anterior.setId(id);
+        anterior.setVersion(0);
+        snapshotNominaService.registrarCambio(anterior);
+        assertEquals(disponiblesAntes + SALDO_INICIAL - dias, snapshotNominaService.resumenDias().getTotalDisponibles());
+        assertEquals(solicitadosAntes + dias, snapshotNominaService.resumenDias().getTotalSolicitados());
+    }
+
+    @Test
+    void debitoQueLlegaDespuesDeUnaRecargaNoSeDescuentaDosVeces() throws Exception {
+        TransactionTemplate escritura = new TransactionTemplate(transactionManager);
+        long disponiblesAntes = snapshotNominaService.resumenDias().getTotalDisponibles();
+        long solicitadosAntes = snapshotNominaService.resumenDias().getTotalSolicitados();
+        Long id = escritura.execute(status -> personaRepository.save(nuevoEmpleado(SALDO_INICIAL, CEDULA_DEBITO))
+                .getId());
+
+        LocalDate inicio = LocalDate.now().plusWeeks(6).with(DayOfWeek.MONDAY);
+        LocalDate fin = inicio.plusDays(4);
+        int dias = CalendarioLaboral.diasHabiles(inicio, fin);
+        saldoVacacionesService.debitarVacaciones(id, CEDULA_DEBITO, inicio, fin);
+        assertEquals(disponiblesAntes + SALDO_INICIAL - dias, snapshotNominaService.resumenDias().getTotalDisponibles());
+
+        // Una recarga lee la fila ya debitada y después llega el afterCommit del débito (misma versión)
+        snapshotNominaService.recargar();
+        long version = jdbcTemplate.queryForObject("SELECT version FROM personas WHERE id = ?", Long.class, id);
+        snapshotNominaService.registrarDebitoVacaciones(id, version, SALDO_INICIAL - dias, dias);
+        assertEquals(disponiblesAntes + SALDO_INICIAL - dias, snapshotNominaService.resumenDias().getTotalDisponibles());
+        assertEquals(solicitadosAntes + dias, snapshotNominaService.resumenDias().getTotalSolicitados());
+    }
+
+    private static Empleado nuevoEmpleado(int saldo) {
+        return nuevoEmpleado(saldo, CEDULA);
+    }
+
+    private static Empleado nuevoEmpleado(int saldo, String cedula) {
+        return new Empleado("Rosa", "Giménez", LocalDate.of(1985, 5, 5), cedula,
+                LocalDate.now().minusYears(3), saldo, null);
+    }
+}
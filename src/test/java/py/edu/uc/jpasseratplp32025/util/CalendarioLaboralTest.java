@@ -0,0 +1,88 @@
+package py.edu.uc.jpasseratplp32025.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica el calendario laboral con los feriados por defecto: Jueves y Viernes Santo según la fecha de
+ * Pascua de cada año, rangos que cruzan uno o más cambios de año (contra un conteo día por día) y el
+ * rechazo de rangos que superan el máximo admitido.
+ */
+class CalendarioLaboralTest {
+
+    // Domingos de Pascua conocidos (incluye los extremos de marzo y abril)
+    private static final LocalDate[] PASCUAS = {
+            LocalDate.of(2008, 3, 23), LocalDate.of(2011, 4, 24), LocalDate.of(2019, 4, 21),
+            LocalDate.of(2024, 3, 31), LocalDate.of(2025, 4, 20), LocalDate.of(2026, 4, 5),
+            LocalDate.of(2038, 4, 25)};
+
+    @Test
+    void juevesYViernesSantoNoSonHabiles() {
+        for (LocalDate pascua : PASCUAS) {
+            assertFalse(CalendarioLaboral.esHabil(pascua.minusDays(3)), "Jueves Santo " + pascua.getYear());
+            assertFalse(CalendarioLaboral.esHabil(pascua.minusDays(2)), "Viernes Santo " + pascua.getYear());
+            assertTrue(CalendarioLaboral.esHabil(pascua.minusDays(4)), "Miércoles Santo " + pascua.getYear());
+            assertTrue(CalendarioLaboral.esHabil(pascua.plusDays(1)), "Lunes de Pascua " + pascua.getYear());
+
+            // Semana Santa de lunes a viernes: tres días hábiles
+            assertEquals(3, CalendarioLaboral.diasHabiles(pascua.minusDays(6), pascua.minusDays(2)),
+                    "Semana Santa " + pascua.getYear());
+        }
+    }
+
+    @Test
+    void rangoQueCruzaElAnioNuevo() {
+        // Lunes 29/12/2025 a viernes 02/01/2026: el 1 de enero es feriado
+        assertEquals(4, CalendarioLaboral.diasHabiles(LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 2)));
+        // Martes 31/12/2024 a jueves 02/01/2025
+        assertEquals(2, CalendarioLaboral.diasHabiles(LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 2)));
+        // Solo el 31/12 y el 01/01
+        assertEquals(1, CalendarioLaboral.diasHabiles(LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 1)));
+    }
+
+    @Test
+    void rangosDeVariosAniosCoincidenConElConteoDiaPorDia() {
+        LocalDate[][] rangos = {
+                {LocalDate.of(2023, 12, 31), LocalDate.of(2025, 1, 1)},
+                {LocalDate.of(2024, 2, 29), LocalDate.of(2026, 2, 28)},
+                {LocalDate.of(2024, 12, 31), LocalDate.of(2026, 1, 1)},
+                {LocalDate.of(2025, 6, 15), LocalDate.of(2026, 4, 10)}};
+        for (LocalDate[] rango : rangos) {
+            assertEquals(contarDiaPorDia(rango[0], rango[1]), CalendarioLaboral.diasHabiles(rango[0], rango[1]),
+                    rango[0] + " a " + rango[1]);
+        }
+    }
+
+    @Test
+    void rechazaRangosMayoresAlMaximo() {
+        LocalDate inicio = LocalDate.of(2025, 1, 1);
+        LocalDate finMaximo = inicio.plusDays(CalendarioLaboral.MAXIMO_DIAS_RANGO - 1);
+        assertTrue(CalendarioLaboral.rangoAdmitido(inicio, finMaximo));
+        assertEquals(contarDiaPorDia(inicio, finMaximo), CalendarioLaboral.diasHabiles(inicio, finMaximo));
+
+        assertFalse(CalendarioLaboral.rangoAdmitido(inicio, finMaximo.plusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> CalendarioLaboral.diasHabiles(inicio, finMaximo.plusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> CalendarioLaboral.diasHabiles(inicio, LocalDate.of(999_999_999, 12, 31)));
+
+        // Un rango invertido sigue devolviendo 0
+        assertEquals(0, CalendarioLaboral.diasHabiles(finMaximo, inicio));
+    }
+
+    private static int contarDiaPorDia(LocalDate desde, LocalDate hasta) {
+        int total = 0;
+        for (LocalDate fecha = desde; !fecha.isAfter(hasta); fecha = fecha.plusDays(1)) {
+            if (CalendarioLaboral.esHabil(fecha)) {
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,132 @@
+package py.edu.uc.jpasseratplp32025.util;
+
+import org.junit.jupiter.api.Test;
+import py.edu.uc.jpasseratplp32025.entity.Contratista;
+import py.edu.uc.jpasseratplp32025.entity.Empleado;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoPorHora;
+import py.edu.uc.jpasseratplp32025.entity.EmpleadoTiempoCompleto;
+import py.edu.uc.jpasseratplp32025.entity.Gerente;
+import py.edu.uc.jpasseratplp32025.entity.PersonaJpa;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba diferencial: el cálculo en centavos debe dar exactamente el mismo resultado
+ * (valor y representación con 2 decimales) que el cálculo en BigDecimal de cada entidad.
+ */
+class NominaCentavosTest {
+
+    private static final long SEMILLA = 20251017L;
+    private static final int CASOS_ALEATORIOS = 20_000;
+
+    @Test
+    void coincideConBigDecimalEnCasosLimite() {
+        List<PersonaJpa> personas = new ArrayList<>();
+        personas.add(new Empleado());
+        personas.add(new Gerente());
+
+        for (String mensual : new String[]{"0", "0.01", "0.05", "0.50", "2899048", "2899047.99", "6000000",
+                "1234567.89", "99999999.99", "-100.55", "0.11", "10.10"}) {
+            personas.add(tiempoCompleto(new BigDecimal(mensual)));
+        }
+        personas.add(tiempoCompleto(null));
+
+        for (int horas : new int[]{-1, 0, 1, 39, 40, 41, 80, 81, 200}) {
+            for (String tarifa : new String[]{"0", "0.01", "0.03", "0.33", "15000.55", "-7.77"}) {
+                personas.add(porHora(new BigDecimal(tarifa), horas));
+            }
+        }
+        personas.add(porHora(null, 10));
+        personas.add(porHora(new BigDecimal("10"), null));
+
+        for (int proyectos : new int[]{-2, 0, 1, 7}) {
+            personas.add(contratista(new BigDecimal("1500000.25"), proyectos));
+            personas.add(contratista(new BigDecimal("-0.01"), proyectos));
+        }
+        personas.add(contratista(null, 3));
+        personas.add(contratista(new BigDecimal("100"), null));
+
+        personas.forEach(NominaCentavosTest::verificar);
+    }
+
+    @Test
+    void coincideConBigDecimalEnCasosAleatorios() {
+        Random random = new Random(SEMILLA);
+        for (int i = 0; i < CASOS_ALEATORIOS; i++) {
+            // Montos con hasta 2 decimales, como los persiste la base (precision 10-12, scale 2)
+            BigDecimal monto = BigDecimal.valueOf(random.nextLong(-1_000_000L, 10_000_000_000L), 2);
+            switch (i % 3) {
+                case 0 -> verificar(tiempoCompleto(monto));
+                case 1 -> verificar(porHora(monto, random.nextInt(-5, 121)));
+                default -> verificar(contratista(monto, random.nextInt(-3, 50)));
+            }
+        }
+    }
+
+    @Test
+    void usaBigDecimalCuandoElMontoTieneMasDeDosDecimales() {
+        verificar(tiempoCompleto(new BigDecimal("3000000.125")));
+        verificar(porHora(new BigDecimal("12.345"), 45));
+        verificar(contratista(new BigDecimal("0.005"), 3));
+    }
+
+    @Test
+    void redondeaHalfUpComoBigDecimal() {
+        for (long dividendo = -1000; dividendo <= 1000; dividendo++) {
+            for (long divisor : new long[]{2, 3, 7, 100}) {
+                BigDecimal esperado = BigDecimal.valueOf(dividendo)
+                        .divide(BigDecimal.valueOf(divisor), 0, java.math.RoundingMode.HALF_UP);
+                assertEquals(esperado.longValueExact(), NominaCentavos.dividirHalfUp(dividendo, divisor),
+                        dividendo + " / " + divisor);
+            }
+        }
+    }
+
+    private static void verificar(PersonaJpa persona) {
+        NominaCentavos.Resultado resultado = NominaCentavos.calcular(persona);
+        String caso = persona.getClass().getSimpleName() + " " + persona.obtenerInformacionCompleta();
+
+        assertIgual(persona.calcularSalario(), resultado.getSalario(), "salario " + caso);
+        assertIgual(persona.calcularDeducciones(), resultado.getDeducciones(), "deducciones " + caso);
+        assertIgual(persona.calcularImpuestos(), resultado.getImpuestos(), "impuestos " + caso);
+    }
+
+    // Mismo valor y misma representación (escala 2); las entidades solo devuelven escala distinta
+    // para el literal BigDecimal.ZERO cuando faltan datos.
+    private static void assertIgual(BigDecimal esperado, long centavos, String caso) {
+        BigDecimal obtenido = NominaCentavos.aBigDecimal(centavos);
+        if (esperado.scale() == 2) {
+            assertEquals(esperado, obtenido, caso);
+            assertEquals(esperado.toPlainString(), obtenido.toPlainString(), caso);
+        } else {
+            assertEquals(0, esperado.signum(), caso);
+            assertEquals(0L, centavos, caso);
+        }
+    }
+
+    private static EmpleadoTiempoCompleto tiempoCompleto(BigDecimal mensual) {
+        EmpleadoTiempoCompleto empleado = new EmpleadoTiempoCompleto();
+        empleado.setSalarioMensual(mensual);
+        empleado.setDepartamento("IT");
+        return empleado;
+    }
+
+    private static EmpleadoPorHora porHora(BigDecimal tarifa, Integer horas) {
+        EmpleadoPorHora empleado = new EmpleadoPorHora();
+        empleado.setTarifaPorHora(tarifa);
+        empleado.setHorasTrabajadas(horas);
+        return empleado;
+    }
+
+    private static Contratista contratista(BigDecimal monto, Integer proyectos) {
+        Contratista contratista = new Contratista();
+        contratista.setMontoPorProyecto(monto);
+        contratista.setProyectosCompletados(proyectos);
+        return contratista;
+    }
+}
@@ -0,0 +1,218 @@
+package py.edu.uc.jpasseratplp32025.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica la rueda temporal en los límites de sus niveles (64 y 4.096 ticks): cada vencimiento se entrega
+ * exactamente en su tick aunque haya bajado de nivel, y la consulta de una ventana devuelve lo mismo que
+ * un filtrado directo, incluso cuando la ventana da la vuelta a las ranuras.
+ */
+class RuedaTemporalTest {
+
+    private static final long SEMILLA = 20251017L;
+    private static final int OPERACIONES_ALEATORIAS = 20_000;
+
+    // Distancias en los bordes de cada nivel (64 = 2^6, 4.096 = 2^12, 262.144 = 2^18)
+    private static final long[] DISTANCIAS_LIMITE = {1, 2, 63, 64, 65, 127, 128, 4_095, 4_096, 4_097, 4_160,
+            262_143, 262_144, 262_145};
+
+    // Ticks de partida alineados y desalineados con las ranuras
+    private static final long[] INICIOS = {0, 1, 63, 64, 100, 4_000, 4_095, 4_096, 20_000};
+
+    /**
+     * Entrega registrada: tick del vencimiento y tick de la rueda en el momento de entregarlo.
+     */
+    private record Entrega(long clave, long tick, long ahora) {
+    }
+
+    @Test
+    void entregaExactamenteA64Y4096TicksDeDistancia() {
+        for (long inicio : INICIOS) {
+            RuedaTemporal<String> rueda = new RuedaTemporal<>(inicio);
+            assertTrue(rueda.programar(1, inicio + 64, "a64"));
+            assertTrue(rueda.programar(2, inicio + 4_096, "a4096"));
+
+            List<Entrega> entregas = new ArrayList<>();
+            avanzar(rueda, inicio + 63, entregas);
+            assertTrue(entregas.isEmpty(), "Nada vence antes del tick 64 (inicio " + inicio + ")");
+            avanzar(rueda, inicio + 64, entregas);
+            assertEquals(List.of(new Entrega(1, inicio + 64, inicio + 64)), entregas);
+
+            entregas.clear();
+            avanzar(rueda, inicio + 4_095, entregas);
+            assertTrue(entregas.isEmpty(), "Nada vence antes del tick 4096 (inicio " + inicio + ")");
+            avanzar(rueda, inicio + 4_096, entregas);
+            assertEquals(List.of(new Entrega(2, inicio + 4_096, inicio + 4_096)), entregas);
+            assertEquals(0, rueda.tamanio());
+        }
+    }
+
+    @Test
+    void avanzarCruzandoLosLimitesDeNivelEntregaEnElTickExacto() {
+        for (long inicio : INICIOS) {
+            for (long paso : new long[]{1, 7, 64, 1_000, 300_000}) {
+                RuedaTemporal<Long> rueda = new RuedaTemporal<>(inicio);
+                for (int i = 0; i < DISTANCIAS_LIMITE.length; i++) {
+                    rueda.programar(i, inicio + DISTANCIAS_LIMITE[i], DISTANCIAS_LIMITE[i]);
+                }
+
+                List<Entrega> entregas = new ArrayList<>();
+                long fin = inicio + DISTANCIAS_LIMITE[DISTANCIAS_LIMITE.length - 1];
+                for (long hasta = inicio + paso; rueda.getAhora() < fin; hasta = Math.min(hasta + paso, fin)) {
+                    avanzar(rueda, hasta, entregas);
+                    assertEquals(hasta, rueda.getAhora());
+                }
+
+                assertEquals(DISTANCIAS_LIMITE.length, entregas.size(), "inicio " + inicio + ", paso " + paso);
+                for (int i = 0; i < entregas.size(); i++) {
+                    Entrega entrega = entregas.get(i);
+                    assertEquals(i, entrega.clave(), "Orden de entrega (inicio " + inicio + ", paso " + paso + ")");
+                    assertEquals(entrega.tick(), entrega.ahora(),
+                            "Entregado fuera de su tick (inicio " + inicio + ", paso " + paso + ")");
+                }
+                assertEquals(0, rueda.tamanio());
+            }
+        }
+    }
+
+    @Test
+    void programarYCancelarLaMismaClave() {
+        RuedaTemporal<String> rueda = new RuedaTemporal<>(100);
+        assertTrue(rueda.programar(7, 110, "primero"));
+        // Reprogramar reemplaza el vencimiento anterior (de nivel 0 a nivel 1)
+        assertTrue(rueda.programar(7, 100 + 4_096, "segundo"));
+        assertEquals(1, rueda.tamanio());
+        assertEquals(100 + 4_096, rueda.obtener(7).getTick());
+        assertEquals("segundo", rueda.obtener(7).getValor());
+
+        List<Entrega> entregas = new ArrayList<>();
+        avanzar(rueda, 200, entregas);
+        assertTrue(entregas.isEmpty(), "El vencimiento reemplazado no se entrega");
+
+        assertTrue(rueda.cancelar(7));
+        assertFalse(rueda.cancelar(7));
+        assertNull(rueda.obtener(7));
+        avanzar(rueda, 10_000, entregas);
+        assertTrue(entregas.isEmpty(), "El vencimiento cancelado no se entrega");
+
+        // Un tick no posterior al actual deja la clave sin vencimiento, aunque tuviera uno
+        assertTrue(rueda.programar(7, 10_001, "tercero"));
+        assertFalse(rueda.programar(7, 10_000, "pasado"));
+        assertNull(rueda.obtener(7));
+        assertEquals(0, rueda.tamanio());
+
+        // Cancelar y volver a programar en el mismo tick
+        assertTrue(rueda.programar(8, 10_064, "a"));
+        assertTrue(rueda.cancelar(8));
+        assertTrue(rueda.programar(8, 10_064, "b"));
+        avanzar(rueda, 10_064, entregas);
+        assertEquals(List.of(new Entrega(8, 10_064, 10_064)), entregas);
+    }
+
+    @Test
+    void programadasHastaEnLosBordesDeLaVentana() {
+        RuedaTemporal<String> rueda = new RuedaTemporal<>(0);
+        for (long tick : new long[]{1, 63, 64, 65, 4_095, 4_096, 4_097}) {
+            rueda.programar(tick, tick, "t" + tick);
+        }
+
+        assertTrue(rueda.programadasHasta(0).isEmpty());
+        assertTrue(rueda.programadasHasta(-5).isEmpty());
+        assertEquals(List.of(1L), ticks(rueda.programadasHasta(1)));
+        assertEquals(List.of(1L, 63L), ticks(rueda.programadasHasta(63)));
+        assertEquals(List.of(1L, 63L, 64L), ticks(rueda.programadasHasta(64)));
+        assertEquals(List.of(1L, 63L, 64L, 65L, 4_095L), ticks(rueda.programadasHasta(4_095)));
+        assertEquals(List.of(1L, 63L, 64L, 65L, 4_095L, 4_096L), ticks(rueda.programadasHasta(4_096)));
+        assertEquals(7, rueda.programadasHasta(Long.MAX_VALUE / 2).size());
+
+        // La ventana empieza después del tick actual: lo ya entregado no aparece
+        avanzar(rueda, 64, new ArrayList<>());
+        assertEquals(List.of(65L), ticks(rueda.programadasHasta(65)));
+        assertEquals(List.of(65L, 4_095L, 4_096L), ticks(rueda.programadasHasta(4_096)));
+    }
+
+    @Test
+    void programadasHastaEnRanurasQueDanLaVuelta() {
+        // Tick actual cerca del final de las ranuras de nivel 0 y 1: la ventana continúa en las primeras
+        for (long inicio : new long[]{60, 4_090, 4_096 * 63 + 4_000}) {
+            RuedaTemporal<Long> rueda = new RuedaTemporal<>(inicio);
+            Map<Long, Long> referencia = new HashMap<>();
+            for (long distancia : DISTANCIAS_LIMITE) {
+                rueda.programar(distancia, inicio + distancia, distancia);
+                referencia.put(distancia, inicio + distancia);
+            }
+            for (long distancia = 0; distancia <= 4_200; distancia++) {
+                verificarVentana(rueda, referencia, inicio + distancia);
+            }
+            verificarVentana(rueda, referencia, inicio + 262_144);
+            verificarVentana(rueda, referencia, inicio + 262_145);
+        }
+    }
+
+    @Test
+    void coincideConReferenciaEnOperacionesAleatorias() {
+        Random random = new Random(SEMILLA);
+        long inicio = 4_000;
+        RuedaTemporal<Long> rueda = new RuedaTemporal<>(inicio);
+        Map<Long, Long> referencia = new HashMap<>();
+
+        for (int i = 0; i < OPERACIONES_ALEATORIAS; i++) {
+            long clave = random.nextInt(500);
+            int operacion = random.nextInt(10);
+            if (operacion < 5) {
+                long distancia = random.nextBoolean() ? random.nextInt(130) : random.nextInt(300_000);
+                long tick = rueda.getAhora() + distancia;
+                boolean programada = rueda.programar(clave, tick, tick);
+                assertEquals(distancia > 0, programada);
+                referencia.remove(clave);
+                if (programada) {
+                    referencia.put(clave, tick);
+                }
+            } else if (operacion < 7) {
+                assertEquals(referencia.remove(clave) != null, rueda.cancelar(clave));
+            } else if (operacion < 9) {
+                long hasta = rueda.getAhora() + random.nextInt(random.nextBoolean() ? 70 : 5_000);
+                List<Entrega> entregas = new ArrayList<>();
+                avanzar(rueda, hasta, entregas);
+                for (Entrega entrega : entregas) {
+                    assertEquals(entrega.tick(), entrega.ahora());
+                    assertEquals(Long.valueOf(entrega.tick()), referencia.remove(entrega.clave()));
+                }
+                assertTrue(referencia.values().stream().allMatch(tick -> tick > hasta),
+                        "Quedó sin entregar un vencimiento anterior a " + hasta);
+            } else {
+                verificarVentana(rueda, referencia, rueda.getAhora() + random.nextInt(10_000));
+            }
+            assertEquals(referencia.size(), rueda.tamanio());
+        }
+    }
+
+    private static <T> void avanzar(RuedaTemporal<T> rueda, long hasta, List<Entrega> entregas) {
+        rueda.avanzar(hasta, entrada -> entregas.add(new Entrega(entrada.getClave(), entrada.getTick(), rueda.getAhora())));
+    }
+
+    private static <T> void verificarVentana(RuedaTemporal<T> rueda, Map<Long, Long> referencia, long hasta) {
+        List<Long> esperados = referencia.entrySet().stream()
+                .filter(e -> e.getValue() > rueda.getAhora() && e.getValue() <= hasta)
+                .sorted(Map.Entry.<Long, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        List<Long> obtenidos = rueda.programadasHasta(hasta).stream().map(RuedaTemporal.Entrada::getClave).toList();
+        assertEquals(esperados, obtenidos, "Ventana (" + rueda.getAhora() + ", " + hasta + "]");
+    }
+
+    private static <T> List<Long> ticks(List<RuedaTemporal.Entrada<T>> entradas) {
+        return entradas.stream().map(RuedaTemporal.Entrada::getTick).toList();
+    }
+}